@@ -42,7 +42,8 @@ public class AspectJCachingConfiguration extends AbstractCachingConfiguration {
 	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
 	public AnnotationCacheAspect cacheAspect() {
 		AnnotationCacheAspect cacheAspect = AnnotationCacheAspect.aspectOf();
-		cacheAspect.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager);
+		cacheAspect.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager,
+				this.cacheLoadCoordinator);
 		return cacheAspect;
 	}
 
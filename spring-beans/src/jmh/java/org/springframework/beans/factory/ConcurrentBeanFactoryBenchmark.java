@@ -18,16 +18,22 @@ package org.springframework.beans.factory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
 
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
@@ -37,6 +43,10 @@ import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifie
  * Benchmark for creating prototype beans in a concurrent fashion.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
+ * <p>Also measures pre-instantiating singletons with expensive initialization,
+ * sequentially ({@code parallelism} of 0) and in parallel on a {@link ForkJoinPool}
+ * with the given parallelism. Every fourth bean references the previous one, so that
+ * part of the singletons need to be created in dependency order.
  *
  * @author Brian Clozel
  */
@@ -67,6 +77,63 @@ public class ConcurrentBeanFactoryBenchmark {
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	@State(Scope.Benchmark)
+	public static class PreInstantiationState {
+
+		@Param({"0", "1", "2", "4", "8"})
+		public int parallelism;
+
+		@Param({"100"})
+		public int beanCount;
+
+		@Param({"100000"})
+		public long initTokens;
+
+		public ForkJoinPool executor;
+
+		public DefaultListableBeanFactory factory;
+
+		@Setup(Level.Trial)
+		public void setupExecutor() {
+			if (this.parallelism > 0) {
+				this.executor = new ForkJoinPool(this.parallelism);
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void setupFactory() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.setPreInstantiationExecutor(this.executor);
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(ExpensiveBean.class);
+				bd.getPropertyValues().add("initTokens", this.initTokens);
+				if (i % 4 == 3) {
+					bd.getPropertyValues().add("dependency", new RuntimeBeanReference("bean" + (i - 1)));
+				}
+				this.factory.registerBeanDefinition("bean" + i, bd);
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void tearDownFactory() {
+			this.factory.destroySingletons();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDownExecutor() {
+			if (this.executor != null) {
+				this.executor.shutdown();
+			}
+		}
+
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public void preInstantiateSingletons(PreInstantiationState state) {
+		state.factory.preInstantiateSingletons();
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -80,4 +147,25 @@ public class ConcurrentBeanFactoryBenchmark {
 			this.date = date;
 		}
 	}
+
+
+	public static class ExpensiveBean implements InitializingBean {
+
+		private long initTokens;
+
+		private ExpensiveBean dependency;
+
+		public void setInitTokens(long initTokens) {
+			this.initTokens = initTokens;
+		}
+
+		public void setDependency(ExpensiveBean dependency) {
+			this.dependency = dependency;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			Blackhole.consumeCPU(this.initTokens);
+		}
+	}
 }
@@ -17,6 +17,7 @@
 package org.springframework.beans.factory.support;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.*;
@@ -39,7 +40,10 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -170,6 +174,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	 */
 	private volatile boolean configurationFrozen;
 
+	/**
+	 * 用于并行预实例化单例的执行器。
+	 */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 
 	/**
 	 * 创建一个新的 DefaultListableBeanFactory。
@@ -256,6 +266,37 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * 设置用于并行预实例化非懒加载单例的执行器，通常是一个 {@link java.util.concurrent.ForkJoinPool}。
+	 * <p>默认情况下，{@link #preInstantiateSingletons()} 在调用线程中依次创建所有单例。
+	 * 设置执行器后，首先根据合并后的 bean 定义中声明的依赖（{@code depends-on}、bean 引用和工厂 bean）
+	 * 构建依赖图，并在执行器上并行创建相互独立的单例，每个单例在其依赖的单例创建完成后创建。
+	 * 循环引用中的单例、依赖它们的单例以及 FactoryBean 仍然在调用线程中依次创建。
+	 * 并行创建失败时，与顺序创建一样抛出 {@link BeanCreationException}；
+	 * 唯一的例外是线程之间无法通过早期引用解析的循环引用，此时记录警告并在调用线程中依次创建相关的单例。
+	 * {@link SmartInitializingSingleton} 回调始终在所有单例创建完成后，在调用线程中按注册顺序执行。
+	 * <p>每个并行创建步骤通过 {@link #getApplicationStartup() ApplicationStartup} 以
+	 * {@code spring.beans.parallel-instantiate} 步骤报告。
+	 *
+	 * @param preInstantiationExecutor 用于并行预实例化的执行器，或 {@code null} 以依次创建单例
+	 * @see #preInstantiateSingletons()
+	 * @see DefaultSingletonBeanRegistry#setConcurrentSingletonCreation
+	 * @since 5.3.21
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * 返回用于并行预实例化单例的执行器（如果有）。
+	 *
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	/**
 	 * 设置用于依赖列表和数组的 {@link java.util.Comparator}。
 	 *
@@ -324,6 +365,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			// 复制依赖比较器
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			// 复制用于并行预实例化的执行器
+			this.preInstantiationExecutor = otherListableFactory.preInstantiationExecutor;
 			// 复制自动装配候选者解析器
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// 将可解析的依赖项（例如ResourceLoader）也放在这里
@@ -1050,6 +1093,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// 虽然这可能不是常规工厂引导的一部分，但它在其他情况下运行良好。
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
+		// 如果设置了执行器，先并行创建相互独立的单例，剩余的单例由下面的循环依次创建。
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+
 		// 触发所有非懒加载单例 Bean 的初始化...
 		for (String beanName : beanNames) {
 			// 获取合并后的本地 BeanDefinition。
@@ -1111,6 +1160,253 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * 在给定的执行器上并行创建相互独立的非懒加载单例。
+	 * <p>根据合并后的 bean 定义中声明的依赖构建依赖图，每个单例在其依赖的单例创建完成后提交到执行器。
+	 * 跳过 FactoryBean、循环引用中的单例以及依赖它们的单例；因线程之间的循环引用而无法并行创建的单例，
+	 * 以及执行器拒绝执行的单例，留给随后的顺序创建。
+	 *
+	 * @param beanNames 按注册顺序排列的 bean 名称
+	 * @param executor  用于创建单例的执行器
+	 * @throws BeansException 如果单例创建失败
+	 * @see #setPreInstantiationExecutor
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) throws BeansException {
+		// 收集可以并行创建的单例及其声明的依赖
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit() &&
+					!containsSingleton(beanName) && !isFactoryBean(beanName)) {
+				dependencies.put(beanName, getDeclaredDependencies(bd));
+			}
+		}
+		if (dependencies.isEmpty()) {
+			return;
+		}
+
+		// 按依赖顺序排列，并找出循环引用中的单例以及依赖它们的单例
+		List<String> orderedBeanNames = new ArrayList<>(dependencies.size());
+		Set<String> sequentialBeanNames = new HashSet<>();
+		Map<String, Boolean> visited = new HashMap<>();
+		List<String> path = new ArrayList<>();
+		for (String beanName : dependencies.keySet()) {
+			sortByDependencies(beanName, dependencies, visited, path, orderedBeanNames, sequentialBeanNames);
+		}
+
+		StartupStep parallelPreInstantiation = getApplicationStartup().start("spring.beans.parallel-pre-instantiate")
+				.tag("beanCount", String.valueOf(orderedBeanNames.size() - sequentialBeanNames.size()))
+				.tag("sequentialBeanCount", String.valueOf(sequentialBeanNames.size()));
+		Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+		Set<String> failedBeanNames = ConcurrentHashMap.newKeySet();
+		Map<String, Throwable> creationFailures = new ConcurrentHashMap<>();
+		setConcurrentSingletonCreation(true);
+		try {
+			for (String beanName : orderedBeanNames) {
+				if (sequentialBeanNames.contains(beanName)) {
+					continue;
+				}
+				// 在所有依赖的单例创建完成后提交
+				Set<String> beanDependencies = dependencies.get(beanName);
+				List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>(beanDependencies.size());
+				for (String dependency : beanDependencies) {
+					CompletableFuture<Void> dependencyFuture = futures.get(dependency);
+					if (dependencyFuture != null) {
+						dependencyFutures.add(dependencyFuture);
+					}
+				}
+				CompletableFuture<Void> dependenciesCreated = (dependencyFutures.isEmpty() ?
+						CompletableFuture.completedFuture(null) :
+						CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0])));
+				futures.put(beanName, dependenciesCreated.thenRunAsync(
+						() -> instantiateSingletonInParallel(beanName, beanDependencies, failedBeanNames, creationFailures),
+						executor));
+			}
+			try {
+				CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+			} catch (CompletionException ex) {
+				if (creationFailures.isEmpty()) {
+					// 执行器拒绝了任务：尚未创建的单例依次创建
+					if (logger.isWarnEnabled()) {
+						logger.warn("Parallel pre-instantiation of singletons incomplete - " +
+								"creating remaining singletons sequentially", ex.getCause());
+					}
+				}
+			}
+			// 与顺序创建一样，报告按注册顺序第一个创建失败的单例
+			for (String beanName : beanNames) {
+				Throwable failure = creationFailures.get(beanName);
+				if (failure instanceof RuntimeException) {
+					throw (RuntimeException) failure;
+				}
+				if (failure instanceof Error) {
+					throw (Error) failure;
+				}
+				if (failure != null) {
+					throw new BeanCreationException(beanName, "Parallel instantiation of singleton failed", failure);
+				}
+			}
+		} finally {
+			setConcurrentSingletonCreation(false);
+			parallelPreInstantiation.tag("failedBeanCount", String.valueOf(failedBeanNames.size())).end();
+		}
+	}
+
+	/**
+	 * 在当前（执行器的）线程中创建给定的单例。
+	 * <p>如果因线程之间无法解析的循环引用而失败，则将其记录下来以便随后依次创建；
+	 * 其他失败记录为创建失败，由调用线程报告。
+	 *
+	 * @param beanName         bean 名称
+	 * @param dependencies     该单例声明的依赖
+	 * @param failedBeanNames  需要随后依次创建的 bean 名称
+	 * @param creationFailures 创建失败的 bean 名称及其异常
+	 */
+	private void instantiateSingletonInParallel(String beanName, Set<String> dependencies,
+			Set<String> failedBeanNames, Map<String, Throwable> creationFailures) {
+
+		for (String dependency : dependencies) {
+			if (failedBeanNames.contains(dependency)) {
+				// 依赖的单例创建失败：与其一起依次创建
+				failedBeanNames.add(beanName);
+				return;
+			}
+		}
+		Thread currentThread = Thread.currentThread();
+		StartupStep parallelInstantiation = getApplicationStartup().start("spring.beans.parallel-instantiate")
+				.tag("beanName", beanName)
+				.tag("thread", currentThread.getName());
+		ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader(getBeanClassLoader());
+		try {
+			getBean(beanName);
+		} catch (BeansException ex) {
+			parallelInstantiation.tag("failed", "true");
+			if (!ex.contains(ConcurrentCircularReferenceException.class)) {
+				creationFailures.put(beanName, ex);
+				throw ex;
+			}
+			// 线程之间的循环引用取决于创建顺序：与其依赖一起依次创建
+			failedBeanNames.add(beanName);
+			if (logger.isWarnEnabled()) {
+				logger.warn("Singleton bean '" + beanName + "' cannot be instantiated in parallel " +
+						"due to a circular reference between threads - creating it sequentially: " + ex);
+			}
+		} catch (Throwable ex) {
+			parallelInstantiation.tag("failed", "true");
+			creationFailures.put(beanName, ex);
+			throw ex;
+		} finally {
+			currentThread.setContextClassLoader(previousClassLoader);
+			parallelInstantiation.end();
+		}
+	}
+
+	/**
+	 * 深度优先地将给定的单例及其依赖按依赖顺序添加到列表中。
+	 * 循环引用中的单例以及依赖它们的单例被标记为依次创建。
+	 *
+	 * @param beanName            bean 名称
+	 * @param dependencies        可以并行创建的单例及其声明的依赖
+	 * @param visited             已访问的单例：{@code false} 表示正在访问其依赖，{@code true} 表示已完成
+	 * @param path                当前的依赖路径
+	 * @param orderedBeanNames    按依赖顺序排列的 bean 名称
+	 * @param sequentialBeanNames 需要依次创建的 bean 名称
+	 */
+	private void sortByDependencies(String beanName, Map<String, Set<String>> dependencies,
+			Map<String, Boolean> visited, List<String> path,
+			List<String> orderedBeanNames, Set<String> sequentialBeanNames) {
+
+		if (visited.containsKey(beanName)) {
+			return;
+		}
+		visited.put(beanName, Boolean.FALSE);
+		path.add(beanName);
+		for (String dependency : dependencies.get(beanName)) {
+			if (!dependencies.containsKey(dependency)) {
+				// 不在预实例化范围内的依赖在需要时创建
+				continue;
+			}
+			Boolean dependencyVisited = visited.get(dependency);
+			if (dependencyVisited == null) {
+				sortByDependencies(dependency, dependencies, visited, path, orderedBeanNames, sequentialBeanNames);
+			} else if (!dependencyVisited) {
+				// 循环引用：路径上从该依赖开始的所有单例都依次创建
+				sequentialBeanNames.addAll(path.subList(path.indexOf(dependency), path.size()));
+			}
+			if (sequentialBeanNames.contains(dependency)) {
+				sequentialBeanNames.add(beanName);
+			}
+		}
+		path.remove(path.size() - 1);
+		visited.put(beanName, Boolean.TRUE);
+		orderedBeanNames.add(beanName);
+	}
+
+	/**
+	 * 返回给定的 bean 定义中声明的依赖：{@code depends-on}、工厂 bean 以及属性值和构造函数参数中的 bean 引用。
+	 * 通过类型自动装配的依赖无法从 bean 定义中得知，在创建时解析。
+	 *
+	 * @param bd 合并后的 bean 定义
+	 * @return 依赖的 bean 名称
+	 */
+	private Set<String> getDeclaredDependencies(BeanDefinition bd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		collectDeclaredDependencies(bd, dependencies);
+		return dependencies;
+	}
+
+	private void collectDeclaredDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(transformedBeanName(dependency));
+			}
+		}
+		String factoryBeanName = bd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			dependencies.add(transformedBeanName(factoryBeanName));
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				collectReferencedBeanNames(pv.getValue(), dependencies);
+			}
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues argumentValues = bd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getIndexedArgumentValues().values()) {
+				collectReferencedBeanNames(valueHolder.getValue(), dependencies);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+				collectReferencedBeanNames(valueHolder.getValue(), dependencies);
+			}
+		}
+	}
+
+	private void collectReferencedBeanNames(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference reference = (RuntimeBeanReference) value;
+			if (!reference.isToParent()) {
+				dependencies.add(transformedBeanName(reference.getBeanName()));
+			}
+		} else if (value instanceof BeanDefinitionHolder) {
+			// 内部 bean 的依赖
+			collectDeclaredDependencies(((BeanDefinitionHolder) value).getBeanDefinition(), dependencies);
+		} else if (value instanceof BeanDefinition) {
+			collectDeclaredDependencies((BeanDefinition) value, dependencies);
+		} else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectReferencedBeanNames(element, dependencies);
+			}
+		} else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectReferencedBeanNames(entry.getKey(), dependencies);
+				collectReferencedBeanNames(entry.getValue(), dependencies);
+			}
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// BeanDefinitionRegistry接口的实现
 	//---------------------------------------------------------------------
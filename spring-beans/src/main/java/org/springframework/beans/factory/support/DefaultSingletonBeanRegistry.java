@@ -124,6 +124,21 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/**
+	 * 是否允许多个线程并发创建单例。
+	 */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/**
+	 * 并发创建期间正在创建单例的线程: bean名称到创建线程。
+	 */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 并发创建期间等待其他线程创建单例的线程: 等待线程到所等待的bean名称。
+	 */
+	private final Map<Thread, String> singletonsAwaitedByThread = new ConcurrentHashMap<>(16);
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
@@ -182,6 +197,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				this.earlySingletonObjects.remove(beanName);
 				// 将Bean名称添加到已注册的单例集合中
 				this.registeredSingletons.add(beanName);
+				if (this.concurrentSingletonCreation) {
+					// 早期引用可用，唤醒等待该单例的线程以解析线程之间的循环引用
+					this.singletonObjects.notifyAll();
+				}
 			}
 		}
 	}
@@ -207,32 +226,51 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		//从单例对象池中获取该单例，如果当前单例实例为空，并且还在创建中
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (this.concurrentSingletonCreation && isSingletonCreatedByOtherThread(beanName)) {
+				//并发创建期间，不向其他线程暴露尚未完成的单例，而是由其等待该单例创建完成
+				return null;
+			}
 			//就从早期单例对象池中获取该单例。
 			singletonObject = this.earlySingletonObjects.get(beanName);
 			//如果该单例为空，并且允许创建早期引用
 			if (singletonObject == null && allowEarlyReference) {
 				synchronized (this.singletonObjects) {
 					//在完全单例锁中，一致性创建早期引用
-					//使用双重检测锁从单例对象池中获取单例对象
-					singletonObject = this.singletonObjects.get(beanName);
-					//如果取不到
-					if (singletonObject == null) {
-						//再从早期单例单例对象池中获取。
-						singletonObject = this.earlySingletonObjects.get(beanName);
-						//取不到，就从单例工厂中获取单例工厂。
-						if (singletonObject == null) {
-							//获取单例工厂
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-							if (singletonFactory != null) {
-								//从单例工厂中创建单例对象
-								singletonObject = singletonFactory.getObject();
-								//将其放入早期单例对象池中。
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								//并将beanName从对应的单例工厂移除。
-								this.singletonFactories.remove(beanName);
-							}
-						}
+					singletonObject = getEarlySingletonReference(beanName);
+				}
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * 在完全单例锁中获取给定单例的早期引用，必要时通过单例工厂创建。
+	 *
+	 * @param beanName bean名称
+	 * @return 单例对象或其早期引用，如果尚不可用则为 {@code null}
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		//使用双重检测锁从单例对象池中获取单例对象
+		Object singletonObject = this.singletonObjects.get(beanName);
+		//如果取不到
+		if (singletonObject == null) {
+			//再从早期单例单例对象池中获取。
+			singletonObject = this.earlySingletonObjects.get(beanName);
+			//取不到，就从单例工厂中获取单例工厂。
+			if (singletonObject == null) {
+				//获取单例工厂
+				ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+				if (singletonFactory != null) {
+					//从单例工厂中创建单例对象
+					singletonObject = singletonFactory.getObject();
+					//将其放入早期单例对象池中。并发创建期间，单例工厂可能在等待时暂时释放单例锁，以先放入的早期引用为准
+					Object existingObject = this.earlySingletonObjects.putIfAbsent(beanName, singletonObject);
+					if (existingObject != null) {
+						singletonObject = existingObject;
 					}
+					//并将beanName从对应的单例工厂移除。
+					this.singletonFactories.remove(beanName);
 				}
 			}
 		}
@@ -248,68 +286,251 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			//从单例对象池中获取该单例对象
 			Object singletonObject = this.singletonObjects.get(beanName);
 			//如果从单例对象池中获取不到
 			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					//如果当前正在销毁单例，抛出异常
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-									"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-				//创建单例前，执行的方法
-				beforeSingletonCreation(beanName);
-				//是否是新的单例
-				boolean newSingleton = false;
-				//是否记录被封锁的异常
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+				singletonObject = createSingleton(beanName, singletonFactory);
+			}
+			return singletonObject;
+		}
+	}
+
+	/**
+	 * 使用给定的单例工厂创建并注册单例对象。
+	 *
+	 * @param beanName         bean名称
+	 * @param singletonFactory 创建单例的ObjectFactory
+	 * @return 新创建的单例对象，或在创建期间隐式注册的单例对象
+	 */
+	private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject;
+		if (this.singletonsCurrentlyInDestruction) {
+			//如果当前正在销毁单例，抛出异常
+			throw new BeanCreationNotAllowedException(beanName,
+					"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+		}
+		//创建单例前，执行的方法
+		beforeSingletonCreation(beanName);
+		//是否是新的单例
+		boolean newSingleton = false;
+		//是否记录被封锁的异常，并发创建期间不记录，因为被封锁的异常集合由所有线程共享
+		boolean recordSuppressedExceptions = (!this.concurrentSingletonCreation && this.suppressedExceptions == null);
+		if (recordSuppressedExceptions) {
+			this.suppressedExceptions = new LinkedHashSet<>();
+		}
+		try {
+			//从单例工厂中获取单例
+			singletonObject = singletonFactory.getObject();
+			//获取到了单例，将是否为单例设置为true。
+			newSingleton = true;
+		} catch (IllegalStateException ex) {
+			// 同时是否隐式出现了 单例 对象-> 如果是，请继续进行，因为异常指示该状态。
+			//通过单例对象缓存获取该bean名称对应的单例对象。
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				//如果该单例对象为空，则抛出异常
+				throw ex;
+			}
+		} catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				//如果要记录封锁的异常，将太难
+				for (Exception suppressedException : this.suppressedExceptions) {
+					//添加相关原因
+					ex.addRelatedCause(suppressedException);
 				}
+			}
+			throw ex;
+		} finally {
+			if (recordSuppressedExceptions) {
+				//清除封锁的异常
+				this.suppressedExceptions = null;
+			}
+			//执行单例创建后的方法
+			afterSingletonCreation(beanName);
+		}
+		if (newSingleton) {
+			//如果是新的单例对象，添加单例对象
+			addSingleton(beanName, singletonObject);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * 在并发创建模式下返回以给定名称注册的单例对象，如果尚未注册，则创建并注册一个新对象。
+	 * <p>每个单例只由一个线程创建，且创建时不持有完全单例锁。其他需要该单例的线程等待其创建完成；
+	 * 如果创建线程（间接地）也在等待当前线程，则如同顺序创建一样使用早期引用解析循环引用。
+	 *
+	 * @param beanName         bean名称
+	 * @param singletonFactory 如有必要，ObjectFactory将懒加载地创建单例
+	 * @return 注册的单例对象
+	 * @see #setConcurrentSingletonCreation
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Thread currentThread = Thread.currentThread();
+		while (true) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			Thread creationThread = this.singletonCreationThreads.putIfAbsent(beanName, currentThread);
+			if (creationThread == null || creationThread == currentThread) {
+				//由当前线程创建该单例，当前线程中的循环引用与顺序创建时的处理相同
 				try {
-					//从单例工厂中获取单例
-					singletonObject = singletonFactory.getObject();
-					//获取到了单例，将是否为单例设置为true。
-					newSingleton = true;
-				} catch (IllegalStateException ex) {
-					// 同时是否隐式出现了 单例 对象-> 如果是，请继续进行，因为异常指示该状态。
-					//通过单例对象缓存获取该bean名称对应的单例对象。
 					singletonObject = this.singletonObjects.get(beanName);
 					if (singletonObject == null) {
-						//如果该单例对象为空，则抛出异常
-						throw ex;
+						singletonObject = createSingleton(beanName, singletonFactory);
 					}
-				} catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						//如果要记录封锁的异常，将太难
-						for (Exception suppressedException : this.suppressedExceptions) {
-							//添加相关原因
-							ex.addRelatedCause(suppressedException);
+					return singletonObject;
+				} finally {
+					if (creationThread == null) {
+						this.singletonCreationThreads.remove(beanName);
+						synchronized (this.singletonObjects) {
+							this.singletonObjects.notifyAll();
 						}
 					}
-					throw ex;
-				} finally {
-					if (recordSuppressedExceptions) {
-						//清除封锁的异常
-						this.suppressedExceptions = null;
+				}
+			}
+			//由其他线程创建该单例：等待其创建完成，如果创建失败则重新尝试
+			synchronized (this.singletonObjects) {
+				singletonObject = awaitSingleton(beanName, creationThread, currentThread);
+			}
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+		}
+	}
+
+	/**
+	 * 在完全单例锁中等待其他线程创建给定的单例，等待期间释放单例锁。
+	 *
+	 * @param beanName       bean名称
+	 * @param creationThread 创建该单例的线程
+	 * @param currentThread  当前线程
+	 * @return 用于解析线程之间循环引用的早期引用，如果创建线程已结束创建则为 {@code null}
+	 * @throws ConcurrentCircularReferenceException 如果线程之间的循环引用无法通过早期引用解析
+	 */
+	@Nullable
+	private Object awaitSingleton(String beanName, Thread creationThread, Thread currentThread) {
+		this.singletonsAwaitedByThread.put(currentThread, beanName);
+		//唤醒其他等待的线程，以便其检测新形成的循环等待
+		this.singletonObjects.notifyAll();
+		try {
+			while (this.singletonCreationThreads.get(beanName) == creationThread) {
+				if (isAwaitingThread(creationThread, currentThread)) {
+					//线程之间的循环引用：如同顺序创建一样，使用早期引用
+					Object earlySingletonReference = getEarlySingletonReference(beanName);
+					if (earlySingletonReference != null) {
+						return earlySingletonReference;
+					}
+					if (!hasEarlySingletonReferenceInCycle(beanName, creationThread, currentThread)) {
+						throw new ConcurrentCircularReferenceException(beanName,
+								"Requested bean is currently in creation in another thread: " +
+										"Is there an unresolvable circular reference?");
 					}
-					//执行单例创建后的方法
-					afterSingletonCreation(beanName);
 				}
-				if (newSingleton) {
-					//如果是新的单例对象，添加单例对象
-					addSingleton(beanName, singletonObject);
+				try {
+					this.singletonObjects.wait();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new BeanCreationException(beanName,
+							"Interrupted while waiting for singleton creation in another thread", ex);
 				}
 			}
-			return singletonObject;
+			return null;
+		} finally {
+			this.singletonsAwaitedByThread.remove(currentThread);
 		}
 	}
 
+	/**
+	 * 确定给定的创建线程是否（间接地）在等待当前线程创建的单例。
+	 */
+	private boolean isAwaitingThread(Thread creationThread, Thread currentThread) {
+		Thread thread = creationThread;
+		for (int i = 0; i <= this.singletonsAwaitedByThread.size(); i++) {
+			String awaitedBeanName = this.singletonsAwaitedByThread.get(thread);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			thread = this.singletonCreationThreads.get(awaitedBeanName);
+			if (thread == null) {
+				return false;
+			}
+			if (thread == currentThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 确定循环等待中是否有所等待单例的早期引用可用，即是否有线程可以继续创建。
+	 */
+	private boolean hasEarlySingletonReferenceInCycle(String beanName, Thread creationThread, Thread currentThread) {
+		String awaitedBeanName = beanName;
+		Thread thread = creationThread;
+		for (int i = 0; i <= this.singletonsAwaitedByThread.size(); i++) {
+			if (this.singletonObjects.containsKey(awaitedBeanName) ||
+					this.earlySingletonObjects.containsKey(awaitedBeanName) ||
+					this.singletonFactories.containsKey(awaitedBeanName)) {
+				return true;
+			}
+			if (thread == currentThread) {
+				return false;
+			}
+			awaitedBeanName = this.singletonsAwaitedByThread.get(thread);
+			if (awaitedBeanName == null) {
+				return true;
+			}
+			thread = this.singletonCreationThreads.get(awaitedBeanName);
+			if (thread == null) {
+				return true;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 确定给定的单例当前是否正在由其他线程并发创建。
+	 */
+	private boolean isSingletonCreatedByOtherThread(String beanName) {
+		Thread creationThread = this.singletonCreationThreads.get(beanName);
+		return (creationThread != null && creationThread != Thread.currentThread());
+	}
+
+	/**
+	 * 设置是否允许多个线程并发创建单例。
+	 * <p>默认情况下，单例在完全单例锁中创建，同一时间只有一个线程可以创建单例。
+	 * 启用后，每个单例只由一个线程创建，其他需要该单例的线程等待其创建完成，而不会得到尚未完成的早期引用；
+	 * 线程之间的循环引用如同顺序创建一样通过早期引用解析，无法解析时抛出 {@link BeanCurrentlyInCreationException}。
+	 * <p>只应在没有单例正在创建时切换，例如在并行预实例化单例的前后。
+	 *
+	 * @param concurrentSingletonCreation 是否允许并发创建单例
+	 * @see DefaultListableBeanFactory#setPreInstantiationExecutor
+	 * @since 5.3.21
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+	}
+
+	/**
+	 * 返回是否允许多个线程并发创建单例。
+	 *
+	 * @since 5.3.21
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
 	/**
 	 * 注册在创建 bean单例实例期间碰巧被封锁的异常，例如临时循环引用解决问题。
 	 * <p> 默认实现将保留此注册表的被封锁异常集合中的任何给定异常，最高限制为100异常，
@@ -730,4 +951,20 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * 并发创建期间，线程之间的循环引用无法通过早期引用解析时抛出的异常。
+	 * <p>能否解析取决于各线程开始创建单例的顺序，因此按顺序创建相同的单例仍可能成功。
+	 *
+	 * @see #setConcurrentSingletonCreation
+	 * @since 5.3.21
+	 */
+	@SuppressWarnings("serial")
+	static class ConcurrentCircularReferenceException extends BeanCurrentlyInCreationException {
+
+		ConcurrentCircularReferenceException(String beanName, String msg) {
+			super(beanName, msg);
+		}
+	}
+
 }
@@ -26,6 +26,8 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -36,6 +38,10 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -2622,6 +2628,120 @@ class DefaultListableBeanFactoryTests {
 		assertThat(holder.getNonPublicEnum()).isEqualTo(NonPublicEnum.VALUE_1);
 	}
 
+	@Test
+	void parallelPreInstantiation() {
+		List<String> initializedBeans = Collections.synchronizedList(new ArrayList<>());
+		Set<Thread> creationThreads = ConcurrentHashMap.newKeySet();
+		lbf.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				initializedBeans.add(beanName);
+				creationThreads.add(Thread.currentThread());
+				return bean;
+			}
+		});
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setDependsOn("bean2");
+		lbf.registerBeanDefinition("bean1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("bean3"));
+		lbf.registerBeanDefinition("bean2", bd2);
+		lbf.registerBeanDefinition("bean3", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("smart", new RootBeanDefinition(ThreadRecordingSmartSingleton.class));
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(initializedBeans).containsSubsequence("bean3", "bean2", "bean1");
+		assertThat(initializedBeans).contains("smart");
+		assertThat(creationThreads).doesNotContain(Thread.currentThread());
+		assertThat(lbf.getBean("bean2", TestBean.class).getSpouse()).isSameAs(lbf.getBean("bean3"));
+		assertThat(lbf.getBean(ThreadRecordingSmartSingleton.class).thread).isSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void parallelPreInstantiationWithCircularReferences() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("bean2"));
+		lbf.registerBeanDefinition("bean1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("bean1"));
+		lbf.registerBeanDefinition("bean2", bd2);
+		// Autowired circular references are not visible in the bean definitions
+		RootBeanDefinition bd3 = new RootBeanDefinition(CircularReferenceA.class);
+		bd3.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
+		lbf.registerBeanDefinition("bean3", bd3);
+		RootBeanDefinition bd4 = new RootBeanDefinition(CircularReferenceB.class);
+		bd4.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
+		lbf.registerBeanDefinition("bean4", bd4);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		TestBean bean1 = lbf.getBean("bean1", TestBean.class);
+		assertThat(bean1.getSpouse().getSpouse()).isSameAs(bean1);
+		CircularReferenceA bean3 = lbf.getBean(CircularReferenceA.class);
+		assertThat(bean3.b).isSameAs(lbf.getBean(CircularReferenceB.class));
+		assertThat(bean3.b.a).isSameAs(bean3);
+	}
+
+	@Test
+	void parallelPreInstantiationWithUnresolvableCircularReference() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(ConstructorCircularReferenceA.class);
+		bd1.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		lbf.registerBeanDefinition("bean1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ConstructorCircularReferenceB.class);
+		bd2.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		lbf.registerBeanDefinition("bean2", bd2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			assertThatExceptionOfType(BeanCreationException.class)
+					.isThrownBy(lbf::preInstantiateSingletons)
+					.satisfies(ex -> assertThat(ex.getMostSpecificCause()).isInstanceOf(BeanCurrentlyInCreationException.class));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationReportsCreationFailureWithoutRetrying() {
+		FailingConstructorBean.instantiations.set(0);
+		lbf.registerBeanDefinition("bean1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("failing", new RootBeanDefinition(FailingConstructorBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setDependsOn("failing");
+		lbf.registerBeanDefinition("dependent", bd);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			assertThatExceptionOfType(BeanCreationException.class)
+					.isThrownBy(lbf::preInstantiateSingletons)
+					.satisfies(ex -> {
+						assertThat(ex.getBeanName()).isEqualTo("failing");
+						assertThat(ex.getMostSpecificCause()).isInstanceOf(IllegalStateException.class);
+					});
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(FailingConstructorBean.instantiations.get()).isEqualTo(1);
+		assertThat(lbf.containsSingleton("dependent")).isFalse();
+	}
+
 
 	@SuppressWarnings("deprecation")
 	private int registerBeanDefinitions(Properties p) {
@@ -2647,6 +2767,62 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class ThreadRecordingSmartSingleton implements SmartInitializingSingleton {
+
+		Thread thread;
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.thread = Thread.currentThread();
+		}
+	}
+
+
+	public static class CircularReferenceA {
+
+		CircularReferenceB b;
+
+		public void setB(CircularReferenceB b) {
+			this.b = b;
+		}
+	}
+
+
+	public static class CircularReferenceB {
+
+		CircularReferenceA a;
+
+		public void setA(CircularReferenceA a) {
+			this.a = a;
+		}
+	}
+
+
+	public static class ConstructorCircularReferenceA {
+
+		public ConstructorCircularReferenceA(ConstructorCircularReferenceB b) {
+		}
+	}
+
+
+	public static class ConstructorCircularReferenceB {
+
+		public ConstructorCircularReferenceB(ConstructorCircularReferenceA a) {
+		}
+	}
+
+
+	public static class FailingConstructorBean {
+
+		static final AtomicInteger instantiations = new AtomicInteger();
+
+		public FailingConstructorBean() {
+			instantiations.incrementAndGet();
+			throw new IllegalStateException("Intentional failure");
+		}
+	}
+
+
 	public static class NoDependencies {
 
 		private NoDependencies() {
@@ -16,9 +16,16 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
@@ -29,7 +36,12 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
- * <p>Requires Caffeine 2.1 or higher.
+ * <p>Supports the {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)}
+ * operations through Caffeine's {@link AsyncCache}, when provided via the
+ * {@link #CaffeineCache(String, AsyncCache, boolean)} constructor.
+ *
+ * <p>Requires Caffeine 2.1 or higher; Caffeine 2.7 or higher for
+ * {@link AsyncCache} support.
  *
  * @author Ben Manes
  * @author Juergen Hoeller
@@ -43,6 +55,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private final AsyncCache<Object, Object> asyncCache;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -70,6 +85,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.asyncCache = null;
+	}
+
+	/**
+	 * Create a {@link CaffeineCache} instance with the specified name and the
+	 * given internal {@link AsyncCache} to use.
+	 * @param name the name of the cache
+	 * @param cache the backing Caffeine AsyncCache instance
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @since 5.3.21
+	 */
+	public CaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(cache, "Cache must not be null");
+		this.name = name;
+		this.cache = cache.synchronous();
+		this.asyncCache = cache;
 	}
 
 
@@ -83,6 +117,19 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	/**
+	 * Return the internal Caffeine AsyncCache.
+	 * @throws IllegalStateException if no AsyncCache is available
+	 * @since 5.3.21
+	 * @see #CaffeineCache(String, AsyncCache, boolean)
+	 * @see CaffeineCacheManager#setAsyncCacheMode
+	 */
+	public final AsyncCache<Object, Object> getAsyncCache() {
+		Assert.state(this.asyncCache != null,
+				"No Caffeine AsyncCache available: set CaffeineCacheManager.setAsyncCacheMode(true)");
+		return this.asyncCache;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
@@ -90,6 +137,35 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
 	}
 
+	/**
+	 * This implementation returns {@code true} if this cache has been created
+	 * with an {@link AsyncCache}.
+	 * @since 5.3.21
+	 * @see #getAsyncCache()
+	 */
+	@Override
+	public boolean supportsRetrieve() {
+		return (this.asyncCache != null);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		CompletableFuture<?> result = getAsyncCache().getIfPresent(key);
+		if (result != null && isAllowNullValues()) {
+			result = result.thenApply(this::toValueWrapper);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		CompletableFuture<Object> result = getAsyncCache().get(key,
+				(k, executor) -> valueLoader.get().thenApply(this::toStoreValue));
+		return (CompletableFuture<T>) result.thenApply(this::fromStoreValue);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
@@ -99,11 +175,32 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache.getIfPresent(key);
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> storeValues = (this.cache instanceof LoadingCache ?
+				((LoadingCache<Object, Object>) this.cache).getAll(keys) : this.cache.getAllPresent(keys));
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(storeValues.size() * 4 / 3 + 1);
+		for (Object key : keys) {
+			Object storeValue = storeValues.get(key);
+			if (storeValue != null) {
+				result.put(key, toValueWrapper(storeValue));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeValues = new HashMap<>(entries.size() * 4 / 3 + 1);
+		entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+		this.cache.putAll(storeValues);
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable final Object value) {
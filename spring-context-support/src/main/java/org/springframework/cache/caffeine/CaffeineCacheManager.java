@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -45,6 +46,11 @@ import org.springframework.util.ObjectUtils;
  * A {@link CaffeineSpec}-compliant expression value can also be applied
  * via the {@link #setCacheSpecification "cacheSpecification"} bean property.
  *
+ * <p>Supports the asynchronous {@link Cache#retrieve(Object)} and
+ * {@link Cache#retrieve(Object, java.util.function.Supplier)} operations
+ * through Caffeine {@link AsyncCache AsyncCaches}, when configured via
+ * {@link #setAsyncCacheMode}, with early-determined cache misses.
+ *
  * <p>Requires Caffeine 2.1 or higher.
  *
  * @author Ben Manes
@@ -61,6 +67,8 @@ public class CaffeineCacheManager implements CacheManager {
 	@Nullable
 	private CacheLoader<Object, Object> cacheLoader;
 
+	private boolean asyncCacheMode = false;
+
 	private boolean allowNullValues = true;
 
 	private boolean dynamic = true;
@@ -158,6 +166,36 @@ public class CaffeineCacheManager implements CacheManager {
 		}
 	}
 
+	/**
+	 * Set the common cache type that this cache manager builds to async.
+	 * This applies to {@link #setCacheNames} as well as on-demand caches.
+	 * <p>Individual cache registrations (such as {@link #registerCustomCache(String, AsyncCache)}
+	 * and {@link #registerCustomCache(String, com.github.benmanes.caffeine.cache.Cache)})
+	 * are not dependent on this setting.
+	 * <p>By default, this cache manager builds regular native Caffeine caches.
+	 * To switch to async caches which can also be used through the synchronous API
+	 * but come with support for {@code Cache#retrieve}, set this flag to {@code true}.
+	 * <p>Note that Caffeine async caches do not support weak or soft values.
+	 * @since 5.3.21
+	 * @see Caffeine#buildAsync()
+	 * @see Cache#retrieve(Object)
+	 * @see Cache#retrieve(Object, java.util.function.Supplier)
+	 */
+	public void setAsyncCacheMode(boolean asyncCacheMode) {
+		if (this.asyncCacheMode != asyncCacheMode) {
+			this.asyncCacheMode = asyncCacheMode;
+			refreshCommonCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager builds async caches.
+	 * @since 5.3.21
+	 */
+	public boolean isAsyncCacheMode() {
+		return this.asyncCacheMode;
+	}
+
 	/**
 	 * Specify whether to accept and convert {@code null} values for all caches
 	 * in this cache manager.
@@ -214,6 +252,27 @@ public class CaffeineCacheManager implements CacheManager {
 		this.cacheMap.put(name, adaptCaffeineCache(name, cache));
 	}
 
+	/**
+	 * Register the given Caffeine AsyncCache instance with this cache manager,
+	 * adapting it to Spring's cache API for exposure through {@link #getCache}.
+	 * Any number of such custom caches may be registered side by side.
+	 * <p>This allows for custom settings per cache (as opposed to all caches
+	 * sharing the common settings in the cache manager's configuration) and
+	 * is typically used with the Caffeine builder API:
+	 * {@code registerCustomCache("myCache", Caffeine.newBuilder().maximumSize(10).buildAsync())}
+	 * <p>Note that any other caches, whether statically specified through
+	 * {@link #setCacheNames} or dynamically built on demand, still operate
+	 * with the common settings in the cache manager's configuration.
+	 * @param name the name of the cache
+	 * @param cache the custom Caffeine AsyncCache instance to register
+	 * @since 5.3.21
+	 * @see #adaptCaffeineCache(String, AsyncCache)
+	 */
+	public void registerCustomCache(String name, AsyncCache<Object, Object> cache) {
+		this.customCacheNames.add(name);
+		this.cacheMap.put(name, adaptCaffeineCache(name, cache));
+	}
+
 	/**
 	 * Adapt the given new native Caffeine Cache instance to Spring's {@link Cache}
 	 * abstraction for the specified cache name.
@@ -228,6 +287,20 @@ public class CaffeineCacheManager implements CacheManager {
 		return new CaffeineCache(name, cache, isAllowNullValues());
 	}
 
+	/**
+	 * Adapt the given new Caffeine AsyncCache instance to Spring's {@link Cache}
+	 * abstraction for the specified cache name.
+	 * @param name the name of the cache
+	 * @param cache the Caffeine AsyncCache instance
+	 * @return the Spring CaffeineCache adapter (or a decorator thereof)
+	 * @since 5.3.21
+	 * @see CaffeineCache#CaffeineCache(String, AsyncCache, boolean)
+	 * @see #isAllowNullValues()
+	 */
+	protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+		return new CaffeineCache(name, cache, isAllowNullValues());
+	}
+
 	/**
 	 * Build a common {@link CaffeineCache} instance for the specified cache name,
 	 * using the common Caffeine configuration specified on this cache manager.
@@ -238,9 +311,11 @@ public class CaffeineCacheManager implements CacheManager {
 	 * @return the Spring CaffeineCache adapter (or a decorator thereof)
 	 * @see #adaptCaffeineCache
 	 * @see #createNativeCaffeineCache
+	 * @see #createAsyncCaffeineCache
 	 */
 	protected Cache createCaffeineCache(String name) {
-		return adaptCaffeineCache(name, createNativeCaffeineCache(name));
+		return (this.asyncCacheMode ? adaptCaffeineCache(name, createAsyncCaffeineCache(name)) :
+				adaptCaffeineCache(name, createNativeCaffeineCache(name)));
 	}
 
 	/**
@@ -254,6 +329,19 @@ public class CaffeineCacheManager implements CacheManager {
 		return (this.cacheLoader != null ? this.cacheBuilder.build(this.cacheLoader) : this.cacheBuilder.build());
 	}
 
+	/**
+	 * Build a common Caffeine AsyncCache instance for the specified cache name,
+	 * using the common Caffeine configuration specified on this cache manager.
+	 * @param name the name of the cache
+	 * @return the Caffeine AsyncCache instance
+	 * @since 5.3.21
+	 * @see #createCaffeineCache
+	 */
+	protected AsyncCache<Object, Object> createAsyncCaffeineCache(String name) {
+		return (this.cacheLoader != null ? this.cacheBuilder.buildAsync(this.cacheLoader) :
+				this.cacheBuilder.buildAsync());
+	}
+
 	/**
 	 * Recreate the common caches with the current state of this manager.
 	 */
@@ -16,6 +16,11 @@
 
 package org.springframework.cache.jcache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 import javax.cache.Cache;
@@ -90,11 +95,31 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> storeValues = this.cache.getAll(new LinkedHashSet<Object>(keys));
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(storeValues.size() * 4 / 3 + 1);
+		for (Object key : keys) {
+			Object storeValue = storeValues.get(key);
+			if (storeValue != null) {
+				result.put(key, toValueWrapper(storeValue));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeValues = new HashMap<>(entries.size() * 4 / 3 + 1);
+		entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+		this.cache.putAll(storeValues);
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
@@ -16,7 +16,11 @@
 
 package org.springframework.cache.transaction;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
@@ -91,6 +95,27 @@ public class TransactionAwareCacheDecorator implements Cache {
 		return this.targetCache.get(key, valueLoader);
 	}
 
+	@Override
+	public boolean supportsRetrieve() {
+		return this.targetCache.supportsRetrieve();
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		return this.targetCache.retrieve(key);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return this.targetCache.retrieve(key, valueLoader);
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		return this.targetCache.getAll(keys);
+	}
+
 	@Override
 	public void put(final Object key, @Nullable final Object value) {
 		if (TransactionSynchronizationManager.isSynchronizationActive()) {
@@ -106,6 +131,21 @@ public class TransactionAwareCacheDecorator implements Cache {
 		}
 	}
 
+	@Override
+	public void putAll(final Map<?, ?> entries) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					TransactionAwareCacheDecorator.this.targetCache.putAll(entries);
+				}
+			});
+		}
+		else {
+			this.targetCache.putAll(entries);
+		}
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -111,4 +113,21 @@ class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<CaffeineCache>
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	void testAsyncCacheRetrieve() {
+		CaffeineCache asyncCache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		assertThat(asyncCache.retrieve("key")).isNull();
+		assertThat(asyncCache.retrieve("key", () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+		assertThat(asyncCache.retrieve("key", () -> CompletableFuture.completedFuture("other")).join())
+				.isEqualTo("value");
+		assertThat(((ValueWrapper) asyncCache.retrieve("key").join()).get()).isEqualTo("value");
+		assertThat(asyncCache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void testRetrieveWithoutAsyncCache() {
+		assertThatIllegalStateException().isThrownBy(() -> getCache().retrieve("key"));
+	}
+
 }
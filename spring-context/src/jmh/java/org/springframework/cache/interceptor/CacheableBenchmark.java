@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Benchmark for cache hits on {@link Cacheable @Cacheable} methods, comparing
+ * simple key expressions that are evaluated through the invocation fast path
+ * with key expressions that require a full SpEL evaluation.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class CacheableBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public AnnotationConfigApplicationContext context;
+
+		public CachedService service;
+
+		public Tenant tenant = new Tenant("acme");
+
+		@Setup
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+			this.service = this.context.getBean(CachedService.class);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void cacheHitWithDefaultKey(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.service.findByDefaultKey("id"));
+	}
+
+	@Benchmark
+	public void cacheHitWithArgumentKey(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.service.findById("id"));
+	}
+
+	@Benchmark
+	public void cacheHitWithPropertyKey(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.service.findByTenant(state.tenant));
+	}
+
+	@Benchmark
+	public void cacheHitWithSpelKey(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.service.findByConcatenatedKey("id", state.tenant));
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class BenchmarkConfig {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CachedService cachedService() {
+			return new CachedService();
+		}
+	}
+
+
+	public static class CachedService {
+
+		@Cacheable("default")
+		public Object findByDefaultKey(String id) {
+			return new Object();
+		}
+
+		@Cacheable(cacheNames = "byId", key = "#id")
+		public Object findById(String id) {
+			return new Object();
+		}
+
+		@Cacheable(cacheNames = "byTenant", key = "#p0.name")
+		public Object findByTenant(Tenant tenant) {
+			return new Object();
+		}
+
+		@Cacheable(cacheNames = "concatenated", key = "#id + '-' + #tenant.name")
+		public Object findByConcatenatedKey(String id, Tenant tenant) {
+			return new Object();
+		}
+	}
+
+
+	public static class Tenant {
+
+		private final String name;
+
+		public Tenant(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Benchmark for publishing events to {@link ApplicationListener} beans and
+ * {@link EventListener @EventListener} methods, covering listener retrieval
+ * in the multicaster as well as the invocation of annotated listener methods.
+ * <p>The {@code publishEvents*} benchmarks compare publishing a batch of mixed
+ * events one by one against publishing them through
+ * {@link org.springframework.context.ApplicationEventPublisher#publishEvents}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ApplicationEventMulticasterBenchmark {
+
+	@Benchmark
+	public void publishApplicationEvent(BenchmarkState state) {
+		state.context.publishEvent(new SampleEvent(state));
+	}
+
+	@Benchmark
+	public void publishPayloadEvent(BenchmarkState state) {
+		state.context.publishEvent("payload");
+	}
+
+	@Benchmark
+	public void publishEventsIndividually(BenchmarkState state) {
+		for (Object event : state.batch) {
+			state.context.publishEvent(event);
+		}
+	}
+
+	@Benchmark
+	public void publishEventsAsBatch(BenchmarkState state) {
+		state.context.publishEvents(state.batch);
+	}
+
+	@Benchmark
+	public void retrieveListeners(BenchmarkState state, Blackhole bh) {
+		SampleEvent event = new SampleEvent(state);
+		bh.consume(state.multicaster.getApplicationListeners(event, state.eventType));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "50"})
+		public int listenerCount;
+
+		public GenericApplicationContext context;
+
+		public AbstractApplicationEventMulticaster multicaster;
+
+		public ResolvableType eventType;
+
+		public List<Object> batch;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new GenericApplicationContext();
+			AnnotationConfigUtils.registerAnnotationConfigProcessors(this.context);
+			for (int i = 0; i < this.listenerCount; i++) {
+				// Alternate between @EventListener methods and ApplicationListener beans
+				Class<?> beanClass = (i % 2 == 0 ? AnnotatedListener.class : SampleEventListener.class);
+				this.context.registerBeanDefinition("listener" + i, new RootBeanDefinition(beanClass));
+			}
+			this.context.registerBeanDefinition("otherListener", new RootBeanDefinition(OtherEventListener.class));
+			this.context.refresh();
+			this.multicaster = this.context.getBean(AbstractApplicationEventMulticaster.class);
+			this.eventType = ResolvableType.forClass(SampleEvent.class);
+			this.batch = new ArrayList<>(100);
+			// Runs of ten consecutive events of the same type, as grouped by the multicaster
+			for (int i = 0; i < 100; i++) {
+				this.batch.add((i / 10) % 2 == 0 ? new SampleEvent(this) : "payload" + i);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.context.close();
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class SampleEvent extends ApplicationEvent {
+
+		SampleEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class OtherEvent extends ApplicationEvent {
+
+		OtherEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class AnnotatedListener {
+
+		int count;
+
+		@EventListener
+		public void onSampleEvent(SampleEvent event) {
+			this.count++;
+		}
+
+		@EventListener
+		public void onPayload(String payload) {
+			this.count++;
+		}
+
+		@EventListener(batch = true)
+		public void onSampleEvents(List<SampleEvent> events) {
+			this.count += events.size();
+		}
+	}
+
+
+	static class SampleEventListener implements ApplicationListener<SampleEvent> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(SampleEvent event) {
+			this.count++;
+		}
+	}
+
+
+	static class OtherEventListener implements ApplicationListener<OtherEvent> {
+
+		@Override
+		public void onApplicationEvent(OtherEvent event) {
+		}
+	}
+
+}
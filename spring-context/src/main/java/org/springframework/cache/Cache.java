@@ -16,7 +16,12 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +105,107 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the values to which this cache maps the specified keys.
+	 * <p>The returned map contains an entry for each of the given keys that this
+	 * cache contains a mapping for, in the iteration order of the given keys,
+	 * with the cached value (which may be {@code null} itself) contained within
+	 * a {@link ValueWrapper}. Keys without a mapping are not contained.
+	 * <p>The default implementation delegates to {@link #get(Object)} for each
+	 * key. Cache providers are encouraged to look up all keys in a single bulk
+	 * operation if possible.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return the mappings found for the specified keys
+	 * @since 5.3.21
+	 * @see #get(Object)
+	 */
+	default Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+		for (Object key : keys) {
+			ValueWrapper valueWrapper = get(key);
+			if (valueWrapper != null) {
+				result.put(key, valueWrapper);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Determine whether this cache supports the {@link CompletableFuture}-based
+	 * {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)} operations.
+	 * <p>Callers should check this before retrieving and fall back to
+	 * {@link #get(Object)} and {@link #put(Object, Object)} otherwise.
+	 * <p>The default implementation returns {@code false}, in line with the
+	 * default {@code retrieve} implementations.
+	 * @since 5.3.21
+	 * @see #retrieve(Object)
+	 * @see #retrieve(Object, Supplier)
+	 */
+	default boolean supportsRetrieve() {
+		return false;
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation must not block
+	 * but is allowed to return a completed {@link CompletableFuture} if the
+	 * corresponding value is immediately available.
+	 * <p>Can return {@code null} if the cache can immediately determine that
+	 * it contains no mapping for this key (e.g. through an in-memory key map).
+	 * Otherwise, the cached value will be returned in the {@link CompletableFuture},
+	 * with {@code null} indicating a late-determined cache miss. A nested
+	 * {@link ValueWrapper} potentially indicates a nullable cached value;
+	 * the cached value may also be represented as a plain element if null
+	 * values are not supported.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}.
+	 * Implementations overriding this method need to override
+	 * {@link #supportsRetrieve()} as well.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which may also be empty when a cache
+	 * miss has been late-determined. A straight {@code null} being returned
+	 * means that the cache immediately determined that it contains no mapping
+	 * for this key.
+	 * @since 5.3.21
+	 * @see #supportsRetrieve()
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This method provides
+	 * a simple substitute for the conventional "if cached, return; otherwise
+	 * create, cache and return" pattern, based on {@link CompletableFuture}.
+	 * This operation must not block.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>Null values are generally not supported by this method. The provided
+	 * {@link CompletableFuture} handle produces a value or raises an exception.
+	 * If the {@code valueLoader} raises an exception, it will be propagated
+	 * to the {@code CompletableFuture} handle returned from here.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}.
+	 * Implementations overriding this method need to override
+	 * {@link #supportsRetrieve()} as well.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the loader for the value, in the form of a
+	 * {@link CompletableFuture} producing function
+	 * @return the value to which this cache maps the specified key,
+	 * contained within a {@link CompletableFuture}
+	 * @since 5.3.21
+	 * @see #retrieve(Object)
+	 * @see #get(Object, Callable)
+	 */
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -114,6 +220,21 @@ public interface Cache {
 	 */
 	void put(Object key, @Nullable Object value);
 
+	/**
+	 * Associate the specified values with their keys in this cache.
+	 * <p>Same semantics as {@link #put(Object, Object)} for each entry,
+	 * including the potential of asynchronous or deferred registration.
+	 * <p>The default implementation delegates to {@link #put(Object, Object)}
+	 * for each entry. Cache providers are encouraged to store all entries in
+	 * a single bulk operation if possible.
+	 * @param entries the keys and values to be associated
+	 * @since 5.3.21
+	 * @see #put(Object, Object)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Atomically associate the specified value with the specified key in this cache
 	 * if it is not set already.
@@ -25,6 +25,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheLoadCoordinator;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Configuration;
@@ -63,6 +64,9 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 	@Nullable
 	protected Supplier<CacheErrorHandler> errorHandler;
 
+	@Nullable
+	protected Supplier<CacheLoadCoordinator> cacheLoadCoordinator;
+
 
 	@Override
 	public void setImportMetadata(AnnotationMetadata importMetadata) {
@@ -100,6 +104,7 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 		this.cacheResolver = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheResolver);
 		this.keyGenerator = cachingConfigurerSupplier.adapt(CachingConfigurer::keyGenerator);
 		this.errorHandler = cachingConfigurerSupplier.adapt(CachingConfigurer::errorHandler);
+		this.cacheLoadCoordinator = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheLoadCoordinator);
 	}
 
 
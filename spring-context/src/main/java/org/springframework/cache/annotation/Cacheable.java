@@ -181,4 +181,40 @@ public @interface Cacheable {
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Cache the elements of a collection argument individually, e.g. for
+	 * {@code Map<Long, User> findUsers(Collection<Long> ids)}.
+	 * <p>Each element of the collection is used as a cache key as-is. All keys
+	 * are looked up with a single {@link org.springframework.cache.Cache#getAll}
+	 * call per cache, and the method is invoked with a collection of only the
+	 * keys that were not found. The results for those keys are put into the
+	 * caches, and the cached and loaded values are merged in the order of the
+	 * original collection. The method must declare a single parameter of a
+	 * {@link java.util.Collection} type and a return type of either
+	 * <ul>
+	 * <li>{@link java.util.Map}, with the values mapped to the keys that the
+	 * method was invoked with; keys without a value are not cached, or</li>
+	 * <li>{@link java.util.List} (or {@link java.util.Collection}), with the
+	 * values in the iteration order of the keys that the method was invoked
+	 * with.</li>
+	 * </ul>
+	 * <p>This leads to a couple of limitations:
+	 * <ol>
+	 * <li>{@link #key()} and {@link #keyGenerator()} are not supported</li>
+	 * <li>{@link #sync()} is not supported</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * </ol>
+	 * {@link #condition()} is evaluated once for the invocation, while
+	 * {@link #unless()} is evaluated for each loaded value, with {@code #result}
+	 * referring to that value.
+	 * <p>Invoking the method with a subset of the keys requires an interceptor
+	 * that supports changing the method arguments, such as the proxy-based
+	 * {@link org.springframework.cache.interceptor.CacheInterceptor}. Otherwise
+	 * the method is invoked with all keys whenever any key is not cached.
+	 * @since 5.3.21
+	 * @see org.springframework.cache.Cache#getAll(java.util.Collection)
+	 * @see org.springframework.cache.Cache#putAll(java.util.Map)
+	 */
+	boolean bulk() default false;
+
 }
@@ -18,6 +18,7 @@ package org.springframework.cache.annotation;
 
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheLoadCoordinator;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.lang.Nullable;
@@ -141,4 +142,35 @@ public interface CachingConfigurer {
 		return null;
 	}
 
+	/**
+	 * Return the {@link CacheLoadCoordinator} to use for synchronized cache
+	 * operations, de-duplicating concurrent loads of the same key independently
+	 * of the cache provider and optionally refreshing entries ahead of their
+	 * expiration.
+	 * <p>By default, synchronization is delegated to the cache provider.
+	 * <p>Implementations must explicitly declare
+	 * {@link org.springframework.context.annotation.Bean @Bean}, e.g.
+	 * <pre class="code">
+	 * &#064;Configuration
+	 * &#064;EnableCaching
+	 * public class AppConfig extends CachingConfigurerSupport {
+	 *     &#064;Bean // important!
+	 *     &#064;Override
+	 *     public CacheLoadCoordinator cacheLoadCoordinator() {
+	 *         CacheLoadCoordinator coordinator = new CacheLoadCoordinator();
+	 *         coordinator.setRefreshAheadExecutor(refreshExecutor());
+	 *         coordinator.setRefreshAheadWindow(Duration.ofSeconds(30));
+	 *         return coordinator;
+	 *     }
+	 *     // ...
+	 * }
+	 * </pre>
+	 * @since 5.3.21
+	 * @see Cacheable#sync()
+	 */
+	@Nullable
+	default CacheLoadCoordinator cacheLoadCoordinator() {
+		return null;
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.cache.annotation;
 
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheLoadCoordinator;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.lang.Nullable;
@@ -56,4 +57,10 @@ public class CachingConfigurerSupport implements CachingConfigurer {
 		return null;
 	}
 
+	@Override
+	@Nullable
+	public CacheLoadCoordinator cacheLoadCoordinator() {
+		return null;
+	}
+
 }
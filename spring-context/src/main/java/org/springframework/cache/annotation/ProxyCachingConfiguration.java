@@ -63,7 +63,8 @@ public class ProxyCachingConfiguration extends AbstractCachingConfiguration {
 	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
 	public CacheInterceptor cacheInterceptor(CacheOperationSource cacheOperationSource) {
 		CacheInterceptor interceptor = new CacheInterceptor();
-		interceptor.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager);
+		interceptor.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager,
+				this.cacheLoadCoordinator);
 		interceptor.setCacheOperationSource(cacheOperationSource);
 		return interceptor;
 	}
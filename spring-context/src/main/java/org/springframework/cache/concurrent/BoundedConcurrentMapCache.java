@@ -0,0 +1,643 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.cache.concurrent.ConcurrentMapCacheConfiguration.EntryWeigher;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.cache.support.ExpiringCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation based on a
+ * {@link ConcurrentHashMap}, with an optional size or weight bound, expiration
+ * of entries and statistics, as defined by a {@link ConcurrentMapCacheConfiguration}.
+ *
+ * <p>Lookups are lock-free: they only read the underlying map and mark the
+ * entry as recently used. Once the bound is exceeded, writers evict entries
+ * following the CLOCK ("second chance") approximation of least-recently-used
+ * ordering: entries are considered in write order, and an entry that has been
+ * read since it was last considered is given another round. Expired entries
+ * are removed on access and by periodic cleanup on writes.
+ *
+ * <p>Hit, miss, eviction and load counts as well as the time spent loading
+ * values are recorded through {@link LongAdder}s and can be obtained through
+ * {@link #getStatistics()}.
+ *
+ * @since 5.3.21
+ * @see ConcurrentMapCacheManager#setDefaultCacheConfiguration
+ * @see ConcurrentMapCacheManager#setCacheConfigurations
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache implements ExpiringCache {
+
+	/** Number of queued entries to inspect for expiration per write-triggered cleanup. */
+	private static final int CLEANUP_BATCH_SIZE = 64;
+
+
+	private final String name;
+
+	private final ConcurrentMapCacheConfiguration configuration;
+
+	private final ConcurrentMap<Object, Entry> store = new ConcurrentHashMap<>(256);
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	private final long defaultTimeToLive;
+
+	/** All entries in write order, including entries that have since been removed. */
+	private final Queue<Entry> writeOrder = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger writeOrderSize = new AtomicInteger();
+
+	private final AtomicLong weightedSize = new AtomicLong();
+
+	private final AtomicInteger writeCount = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/** Whether any entry with a time-to-live has been written. */
+	private volatile boolean expiringEntries;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadSuccessCount = new LongAdder();
+
+	private final LongAdder loadFailureCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder expirationCount = new LongAdder();
+
+	private final PendingLoads pendingLoads = new PendingLoads();
+
+	private LongSupplier ticker = System::nanoTime;
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name
+	 * and configuration, allowing for {@code null} values.
+	 * @param name the name of the cache
+	 * @param configuration the bound and expiration settings
+	 */
+	public BoundedConcurrentMapCache(String name, ConcurrentMapCacheConfiguration configuration) {
+		this(name, configuration, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name
+	 * and configuration.
+	 * @param name the name of the cache
+	 * @param configuration the bound and expiration settings
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 */
+	public BoundedConcurrentMapCache(String name, ConcurrentMapCacheConfiguration configuration,
+			boolean allowNullValues) {
+
+		this(name, configuration, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and
+	 * configuration. If the {@link SerializationDelegate} is specified,
+	 * {@link #isStoreByValue() store-by-value} is enabled.
+	 * @param name the name of the cache
+	 * @param configuration the bound and expiration settings
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, ConcurrentMapCacheConfiguration configuration,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(configuration, "ConcurrentMapCacheConfiguration must not be null");
+		this.name = name;
+		this.configuration = configuration;
+		this.serialization = serialization;
+		this.defaultTimeToLive = toNanos(configuration.getTimeToLive());
+	}
+
+
+	/**
+	 * Set the time source in nanoseconds, for testing purposes.
+	 */
+	void setTicker(LongSupplier ticker) {
+		this.ticker = ticker;
+	}
+
+	/**
+	 * Return the bound and expiration settings of this cache.
+	 */
+	public final ConcurrentMapCacheConfiguration getConfiguration() {
+		return this.configuration;
+	}
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default). If store by value is enabled, each
+	 * entry in the cache must be serializable.
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the underlying map. Its values are internal entry holders,
+	 * so it is only exposed for introspection and must not be modified.
+	 */
+	@Override
+	public final ConcurrentMap<Object, ?> getNativeCache() {
+		return this.store;
+	}
+
+	/**
+	 * Return the current number of entries, including expired entries that
+	 * have not been removed yet.
+	 */
+	public long getSize() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return the current total weight of the entries, i.e. the number of entries
+	 * unless an {@link EntryWeigher} has been configured.
+	 */
+	public long getWeightedSize() {
+		return this.weightedSize.get();
+	}
+
+	/**
+	 * Return a snapshot of the statistics of this cache.
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.loadSuccessCount.sum(),
+				this.loadFailureCount.sum(), this.totalLoadTime.sum(), this.evictionCount.sum(),
+				this.expirationCount.sum());
+	}
+
+	@Override
+	@Nullable
+	public Duration getRemainingTimeToLive(Object key) {
+		long now = this.ticker.getAsLong();
+		Entry entry = this.store.get(key);
+		if (entry == null || entry.timeToLive <= 0 || entry.isExpired(now)) {
+			return null;
+		}
+		return Duration.ofNanos(entry.timeToLive - (now - entry.writeTime));
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Entry entry = getValidEntry(key, this.ticker.getAsLong());
+		if (entry == null) {
+			this.missCount.increment();
+			return null;
+		}
+		this.hitCount.increment();
+		return entry.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		long now = this.ticker.getAsLong();
+		Entry entry = getValidEntry(key, now);
+		if (entry != null) {
+			this.hitCount.increment();
+			return (T) fromStoreValue(entry.value);
+		}
+		this.missCount.increment();
+		Entry[] replaced = new Entry[1];
+		Entry[] created = new Entry[1];
+		Entry result = this.store.compute(key, (k, existing) -> {
+			if (existing != null && !existing.isExpired(now)) {
+				return existing;
+			}
+			replaced[0] = existing;
+			created[0] = createEntry(k, load(k, valueLoader), this.defaultTimeToLive, now);
+			return created[0];
+		});
+		if (created[0] != null) {
+			afterWrite(created[0], replaced[0]);
+			if (replaced[0] != null) {
+				this.expirationCount.increment();
+			}
+		}
+		return (T) fromStoreValue(result.value);
+	}
+
+	private Object load(Object key, Callable<?> valueLoader) {
+		long start = this.ticker.getAsLong();
+		try {
+			Object value = toStoreValue(valueLoader.call());
+			this.loadSuccessCount.increment();
+			return value;
+		}
+		catch (Throwable ex) {
+			this.loadFailureCount.increment();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		finally {
+			this.totalLoadTime.add(this.ticker.getAsLong() - start);
+		}
+	}
+
+	@Override
+	public boolean supportsRetrieve() {
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		return this.pendingLoads.load(key, valueLoader, loadedValue -> put(key, loadedValue));
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		doPut(key, value, this.defaultTimeToLive);
+	}
+
+	/**
+	 * Associate the specified value with the specified key in this cache,
+	 * expiring the entry after the given time-to-live rather than the
+	 * configured {@link ConcurrentMapCacheConfiguration#getTimeToLive() default}.
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 * @param timeToLive the time-to-live of the entry, or {@link Duration#ZERO}
+	 * for an entry that does not expire
+	 */
+	public void put(Object key, @Nullable Object value, Duration timeToLive) {
+		Assert.notNull(timeToLive, "Time-to-live must not be null");
+		Assert.isTrue(!timeToLive.isNegative(), "Time-to-live must not be negative");
+		doPut(key, value, toNanos(timeToLive));
+	}
+
+	private void doPut(Object key, @Nullable Object value, long timeToLive) {
+		Entry entry = createEntry(key, toStoreValue(value), timeToLive, this.ticker.getAsLong());
+		Entry replaced = this.store.put(key, entry);
+		afterWrite(entry, replaced);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		long now = this.ticker.getAsLong();
+		Object storeValue = toStoreValue(value);
+		Entry[] replaced = new Entry[1];
+		Entry[] created = new Entry[1];
+		Entry result = this.store.compute(key, (k, existing) -> {
+			if (existing != null && !existing.isExpired(now)) {
+				return existing;
+			}
+			replaced[0] = existing;
+			created[0] = createEntry(k, storeValue, this.defaultTimeToLive, now);
+			return created[0];
+		});
+		if (created[0] != null) {
+			afterWrite(created[0], replaced[0]);
+			if (replaced[0] != null) {
+				this.expirationCount.increment();
+			}
+			return null;
+		}
+		return toValueWrapper(result.value);
+	}
+
+	@Override
+	public void evict(Object key) {
+		evictIfPresent(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		Entry removed = this.store.remove(key);
+		if (removed == null) {
+			return false;
+		}
+		release(removed);
+		return !removed.isExpired(this.ticker.getAsLong());
+	}
+
+	@Override
+	public void clear() {
+		for (Entry entry : this.store.values()) {
+			if (this.store.remove(entry.key, entry)) {
+				release(entry);
+			}
+		}
+		this.evictionLock.lock();
+		try {
+			purgeRemovedEntries();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = !this.store.isEmpty();
+		clear();
+		return notEmpty;
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return this.serialization.serializeToByteArray(storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(this.serialization.deserializeFromByteArray((byte[]) storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+
+	/**
+	 * Return the entry for the given key unless it has expired,
+	 * removing it in the latter case.
+	 */
+	@Nullable
+	private Entry getValidEntry(Object key, long now) {
+		Entry entry = this.store.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(now)) {
+			if (this.store.remove(key, entry)) {
+				release(entry);
+				this.expirationCount.increment();
+			}
+			return null;
+		}
+		if (!entry.accessed) {
+			entry.accessed = true;
+		}
+		return entry;
+	}
+
+	private Entry createEntry(Object key, Object storeValue, long timeToLive, long now) {
+		EntryWeigher weigher = this.configuration.getWeigher();
+		long weight = (weigher != null ? weigher.weigh(key, storeValue) : 1);
+		Assert.state(weight >= 0, () -> "Negative weight " + weight + " for cache key '" + key + "'");
+		if (timeToLive > 0 && !this.expiringEntries) {
+			this.expiringEntries = true;
+		}
+		return new Entry(key, storeValue, weight, now, timeToLive);
+	}
+
+	/**
+	 * Account for a newly written entry and the entry it replaced, if any,
+	 * and evict entries or clean up as necessary.
+	 */
+	private void afterWrite(Entry entry, @Nullable Entry replaced) {
+		this.weightedSize.addAndGet(entry.weight);
+		this.writeOrder.offer(entry);
+		this.writeOrderSize.incrementAndGet();
+		if (replaced != null) {
+			release(replaced);
+		}
+		if (isOverCapacity()) {
+			this.evictionLock.lock();
+			try {
+				evictEntries();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+		else if (needsCleanup() && this.evictionLock.tryLock()) {
+			try {
+				if (this.writeOrderSize.get() > 2 * this.store.size() + CLEANUP_BATCH_SIZE) {
+					purgeRemovedEntries();
+				}
+				else {
+					expireEntries();
+				}
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Account for the removal of the given entry from the store. Must only
+	 * be called by the thread that actually removed it.
+	 */
+	private void release(Entry entry) {
+		entry.removed = true;
+		this.weightedSize.addAndGet(-entry.weight);
+	}
+
+	private boolean isOverCapacity() {
+		return (this.configuration.isBounded() &&
+				this.weightedSize.get() > this.configuration.getMaximumWeight());
+	}
+
+	private boolean needsCleanup() {
+		return (this.writeOrderSize.get() > 2 * this.store.size() + CLEANUP_BATCH_SIZE ||
+				(this.expiringEntries && this.writeCount.incrementAndGet() % CLEANUP_BATCH_SIZE == 0));
+	}
+
+	/**
+	 * Evict entries in CLOCK order until the cache is within its bound.
+	 * Expects the eviction lock to be held.
+	 */
+	private void evictEntries() {
+		long now = this.ticker.getAsLong();
+		Entry entry;
+		while (isOverCapacity() && (entry = pollWriteOrder()) != null) {
+			if (entry.removed) {
+				continue;
+			}
+			boolean expired = entry.isExpired(now);
+			if (!expired && entry.accessed) {
+				entry.accessed = false;
+				offerWriteOrder(entry);
+			}
+			else if (this.store.remove(entry.key, entry)) {
+				release(entry);
+				if (expired) {
+					this.expirationCount.increment();
+				}
+				else {
+					this.evictionCount.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove expired entries among the next batch of entries in write order.
+	 * Expects the eviction lock to be held.
+	 */
+	private void expireEntries() {
+		long now = this.ticker.getAsLong();
+		Entry entry;
+		for (int i = 0; i < CLEANUP_BATCH_SIZE && (entry = pollWriteOrder()) != null; i++) {
+			if (entry.removed) {
+				continue;
+			}
+			if (!entry.isExpired(now)) {
+				offerWriteOrder(entry);
+			}
+			else if (this.store.remove(entry.key, entry)) {
+				release(entry);
+				this.expirationCount.increment();
+			}
+		}
+	}
+
+	/**
+	 * Drop all removed entries from the write order queue.
+	 * Expects the eviction lock to be held.
+	 */
+	private void purgeRemovedEntries() {
+		for (int i = this.writeOrderSize.get(); i > 0; i--) {
+			Entry entry = pollWriteOrder();
+			if (entry == null) {
+				break;
+			}
+			if (!entry.removed) {
+				offerWriteOrder(entry);
+			}
+		}
+	}
+
+	@Nullable
+	private Entry pollWriteOrder() {
+		Entry entry = this.writeOrder.poll();
+		if (entry != null) {
+			this.writeOrderSize.decrementAndGet();
+		}
+		return entry;
+	}
+
+	private void offerWriteOrder(Entry entry) {
+		this.writeOrder.offer(entry);
+		this.writeOrderSize.incrementAndGet();
+	}
+
+	private static long toNanos(Duration duration) {
+		try {
+			return duration.toNanos();
+		}
+		catch (ArithmeticException ex) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+
+	/**
+	 * Holder for a store value and its eviction state.
+	 */
+	private static final class Entry {
+
+		final Object key;
+
+		final Object value;
+
+		final long weight;
+
+		final long writeTime;
+
+		final long timeToLive;
+
+		volatile boolean accessed;
+
+		volatile boolean removed;
+
+		Entry(Object key, Object value, long weight, long writeTime, long timeToLive) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+			this.timeToLive = timeToLive;
+		}
+
+		boolean isExpired(long now) {
+			return (this.timeToLive > 0 && now - this.writeTime >= this.timeToLive);
+		}
+	}
+
+}
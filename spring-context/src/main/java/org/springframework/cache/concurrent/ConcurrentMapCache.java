@@ -17,8 +17,10 @@
 package org.springframework.cache.concurrent;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
@@ -53,6 +55,8 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	private final PendingLoads pendingLoads = new PendingLoads();
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -149,6 +153,29 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}));
 	}
 
+	@Override
+	public boolean supportsRetrieve() {
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		return this.pendingLoads.load(key, valueLoader, loadedValue -> put(key, loadedValue));
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.store.put(key, toStoreValue(value));
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable configuration for a {@link BoundedConcurrentMapCache}, defining its
+ * size or weight bound and the time-to-live of its entries.
+ *
+ * <p>Start from {@link #defaultCacheConfig()} and customize it through the
+ * mutator methods, each of which returns a new instance:
+ *
+ * <pre class="code">
+ * ConcurrentMapCacheConfiguration config = ConcurrentMapCacheConfiguration.defaultCacheConfig()
+ *     .maximumSize(10_000)
+ *     .expireAfterWrite(Duration.ofMinutes(10));
+ * </pre>
+ *
+ * @since 5.3.21
+ * @see ConcurrentMapCacheManager#setDefaultCacheConfiguration
+ * @see ConcurrentMapCacheManager#setCacheConfigurations
+ */
+public final class ConcurrentMapCacheConfiguration {
+
+	private static final ConcurrentMapCacheConfiguration DEFAULT =
+			new ConcurrentMapCacheConfiguration(-1, null, Duration.ZERO);
+
+
+	private final long maximumWeight;
+
+	@Nullable
+	private final EntryWeigher weigher;
+
+	private final Duration timeToLive;
+
+
+	private ConcurrentMapCacheConfiguration(long maximumWeight, @Nullable EntryWeigher weigher, Duration timeToLive) {
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.timeToLive = timeToLive;
+	}
+
+
+	/**
+	 * Return a configuration without any bound and without expiration,
+	 * recording statistics only.
+	 */
+	public static ConcurrentMapCacheConfiguration defaultCacheConfig() {
+		return DEFAULT;
+	}
+
+
+	/**
+	 * Limit the cache to the given number of entries.
+	 * <p>Replaces a weight bound specified through {@link #maximumWeight}.
+	 * @param maximumSize the maximum number of entries, or a negative value
+	 * for no bound
+	 * @return a new configuration instance
+	 */
+	public ConcurrentMapCacheConfiguration maximumSize(long maximumSize) {
+		return new ConcurrentMapCacheConfiguration(Math.max(maximumSize, -1), null, this.timeToLive);
+	}
+
+	/**
+	 * Limit the cache to the given total weight of its entries,
+	 * as determined by the given weigher.
+	 * <p>Replaces a size bound specified through {@link #maximumSize}.
+	 * @param maximumWeight the maximum total weight, or a negative value
+	 * for no bound
+	 * @param weigher the weigher to determine the weight of each entry
+	 * @return a new configuration instance
+	 */
+	public ConcurrentMapCacheConfiguration maximumWeight(long maximumWeight, EntryWeigher weigher) {
+		Assert.notNull(weigher, "EntryWeigher must not be null");
+		return new ConcurrentMapCacheConfiguration(Math.max(maximumWeight, -1), weigher, this.timeToLive);
+	}
+
+	/**
+	 * Expire entries once the given duration has elapsed after they have been
+	 * written, unless a specific time-to-live is given for an entry through
+	 * {@link BoundedConcurrentMapCache#put(Object, Object, Duration)}.
+	 * @param timeToLive the time-to-live, or {@link Duration#ZERO} for no expiration
+	 * @return a new configuration instance
+	 */
+	public ConcurrentMapCacheConfiguration expireAfterWrite(Duration timeToLive) {
+		Assert.notNull(timeToLive, "Time-to-live must not be null");
+		Assert.isTrue(!timeToLive.isNegative(), "Time-to-live must not be negative");
+		return new ConcurrentMapCacheConfiguration(this.maximumWeight, this.weigher, timeToLive);
+	}
+
+
+	/**
+	 * Return the maximum number of entries, or the maximum total weight if a
+	 * {@link #getWeigher() weigher} has been specified; -1 if not bounded.
+	 */
+	public long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Return the weigher for the entries, or {@code null} if every entry
+	 * has a weight of 1.
+	 */
+	@Nullable
+	public EntryWeigher getWeigher() {
+		return this.weigher;
+	}
+
+	/**
+	 * Return whether the cache is bounded by size or weight.
+	 */
+	public boolean isBounded() {
+		return (this.maximumWeight >= 0);
+	}
+
+	/**
+	 * Return the default time-to-live of the entries,
+	 * {@link Duration#ZERO} if entries do not expire.
+	 */
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
+
+	@Override
+	public String toString() {
+		return "ConcurrentMapCacheConfiguration: maximumWeight=" + this.maximumWeight +
+				(this.weigher != null ? " (weighed)" : "") + ", timeToLive=" + this.timeToLive;
+	}
+
+
+	/**
+	 * Strategy to determine the weight of a cache entry.
+	 */
+	@FunctionalInterface
+	public interface EntryWeigher {
+
+		/**
+		 * Return the weight of the given entry.
+		 * @param key the cache key
+		 * @param value the value as held in the store, i.e. after conversion of
+		 * {@code null} values and serialization in store-by-value mode
+		 * @return the non-negative weight of the entry
+		 */
+		long weigh(Object key, Object value);
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.cache.concurrent;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -26,6 +27,7 @@ import java.util.concurrent.ConcurrentMap;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.CacheStatistics;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
 
@@ -35,9 +37,15 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>By default, caches are unbounded {@link ConcurrentMapCache} instances. Specify
+ * a {@link ConcurrentMapCacheConfiguration} as {@link #setDefaultCacheConfiguration
+ * default} or {@link #setCacheConfigurations per cache name} to obtain
+ * {@link BoundedConcurrentMapCache} instances with a size or weight bound,
+ * expiration and statistics instead.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager. However, it may be
+ * useful for testing or simple caching scenarios. For advanced local caching
+ * needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -59,6 +67,11 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	@Nullable
+	private ConcurrentMapCacheConfiguration defaultCacheConfiguration;
+
+	private Map<String, ConcurrentMapCacheConfiguration> cacheConfigurations = Collections.emptyMap();
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -146,6 +159,33 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the configuration for all caches without a specific configuration,
+	 * creating {@link BoundedConcurrentMapCache} instances for them.
+	 * <p>Default is none, creating unbounded {@link ConcurrentMapCache} instances.
+	 * <p>Note: A change of the default configuration will reset all existing caches,
+	 * if any, to reconfigure them with the new configuration.
+	 * @since 5.3.21
+	 * @see #setCacheConfigurations
+	 */
+	public void setDefaultCacheConfiguration(@Nullable ConcurrentMapCacheConfiguration defaultCacheConfiguration) {
+		this.defaultCacheConfiguration = defaultCacheConfiguration;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify configurations for specific caches, keyed by cache name,
+	 * creating {@link BoundedConcurrentMapCache} instances for them.
+	 * <p>Note: A change of the cache configurations will reset all existing caches,
+	 * if any, to reconfigure them with the new configurations.
+	 * @since 5.3.21
+	 * @see #setDefaultCacheConfiguration
+	 */
+	public void setCacheConfigurations(Map<String, ConcurrentMapCacheConfiguration> cacheConfigurations) {
+		this.cacheConfigurations = new LinkedHashMap<>(cacheConfigurations);
+		recreateCaches();
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -177,6 +217,35 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return cache;
 	}
 
+	/**
+	 * Return the statistics of the specified cache.
+	 * @param name the name of the cache
+	 * @return the statistics, or {@code null} if there is no such cache or
+	 * if it does not record statistics, i.e. is not a {@link BoundedConcurrentMapCache}
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public CacheStatistics getCacheStatistics(String name) {
+		Cache cache = this.cacheMap.get(name);
+		return (cache instanceof BoundedConcurrentMapCache ?
+				((BoundedConcurrentMapCache) cache).getStatistics() : null);
+	}
+
+	/**
+	 * Return the statistics of all caches that record statistics, keyed by cache name.
+	 * @since 5.3.21
+	 * @see #getCacheStatistics(String)
+	 */
+	public Map<String, CacheStatistics> getCacheStatistics() {
+		Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+		this.cacheMap.forEach((name, cache) -> {
+			if (cache instanceof BoundedConcurrentMapCache) {
+				statistics.put(name, ((BoundedConcurrentMapCache) cache).getStatistics());
+			}
+		});
+		return statistics;
+	}
+
 	private void recreateCaches() {
 		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
 			entry.setValue(createConcurrentMapCache(entry.getKey()));
@@ -184,12 +253,20 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	}
 
 	/**
-	 * Create a new ConcurrentMapCache instance for the specified cache name.
+	 * Create a new ConcurrentMapCache instance for the specified cache name,
+	 * or a {@link BoundedConcurrentMapCache} if a configuration applies to it.
 	 * @param name the name of the cache
 	 * @return the ConcurrentMapCache (or a decorator thereof)
+	 * @see #setDefaultCacheConfiguration
+	 * @see #setCacheConfigurations
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		ConcurrentMapCacheConfiguration configuration =
+				this.cacheConfigurations.getOrDefault(name, this.defaultCacheConfiguration);
+		if (configuration != null) {
+			return new BoundedConcurrentMapCache(name, configuration, isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
 	}
 
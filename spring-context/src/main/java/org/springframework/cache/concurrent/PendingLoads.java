@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the {@link CompletableFuture}-based loads in progress for the
+ * {@code retrieve(Object, Supplier)} implementations of the concurrent map
+ * caches, so that concurrent retrievals of the same key share a single load
+ * without blocking any thread while the value is being loaded.
+ *
+ * <p>A loaded value is handed to the cache once the load completes; a failed
+ * load is dropped, so that a subsequent retrieval starts a new load.
+ *
+ * @since 5.3.21
+ */
+final class PendingLoads {
+
+	private final ConcurrentMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Return a handle for the value loaded for the given key, starting a load
+	 * through the given value loader unless one is in progress already.
+	 * @param key the key to load the value for
+	 * @param valueLoader the loader for the value
+	 * @param store the callback storing a successfully loaded value in the cache
+	 * @return a {@link CompletableFuture} for the loaded value, specific to the caller
+	 */
+	@SuppressWarnings("unchecked")
+	<T> CompletableFuture<T> load(Object key, Supplier<CompletableFuture<T>> valueLoader, Consumer<T> store) {
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> existing = this.loads.putIfAbsent(key, load);
+		if (existing == null) {
+			CompletableFuture<T> loaderResult;
+			try {
+				loaderResult = valueLoader.get();
+			}
+			catch (RuntimeException ex) {
+				loaderResult = new CompletableFuture<>();
+				loaderResult.completeExceptionally(ex);
+			}
+			loaderResult.whenComplete((value, ex) -> {
+				Throwable failure = ex;
+				if (failure == null) {
+					try {
+						store.accept(value);
+					}
+					catch (RuntimeException storeEx) {
+						failure = storeEx;
+					}
+				}
+				this.loads.remove(key, load);
+				if (failure != null) {
+					load.completeExceptionally(failure);
+				}
+				else {
+					load.complete(value);
+				}
+			});
+			existing = load;
+		}
+		// Hand out a dependent future: cancelling it must not affect other callers
+		return (CompletableFuture<T>) existing.thenApply(Function.identity());
+	}
+
+}
@@ -16,6 +16,12 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -78,6 +84,66 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#retrieve(Object)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs. Return {@code null}
+	 * if the handler does not throw any exception, which simulates a cache
+	 * miss in case of error.
+	 * <p>Falls back to a regular {@link #doGet get} for a cache that does not
+	 * {@link Cache#supportsRetrieve() support retrieval}, exposing a cache hit
+	 * as a completed future.
+	 * @since 5.3.21
+	 * @see Cache#retrieve(Object)
+	 */
+	@Nullable
+	protected CompletableFuture<?> doRetrieve(Cache cache, Object key) {
+		if (!cache.supportsRetrieve()) {
+			Cache.ValueWrapper wrapper = doGet(cache, key);
+			return (wrapper != null ? CompletableFuture.completedFuture(wrapper) : null);
+		}
+		try {
+			return cache.retrieve(key);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return null;  // If the exception is handled, return a cache miss
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#retrieve(Object, Supplier)} on the specified
+	 * {@link Cache} and invoke the error handler if an exception occurs.
+	 * Fall back to the value loader if the handler does not throw any
+	 * exception, which simulates a cache miss in case of error.
+	 * <p>Falls back to a regular {@link #doGet get}, followed by a
+	 * {@link #doPut put} of the loaded value on a cache miss, for a cache that
+	 * does not {@link Cache#supportsRetrieve() support retrieval}. Concurrent
+	 * misses for the same key are not synchronized in that case.
+	 * @since 5.3.21
+	 * @see Cache#retrieve(Object, Supplier)
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> CompletableFuture<T> doRetrieve(Cache cache, Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (!cache.supportsRetrieve()) {
+			Cache.ValueWrapper wrapper = doGet(cache, key);
+			if (wrapper != null) {
+				return CompletableFuture.completedFuture((T) wrapper.get());
+			}
+			return valueLoader.get().whenComplete((value, ex) -> {
+				if (ex == null) {
+					doPut(cache, key, value);
+				}
+			});
+		}
+		try {
+			return cache.retrieve(key, valueLoader);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return valueLoader.get();
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
@@ -91,6 +157,39 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#getAll(Collection)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs. Return an empty map
+	 * if the handler does not throw any exception, which simulates a cache
+	 * miss for all keys in case of error.
+	 * @since 5.3.21
+	 * @see Cache#getAll(Collection)
+	 */
+	protected Map<Object, Cache.ValueWrapper> doGetAll(Cache cache, Collection<?> keys) {
+		try {
+			return cache.getAll(keys);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, keys);
+			return Collections.emptyMap();  // If the exception is handled, return a cache miss
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#putAll(Map)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs.
+	 * @since 5.3.21
+	 * @see Cache#putAll(Map)
+	 */
+	protected void doPutAll(Cache cache, Map<?, ?> entries) {
+		try {
+			cache.putAll(entries);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCachePutError(ex, cache, entries.keySet(), entries);
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#evict(Object)}/{@link Cache#evictIfPresent(Object)} on the
 	 * specified {@link Cache} and invoke the error handler if an exception occurs.
@@ -21,14 +21,25 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -43,6 +54,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -83,12 +97,32 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	/** Marker for methods that need to go through the regular invocation path. */
+	private static final Object NO_FAST_PATH = new Object();
+
+	/** Marker for return values not handled by the {@link ReactiveCachingHandler}. */
+	private static final Object NOT_HANDLED = new Object();
+
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
+	/**
+	 * Invocation fast path by method and target class: either a {@link CacheableFastPath}
+	 * or {@link #NO_FAST_PATH}.
+	 */
+	private final Map<Method, Map<Class<?>, Object>> fastPathCache = new ConcurrentHashMap<>(256);
+
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler =
+			(reactorPresent ? new ReactiveCachingHandler() : null);
+
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
 
@@ -97,6 +131,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private SingletonSupplier<CacheResolver> cacheResolver;
 
+	@Nullable
+	private SingletonSupplier<CacheLoadCoordinator> cacheLoadCoordinator;
+
 	@Nullable
 	private BeanFactory beanFactory;
 
@@ -118,6 +155,21 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				() -> SimpleCacheResolver.of(SupplierUtils.resolve(cacheManager)));
 	}
 
+	/**
+	 * Configure this aspect with the given error handler, key generator, cache resolver/manager
+	 * and cache load coordinator suppliers, applying the corresponding default if a supplier
+	 * is not resolvable.
+	 * @since 5.3.21
+	 */
+	public void configure(
+			@Nullable Supplier<CacheErrorHandler> errorHandler, @Nullable Supplier<KeyGenerator> keyGenerator,
+			@Nullable Supplier<CacheResolver> cacheResolver, @Nullable Supplier<CacheManager> cacheManager,
+			@Nullable Supplier<CacheLoadCoordinator> cacheLoadCoordinator) {
+
+		configure(errorHandler, keyGenerator, cacheResolver, cacheManager);
+		this.cacheLoadCoordinator = (cacheLoadCoordinator != null ? SingletonSupplier.of(cacheLoadCoordinator) : null);
+	}
+
 
 	/**
 	 * Set one or more cache operation sources which are used to find the cache
@@ -194,6 +246,31 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set the {@link CacheLoadCoordinator} to use for synchronized cache operations,
+	 * i.e. {@link org.springframework.cache.annotation.Cacheable#sync() @Cacheable(sync=true)},
+	 * de-duplicating concurrent loads of the same key and optionally refreshing
+	 * entries ahead of their expiration. Refresh-ahead only applies to invokers that
+	 * {@linkplain CacheOperationInvoker#supportsArgumentOverride() support} a fresh
+	 * invocation, such as the one of the {@link CacheInterceptor}.
+	 * <p>Default is none, delegating synchronization to the cache provider
+	 * through {@link Cache#get(Object, Callable)}.
+	 * @since 5.3.21
+	 */
+	public void setCacheLoadCoordinator(@Nullable CacheLoadCoordinator cacheLoadCoordinator) {
+		this.cacheLoadCoordinator = SingletonSupplier.ofNullable(cacheLoadCoordinator);
+	}
+
+	/**
+	 * Return the {@link CacheLoadCoordinator} to use for synchronized cache
+	 * operations, if any.
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public CacheLoadCoordinator getCacheLoadCoordinator() {
+		return SupplierUtils.resolve(this.cacheLoadCoordinator);
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -330,6 +407,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	 */
 	protected void clearMetadataCache() {
 		this.metadataCache.clear();
+		this.fastPathCache.clear();
 		this.evaluator.clear();
 	}
 
@@ -340,6 +418,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			Class<?> targetClass = getTargetClass(target);
 			CacheOperationSource cacheOperationSource = getCacheOperationSource();
 			if (cacheOperationSource != null) {
+				Object fastPath = getFastPath(cacheOperationSource, method, targetClass);
+				if (fastPath instanceof CacheableFastPath) {
+					return execute(invoker, method, args, target, targetClass, (CacheableFastPath) fastPath);
+				}
 				Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
 				if (!CollectionUtils.isEmpty(operations)) {
 					return execute(invoker, method,
@@ -351,6 +433,41 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return invoker.invoke();
 	}
 
+	/**
+	 * Return the invocation fast path for the given method, determining it on
+	 * first invocation: a {@link CacheableFastPath} for a single non-synchronized
+	 * {@link CacheableOperation} with a simple or no key and condition expression
+	 * and a {@link SimpleCacheResolver}, or {@link #NO_FAST_PATH} otherwise.
+	 * <p>Only operation sources that cache the operations per method and target
+	 * class are supported, since the fast path bypasses the operation source.
+	 */
+	@Nullable
+	private Object getFastPath(CacheOperationSource cacheOperationSource, Method method, Class<?> targetClass) {
+		if (!(cacheOperationSource instanceof AbstractFallbackCacheOperationSource) || logger.isTraceEnabled()) {
+			return null;
+		}
+		Map<Class<?>, Object> fastPaths = this.fastPathCache.get(method);
+		Object fastPath = (fastPaths != null ? fastPaths.get(targetClass) : null);
+		if (fastPath == null) {
+			fastPath = NO_FAST_PATH;
+			Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
+			if (operations != null && operations.size() == 1 && !method.isVarArgs()) {
+				CacheOperation operation = operations.iterator().next();
+				if (operation instanceof CacheableOperation && !((CacheableOperation) operation).isSync() &&
+						!((CacheableOperation) operation).isBulk() && !isAsyncReturnType(method.getReturnType())) {
+					CacheOperationMetadata metadata = getCacheOperationMetadata(operation, method, targetClass);
+					if ((!StringUtils.hasText(operation.getKey()) || metadata.keyExpression != null) &&
+							(!StringUtils.hasText(operation.getCondition()) || metadata.conditionExpression != null) &&
+							metadata.cacheResolver.getClass() == SimpleCacheResolver.class) {
+						fastPath = new CacheableFastPath(metadata);
+					}
+				}
+			}
+			this.fastPathCache.computeIfAbsent(method, key -> new ConcurrentHashMap<>(4)).put(targetClass, fastPath);
+		}
+		return fastPath;
+	}
+
 	/**
 	 * Execute the underlying operation (typically in case of cache miss) and return
 	 * the result of the invocation. If an exception occurs it will be wrapped in a
@@ -374,34 +491,68 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		// Special handling of synchronized invocation
 		if (contexts.isSynchronized()) {
-			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
-			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
-				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
-				Cache cache = context.getCaches().iterator().next();
-				try {
-					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
-				}
-				catch (Cache.ValueRetrievalException ex) {
-					// Directly propagate ThrowableWrapper from the invoker,
-					// or potentially also an IllegalArgumentException etc.
-					ReflectionUtils.rethrowRuntimeException(ex.getCause());
-				}
-			}
-			else {
-				// No caching required, only call the underlying method
-				return invokeOperation(invoker);
-			}
+			return executeSynchronized(invoker, method, contexts);
 		}
 
+		// Special handling of bulk invocation
+		if (contexts.isBulk()) {
+			return executeBulk(invoker, method, contexts.get(CacheableOperation.class).iterator().next());
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
 				CacheOperationExpressionEvaluator.NO_RESULT);
 
-		// Check if we have a cached item matching the conditions
-		Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
+		// Check if we have a cached value matching the conditions
+		Object cacheHit = findCachedValue(invoker, method, contexts);
+		if (cacheHit == null || cacheHit instanceof Cache.ValueWrapper) {
+			return evaluate(cacheHit, invoker, method, contexts);
+		}
+		// Asynchronous return value, to be evaluated once the cache lookup completes
+		return cacheHit;
+	}
 
-		// Collect puts from any @Cacheable miss, if no cached item is found
+	@Nullable
+	private Object executeSynchronized(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+			Cache cache = context.getCaches().iterator().next();
+			if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+				return doRetrieve(cache, key, () -> invokeFuture(invoker, method));
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.executeSynchronized(invoker, method, cache, key);
+				if (returnValue != NOT_HANDLED) {
+					return returnValue;
+				}
+			}
+			try {
+				return wrapCacheValue(method, handleSynchronizedGet(invoker, contexts.getArgs(), key, cache));
+			}
+			catch (Cache.ValueRetrievalException ex) {
+				// Directly propagate ThrowableWrapper from the invoker,
+				// or potentially also an IllegalArgumentException etc.
+				ReflectionUtils.rethrowRuntimeException(ex.getCause());
+				return null;
+			}
+		}
+		else {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+	}
+
+	@Nullable
+	private Object evaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
+
+		// Re-invocation in asynchronous pipeline after late cache hit determination?
+		if (contexts.processed) {
+			return cacheHit;
+		}
+
+		// Collect puts from any @Cacheable miss, if no cached value is found
 		List<CachePutRequest> cachePutRequests = new ArrayList<>();
 		if (cacheHit == null) {
 			collectPutRequests(contexts.get(CacheableOperation.class),
@@ -413,7 +564,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
-			cacheValue = cacheHit.get();
+			cacheValue = unwrapCacheValue(cacheHit);
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
 		else {
@@ -422,36 +573,294 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
-		// Collect any explicit @CachePuts
-		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+		// Collect any explicit @CachePuts, against the resolved value for asynchronous results
+		if (isAsyncReturnType(method.getReturnType())) {
+			for (CacheOperationContext context : contexts.get(CachePutOperation.class)) {
+				cachePutRequests.add(new CachePutRequest(context, null));
+			}
+		}
+		else {
+			collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+		}
 
 		// Process any collected put requests, either from @CachePut or a @Cacheable miss
 		for (CachePutRequest cachePutRequest : cachePutRequests) {
-			cachePutRequest.apply(cacheValue);
+			Object returnOverride = cachePutRequest.apply(cacheValue);
+			if (returnOverride != null) {
+				cacheValue = returnOverride;
+				returnValue = returnOverride;
+			}
 		}
 
 		// Process any late evictions
-		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+		Object returnOverride = processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+		if (returnOverride != null) {
+			returnValue = returnOverride;
+		}
+
+		// Mark as processed for re-invocation after late cache hit determination
+		contexts.processed = true;
 
 		return returnValue;
 	}
 
+	/**
+	 * Execute a {@link CacheableOperation#isBulk() bulk} operation: look up the
+	 * elements of the collection argument in the caches, invoke the method with
+	 * the keys not found only, put the loaded values into the caches and merge
+	 * cached and loaded values in the order of the collection argument.
+	 */
 	@Nullable
-	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache) {
+	private Object executeBulk(CacheOperationInvoker invoker, Method method, CacheOperationContext context) {
+		Collection<?> keys = (Collection<?>) context.getArgs()[0];
+		if (keys == null || !isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+
+		Map<Object, Object> values = new HashMap<>(keys.size() * 4 / 3 + 1);
+		Set<Object> missingKeys = new LinkedHashSet<>(keys);
+		for (Cache cache : context.getCaches()) {
+			if (missingKeys.isEmpty()) {
+				break;
+			}
+			for (Map.Entry<Object, Cache.ValueWrapper> cacheHit : doGetAll(cache, missingKeys).entrySet()) {
+				values.put(cacheHit.getKey(), cacheHit.getValue().get());
+				missingKeys.remove(cacheHit.getKey());
+			}
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Bulk cache lookup for " + keys.size() + " keys in cache(s) " +
+					context.getCacheNames() + ": " + missingKeys.size() + " key(s) not found");
+		}
+
+		boolean mapResult = Map.class.isAssignableFrom(method.getReturnType());
+		if (!missingKeys.isEmpty()) {
+			Collection<?> invokedKeys = keys;
+			Object returnValue;
+			if (values.isEmpty() || !invoker.supportsArgumentOverride()) {
+				// Nothing cached or arguments cannot be changed: load all keys
+				returnValue = invokeOperation(invoker);
+			}
+			else {
+				Collection<Object> missingKeysArgument =
+						CollectionFactory.createCollection(method.getParameterTypes()[0], missingKeys.size());
+				missingKeysArgument.addAll(missingKeys);
+				returnValue = invokeOperation(() -> invoker.invoke(new Object[] {missingKeysArgument}));
+				invokedKeys = missingKeysArgument;
+			}
+
+			Map<Object, Object> cacheableValues = new LinkedHashMap<>(invokedKeys.size() * 4 / 3 + 1);
+			if (mapResult) {
+				Map<?, ?> loadedValues = (returnValue != null ? (Map<?, ?>) returnValue : Collections.emptyMap());
+				for (Object key : invokedKeys) {
+					if (loadedValues.containsKey(key)) {
+						Object value = loadedValues.get(key);
+						values.put(key, value);
+						if (context.canPutToCache(value)) {
+							cacheableValues.put(key, value);
+						}
+					}
+				}
+			}
+			else {
+				Collection<?> loadedValues = (returnValue != null ? (Collection<?>) returnValue : Collections.emptyList());
+				if (loadedValues.size() != invokedKeys.size()) {
+					throw new IllegalStateException("@Cacheable(bulk=true) method '" + method + "' returned " +
+							loadedValues.size() + " values for " + invokedKeys.size() + " keys");
+				}
+				Iterator<?> valueIterator = loadedValues.iterator();
+				for (Object key : invokedKeys) {
+					Object value = valueIterator.next();
+					values.put(key, value);
+					if (context.canPutToCache(value)) {
+						cacheableValues.put(key, value);
+					}
+				}
+			}
+			if (!cacheableValues.isEmpty()) {
+				for (Cache cache : context.getCaches()) {
+					doPutAll(cache, cacheableValues);
+				}
+			}
+		}
+
+		if (mapResult) {
+			Map<Object, Object> result = CollectionFactory.createMap(method.getReturnType(), keys.size());
+			for (Object key : keys) {
+				if (values.containsKey(key)) {
+					result.put(key, values.get(key));
+				}
+			}
+			return result;
+		}
+		List<Object> result = new ArrayList<>(keys.size());
+		for (Object key : keys) {
+			result.add(values.get(key));
+		}
+		return result;
+	}
+
+	/**
+	 * Execute a single {@link CacheableOperation} without creating operation
+	 * contexts, falling back to the regular invocation path whenever the key or
+	 * condition needs to be evaluated or a cache cannot be resolved.
+	 */
+	@Nullable
+	private Object execute(CacheOperationInvoker invoker, Method method, Object[] args, Object target,
+			Class<?> targetClass, CacheableFastPath fastPath) {
+
+		CacheOperationMetadata metadata = fastPath.metadata;
+		SimpleVariableExpression conditionExpression = metadata.conditionExpression;
+		if (conditionExpression != null) {
+			Object passing = conditionExpression.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT);
+			if (passing != null && !(passing instanceof Boolean)) {
+				return executeRegular(invoker, method, args, target, targetClass, metadata);
+			}
+			if (!Boolean.TRUE.equals(passing)) {
+				// No caching required, only call the underlying method
+				return invokeOperation(invoker);
+			}
+		}
+
+		Object key;
+		SimpleVariableExpression keyExpression = metadata.keyExpression;
+		if (keyExpression != null) {
+			key = keyExpression.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT);
+		}
+		else {
+			key = metadata.keyGenerator.generate(target, metadata.method, args);
+		}
+		if (key == null || key == SimpleVariableExpression.NOT_RESOLVABLE) {
+			return executeRegular(invoker, method, args, target, targetClass, metadata);
+		}
+
+		CacheManager cacheManager = ((SimpleCacheResolver) metadata.cacheResolver).getCacheManager();
+		for (String cacheName : fastPath.cacheNames) {
+			Cache cache = cacheManager.getCache(cacheName);
+			if (cache == null) {
+				return executeRegular(invoker, method, args, target, targetClass, metadata);
+			}
+			Cache.ValueWrapper cacheHit = doGet(cache, key);
+			if (cacheHit != null) {
+				return wrapCacheValue(method, cacheHit.get());
+			}
+		}
+
+		Object returnValue = invokeOperation(invoker);
+		Object cacheValue = unwrapReturnValue(returnValue);
+		if (canPutToCache(metadata, method, args, target, targetClass, cacheValue)) {
+			for (String cacheName : fastPath.cacheNames) {
+				Cache cache = cacheManager.getCache(cacheName);
+				if (cache != null) {
+					doPut(cache, key, cacheValue);
+				}
+			}
+		}
+		return returnValue;
+	}
+
+	@Nullable
+	private Object executeRegular(CacheOperationInvoker invoker, Method method, Object[] args, Object target,
+			Class<?> targetClass, CacheOperationMetadata metadata) {
+
+		Collection<CacheOperation> operations = Collections.singletonList(metadata.operation);
+		return execute(invoker, method, new CacheOperationContexts(operations, method, args, target, targetClass));
+	}
+
+	private boolean canPutToCache(CacheOperationMetadata metadata, Method method, Object[] args, Object target,
+			Class<?> targetClass, @Nullable Object value) {
+
+		if (!StringUtils.hasText(((CacheableOperation) metadata.operation).getUnless())) {
+			return true;
+		}
+		SimpleVariableExpression unlessExpression = metadata.unlessExpression;
+		if (unlessExpression != null) {
+			Object unless = unlessExpression.getValue(args, value);
+			if (unless == null || unless instanceof Boolean) {
+				return !Boolean.TRUE.equals(unless);
+			}
+		}
+		return getOperationContext(metadata.operation, method, args, target, targetClass).canPutToCache(value);
+	}
+
+	@Nullable
+	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object[] args, Object key, Cache cache) {
 		InvocationAwareResult invocationResult = new InvocationAwareResult();
-		Object result = cache.get(key, () -> {
+		Callable<Object> valueLoader = () -> {
 			invocationResult.invoked = true;
 			if (logger.isTraceEnabled()) {
 				logger.trace("No cache entry for key '" + key + "' in cache " + cache.getName());
 			}
 			return unwrapReturnValue(invokeOperation(invoker));
-		});
+		};
+		CacheLoadCoordinator coordinator = getCacheLoadCoordinator();
+		Object result;
+		if (coordinator != null) {
+			// Refresh through a fresh invocation, never through the current one
+			Callable<Object> refreshLoader = (invoker.supportsArgumentOverride() ?
+					() -> unwrapReturnValue(invokeOperation(() -> invoker.invoke(args.clone()))) : null);
+			result = coordinator.get(cache, key, valueLoader, refreshLoader);
+		}
+		else {
+			result = cache.get(key, valueLoader);
+		}
 		if (!invocationResult.invoked && logger.isTraceEnabled()) {
 			logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
 		}
 		return result;
 	}
 
+	/**
+	 * Invoke the underlying method, expecting a {@link CompletableFuture} and
+	 * exposing any invocation failure through the returned future.
+	 */
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Object> invokeFuture(CacheOperationInvoker invoker, Method method) {
+		try {
+			CompletableFuture<Object> result = (CompletableFuture<Object>) invokeOperation(invoker);
+			if (result == null) {
+				throw new IllegalStateException("Returned CompletableFuture must not be null: " + method);
+			}
+			return result;
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper ex) {
+			return failedFuture(ex.getOriginal());
+		}
+		catch (RuntimeException ex) {
+			return failedFuture(ex);
+		}
+	}
+
+	private static CompletableFuture<Object> failedFuture(Throwable ex) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		future.completeExceptionally(ex);
+		return future;
+	}
+
+	/**
+	 * Determine whether the given return type is resolved asynchronously,
+	 * i.e. a {@link CompletableFuture} or a reactive type such as {@code Mono}.
+	 */
+	private boolean isAsyncReturnType(Class<?> returnType) {
+		return (CompletableFuture.class.isAssignableFrom(returnType) ||
+				(this.reactiveCachingHandler != null && this.reactiveCachingHandler.isReactiveType(returnType)));
+	}
+
+	/**
+	 * Let the {@link CacheErrorHandler} handle a failed asynchronous retrieval,
+	 * treating it as a cache miss if the handler does not rethrow.
+	 */
+	private void handleRetrieveError(Throwable ex, Cache cache, Object key) {
+		getErrorHandler().handleCacheGetError(
+				(ex instanceof RuntimeException ? (RuntimeException) ex : new CompletionException(ex)), cache, key);
+	}
+
+	@Nullable
+	private Object unwrapCacheValue(@Nullable Object cacheValue) {
+		return (cacheValue instanceof Cache.ValueWrapper ? ((Cache.ValueWrapper) cacheValue).get() : cacheValue);
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -484,13 +893,45 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return (cachePutContexts.size() != excluded.size());
 	}
 
-	private void processCacheEvicts(
+	/**
+	 * Process the given evictions, returning a replacement for an asynchronous
+	 * result that performs the evictions once the result is available, or
+	 * {@code null} if the evictions have been performed right away.
+	 */
+	@Nullable
+	private Object processCacheEvicts(
 			Collection<CacheOperationContext> contexts, boolean beforeInvocation, @Nullable Object result) {
 
+		List<CacheOperationContext> applicable = new ArrayList<>(contexts.size());
 		for (CacheOperationContext context : contexts) {
-			CacheEvictOperation operation = (CacheEvictOperation) context.metadata.operation;
-			if (beforeInvocation == operation.isBeforeInvocation() && isConditionPassing(context, result)) {
-				performCacheEvict(context, operation, result);
+			if (beforeInvocation == ((CacheEvictOperation) context.metadata.operation).isBeforeInvocation()) {
+				applicable.add(context);
+			}
+		}
+		if (applicable.isEmpty()) {
+			return null;
+		}
+		if (result instanceof CompletableFuture) {
+			return ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+				if (ex == null) {
+					performCacheEvicts(applicable, value);
+				}
+			});
+		}
+		if (this.reactiveCachingHandler != null) {
+			Object returnValue = this.reactiveCachingHandler.processCacheEvicts(applicable, result);
+			if (returnValue != NOT_HANDLED) {
+				return returnValue;
+			}
+		}
+		performCacheEvicts(applicable, result);
+		return null;
+	}
+
+	private void performCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
+		for (CacheOperationContext context : contexts) {
+			if (isConditionPassing(context, result)) {
+				performCacheEvict(context, (CacheEvictOperation) context.metadata.operation, result);
 			}
 		}
 	}
@@ -522,18 +963,20 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	/**
-	 * Find a cached item only for {@link CacheableOperation} that passes the condition.
-	 * @param contexts the cacheable operations
-	 * @return a {@link Cache.ValueWrapper} holding the cached item,
-	 * or {@code null} if none is found
+	 * Find a cached value only for {@link CacheableOperation} that passes the condition.
+	 * @param invoker the invoker for the underlying method
+	 * @param method the underlying method
+	 * @param contexts the cache operations
+	 * @return a {@link Cache.ValueWrapper} holding the cached value, an asynchronous
+	 * return value to be resolved through the caches, or {@code null} if none is found
 	 */
 	@Nullable
-	private Cache.ValueWrapper findCachedItem(Collection<CacheOperationContext> contexts) {
+	private Object findCachedValue(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
-		for (CacheOperationContext context : contexts) {
+		for (CacheOperationContext context : contexts.get(CacheableOperation.class)) {
 			if (isConditionPassing(context, result)) {
 				Object key = generateKey(context, result);
-				Cache.ValueWrapper cached = findInCaches(context, key);
+				Object cached = findInCaches(context, key, invoker, method, contexts);
 				if (cached != null) {
 					return cached;
 				}
@@ -566,8 +1009,37 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
+	@SuppressWarnings("unchecked")
+	private Object findInCaches(CacheOperationContext context, Object key, CacheOperationInvoker invoker,
+			Method method, CacheOperationContexts contexts) {
+
 		for (Cache cache : context.getCaches()) {
+			if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+				CompletableFuture<?> result = doRetrieve(cache, key);
+				if (result != null) {
+					return result.exceptionally(ex -> {
+						handleRetrieveError(ex, cache, key);
+						return null;
+					}).thenCompose(value -> {
+						try {
+							return (CompletableFuture<Object>) evaluate(
+									(value != null ? CompletableFuture.completedFuture(unwrapCacheValue(value)) : null),
+									invoker, method, contexts);
+						}
+						catch (CacheOperationInvoker.ThrowableWrapper ex) {
+							return failedFuture(ex.getOriginal());
+						}
+					});
+				}
+				continue;
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.findInCaches(
+						context, cache, key, invoker, method, contexts);
+				if (returnValue != NOT_HANDLED) {
+					return returnValue;
+				}
+			}
 			Cache.ValueWrapper wrapper = doGet(cache, key);
 			if (wrapper != null) {
 				if (logger.isTraceEnabled()) {
@@ -605,8 +1077,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final MultiValueMap<Class<? extends CacheOperation>, CacheOperationContext> contexts;
 
+		private final Object[] args;
+
 		private final boolean sync;
 
+		private final boolean bulk;
+
+		boolean processed;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
@@ -614,7 +1092,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			for (CacheOperation op : operations) {
 				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
 			}
+			this.args = args;
 			this.sync = determineSyncFlag(method);
+			this.bulk = determineBulkFlag(method);
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -622,10 +1102,21 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return (result != null ? result : Collections.emptyList());
 		}
 
+		/**
+		 * Return the original arguments of the method invocation.
+		 */
+		public Object[] getArgs() {
+			return this.args;
+		}
+
 		public boolean isSynchronized() {
 			return this.sync;
 		}
 
+		public boolean isBulk() {
+			return this.bulk;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -661,6 +1152,52 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return false;
 		}
+
+		private boolean determineBulkFlag(Method method) {
+			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
+				return false;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext cacheOperationContext : cacheOperationContexts) {
+				if (((CacheableOperation) cacheOperationContext.getOperation()).isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (bulkEnabled) {
+				if (this.contexts.size() > 1) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) cannot be combined with other cache operations on '" + method + "'");
+				}
+				if (cacheOperationContexts.size() > 1) {
+					throw new IllegalStateException(
+							"Only one @Cacheable(bulk=true) entry is allowed on '" + method + "'");
+				}
+				CacheOperationContext cacheOperationContext = cacheOperationContexts.iterator().next();
+				CacheableOperation operation = (CacheableOperation) cacheOperationContext.getOperation();
+				if (operation.isSync()) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) does not support sync attribute on '" + operation + "'");
+				}
+				if (StringUtils.hasText(operation.getKey()) || StringUtils.hasText(operation.getKeyGenerator())) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) does not support key or keyGenerator attribute on '" + operation + "'");
+				}
+				if (method.getParameterCount() != 1 || !Collection.class.isAssignableFrom(method.getParameterTypes()[0])) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) requires a single Collection parameter on '" + method + "'");
+				}
+				Class<?> returnType = method.getReturnType();
+				if (!Map.class.isAssignableFrom(returnType) &&
+						!(Collection.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(ArrayList.class))) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) requires a Map or List return type on '" + method + "'");
+				}
+				return true;
+			}
+			return false;
+		}
 	}
 
 
@@ -684,6 +1221,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		@Nullable
+		private final SimpleVariableExpression keyExpression;
+
+		@Nullable
+		private final SimpleVariableExpression conditionExpression;
+
+		@Nullable
+		private final SimpleVariableExpression unlessExpression;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -695,6 +1241,17 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			this.keyExpression = compileExpression(operation.getKey());
+			this.conditionExpression = compileExpression(operation.getCondition());
+			String unless = (operation instanceof CacheableOperation ?
+					((CacheableOperation) operation).getUnless() : null);
+			this.unlessExpression = compileExpression(unless);
+		}
+
+		@Nullable
+		private SimpleVariableExpression compileExpression(@Nullable String expression) {
+			return (StringUtils.hasText(expression) ?
+					SimpleVariableExpression.compile(expression, this.targetMethod) : null);
 		}
 	}
 
@@ -759,6 +1316,13 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		protected boolean isConditionPassing(@Nullable Object result) {
 			if (this.conditionPassing == null) {
 				if (StringUtils.hasText(this.metadata.operation.getCondition())) {
+					if (this.metadata.conditionExpression != null) {
+						Object passing = this.metadata.conditionExpression.getValue(this.args, result);
+						if (passing == null || passing instanceof Boolean) {
+							this.conditionPassing = Boolean.TRUE.equals(passing);
+							return this.conditionPassing;
+						}
+					}
 					EvaluationContext evaluationContext = createEvaluationContext(result);
 					this.conditionPassing = evaluator.condition(this.metadata.operation.getCondition(),
 							this.metadata.methodKey, evaluationContext);
@@ -791,6 +1355,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		@Nullable
 		protected Object generateKey(@Nullable Object result) {
 			if (StringUtils.hasText(this.metadata.operation.getKey())) {
+				if (this.metadata.keyExpression != null) {
+					Object key = this.metadata.keyExpression.getValue(this.args, result);
+					if (key != SimpleVariableExpression.NOT_RESOLVABLE) {
+						return key;
+					}
+				}
 				EvaluationContext evaluationContext = createEvaluationContext(result);
 				return evaluator.key(this.metadata.operation.getKey(), this.metadata.methodKey, evaluationContext);
 			}
@@ -824,23 +1394,77 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheOperationContext context;
 
+		@Nullable
 		private final Object key;
 
-		public CachePutRequest(CacheOperationContext context, Object key) {
+		/**
+		 * Create a put request for the given context and key, or without a key
+		 * for a condition and key to be evaluated against the resolved value.
+		 */
+		public CachePutRequest(CacheOperationContext context, @Nullable Object key) {
 			this.context = context;
 			this.key = key;
 		}
 
-		public void apply(@Nullable Object result) {
-			if (this.context.canPutToCache(result)) {
+		/**
+		 * Apply this put request to the given result, returning a replacement
+		 * for an asynchronous result that performs the put once the value is
+		 * available, or {@code null} if the put has been performed right away.
+		 */
+		@Nullable
+		public Object apply(@Nullable Object result) {
+			if (result instanceof CompletableFuture) {
+				return ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+					if (ex == null) {
+						performCachePut(value);
+					}
+				});
+			}
+			if (reactiveCachingHandler != null) {
+				Object returnValue = reactiveCachingHandler.processPutRequest(this, result);
+				if (returnValue != NOT_HANDLED) {
+					return returnValue;
+				}
+			}
+			performCachePut(result);
+			return null;
+		}
+
+		public void performCachePut(@Nullable Object value) {
+			Object key = this.key;
+			if (key == null) {
+				if (!isConditionPassing(this.context, value)) {
+					return;
+				}
+				key = generateKey(this.context, value);
+			}
+			if (this.context.canPutToCache(value)) {
 				for (Cache cache : this.context.getCaches()) {
-					doPut(cache, this.key, result);
+					doPut(cache, key, value);
 				}
 			}
 		}
 	}
 
 
+	/**
+	 * Invocation fast path for a single {@link CacheableOperation}, resolving
+	 * the caches by name against the {@link CacheManager} of its
+	 * {@link SimpleCacheResolver}.
+	 */
+	private static final class CacheableFastPath {
+
+		final CacheOperationMetadata metadata;
+
+		final String[] cacheNames;
+
+		CacheableFastPath(CacheOperationMetadata metadata) {
+			this.metadata = metadata;
+			this.cacheNames = StringUtils.toStringArray(metadata.operation.getCacheNames());
+		}
+	}
+
+
 	private static final class CacheOperationCacheKey implements Comparable<CacheOperationCacheKey> {
 
 		private final CacheOperation cacheOperation;
@@ -894,4 +1518,120 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	}
 
+
+	/**
+	 * Inner class to avoid a hard dependency on Project Reactor at runtime.
+	 * Adapts single-value and multi-value reactive return types through the
+	 * {@link ReactiveAdapterRegistry}, caching the emitted value or the list
+	 * of emitted values respectively.
+	 */
+	private class ReactiveCachingHandler {
+
+		private final ReactiveAdapterRegistry registry = ReactiveAdapterRegistry.getSharedInstance();
+
+		public boolean isReactiveType(Class<?> returnType) {
+			return (this.registry.getAdapter(returnType) != null);
+		}
+
+		public Object executeSynchronized(CacheOperationInvoker invoker, Method method, Cache cache, Object key) {
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				CompletableFuture<List<Object>> cachedFuture = doRetrieve(cache, key, () ->
+						Flux.from(invokePublisher(invoker, adapter)).collectList().toFuture());
+				return adapter.fromPublisher(Mono.fromFuture(cachedFuture).flatMapIterable(list -> list));
+			}
+			else {
+				CompletableFuture<Object> cachedFuture = doRetrieve(cache, key, () ->
+						Mono.from(invokePublisher(invoker, adapter)).toFuture());
+				return adapter.fromPublisher(Mono.fromFuture(cachedFuture));
+			}
+		}
+
+		@Nullable
+		public Object findInCaches(CacheOperationContext context, Cache cache, Object key,
+				CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
+			ReactiveAdapter adapter = this.registry.getAdapter(context.getMethod().getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			CompletableFuture<?> cachedFuture = doRetrieve(cache, key);
+			if (cachedFuture == null) {
+				return null;
+			}
+			Mono<Object> cachedValue = Mono.<Object>fromFuture(cachedFuture).onErrorResume(ex -> {
+				handleRetrieveError(ex, cache, key);
+				return Mono.empty();
+			});
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(Flux.from(cachedValue)
+						.switchIfEmpty(Flux.defer(() -> toPublisher(adapter, evaluate(null, invoker, method, contexts))))
+						.flatMap(value -> toPublisher(adapter,
+								evaluate(valueToFlux(value, contexts), invoker, method, contexts))));
+			}
+			else {
+				return adapter.fromPublisher(cachedValue
+						.switchIfEmpty(Mono.defer(() -> Mono.from(
+								toPublisher(adapter, evaluate(null, invoker, method, contexts)))))
+						.flatMap(value -> Mono.from(toPublisher(adapter,
+								evaluate(Mono.justOrEmpty(unwrapCacheValue(value)), invoker, method, contexts)))));
+			}
+		}
+
+		public Object processPutRequest(CachePutRequest request, @Nullable Object result) {
+			ReactiveAdapter adapter = (result != null ? this.registry.getAdapter(result.getClass()) : null);
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(Flux.from(adapter.toPublisher(result)).collectList()
+						.doOnSuccess(request::performCachePut).flatMapIterable(list -> list));
+			}
+			else {
+				return adapter.fromPublisher(Mono.from(adapter.toPublisher(result))
+						.doOnSuccess(request::performCachePut));
+			}
+		}
+
+		public Object processCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
+			ReactiveAdapter adapter = (result != null ? this.registry.getAdapter(result.getClass()) : null);
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(Flux.from(adapter.toPublisher(result)).collectList()
+						.doOnSuccess(list -> performCacheEvicts(contexts, list)).flatMapIterable(list -> list));
+			}
+			else {
+				return adapter.fromPublisher(Mono.from(adapter.toPublisher(result))
+						.doOnSuccess(value -> performCacheEvicts(contexts, value)));
+			}
+		}
+
+		private Publisher<Object> invokePublisher(CacheOperationInvoker invoker, ReactiveAdapter adapter) {
+			try {
+				return adapter.toPublisher(invokeOperation(invoker));
+			}
+			catch (CacheOperationInvoker.ThrowableWrapper ex) {
+				return Mono.error(ex.getOriginal());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private Publisher<Object> toPublisher(ReactiveAdapter adapter, @Nullable Object value) {
+			return (Publisher<Object>) (value instanceof Publisher ? value : adapter.toPublisher(value));
+		}
+
+		private Flux<Object> valueToFlux(Object value, CacheOperationContexts contexts) {
+			Object data = unwrapCacheValue(value);
+			if (!contexts.processed && data instanceof Iterable) {
+				return Flux.fromIterable((Iterable<?>) data);
+			}
+			return (data != null ? Flux.just(data) : Flux.empty());
+		}
+	}
+
 }
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -49,12 +50,35 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 	public Object invoke(final MethodInvocation invocation) throws Throwable {
 		Method method = invocation.getMethod();
 
-		CacheOperationInvoker aopAllianceInvoker = () -> {
-			try {
-				return invocation.proceed();
+		CacheOperationInvoker aopAllianceInvoker = new CacheOperationInvoker() {
+			@Override
+			@Nullable
+			public Object invoke() {
+				try {
+					return invocation.proceed();
+				}
+				catch (Throwable ex) {
+					throw new ThrowableWrapper(ex);
+				}
 			}
-			catch (Throwable ex) {
-				throw new CacheOperationInvoker.ThrowableWrapper(ex);
+
+			@Override
+			public boolean supportsArgumentOverride() {
+				return (invocation instanceof ProxyMethodInvocation);
+			}
+
+			@Override
+			@Nullable
+			public Object invoke(Object[] arguments) {
+				if (!supportsArgumentOverride()) {
+					return CacheOperationInvoker.super.invoke(arguments);
+				}
+				try {
+					return ((ProxyMethodInvocation) invocation).invocableClone(arguments).proceed();
+				}
+				catch (Throwable ex) {
+					throw new ThrowableWrapper(ex);
+				}
 			}
 		};
 
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.ExpiringCache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Coordinates the loading of values for synchronized cache operations, i.e.
+ * {@link org.springframework.cache.annotation.Cacheable#sync() @Cacheable(sync=true)},
+ * independently of the {@link Cache} implementation.
+ *
+ * <p>Concurrent misses for the same key in the same cache share a single
+ * invocation of the value loader: the first caller loads the value and puts
+ * it into the cache, while all other callers wait for that value instead of
+ * relying on {@link Cache#get(Object, Callable)}. Waiting is per key, so
+ * loads for different keys never block each other. A value loader that
+ * recursively requests the key it is loading fails with an
+ * {@link IllegalStateException} instead of waiting for itself.
+ *
+ * <p>If a {@link #setRefreshAheadExecutor refresh-ahead executor} and
+ * {@link #setRefreshAheadWindow window} are configured, a hit on an
+ * {@link ExpiringCache} entry that expires within the window triggers an
+ * asynchronous reload of the entry on the executor, so that hot entries are
+ * replaced before they expire. The caller gets the current value right away,
+ * and at most one load or refresh per key is in flight at any time. Reloading
+ * requires a separate {@linkplain #get(Cache, Object, Callable, Callable)
+ * refresh loader}: the value loader of the caller is never run on another thread.
+ *
+ * @since 5.3.21
+ * @see CacheAspectSupport#setCacheLoadCoordinator
+ */
+public class CacheLoadCoordinator {
+
+	private static final Log logger = LogFactory.getLog(CacheLoadCoordinator.class);
+
+	private final ConcurrentMap<LoadKey, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>(64);
+
+	@Nullable
+	private Executor refreshAheadExecutor;
+
+	private Duration refreshAheadWindow = Duration.ZERO;
+
+
+	/**
+	 * Set the executor to reload entries on that are about to expire.
+	 * <p>Default is none, i.e. no refresh-ahead.
+	 * @see #setRefreshAheadWindow
+	 * @see org.springframework.core.task.TaskExecutor
+	 */
+	public void setRefreshAheadExecutor(@Nullable Executor refreshAheadExecutor) {
+		this.refreshAheadExecutor = refreshAheadExecutor;
+	}
+
+	/**
+	 * Return the executor to reload entries on that are about to expire, if any.
+	 */
+	@Nullable
+	public Executor getRefreshAheadExecutor() {
+		return this.refreshAheadExecutor;
+	}
+
+	/**
+	 * Set the window before the expiration of an entry in which a hit
+	 * triggers a reload of the entry.
+	 * <p>Default is {@link Duration#ZERO}, i.e. no refresh-ahead.
+	 * @see #setRefreshAheadExecutor
+	 */
+	public void setRefreshAheadWindow(Duration refreshAheadWindow) {
+		Assert.notNull(refreshAheadWindow, "Refresh-ahead window must not be null");
+		Assert.isTrue(!refreshAheadWindow.isNegative(), "Refresh-ahead window must not be negative");
+		this.refreshAheadWindow = refreshAheadWindow;
+	}
+
+	/**
+	 * Return the window before the expiration of an entry in which a hit
+	 * triggers a reload of the entry.
+	 */
+	public Duration getRefreshAheadWindow() {
+		return this.refreshAheadWindow;
+	}
+
+
+	/**
+	 * Return the value to which the given cache maps the given key, obtaining
+	 * that value from the value loader if necessary, with the same contract as
+	 * {@link Cache#get(Object, Callable)}.
+	 * <p>Entries are not refreshed ahead of their expiration.
+	 * @param cache the cache to use
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the value loader
+	 * @return the value to which the key is mapped
+	 * @throws Cache.ValueRetrievalException if the value loader throws an
+	 * exception, either for this caller or for the caller loading the value
+	 * @throws IllegalStateException if the value loader recursively requests
+	 * the same key from the same cache
+	 * @see #get(Cache, Object, Callable, Callable)
+	 */
+	@Nullable
+	public <T> T get(Cache cache, Object key, Callable<T> valueLoader) {
+		return get(cache, key, valueLoader, null);
+	}
+
+	/**
+	 * Return the value to which the given cache maps the given key, obtaining
+	 * that value from the value loader if necessary, with the same contract as
+	 * {@link Cache#get(Object, Callable)}, and reloading an entry that is about
+	 * to expire through the given refresh loader.
+	 * <p>The refresh loader is called on the refresh-ahead executor after the
+	 * caller has returned, so it must not depend on state of the calling thread
+	 * or of the current invocation, e.g. by performing a fresh invocation of the
+	 * underlying method.
+	 * @param cache the cache to use
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the value loader, only called by the current thread
+	 * @param refreshLoader the loader for reloading the entry ahead of its
+	 * expiration, or {@code null} for no refresh-ahead
+	 * @return the value to which the key is mapped
+	 * @throws Cache.ValueRetrievalException if the value loader throws an
+	 * exception, either for this caller or for the caller loading the value
+	 * @throws IllegalStateException if the value loader recursively requests
+	 * the same key from the same cache
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Cache cache, Object key, Callable<T> valueLoader, @Nullable Callable<? extends T> refreshLoader) {
+		Cache.ValueWrapper wrapper = cache.get(key);
+		if (wrapper != null) {
+			Object value = wrapper.get();
+			if (refreshLoader != null) {
+				refreshIfNecessary(cache, key, value, refreshLoader);
+			}
+			return (T) value;
+		}
+		LoadKey loadKey = new LoadKey(cache, key);
+		InFlightLoad load = new InFlightLoad(Thread.currentThread());
+		InFlightLoad inFlightLoad = this.inFlightLoads.putIfAbsent(loadKey, load);
+		if (inFlightLoad != null) {
+			if (inFlightLoad.owner == Thread.currentThread()) {
+				// Waiting for our own load would never return
+				throw new IllegalStateException("Recursive load for key '" + key + "' in cache '" +
+						cache.getName() + "'");
+			}
+			return (T) await(inFlightLoad, key, valueLoader);
+		}
+		try {
+			// Re-check: another load may have completed in the meantime
+			wrapper = cache.get(key);
+			Object value = (wrapper != null ? wrapper.get() : load(cache, key, valueLoader));
+			load.complete(value);
+			return (T) value;
+		}
+		catch (Throwable ex) {
+			load.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlightLoads.remove(loadKey, load);
+		}
+	}
+
+	/**
+	 * Trigger a reload of the entry for the given key if it expires within
+	 * the refresh-ahead window and no load for it is in flight yet.
+	 */
+	private void refreshIfNecessary(Cache cache, Object key, @Nullable Object currentValue,
+			Callable<?> refreshLoader) {
+
+		Executor executor = this.refreshAheadExecutor;
+		if (executor == null || this.refreshAheadWindow.isZero() || !(cache instanceof ExpiringCache)) {
+			return;
+		}
+		Duration remainingTimeToLive = ((ExpiringCache) cache).getRemainingTimeToLive(key);
+		if (remainingTimeToLive == null || remainingTimeToLive.compareTo(this.refreshAheadWindow) > 0) {
+			return;
+		}
+		LoadKey loadKey = new LoadKey(cache, key);
+		InFlightLoad refresh = new InFlightLoad(null);
+		if (this.inFlightLoads.putIfAbsent(loadKey, refresh) != null) {
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				refresh.owner = Thread.currentThread();
+				try {
+					refresh.complete(load(cache, key, refreshLoader));
+				}
+				catch (Throwable ex) {
+					refresh.completeExceptionally(ex);
+					if (logger.isWarnEnabled()) {
+						logger.warn("Refresh-ahead of entry with key '" + key + "' in cache '" +
+								cache.getName() + "' failed", ex);
+					}
+				}
+				finally {
+					this.inFlightLoads.remove(loadKey, refresh);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			// Keep the current entry until it expires
+			this.inFlightLoads.remove(loadKey, refresh);
+			refresh.complete(currentValue);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Refresh-ahead of entry with key '" + key + "' in cache '" +
+						cache.getName() + "' rejected by executor", ex);
+			}
+		}
+	}
+
+	@Nullable
+	private Object load(Cache cache, Object key, Callable<?> valueLoader) {
+		Object value;
+		try {
+			value = valueLoader.call();
+		}
+		catch (Throwable ex) {
+			throw new Cache.ValueRetrievalException(key, valueLoader, ex);
+		}
+		cache.put(key, value);
+		return value;
+	}
+
+	@Nullable
+	private Object await(CompletableFuture<Object> load, Object key, Callable<?> valueLoader) {
+		try {
+			return load.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new Cache.ValueRetrievalException(key, valueLoader, ex);
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof Cache.ValueRetrievalException) {
+				throw (Cache.ValueRetrievalException) cause;
+			}
+			throw new Cache.ValueRetrievalException(key, valueLoader, (cause != null ? cause : ex));
+		}
+	}
+
+
+	/**
+	 * An in-flight load or refresh, together with the thread running it.
+	 */
+	private static final class InFlightLoad extends CompletableFuture<Object> {
+
+		@Nullable
+		volatile Thread owner;
+
+		InFlightLoad(@Nullable Thread owner) {
+			this.owner = owner;
+		}
+	}
+
+
+	/**
+	 * Key of an in-flight load: the cache instance and the key within it.
+	 */
+	private static final class LoadKey {
+
+		private final Cache cache;
+
+		private final Object key;
+
+		LoadKey(Cache cache, Object key) {
+			this.cache = cache;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof LoadKey)) {
+				return false;
+			}
+			LoadKey otherKey = (LoadKey) other;
+			return (this.cache == otherKey.cache && this.key.equals(otherKey.key));
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.cache) * 31 + this.key.hashCode();
+		}
+	}
+
+}
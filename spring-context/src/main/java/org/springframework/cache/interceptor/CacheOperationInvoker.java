@@ -41,6 +41,34 @@ public interface CacheOperationInvoker {
 	@Nullable
 	Object invoke() throws ThrowableWrapper;
 
+	/**
+	 * Return whether this invoker supports {@linkplain #invoke(Object[]) invoking}
+	 * the cache operation with different arguments.
+	 * <p>The default implementation returns {@code false}.
+	 * @since 5.3.21
+	 */
+	default boolean supportsArgumentOverride() {
+		return false;
+	}
+
+	/**
+	 * Invoke the cache operation defined by this instance with the given
+	 * arguments instead of the original ones, e.g. with only the elements
+	 * of a collection argument that have not been found in the cache.
+	 * <p>Only to be called if {@link #supportsArgumentOverride()} returns
+	 * {@code true}. The default implementation throws an
+	 * {@link UnsupportedOperationException}.
+	 * @param arguments the arguments to invoke the operation with
+	 * @return the result of the operation
+	 * @throws ThrowableWrapper if an error occurred while invoking the operation
+	 * @since 5.3.21
+	 * @see #supportsArgumentOverride()
+	 */
+	@Nullable
+	default Object invoke(Object[] arguments) throws ThrowableWrapper {
+		throw new UnsupportedOperationException("Invocation with different arguments not supported");
+	}
+
 
 	/**
 	 * Wrap any exception thrown while invoking {@link #invoke()}.
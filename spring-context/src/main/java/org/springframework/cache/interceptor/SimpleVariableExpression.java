@@ -0,0 +1,326 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor.OptimalPropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Direct accessor for simple cache expressions such as {@code #id},
+ * {@code #p0.tenant} or {@code #result?.name}, i.e. a method argument or the
+ * result variable followed by a chain of property references. Evaluates such
+ * expressions against the invocation arguments without creating an
+ * {@link EvaluationContext}.
+ *
+ * <p>Arguments are resolved the same way as in a {@link CacheEvaluationContext}
+ * and properties through a {@link ReflectivePropertyAccessor}. Whenever the
+ * value cannot be determined that way, e.g. for a {@code null} intermediate
+ * value without safe navigation, {@link #NOT_RESOLVABLE} is returned so that
+ * the caller falls back to evaluating the actual SpEL expression. An exception
+ * thrown by a getter is propagated as is, without invoking the getter again.
+ *
+ * @since 5.3.21
+ * @see CacheOperationExpressionEvaluator
+ */
+final class SimpleVariableExpression {
+
+	/**
+	 * Indicate that the value of the expression has to be determined by
+	 * evaluating the SpEL expression.
+	 */
+	static final Object NOT_RESOLVABLE = new Object();
+
+	private static final int RESULT_INDEX = -1;
+
+	/** Names that SpEL may parse as operators or literals rather than identifiers. */
+	private static final Set<String> OPERATOR_NAMES = new HashSet<>(Arrays.asList(
+			"and", "between", "div", "eq", "false", "ge", "gt", "instanceof", "le", "lt", "matches",
+			"mod", "ne", "new", "not", "null", "or", "t", "true"));
+
+	private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+	private static final ReflectivePropertyAccessor propertyAccessor = new ReflectivePropertyAccessor();
+
+
+	private final String expression;
+
+	private final int argumentIndex;
+
+	private final PropertyReference[] properties;
+
+
+	private SimpleVariableExpression(String expression, int argumentIndex, PropertyReference[] properties) {
+		this.expression = expression;
+		this.argumentIndex = argumentIndex;
+		this.properties = properties;
+	}
+
+
+	/**
+	 * Return the value of the expression for the given invocation.
+	 * @param args the invocation arguments
+	 * @param result the return value, or {@link CacheOperationExpressionEvaluator#NO_RESULT}
+	 * or {@link CacheOperationExpressionEvaluator#RESULT_UNAVAILABLE}
+	 * @return the value, or {@link #NOT_RESOLVABLE}
+	 */
+	@Nullable
+	Object getValue(Object[] args, @Nullable Object result) {
+		Object value;
+		if (this.argumentIndex == RESULT_INDEX) {
+			if (result == CacheOperationExpressionEvaluator.RESULT_UNAVAILABLE) {
+				return NOT_RESOLVABLE;
+			}
+			value = (result != CacheOperationExpressionEvaluator.NO_RESULT ? result : null);
+		}
+		else {
+			value = args[this.argumentIndex];
+		}
+		for (PropertyReference property : this.properties) {
+			if (value == null) {
+				return (property.nullSafe ? null : NOT_RESOLVABLE);
+			}
+			value = property.getValue(value);
+			if (value == NOT_RESOLVABLE) {
+				return NOT_RESOLVABLE;
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return this.expression;
+	}
+
+
+	/**
+	 * Compile the given expression into a direct accessor, if it is a simple
+	 * variable reference.
+	 * @param expression the SpEL expression
+	 * @param method the method that the expression refers to the arguments of
+	 * @return the accessor, or {@code null} if the expression is not simple
+	 */
+	@Nullable
+	static SimpleVariableExpression compile(String expression, Method method) {
+		String trimmed = expression.trim();
+		if (trimmed.length() < 2 || trimmed.charAt(0) != '#' || method.isVarArgs()) {
+			return null;
+		}
+		List<PropertyReference> properties = new ArrayList<>();
+		int end = identifierEnd(trimmed, 1);
+		if (end == -1) {
+			return null;
+		}
+		String variable = trimmed.substring(1, end);
+		int index = end;
+		while (index < trimmed.length()) {
+			boolean nullSafe = trimmed.startsWith("?.", index);
+			if (!nullSafe && trimmed.charAt(index) != '.') {
+				return null;
+			}
+			int start = index + (nullSafe ? 2 : 1);
+			end = identifierEnd(trimmed, start);
+			if (end == -1) {
+				return null;
+			}
+			properties.add(new PropertyReference(trimmed.substring(start, end), nullSafe));
+			index = end;
+		}
+		int argumentIndex = resolveVariable(variable, method);
+		if (argumentIndex == Integer.MIN_VALUE) {
+			return null;
+		}
+		return new SimpleVariableExpression(trimmed, argumentIndex, properties.toArray(new PropertyReference[0]));
+	}
+
+	/**
+	 * Return the end index of the identifier starting at the given index,
+	 * or -1 if there is none.
+	 */
+	private static int identifierEnd(String expression, int start) {
+		int end = start;
+		while (end < expression.length() && isIdentifierPart(expression.charAt(end), end == start)) {
+			end++;
+		}
+		if (end == start || OPERATOR_NAMES.contains(expression.substring(start, end).toLowerCase(Locale.ROOT))) {
+			return -1;
+		}
+		return end;
+	}
+
+	private static boolean isIdentifierPart(char c, boolean first) {
+		return ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$' ||
+				(!first && c >= '0' && c <= '9'));
+	}
+
+	/**
+	 * Resolve the argument index for the given variable, {@link #RESULT_INDEX} for
+	 * the result variable, or {@link Integer#MIN_VALUE} if the variable cannot be
+	 * resolved unambiguously.
+	 */
+	private static int resolveVariable(String variable, Method method) {
+		if (variable.equals("root") || variable.equals("this")) {
+			return Integer.MIN_VALUE;
+		}
+		String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+		int parameterCount = method.getParameterCount();
+		int resolved = Integer.MIN_VALUE;
+		if (parameterNames != null) {
+			for (int i = 0; i < parameterNames.length; i++) {
+				String parameterName = parameterNames[i];
+				if (parameterName == null) {
+					continue;
+				}
+				// Parameter names shadowing the result or indexed variables are ambiguous
+				if (parameterName.equals(CacheOperationExpressionEvaluator.RESULT_VARIABLE) ||
+						getIndex(parameterName) != -1) {
+					return Integer.MIN_VALUE;
+				}
+				if (parameterName.equals(variable)) {
+					resolved = i;
+				}
+			}
+		}
+		if (resolved != Integer.MIN_VALUE) {
+			return resolved;
+		}
+		if (variable.equals(CacheOperationExpressionEvaluator.RESULT_VARIABLE)) {
+			return RESULT_INDEX;
+		}
+		int index = getIndex(variable);
+		return (index != -1 && index < parameterCount ? index : Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Return the index of an indexed variable such as {@code p0} or {@code a1},
+	 * or -1 for any other variable.
+	 */
+	private static int getIndex(String variable) {
+		if (variable.length() < 2 || variable.length() > 10 || (variable.charAt(0) != 'p' && variable.charAt(0) != 'a')) {
+			return -1;
+		}
+		if (variable.length() > 2 && variable.charAt(1) == '0') {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 1; i < variable.length(); i++) {
+			char c = variable.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+
+
+	/**
+	 * Reference to a property, caching the accessor for the last seen type.
+	 */
+	private static final class PropertyReference {
+
+		private static final EvaluationContext evaluationContext = new StandardEvaluationContext();
+
+		final String name;
+
+		final boolean nullSafe;
+
+		@Nullable
+		private volatile ResolvedMember resolvedMember;
+
+		PropertyReference(String name, boolean nullSafe) {
+			this.name = name;
+			this.nullSafe = nullSafe;
+		}
+
+		@Nullable
+		Object getValue(Object target) {
+			ResolvedMember resolvedMember = this.resolvedMember;
+			if (resolvedMember == null || resolvedMember.type != target.getClass()) {
+				resolvedMember = resolveMember(target);
+				if (resolvedMember == null) {
+					return NOT_RESOLVABLE;
+				}
+				this.resolvedMember = resolvedMember;
+			}
+			try {
+				Member member = resolvedMember.member;
+				if (member instanceof Method) {
+					return ((Method) member).invoke(target, (Object[]) null);
+				}
+				return ((Field) member).get(target);
+			}
+			catch (IllegalAccessException ex) {
+				return NOT_RESOLVABLE;
+			}
+			catch (InvocationTargetException ex) {
+				ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
+				throw new IllegalStateException("Should never get here");
+			}
+		}
+
+		@Nullable
+		private ResolvedMember resolveMember(Object target) {
+			if (target instanceof Class || target.getClass().isArray()) {
+				return null;
+			}
+			PropertyAccessor accessor;
+			try {
+				accessor = propertyAccessor.createOptimalAccessor(evaluationContext, target, this.name);
+			}
+			catch (RuntimeException ex) {
+				return null;
+			}
+			if (!(accessor instanceof OptimalPropertyAccessor)) {
+				return null;
+			}
+			return new ResolvedMember(target.getClass(), ((OptimalPropertyAccessor) accessor).member);
+		}
+	}
+
+
+	private static final class ResolvedMember {
+
+		final Class<?> type;
+
+		final Member member;
+
+		ResolvedMember(Class<?> type, Member member) {
+			this.type = type;
+			this.member = member;
+		}
+	}
+
+}
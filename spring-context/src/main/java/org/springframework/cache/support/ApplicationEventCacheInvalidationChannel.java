@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationChannel} that publishes invalidations as
+ * {@link CacheInvalidationEvent CacheInvalidationEvents} and delivers the
+ * events published by other channel instances to its subscribers.
+ *
+ * <p>Needs to be registered as a bean in order to receive events. A channel
+ * ignores the events that it has published itself, so each peer needs a
+ * channel bean of its own: peers sharing a single channel instance do not
+ * receive each other's invalidations. As application events are propagated
+ * from a child context to its parents but not the other way round, a channel
+ * reaches the channels of the same context and of its parent contexts only;
+ * for peers in other processes, relay the events through any event or
+ * messaging bridge.
+ *
+ * @since 5.3.21
+ */
+public class ApplicationEventCacheInvalidationChannel
+		implements CacheInvalidationChannel, ApplicationEventPublisherAware, ApplicationListener<CacheInvalidationEvent> {
+
+	private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+	@Nullable
+	private ApplicationEventPublisher applicationEventPublisher;
+
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		Assert.state(this.applicationEventPublisher != null, "No ApplicationEventPublisher set");
+		this.applicationEventPublisher.publishEvent(new CacheInvalidationEvent(this, invalidation));
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidation> subscriber) {
+		Assert.notNull(subscriber, "Subscriber must not be null");
+		this.subscribers.add(subscriber);
+	}
+
+	@Override
+	public void unsubscribe(Consumer<CacheInvalidation> subscriber) {
+		this.subscribers.remove(subscriber);
+	}
+
+	@Override
+	public void onApplicationEvent(CacheInvalidationEvent event) {
+		if (event.getSource() != this) {
+			for (Consumer<CacheInvalidation> subscriber : this.subscribers) {
+				subscriber.accept(event.getInvalidation());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Invalidation of a single entry or of all entries of a named cache, sent to
+ * peers through a {@link CacheInvalidationChannel} so that they can drop
+ * their local copies.
+ *
+ * @since 5.3.21
+ * @see TieredCacheManager
+ */
+public final class CacheInvalidation {
+
+	private final String cacheName;
+
+	@Nullable
+	private final Object key;
+
+
+	private CacheInvalidation(String cacheName, @Nullable Object key) {
+		Assert.notNull(cacheName, "Cache name must not be null");
+		this.cacheName = cacheName;
+		this.key = key;
+	}
+
+
+	/**
+	 * Create an invalidation of the entry for the given key.
+	 * @param cacheName the name of the cache
+	 * @param key the key of the entry
+	 */
+	public static CacheInvalidation forKey(String cacheName, Object key) {
+		Assert.notNull(key, "Key must not be null");
+		return new CacheInvalidation(cacheName, key);
+	}
+
+	/**
+	 * Create an invalidation of all entries of the given cache.
+	 * @param cacheName the name of the cache
+	 */
+	public static CacheInvalidation forAllEntries(String cacheName) {
+		return new CacheInvalidation(cacheName, null);
+	}
+
+
+	/**
+	 * Return the name of the cache.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the key of the invalidated entry,
+	 * or {@code null} if all entries are invalidated.
+	 */
+	@Nullable
+	public Object getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Return whether all entries of the cache are invalidated.
+	 */
+	public boolean isAllEntries() {
+		return (this.key == null);
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CacheInvalidation)) {
+			return false;
+		}
+		CacheInvalidation otherInvalidation = (CacheInvalidation) other;
+		return (this.cacheName.equals(otherInvalidation.cacheName) &&
+				ObjectUtils.nullSafeEquals(this.key, otherInvalidation.key));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.cacheName.hashCode() * 31 + ObjectUtils.nullSafeHashCode(this.key);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheInvalidation: cache '" + this.cacheName + "', " +
+				(this.key != null ? "key '" + this.key + "'" : "all entries");
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel for fanning out {@link CacheInvalidation cache invalidations}
+ * between peers, e.g. application instances that each keep a local copy of
+ * entries from a shared cache.
+ *
+ * <p>Implementations may be based on application events, as in
+ * {@link ApplicationEventCacheInvalidationChannel}, or on any messaging
+ * infrastructure. Invalidations published through a channel instance must
+ * not be delivered to the subscribers of that same instance, since the
+ * publishing side has already applied them.
+ *
+ * @since 5.3.21
+ * @see TieredCacheManager#setInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Publish the given invalidation to all peers.
+	 * @param invalidation the invalidation to publish
+	 */
+	void publish(CacheInvalidation invalidation);
+
+	/**
+	 * Register a subscriber for invalidations published by peers.
+	 * @param subscriber the callback to invoke for each invalidation
+	 */
+	void subscribe(Consumer<CacheInvalidation> subscriber);
+
+	/**
+	 * Remove a subscriber registered through {@link #subscribe}, if any.
+	 * @param subscriber the callback to remove
+	 */
+	void unsubscribe(Consumer<CacheInvalidation> subscriber);
+
+}
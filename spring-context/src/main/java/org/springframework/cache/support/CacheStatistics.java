@@ -0,0 +1,174 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable snapshot of the statistics of a {@link org.springframework.cache.Cache}.
+ *
+ * <p>All counts are cumulative since the creation of the cache. Load counts
+ * and times refer to values obtained through
+ * {@link org.springframework.cache.Cache#get(Object, java.util.concurrent.Callable)}.
+ *
+ * @since 5.3.21
+ * @see org.springframework.cache.concurrent.BoundedConcurrentMapCache#getStatistics()
+ */
+public final class CacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long loadSuccessCount;
+
+	private final long loadFailureCount;
+
+	private final long totalLoadTime;
+
+	private final long evictionCount;
+
+	private final long expirationCount;
+
+
+	/**
+	 * Create a new {@code CacheStatistics} snapshot.
+	 * @param hitCount the number of lookups that returned a cached value
+	 * @param missCount the number of lookups that did not find a cached value
+	 * @param loadSuccessCount the number of successful value loads
+	 * @param loadFailureCount the number of value loads that threw an exception
+	 * @param totalLoadTime the total time spent loading values, in nanoseconds
+	 * @param evictionCount the number of entries evicted due to the size or weight bound
+	 * @param expirationCount the number of entries removed because they expired
+	 */
+	public CacheStatistics(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+			long totalLoadTime, long evictionCount, long expirationCount) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadSuccessCount = loadSuccessCount;
+		this.loadFailureCount = loadFailureCount;
+		this.totalLoadTime = totalLoadTime;
+		this.evictionCount = evictionCount;
+		this.expirationCount = expirationCount;
+	}
+
+
+	/**
+	 * Return the number of lookups that returned a cached value.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that did not find a cached value.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the total number of lookups.
+	 */
+	public long getRequestCount() {
+		return this.hitCount + this.missCount;
+	}
+
+	/**
+	 * Return the ratio of lookups that returned a cached value,
+	 * or {@code 1.0} if there were no lookups yet.
+	 */
+	public double getHitRatio() {
+		long requestCount = getRequestCount();
+		return (requestCount != 0 ? (double) this.hitCount / requestCount : 1.0);
+	}
+
+	/**
+	 * Return the number of successful value loads.
+	 */
+	public long getLoadSuccessCount() {
+		return this.loadSuccessCount;
+	}
+
+	/**
+	 * Return the number of value loads that threw an exception.
+	 */
+	public long getLoadFailureCount() {
+		return this.loadFailureCount;
+	}
+
+	/**
+	 * Return the total time spent loading values, in nanoseconds.
+	 */
+	public long getTotalLoadTime() {
+		return this.totalLoadTime;
+	}
+
+	/**
+	 * Return the average time spent loading a value, in nanoseconds.
+	 */
+	public double getAverageLoadPenalty() {
+		long loadCount = this.loadSuccessCount + this.loadFailureCount;
+		return (loadCount != 0 ? (double) this.totalLoadTime / loadCount : 0.0);
+	}
+
+	/**
+	 * Return the number of entries evicted due to the size or weight bound.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return the number of entries removed because they expired.
+	 */
+	public long getExpirationCount() {
+		return this.expirationCount;
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CacheStatistics)) {
+			return false;
+		}
+		CacheStatistics otherStats = (CacheStatistics) other;
+		return (this.hitCount == otherStats.hitCount && this.missCount == otherStats.missCount &&
+				this.loadSuccessCount == otherStats.loadSuccessCount &&
+				this.loadFailureCount == otherStats.loadFailureCount &&
+				this.totalLoadTime == otherStats.totalLoadTime && this.evictionCount == otherStats.evictionCount &&
+				this.expirationCount == otherStats.expirationCount);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.hitCount) * 31 + Long.hashCode(this.missCount);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStatistics: hits=" + this.hitCount + ", misses=" + this.missCount +
+				", loadSuccesses=" + this.loadSuccessCount + ", loadFailures=" + this.loadFailureCount +
+				", totalLoadTime=" + this.totalLoadTime + "ns, evictions=" + this.evictionCount +
+				", expirations=" + this.expirationCount;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * Extension of the {@link Cache} interface for caches whose entries expire,
+ * exposing the remaining lifetime of an entry.
+ *
+ * @since 5.3.21
+ * @see org.springframework.cache.interceptor.CacheLoadCoordinator#setRefreshAheadWindow
+ */
+public interface ExpiringCache extends Cache {
+
+	/**
+	 * Return the remaining time-to-live of the entry for the given key.
+	 * @param key the key of the entry
+	 * @return the remaining time-to-live, or {@code null} if there is no
+	 * entry for the key or if the entry does not expire
+	 */
+	@Nullable
+	Duration getRemainingTimeToLive(Object key);
+
+}
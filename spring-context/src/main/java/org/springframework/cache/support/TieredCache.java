@@ -0,0 +1,281 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Two-level {@link Cache} that combines a local (near) cache with a remote
+ * (shared) cache, typically an in-memory cache in front of a distributed one.
+ *
+ * <p>Reads go to the local cache first and fall back to the remote cache,
+ * populating the local cache on a remote hit. Writes and evictions go through
+ * both levels, remote first, and are then published on the
+ * {@link CacheInvalidationChannel}, if any, so that peers sharing the remote
+ * cache drop their local copies of the affected entries.
+ *
+ * <p>The local cache is expected to be an in-memory cache: it is accessed
+ * synchronously by the {@link CompletableFuture}-based {@code retrieve}
+ * operations as well, while the remote cache is accessed asynchronously.
+ *
+ * <p>Entries that expire or are evicted in the remote cache by the remote
+ * cache itself are not propagated; configure the local cache with a shorter
+ * time-to-live than the remote cache to bound the staleness of local copies.
+ *
+ * @since 5.3.21
+ * @see TieredCacheManager
+ */
+public class TieredCache implements Cache {
+
+	private final Cache localCache;
+
+	private final Cache remoteCache;
+
+	@Nullable
+	private final CacheInvalidationChannel invalidationChannel;
+
+
+	/**
+	 * Create a new {@code TieredCache} without invalidation fan-out.
+	 * @param localCache the local (first-level) cache
+	 * @param remoteCache the remote (second-level) cache
+	 */
+	public TieredCache(Cache localCache, Cache remoteCache) {
+		this(localCache, remoteCache, null);
+	}
+
+	/**
+	 * Create a new {@code TieredCache}.
+	 * @param localCache the local (first-level) cache
+	 * @param remoteCache the remote (second-level) cache
+	 * @param invalidationChannel the channel to publish invalidations to peers on
+	 */
+	public TieredCache(Cache localCache, Cache remoteCache, @Nullable CacheInvalidationChannel invalidationChannel) {
+		Assert.notNull(localCache, "Local cache must not be null");
+		Assert.notNull(remoteCache, "Remote cache must not be null");
+		this.localCache = localCache;
+		this.remoteCache = remoteCache;
+		this.invalidationChannel = invalidationChannel;
+	}
+
+
+	/**
+	 * Return the local (first-level) cache.
+	 */
+	public Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the remote (second-level) cache.
+	 */
+	public Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.remoteCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper == null) {
+			wrapper = this.remoteCache.get(key);
+			if (wrapper != null) {
+				this.localCache.put(key, wrapper.get());
+			}
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		T value = this.remoteCache.get(key, valueLoader);
+		this.localCache.put(key, value);
+		return value;
+	}
+
+	@Override
+	public boolean supportsRetrieve() {
+		return this.remoteCache.supportsRetrieve();
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture(wrapper);
+		}
+		CompletableFuture<?> result = this.remoteCache.retrieve(key);
+		if (result == null) {
+			return null;
+		}
+		return result.thenApply(value -> {
+			if (value != null) {
+				this.localCache.put(key, (value instanceof ValueWrapper ? ((ValueWrapper) value).get() : value));
+			}
+			return value;
+		});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		return this.remoteCache.retrieve(key, valueLoader).thenApply(value -> {
+			this.localCache.put(key, value);
+			return value;
+		});
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> localHits = this.localCache.getAll(keys);
+		if (localHits.size() == keys.size()) {
+			return localHits;
+		}
+		Set<Object> missingKeys = new LinkedHashSet<>(keys);
+		missingKeys.removeAll(localHits.keySet());
+		Map<Object, ValueWrapper> remoteHits = this.remoteCache.getAll(missingKeys);
+		if (remoteHits.isEmpty()) {
+			return localHits;
+		}
+		Map<Object, Object> remoteValues = new LinkedHashMap<>(remoteHits.size() * 4 / 3 + 1);
+		remoteHits.forEach((key, wrapper) -> remoteValues.put(key, wrapper.get()));
+		this.localCache.putAll(remoteValues);
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+		for (Object key : keys) {
+			ValueWrapper wrapper = localHits.get(key);
+			if (wrapper == null) {
+				wrapper = remoteHits.get(key);
+			}
+			if (wrapper != null) {
+				result.put(key, wrapper);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.remoteCache.put(key, value);
+		this.localCache.put(key, value);
+		publish(CacheInvalidation.forKey(getName(), key));
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		this.remoteCache.putAll(entries);
+		this.localCache.putAll(entries);
+		for (Object key : entries.keySet()) {
+			publish(CacheInvalidation.forKey(getName(), key));
+		}
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = this.remoteCache.putIfAbsent(key, value);
+		if (existing != null) {
+			this.localCache.put(key, existing.get());
+		}
+		else {
+			this.localCache.put(key, value);
+			publish(CacheInvalidation.forKey(getName(), key));
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remoteCache.evict(key);
+		this.localCache.evict(key);
+		publish(CacheInvalidation.forKey(getName(), key));
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = this.remoteCache.evictIfPresent(key);
+		evicted |= this.localCache.evictIfPresent(key);
+		publish(CacheInvalidation.forKey(getName(), key));
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		this.remoteCache.clear();
+		this.localCache.clear();
+		publish(CacheInvalidation.forAllEntries(getName()));
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = this.remoteCache.invalidate();
+		invalidated |= this.localCache.invalidate();
+		publish(CacheInvalidation.forAllEntries(getName()));
+		return invalidated;
+	}
+
+	private void publish(CacheInvalidation invalidation) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(invalidation);
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} that combines a local (near) cache manager with a remote
+ * (shared) cache manager, exposing each cache as a {@link TieredCache}.
+ *
+ * <p>The remote cache manager defines which caches exist. If the local cache
+ * manager does not provide a cache of the same name, the remote cache is
+ * returned as-is.
+ *
+ * <p>With an {@link #setInvalidationChannel invalidation channel}, writes and
+ * evictions through this manager's caches are published to peers, and
+ * invalidations received from peers evict the affected entries from the local
+ * caches of this manager.
+ *
+ * @since 5.3.21
+ * @see TieredCache
+ * @see ApplicationEventCacheInvalidationChannel
+ */
+public class TieredCacheManager implements CacheManager {
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager remoteCacheManager;
+
+	@Nullable
+	private CacheInvalidationChannel invalidationChannel;
+
+	private final Consumer<CacheInvalidation> invalidationSubscriber = this::applyInvalidation;
+
+	private final ConcurrentMap<String, TieredCache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new {@code TieredCacheManager}.
+	 * @param localCacheManager the manager of the local (first-level) caches
+	 * @param remoteCacheManager the manager of the remote (second-level) caches
+	 */
+	public TieredCacheManager(CacheManager localCacheManager, CacheManager remoteCacheManager) {
+		Assert.notNull(localCacheManager, "Local CacheManager must not be null");
+		Assert.notNull(remoteCacheManager, "Remote CacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.remoteCacheManager = remoteCacheManager;
+	}
+
+
+	/**
+	 * Set the channel to exchange invalidations with peers on, subscribing
+	 * this manager to the invalidations published by peers and unsubscribing
+	 * it from the previously set channel, if any.
+	 * <p>Default is none, i.e. local caches are only kept in sync with
+	 * changes made through this manager.
+	 */
+	public void setInvalidationChannel(@Nullable CacheInvalidationChannel invalidationChannel) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.unsubscribe(this.invalidationSubscriber);
+		}
+		this.invalidationChannel = invalidationChannel;
+		this.cacheMap.clear();
+		if (invalidationChannel != null) {
+			invalidationChannel.subscribe(this.invalidationSubscriber);
+		}
+	}
+
+	/**
+	 * Return the channel to exchange invalidations with peers on, if any.
+	 */
+	@Nullable
+	public CacheInvalidationChannel getInvalidationChannel() {
+		return this.invalidationChannel;
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache remoteCache = this.remoteCacheManager.getCache(name);
+		if (remoteCache == null) {
+			return null;
+		}
+		Cache localCache = this.localCacheManager.getCache(name);
+		if (localCache == null) {
+			return remoteCache;
+		}
+		TieredCache cache = this.cacheMap.get(name);
+		if (cache == null || cache.getLocalCache() != localCache || cache.getRemoteCache() != remoteCache) {
+			cache = new TieredCache(localCache, remoteCache, this.invalidationChannel);
+			this.cacheMap.put(name, cache);
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Apply an invalidation received from a peer to the local cache.
+	 * @param invalidation the invalidation to apply
+	 */
+	protected void applyInvalidation(CacheInvalidation invalidation) {
+		Cache localCache = this.localCacheManager.getCache(invalidation.getCacheName());
+		if (localCache != null) {
+			Object key = invalidation.getKey();
+			if (key != null) {
+				localCache.evict(key);
+			}
+			else {
+				localCache.clear();
+			}
+		}
+	}
+
+}
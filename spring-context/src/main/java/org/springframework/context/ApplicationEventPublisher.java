@@ -16,6 +16,8 @@
 
 package org.springframework.context;
 
+import java.util.Collection;
+
 /**
  * 封装事件发布功能的接口。
  *
@@ -63,4 +65,22 @@ public interface ApplicationEventPublisher {
 	 */
 	void publishEvent(Object event);
 
+	/**
+	 * 通知所有注册到此应用程序的<strong>匹配</strong>监听器一批事件。
+	 * <p>与逐个调用 {@link #publishEvent(Object)} 相比，实现可以将解析后事件类型相同的连续事件分为一组，
+	 * 每组只解析一次监听器，并将同一组的事件依次（或对于批量监听器，一次性）交给每个监听器。
+	 * 因此不同监听器之间的调用顺序可能与逐个发布时不同，但每个监听器收到的事件保持给定的顺序。
+	 * <p>默认实现按顺序逐个发布给定的事件。
+	 *
+	 * @param events 要发布的事件（可以是ApplicationEvent或要转换为PayloadApplicationEvent的有效载荷对象）
+	 * @see #publishEvent(Object)
+	 * @see org.springframework.context.event.EventListener#batch()
+	 * @since 5.3.21
+	 */
+	default void publishEvents(Collection<?> events) {
+		for (Object event : events) {
+			publishEvent(event);
+		}
+	}
+
 }
@@ -17,15 +17,22 @@
 package org.springframework.context.annotation;
 
 import org.springframework.beans.factory.config.BeanDefinitionCustomizer;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.Resource;
 import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -60,6 +67,22 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	 */
 	private final ClassPathBeanDefinitionScanner scanner;
 
+	/**
+	 * Bean定义快照的位置
+	 */
+	@Nullable
+	private Resource beanDefinitionSnapshotLocation;
+
+	/**
+	 * 使用快照时已注册的组件类名称
+	 */
+	private final List<String> snapshotComponentClasses = new ArrayList<>();
+
+	/**
+	 * 使用快照时推迟扫描的基本包
+	 */
+	private final List<String> snapshotBasePackages = new ArrayList<>();
+
 
 	/**
 	 * 创建一个新的 AnnotationConfigApplicationContext，需要通过 {@link #register} 调用进行填充，然后手动 {@linkplain #refresh 刷新}。
@@ -168,6 +191,23 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	}
 
 
+	/**
+	 * 设置在构建时由 {@link BeanDefinitionSnapshotGenerator} 生成的 Bean 定义快照的位置。
+	 * <p>如果快照存在、且与注册的组件类和扫描的基本包相同、且其指纹与当前类路径和激活的 profile 相符，
+	 * 则刷新时直接注册快照中的 Bean 定义，不再扫描类路径和解析配置类；否则照常处理。
+	 * 在此期间对 {@link #scan(String...)} 的调用被推迟到刷新时，以便在使用快照时跳过扫描。
+	 * <p>对此方法的任何调用必须在对 {@link #register(Class...)} 和/或 {@link #scan(String...)} 的调用之前发生。
+	 *
+	 * @param location 快照的位置，例如类路径上的资源
+	 * @see BeanDefinitionSnapshot
+	 * @since 5.3.21
+	 */
+	public void setBeanDefinitionSnapshot(Resource location) {
+		Assert.notNull(location, "Snapshot location must not be null");
+		this.beanDefinitionSnapshotLocation = location;
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of AnnotationConfigRegistry
 	//---------------------------------------------------------------------
@@ -188,6 +228,12 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 				.tag("classes", () -> Arrays.toString(componentClasses));
 		//注解Bean定义读取器注册该组件
 		this.reader.register(componentClasses);
+		if (this.beanDefinitionSnapshotLocation != null) {
+			//记录组件类，以便与快照进行比较
+			for (Class<?> componentClass : componentClasses) {
+				this.snapshotComponentClasses.add(componentClass.getName());
+			}
+		}
 		//注册完毕
 		registerComponentClass.end();
 	}
@@ -209,14 +255,83 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 		StartupStep scanPackages = this.getApplicationStartup().start("spring.context.base-packages.scan")
 				.tag("packages", () -> Arrays.toString(basePackages));
 
-		// 使用类路径Bean定义扫描器扫描指定的基础包
-		this.scanner.scan(basePackages);
+		if (this.beanDefinitionSnapshotLocation != null) {
+			// 设置了快照时，推迟到刷新时再决定是否扫描
+			Collections.addAll(this.snapshotBasePackages, basePackages);
+			scanPackages.tag("deferred", "true");
+		} else {
+			// 使用类路径Bean定义扫描器扫描指定的基础包
+			this.scanner.scan(basePackages);
+		}
 
 		// 结束扫描基础包的启动步骤
 		scanPackages.end();
 	}
 
 
+	/**
+	 * 如果设置了 Bean 定义快照，则加载快照，并在其可用时将其注册为单例，
+	 * 以便 {@link ConfigurationClassPostProcessor} 直接注册快照中的 Bean 定义；
+	 * 否则执行推迟的扫描。
+	 */
+	@Override
+	protected void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		super.postProcessBeanFactory(beanFactory);
+		if (this.beanDefinitionSnapshotLocation == null) {
+			return;
+		}
+		StartupStep loadSnapshot = this.getApplicationStartup().start("spring.context.bean-definition-snapshot.load")
+				.tag("location", this.beanDefinitionSnapshotLocation::getDescription);
+		BeanDefinitionSnapshot snapshot = loadBeanDefinitionSnapshot(this.beanDefinitionSnapshotLocation);
+		loadSnapshot.tag("used", String.valueOf(snapshot != null)).end();
+		if (snapshot != null) {
+			beanFactory.registerSingleton(BeanDefinitionSnapshot.BEAN_NAME, snapshot);
+		} else if (!this.snapshotBasePackages.isEmpty()) {
+			// 快照不可用：执行推迟的扫描
+			this.scanner.scan(this.snapshotBasePackages.toArray(new String[0]));
+		}
+	}
+
+	/**
+	 * 从给定位置加载 Bean 定义快照，如果快照不存在、无法读取或已过时，则返回 {@code null}。
+	 */
+	@Nullable
+	private BeanDefinitionSnapshot loadBeanDefinitionSnapshot(Resource location) {
+		if (!location.exists()) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("No bean definition snapshot found at " + location.getDescription());
+			}
+			return null;
+		}
+		try {
+			BeanDefinitionSnapshot snapshot;
+			try (InputStream inputStream = location.getInputStream()) {
+				snapshot = BeanDefinitionSnapshot.readFrom(inputStream);
+			}
+			if (!snapshot.getComponentClasses().equals(this.snapshotComponentClasses) ||
+					!snapshot.getBasePackages().equals(this.snapshotBasePackages)) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring bean definition snapshot " + location.getDescription() +
+							": captured for different component classes or base packages");
+				}
+				return null;
+			}
+			if (!snapshot.isUpToDate(getDefaultListableBeanFactory(), this, getEnvironment())) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring outdated bean definition snapshot " + location.getDescription());
+				}
+				return null;
+			}
+			return snapshot;
+		} catch (IOException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to read bean definition snapshot " + location.getDescription(), ex);
+			}
+			return null;
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// 将超类registerBean调用调整为AnnotatedBeanDefinitionReader
 	//---------------------------------------------------------------------
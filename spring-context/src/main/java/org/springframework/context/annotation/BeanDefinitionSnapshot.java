@@ -0,0 +1,1380 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.AbstractEnvironment;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Compact binary snapshot of the bean definitions derived from a set of
+ * component classes and base packages, as produced by
+ * {@link ConfigurationClassPostProcessor} and classpath scanning.
+ *
+ * <p>A snapshot is typically created at build time by the
+ * {@link BeanDefinitionSnapshotGenerator} and loaded at startup through
+ * {@link AnnotationConfigApplicationContext#setBeanDefinitionSnapshot}, in which
+ * case the context registers the captured bean definitions directly instead of
+ * scanning the classpath and parsing configuration classes. Conditions, imports
+ * and {@link Bean @Bean} methods are therefore resolved at build time; factory
+ * methods that can be resolved unambiguously are registered as pre-resolved
+ * factory methods.
+ *
+ * <p>Each snapshot carries a fingerprint of the active profiles, the contents of
+ * the class files in the scanned packages and of the classes referenced by the bean
+ * definitions, their superclasses and the conditions they declare, as well as of
+ * the inputs that conditions may have evaluated: the
+ * bean definitions registered upfront, the properties looked up in the environment,
+ * and the classes and resources looked up during processing. The referenced classes
+ * are resolved once when the snapshot is captured, so that checking the fingerprint
+ * at startup only lists the scanned packages and reads class files, without parsing
+ * any class metadata. A context only uses
+ * a snapshot that is {@linkplain #isUpToDate up to date}, falling back to regular
+ * processing otherwise. {@link PropertySource @PropertySource} declarations are
+ * captured as well and applied to the environment when the snapshot is registered.
+ *
+ * <p>Bean definitions with an instance supplier, method overrides or property
+ * values other than plain values, bean references, inner bean definitions and
+ * managed collections of those cannot be captured.
+ *
+ * @since 5.3.21
+ * @see BeanDefinitionSnapshotGenerator
+ * @see AnnotationConfigApplicationContext#setBeanDefinitionSnapshot
+ */
+public final class BeanDefinitionSnapshot {
+
+	/**
+	 * The bean name of a snapshot to be registered by the
+	 * {@link ConfigurationClassPostProcessor} instead of processing
+	 * configuration classes.
+	 */
+	public static final String BEAN_NAME =
+			"org.springframework.context.annotation.internalBeanDefinitionSnapshot";
+
+	private static final int MAGIC = 0x53424453;
+
+	private static final int VERSION = 3;
+
+	private static final byte NULL_VALUE = 0;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final byte INTEGER_VALUE = 3;
+
+	private static final byte LONG_VALUE = 4;
+
+	private static final byte TYPED_STRING_VALUE = 5;
+
+	private static final byte BEAN_REFERENCE = 6;
+
+	private static final byte BEAN_NAME_REFERENCE = 7;
+
+	private static final byte BEAN_DEFINITION_HOLDER = 8;
+
+	private static final byte BEAN_DEFINITION = 9;
+
+	private static final byte STRING_ARRAY = 10;
+
+	private static final byte MANAGED_ARRAY = 11;
+
+	private static final byte MANAGED_LIST = 12;
+
+	private static final byte MANAGED_SET = 13;
+
+	private static final byte MANAGED_MAP = 14;
+
+	private static final byte LIST = 15;
+
+	private static final byte SET = 16;
+
+	private static final byte MAP = 17;
+
+
+	private final String fingerprint;
+
+	private final List<String> componentClasses;
+
+	private final List<String> basePackages;
+
+	private final List<String> componentScanPackages;
+
+	private final List<String> fingerprintedClasses;
+
+	private final Map<String, BeanDefinition> beanDefinitions;
+
+	private final Map<String, String[]> aliases;
+
+	private final Map<String, String> importingClasses;
+
+	private final Map<String, FactoryMethod> factoryMethods;
+
+	private final List<PropertySourceRegistrar.Declaration> propertySources;
+
+	private final ConditionInputs conditionInputs;
+
+
+	private BeanDefinitionSnapshot(String fingerprint, List<String> componentClasses,
+			List<String> basePackages, List<String> componentScanPackages, List<String> fingerprintedClasses,
+			Map<String, BeanDefinition> beanDefinitions, Map<String, String[]> aliases,
+			Map<String, String> importingClasses, Map<String, FactoryMethod> factoryMethods,
+			List<PropertySourceRegistrar.Declaration> propertySources, ConditionInputs conditionInputs) {
+
+		this.fingerprint = fingerprint;
+		this.componentClasses = componentClasses;
+		this.basePackages = basePackages;
+		this.componentScanPackages = componentScanPackages;
+		this.fingerprintedClasses = fingerprintedClasses;
+		this.beanDefinitions = beanDefinitions;
+		this.aliases = aliases;
+		this.importingClasses = importingClasses;
+		this.factoryMethods = factoryMethods;
+		this.propertySources = propertySources;
+		this.conditionInputs = conditionInputs;
+	}
+
+
+	/**
+	 * Return the fingerprint of the classpath and environment that this
+	 * snapshot was captured from.
+	 */
+	public String getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Return the names of the component classes that were registered.
+	 */
+	public List<String> getComponentClasses() {
+		return this.componentClasses;
+	}
+
+	/**
+	 * Return the base packages that were scanned through the context.
+	 */
+	public List<String> getBasePackages() {
+		return this.basePackages;
+	}
+
+	/**
+	 * Return the names of the captured bean definitions, in registration order.
+	 */
+	public Set<String> getBeanDefinitionNames() {
+		return Collections.unmodifiableSet(this.beanDefinitions.keySet());
+	}
+
+	/**
+	 * Determine whether this snapshot still matches the given registry, classpath
+	 * and environment, i.e. whether its fingerprint is unchanged.
+	 * <p>The captured {@link PropertySource @PropertySource} declarations are
+	 * applied to a copy of the given environment for this purpose, leaving the
+	 * given environment itself untouched.
+	 * @param registry the registry to be populated, before any processing
+	 * @param resourcePatternResolver the resolver to look up class files and resources with
+	 * @param environment the environment to evaluate profiles and properties against
+	 * @throws IOException if class files or property sources could not be read
+	 */
+	public boolean isUpToDate(BeanDefinitionRegistry registry, ResourcePatternResolver resourcePatternResolver,
+			ConfigurableEnvironment environment) throws IOException {
+
+		ConfigurableEnvironment processedEnvironment = copyEnvironment(environment, name -> true);
+		new PropertySourceRegistrar(processedEnvironment, resourcePatternResolver).processPropertySources(
+				this.propertySources);
+		return this.fingerprint.equals(computeFingerprint(this.fingerprintedClasses, this.basePackages,
+				this.componentScanPackages, this.conditionInputs, Arrays.asList(registry.getBeanDefinitionNames()),
+				resourcePatternResolver, environment, processedEnvironment));
+	}
+
+	/**
+	 * Add the property sources of the captured {@link PropertySource @PropertySource}
+	 * declarations to the given environment, in the same order as configuration
+	 * class processing would.
+	 * @param environment the environment to add the property sources to
+	 * @param resourceLoader the resource loader to load the property sources with
+	 * @throws IOException if a property source could not be read
+	 */
+	public void registerPropertySources(ConfigurableEnvironment environment, ResourceLoader resourceLoader)
+			throws IOException {
+
+		new PropertySourceRegistrar(environment, resourceLoader).processPropertySources(this.propertySources);
+	}
+
+	/**
+	 * Register the captured bean definitions and aliases with the given registry.
+	 * <p>Bean definitions already present in the registry (such as the
+	 * registered component classes) are kept, with the attributes determined
+	 * during processing copied onto them.
+	 * @param registry the registry to register the bean definitions with
+	 */
+	public void registerBeanDefinitions(BeanDefinitionRegistry registry) {
+		ClassLoader classLoader = (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getBeanClassLoader() : ClassUtils.getDefaultClassLoader());
+		this.beanDefinitions.forEach((beanName, bd) -> {
+			if (registry.containsBeanDefinition(beanName)) {
+				BeanDefinition existingDefinition = registry.getBeanDefinition(beanName);
+				for (String attributeName : bd.attributeNames()) {
+					existingDefinition.setAttribute(attributeName, bd.getAttribute(attributeName));
+				}
+			}
+			else {
+				FactoryMethod factoryMethod = this.factoryMethods.get(beanName);
+				if (factoryMethod != null && bd instanceof RootBeanDefinition) {
+					Method method = factoryMethod.resolve(classLoader);
+					if (method != null) {
+						((RootBeanDefinition) bd).setResolvedFactoryMethod(method);
+						((RootBeanDefinition) bd).setUniqueFactoryMethodName(method.getName());
+					}
+				}
+				registry.registerBeanDefinition(beanName, bd);
+			}
+		});
+		this.aliases.forEach((beanName, aliases) -> {
+			for (String alias : aliases) {
+				if (!registry.isAlias(alias)) {
+					registry.registerAlias(beanName, alias);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Return an {@link ImportRegistry} for the import relationships between
+	 * configuration classes captured in this snapshot.
+	 */
+	ImportRegistry getImportRegistry(@Nullable ClassLoader classLoader) {
+		return new SnapshotImportRegistry(this.importingClasses, classLoader);
+	}
+
+
+	/**
+	 * Write this snapshot to the given stream.
+	 * @param outputStream the stream to write to (not closed)
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(this.fingerprint);
+		writeStrings(out, this.componentClasses);
+		writeStrings(out, this.basePackages);
+		writeStrings(out, this.componentScanPackages);
+		writeStrings(out, this.fingerprintedClasses);
+		out.writeInt(this.beanDefinitions.size());
+		for (Map.Entry<String, BeanDefinition> entry : this.beanDefinitions.entrySet()) {
+			String beanName = entry.getKey();
+			out.writeUTF(beanName);
+			writeBeanDefinition(out, beanName, entry.getValue());
+			writeStrings(out, Arrays.asList(this.aliases.getOrDefault(beanName, new String[0])));
+			FactoryMethod factoryMethod = this.factoryMethods.get(beanName);
+			out.writeBoolean(factoryMethod != null);
+			if (factoryMethod != null) {
+				out.writeUTF(factoryMethod.declaringClassName);
+				out.writeUTF(factoryMethod.methodName);
+				writeStrings(out, Arrays.asList(factoryMethod.parameterTypeNames));
+			}
+		}
+		out.writeInt(this.importingClasses.size());
+		for (Map.Entry<String, String> entry : this.importingClasses.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+		out.writeInt(this.propertySources.size());
+		for (PropertySourceRegistrar.Declaration declaration : this.propertySources) {
+			writeNullableString(out, declaration.getName());
+			writeStrings(out, declaration.getLocations());
+			out.writeBoolean(declaration.isIgnoreResourceNotFound());
+			writeNullableString(out, declaration.getEncoding());
+			writeNullableString(out, declaration.getFactoryClassName());
+		}
+		writeStrings(out, this.conditionInputs.registeredBeanNames);
+		writeStrings(out, this.conditionInputs.propertyNames);
+		writeStrings(out, this.conditionInputs.classNames);
+		writeStrings(out, this.conditionInputs.resourceLocations);
+		out.flush();
+	}
+
+	/**
+	 * Read a snapshot from the given stream.
+	 * @param inputStream the stream to read from (not closed)
+	 * @return the snapshot
+	 * @throws IOException in case of I/O errors or if the stream does not
+	 * contain a snapshot in a supported format
+	 */
+	public static BeanDefinitionSnapshot readFrom(InputStream inputStream) throws IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a bean definition snapshot");
+		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported bean definition snapshot version " + version);
+		}
+		String fingerprint = in.readUTF();
+		List<String> componentClasses = readStrings(in);
+		List<String> basePackages = readStrings(in);
+		List<String> componentScanPackages = readStrings(in);
+		List<String> fingerprintedClasses = readStrings(in);
+		int beanDefinitionCount = in.readInt();
+		Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(beanDefinitionCount * 2);
+		Map<String, String[]> aliases = new LinkedHashMap<>();
+		Map<String, FactoryMethod> factoryMethods = new LinkedHashMap<>();
+		for (int i = 0; i < beanDefinitionCount; i++) {
+			String beanName = in.readUTF();
+			beanDefinitions.put(beanName, readBeanDefinition(in));
+			List<String> beanAliases = readStrings(in);
+			if (!beanAliases.isEmpty()) {
+				aliases.put(beanName, beanAliases.toArray(new String[0]));
+			}
+			if (in.readBoolean()) {
+				String declaringClassName = in.readUTF();
+				String methodName = in.readUTF();
+				String[] parameterTypeNames = readStrings(in).toArray(new String[0]);
+				factoryMethods.put(beanName, new FactoryMethod(declaringClassName, methodName, parameterTypeNames));
+			}
+		}
+		int importCount = in.readInt();
+		Map<String, String> importingClasses = new LinkedHashMap<>(importCount * 2);
+		for (int i = 0; i < importCount; i++) {
+			importingClasses.put(in.readUTF(), in.readUTF());
+		}
+		int propertySourceCount = in.readInt();
+		List<PropertySourceRegistrar.Declaration> propertySources = new ArrayList<>(propertySourceCount);
+		for (int i = 0; i < propertySourceCount; i++) {
+			propertySources.add(new PropertySourceRegistrar.Declaration(readNullableString(in), readStrings(in),
+					in.readBoolean(), readNullableString(in), readNullableString(in)));
+		}
+		ConditionInputs conditionInputs = new ConditionInputs(
+				readStrings(in), readStrings(in), readStrings(in), readStrings(in));
+		return new BeanDefinitionSnapshot(fingerprint, componentClasses, basePackages, componentScanPackages,
+				fingerprintedClasses, beanDefinitions, aliases, importingClasses, factoryMethods, propertySources,
+				conditionInputs);
+	}
+
+
+	/**
+	 * Capture the bean definitions in the given, fully processed registry.
+	 * @param registry the registry to capture
+	 * @param importRegistry the import registry of the configuration class parser, if any
+	 * @param componentClasses the names of the component classes that were registered
+	 * @param basePackages the base packages that were scanned through the context
+	 * @param componentScanPackages the base packages declared through {@link ComponentScan @ComponentScan}
+	 * @param propertySources the processed {@link PropertySource @PropertySource} declarations
+	 * @param conditionInputs the inputs that conditions may have evaluated during processing
+	 * @param resourcePatternResolver the resolver to look up class files and resources with
+	 * @param environment the environment as it was before processing
+	 * @param processedEnvironment the environment including the property sources added during processing
+	 * @return the snapshot
+	 * @throws BeanDefinitionStoreException if a bean definition cannot be captured
+	 * @throws IOException if class files could not be read
+	 */
+	static BeanDefinitionSnapshot capture(BeanDefinitionRegistry registry, @Nullable ImportRegistry importRegistry,
+			List<String> componentClasses, List<String> basePackages, List<String> componentScanPackages,
+			List<PropertySourceRegistrar.Declaration> propertySources, ConditionInputs conditionInputs,
+			ResourcePatternResolver resourcePatternResolver, Environment environment,
+			Environment processedEnvironment) throws IOException {
+
+		ClassLoader classLoader = resourcePatternResolver.getClassLoader();
+		Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+		Map<String, String[]> aliases = new LinkedHashMap<>();
+		Map<String, FactoryMethod> factoryMethods = new LinkedHashMap<>();
+		Set<String> beanClassNames = new LinkedHashSet<>();
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition bd = registry.getBeanDefinition(beanName);
+			beanDefinitions.put(beanName, bd);
+			String[] beanAliases = registry.getAliases(beanName);
+			if (beanAliases.length > 0) {
+				aliases.put(beanName, beanAliases);
+			}
+			FactoryMethod factoryMethod = FactoryMethod.determine(registry, bd, classLoader);
+			if (factoryMethod != null) {
+				factoryMethods.put(beanName, factoryMethod);
+			}
+			if (bd.getBeanClassName() != null) {
+				beanClassNames.add(bd.getBeanClassName());
+			}
+		}
+		Map<String, String> importingClasses = new LinkedHashMap<>();
+		if (importRegistry != null) {
+			for (String beanClassName : beanClassNames) {
+				AnnotationMetadata importingClass = importRegistry.getImportingClassFor(beanClassName);
+				if (importingClass != null) {
+					importingClasses.put(beanClassName, importingClass.getClassName());
+				}
+			}
+		}
+		List<String> fingerprintedClasses = resolveFingerprintedClasses(beanDefinitions.values(),
+				importingClasses.values(), componentClasses, basePackages, componentScanPackages,
+				resourcePatternResolver, processedEnvironment);
+		String fingerprint = computeFingerprint(fingerprintedClasses, basePackages, componentScanPackages,
+				conditionInputs, conditionInputs.registeredBeanNames, resourcePatternResolver,
+				environment, processedEnvironment);
+		return new BeanDefinitionSnapshot(fingerprint, componentClasses, basePackages, componentScanPackages,
+				fingerprintedClasses, beanDefinitions, aliases, importingClasses, factoryMethods, propertySources,
+				conditionInputs);
+	}
+
+	/**
+	 * Resolve the names of the classes outside the scanned packages that the
+	 * fingerprint covers: the classes referenced by the given bean definitions,
+	 * the component and importing classes, as well as the superclasses and the
+	 * classes named by conditions and component scan filters of those and of the
+	 * scanned classes, transitively.
+	 */
+	private static List<String> resolveFingerprintedClasses(Collection<BeanDefinition> beanDefinitions,
+			Collection<String> importingClasses, List<String> componentClasses, List<String> basePackages,
+			List<String> componentScanPackages, ResourcePatternResolver resourcePatternResolver,
+			Environment processedEnvironment) throws IOException {
+
+		Set<String> scannedClassNames = new TreeSet<>();
+		for (String basePackage : getScannedPackages(basePackages, componentScanPackages)) {
+			findClassFiles(basePackage, resourcePatternResolver, processedEnvironment, scannedClassNames);
+		}
+		Set<String> classNames = new TreeSet<>(componentClasses);
+		classNames.addAll(importingClasses);
+		for (BeanDefinition bd : beanDefinitions) {
+			collectClassNames(bd, classNames);
+		}
+		MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(resourcePatternResolver);
+		Deque<String> classesToInspect = new ArrayDeque<>(classNames);
+		classesToInspect.addAll(scannedClassNames);
+		Set<String> inspectedClasses = new HashSet<>(classesToInspect);
+		while (!classesToInspect.isEmpty()) {
+			Set<String> referencedClasses = new LinkedHashSet<>();
+			collectReferencedClassNames(classesToInspect.poll(), metadataReaderFactory, referencedClasses);
+			for (String referencedClass : referencedClasses) {
+				if (inspectedClasses.add(referencedClass)) {
+					classesToInspect.add(referencedClass);
+					classNames.add(referencedClass);
+				}
+			}
+		}
+		classNames.removeAll(scannedClassNames);
+		return new ArrayList<>(classNames);
+	}
+
+	/**
+	 * Compute a fingerprint of the active profiles, the condition inputs, the
+	 * contents of the class files in the given packages and of the given,
+	 * previously resolved classes.
+	 */
+	private static String computeFingerprint(List<String> fingerprintedClasses, List<String> basePackages,
+			List<String> componentScanPackages, ConditionInputs conditionInputs, List<String> registeredBeanNames,
+			ResourcePatternResolver resourcePatternResolver, Environment environment,
+			Environment processedEnvironment) throws IOException {
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not supported", ex);
+		}
+		for (String profile : environment.getActiveProfiles()) {
+			updateDigest(digest, "profile:" + profile);
+		}
+
+		// Detect changes to the inputs that conditions may have evaluated: bean definitions
+		// registered upfront, properties before and after adding @PropertySource declarations,
+		// the presence of classes and the existence of resources
+		for (String beanName : new TreeSet<>(registeredBeanNames)) {
+			updateDigest(digest, "bean:" + beanName);
+		}
+		for (String propertyName : conditionInputs.propertyNames) {
+			updateDigest(digest, "property:" + propertyName + "=" + getProperty(environment, propertyName) +
+					"|" + getProperty(processedEnvironment, propertyName));
+		}
+		ClassLoader classLoader = resourcePatternResolver.getClassLoader();
+		for (String className : conditionInputs.classNames) {
+			boolean present = (classLoader != null && classLoader.getResource(
+					ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX) != null);
+			updateDigest(digest, "present:" + className + "=" + present);
+		}
+		for (String location : conditionInputs.resourceLocations) {
+			updateDigest(digest, "resource:" + location + "=" + resourcePatternResolver.getResource(location).exists());
+		}
+
+		// Detect added, removed or changed classes in the scanned packages, including
+		// classes that did not produce a bean definition (yet)
+		for (String basePackage : getScannedPackages(basePackages, componentScanPackages)) {
+			updateDigest(digest, "package:" + basePackage);
+			for (Map.Entry<String, Resource> entry : findClassFiles(
+					basePackage, resourcePatternResolver, processedEnvironment, null).entrySet()) {
+				updateDigest(digest, entry.getKey());
+				updateDigest(digest, entry.getValue());
+			}
+		}
+
+		// Detect changes to the classes that the bean definitions were derived from, to their
+		// superclasses and to the classes that conditions and component scan filters refer to
+		for (String className : fingerprintedClasses) {
+			updateDigest(digest, "class:" + className);
+			Resource resource = resourcePatternResolver.getResource(ResourcePatternResolver.CLASSPATH_URL_PREFIX +
+					ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX);
+			if (resource.exists()) {
+				updateDigest(digest, resource);
+			}
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private static Set<String> getScannedPackages(List<String> basePackages, List<String> componentScanPackages) {
+		Set<String> packages = new TreeSet<>(basePackages);
+		packages.addAll(componentScanPackages);
+		return packages;
+	}
+
+	/**
+	 * Find the class files in the given package and its subpackages, keyed by
+	 * their path relative to the classpath root and sorted by it, with the first
+	 * class file on the classpath winning for duplicate paths.
+	 * @param classNames a set to add the names of the classes found to, if any
+	 */
+	private static Map<String, Resource> findClassFiles(String basePackage,
+			ResourcePatternResolver resourcePatternResolver, Environment processedEnvironment,
+			@Nullable Set<String> classNames) throws IOException {
+
+		String packagePath = ClassUtils.convertClassNameToResourcePath(
+				processedEnvironment.resolveRequiredPlaceholders(basePackage));
+		Map<String, Resource> classFiles = new TreeMap<>();
+		for (Resource resource : resourcePatternResolver.getResources(
+				ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + "/**/*.class")) {
+			String url = resource.getURL().toString();
+			int index = url.lastIndexOf(packagePath + "/");
+			if (index != -1) {
+				String classFile = url.substring(index);
+				if (classNames != null) {
+					classNames.add(ClassUtils.convertResourcePathToClassName(
+							classFile.substring(0, classFile.length() - ClassUtils.CLASS_FILE_SUFFIX.length())));
+				}
+				classFiles.putIfAbsent(classFile, resource);
+			}
+			else {
+				classFiles.putIfAbsent(url, resource);
+			}
+		}
+		return classFiles;
+	}
+
+	private static void updateDigest(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static void updateDigest(MessageDigest digest, Resource resource) throws IOException {
+		try (InputStream in = resource.getInputStream()) {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+	}
+
+	/**
+	 * Collect the names of the superclass of the given class as well as of the
+	 * {@link Condition} classes named by {@link Conditional @Conditional} and the
+	 * filter classes named by {@link ComponentScan @ComponentScan} declarations on
+	 * the class or its methods. Classes without a class file are ignored.
+	 */
+	private static void collectReferencedClassNames(String className, MetadataReaderFactory metadataReaderFactory,
+			Set<String> classNames) throws IOException {
+
+		MetadataReader metadataReader;
+		try {
+			metadataReader = metadataReaderFactory.getMetadataReader(className);
+		}
+		catch (FileNotFoundException ex) {
+			return;
+		}
+		String superClassName = metadataReader.getClassMetadata().getSuperClassName();
+		if (superClassName != null && !superClassName.startsWith("java.")) {
+			classNames.add(superClassName);
+		}
+		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+		collectClassValues(metadata.getAllAnnotationAttributes(Conditional.class.getName(), true), classNames);
+		collectClassValues(metadata.getAllAnnotationAttributes(ComponentScan.class.getName(), true), classNames);
+		for (MethodMetadata methodMetadata : metadata.getAnnotatedMethods(Conditional.class.getName())) {
+			collectClassValues(methodMetadata.getAllAnnotationAttributes(Conditional.class.getName(), true), classNames);
+		}
+	}
+
+	private static void collectClassValues(@Nullable MultiValueMap<String, Object> attributes, Set<String> classNames) {
+		if (attributes == null) {
+			return;
+		}
+		for (String attributeName : new String[] {"value", "classes", "includeFilters", "excludeFilters"}) {
+			List<Object> values = attributes.get(attributeName);
+			if (values != null) {
+				for (Object value : values) {
+					collectClassValue(value, classNames);
+				}
+			}
+		}
+	}
+
+	private static void collectClassValue(@Nullable Object value, Set<String> classNames) {
+		if (value instanceof Object[]) {
+			for (Object element : (Object[]) value) {
+				collectClassValue(element, classNames);
+			}
+		}
+		else if (value instanceof AnnotationAttributes) {
+			AnnotationAttributes filter = (AnnotationAttributes) value;
+			collectClassValue(filter.get("value"), classNames);
+			collectClassValue(filter.get("classes"), classNames);
+		}
+		else if (value instanceof String && !((String) value).startsWith("java.")) {
+			classNames.add((String) value);
+		}
+	}
+
+	@Nullable
+	private static String getProperty(Environment environment, String propertyName) {
+		try {
+			return environment.getProperty(propertyName);
+		}
+		catch (IllegalArgumentException ex) {
+			// Unresolvable placeholder in the property value
+			return "!" + ex.getMessage();
+		}
+	}
+
+	/**
+	 * Create a copy of the given environment with the same profiles and the
+	 * property sources accepted by the given filter, in the same order.
+	 */
+	static ConfigurableEnvironment copyEnvironment(ConfigurableEnvironment environment, Predicate<String> filter) {
+		ConfigurableEnvironment copy = new AbstractEnvironment() {};
+		copy.setConversionService(environment.getConversionService());
+		copy.setActiveProfiles(environment.getActiveProfiles());
+		copy.setDefaultProfiles(environment.getDefaultProfiles());
+		for (org.springframework.core.env.PropertySource<?> propertySource : environment.getPropertySources()) {
+			if (filter.test(propertySource.getName())) {
+				copy.getPropertySources().addLast(propertySource);
+			}
+		}
+		return copy;
+	}
+
+	private static void collectClassNames(BeanDefinition bd, Set<String> classNames) {
+		if (bd.getBeanClassName() != null) {
+			classNames.add(bd.getBeanClassName());
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+			collectClassNamesFromValue(pv.getValue(), classNames);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder :
+				bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+			collectClassNamesFromValue(valueHolder.getValue(), classNames);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder :
+				bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+			collectClassNamesFromValue(valueHolder.getValue(), classNames);
+		}
+	}
+
+	private static void collectClassNamesFromValue(@Nullable Object value, Set<String> classNames) {
+		if (value instanceof BeanDefinitionHolder) {
+			collectClassNames(((BeanDefinitionHolder) value).getBeanDefinition(), classNames);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectClassNames((BeanDefinition) value, classNames);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectClassNamesFromValue(element, classNames);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectClassNamesFromValue(entry.getKey(), classNames);
+				collectClassNamesFromValue(entry.getValue(), classNames);
+			}
+		}
+	}
+
+
+	private static void writeBeanDefinition(DataOutputStream out, String beanName, BeanDefinition definition)
+			throws IOException {
+
+		if (!(definition instanceof AbstractBeanDefinition)) {
+			throw new BeanDefinitionStoreException(definition.getResourceDescription(), beanName,
+					"Bean definition of type [" + definition.getClass().getName() + "] cannot be captured in a snapshot");
+		}
+		AbstractBeanDefinition bd = (AbstractBeanDefinition) definition;
+		if (bd.getInstanceSupplier() != null) {
+			throw new BeanDefinitionStoreException(bd.getResourceDescription(), beanName,
+					"Bean definition with instance supplier cannot be captured in a snapshot");
+		}
+		if (bd.hasMethodOverrides()) {
+			throw new BeanDefinitionStoreException(bd.getResourceDescription(), beanName,
+					"Bean definition with method overrides cannot be captured in a snapshot");
+		}
+
+		writeNullableString(out, bd.getParentName());
+		writeNullableString(out, bd.getBeanClassName());
+		writeNullableString(out, bd.getScope());
+		out.writeBoolean(bd.isAbstract());
+		Boolean lazyInit = bd.getLazyInit();
+		out.writeByte(lazyInit == null ? 0 : (lazyInit ? 2 : 1));
+		out.writeInt(bd.getAutowireMode());
+		out.writeInt(bd.getDependencyCheck());
+		out.writeBoolean(bd.getDependsOn() != null);
+		if (bd.getDependsOn() != null) {
+			writeStrings(out, Arrays.asList(bd.getDependsOn()));
+		}
+		out.writeBoolean(bd.isAutowireCandidate());
+		out.writeBoolean(bd.isPrimary());
+		out.writeBoolean(bd.isNonPublicAccessAllowed());
+		out.writeBoolean(bd.isLenientConstructorResolution());
+		writeNullableString(out, bd.getFactoryBeanName());
+		writeNullableString(out, bd.getFactoryMethodName());
+		writeNullableString(out, bd.getInitMethodName());
+		out.writeBoolean(bd.isEnforceInitMethod());
+		writeNullableString(out, bd.getDestroyMethodName());
+		out.writeBoolean(bd.isEnforceDestroyMethod());
+		out.writeBoolean(bd.isSynthetic());
+		out.writeInt(bd.getRole());
+		writeNullableString(out, bd.getDescription());
+		writeNullableString(out, bd.getResourceDescription());
+
+		Set<AutowireCandidateQualifier> qualifiers = bd.getQualifiers();
+		out.writeInt(qualifiers.size());
+		for (AutowireCandidateQualifier qualifier : qualifiers) {
+			out.writeUTF(qualifier.getTypeName());
+			String[] attributeNames = qualifier.attributeNames();
+			out.writeInt(attributeNames.length);
+			for (String attributeName : attributeNames) {
+				out.writeUTF(attributeName);
+				writeValue(out, beanName, qualifier.getAttribute(attributeName));
+			}
+		}
+
+		ConstructorArgumentValues argumentValues = bd.getConstructorArgumentValues();
+		out.writeInt(argumentValues.getIndexedArgumentValues().size());
+		for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry :
+				argumentValues.getIndexedArgumentValues().entrySet()) {
+			out.writeInt(entry.getKey());
+			writeArgumentValue(out, beanName, entry.getValue());
+		}
+		List<ConstructorArgumentValues.ValueHolder> genericArgumentValues = argumentValues.getGenericArgumentValues();
+		out.writeInt(genericArgumentValues.size());
+		for (ConstructorArgumentValues.ValueHolder valueHolder : genericArgumentValues) {
+			writeArgumentValue(out, beanName, valueHolder);
+		}
+
+		List<PropertyValue> propertyValues = bd.getPropertyValues().getPropertyValueList();
+		out.writeInt(propertyValues.size());
+		for (PropertyValue pv : propertyValues) {
+			out.writeUTF(pv.getName());
+			writeValue(out, beanName, pv.getValue());
+		}
+
+		// Only simple attributes, such as the configuration class marker and order
+		List<String> attributeNames = new ArrayList<>();
+		for (String attributeName : bd.attributeNames()) {
+			Object value = bd.getAttribute(attributeName);
+			if (value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+				attributeNames.add(attributeName);
+			}
+		}
+		out.writeInt(attributeNames.size());
+		for (String attributeName : attributeNames) {
+			out.writeUTF(attributeName);
+			writeValue(out, beanName, bd.getAttribute(attributeName));
+		}
+
+		BeanDefinitionHolder decoratedDefinition = (bd instanceof RootBeanDefinition ?
+				((RootBeanDefinition) bd).getDecoratedDefinition() : null);
+		out.writeBoolean(decoratedDefinition != null && bd.getParentName() == null);
+		if (decoratedDefinition != null && bd.getParentName() == null) {
+			writeValue(out, beanName, decoratedDefinition);
+		}
+	}
+
+	private static BeanDefinition readBeanDefinition(DataInputStream in) throws IOException {
+		String parentName = readNullableString(in);
+		AbstractBeanDefinition bd;
+		if (parentName != null) {
+			GenericBeanDefinition childDefinition = new GenericBeanDefinition();
+			childDefinition.setParentName(parentName);
+			bd = childDefinition;
+		}
+		else {
+			bd = new RootBeanDefinition();
+		}
+		bd.setBeanClassName(readNullableString(in));
+		bd.setScope(readNullableString(in));
+		bd.setAbstract(in.readBoolean());
+		byte lazyInit = in.readByte();
+		if (lazyInit != 0) {
+			bd.setLazyInit(lazyInit == 2);
+		}
+		bd.setAutowireMode(in.readInt());
+		bd.setDependencyCheck(in.readInt());
+		if (in.readBoolean()) {
+			bd.setDependsOn(readStrings(in).toArray(new String[0]));
+		}
+		bd.setAutowireCandidate(in.readBoolean());
+		bd.setPrimary(in.readBoolean());
+		bd.setNonPublicAccessAllowed(in.readBoolean());
+		bd.setLenientConstructorResolution(in.readBoolean());
+		bd.setFactoryBeanName(readNullableString(in));
+		bd.setFactoryMethodName(readNullableString(in));
+		bd.setInitMethodName(readNullableString(in));
+		bd.setEnforceInitMethod(in.readBoolean());
+		bd.setDestroyMethodName(readNullableString(in));
+		bd.setEnforceDestroyMethod(in.readBoolean());
+		bd.setSynthetic(in.readBoolean());
+		bd.setRole(in.readInt());
+		bd.setDescription(readNullableString(in));
+		bd.setResourceDescription(readNullableString(in));
+
+		int qualifierCount = in.readInt();
+		for (int i = 0; i < qualifierCount; i++) {
+			AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(in.readUTF());
+			int attributeCount = in.readInt();
+			for (int j = 0; j < attributeCount; j++) {
+				qualifier.setAttribute(in.readUTF(), readValue(in));
+			}
+			bd.addQualifier(qualifier);
+		}
+
+		ConstructorArgumentValues argumentValues = new ConstructorArgumentValues();
+		int indexedArgumentCount = in.readInt();
+		for (int i = 0; i < indexedArgumentCount; i++) {
+			argumentValues.addIndexedArgumentValue(in.readInt(), readArgumentValue(in));
+		}
+		int genericArgumentCount = in.readInt();
+		for (int i = 0; i < genericArgumentCount; i++) {
+			argumentValues.addGenericArgumentValue(readArgumentValue(in));
+		}
+		bd.setConstructorArgumentValues(argumentValues);
+
+		int propertyValueCount = in.readInt();
+		MutablePropertyValues propertyValues = new MutablePropertyValues();
+		for (int i = 0; i < propertyValueCount; i++) {
+			propertyValues.add(in.readUTF(), readValue(in));
+		}
+		bd.setPropertyValues(propertyValues);
+
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			bd.setAttribute(in.readUTF(), readValue(in));
+		}
+
+		if (in.readBoolean()) {
+			((RootBeanDefinition) bd).setDecoratedDefinition((BeanDefinitionHolder) readValue(in));
+		}
+		return bd;
+	}
+
+	private static void writeArgumentValue(DataOutputStream out, String beanName,
+			ConstructorArgumentValues.ValueHolder valueHolder) throws IOException {
+
+		writeValue(out, beanName, valueHolder.getValue());
+		writeNullableString(out, valueHolder.getType());
+		writeNullableString(out, valueHolder.getName());
+	}
+
+	private static ConstructorArgumentValues.ValueHolder readArgumentValue(DataInputStream in) throws IOException {
+		Object value = readValue(in);
+		return new ConstructorArgumentValues.ValueHolder(value, readNullableString(in), readNullableString(in));
+	}
+
+	private static void writeValue(DataOutputStream out, String beanName, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		}
+		else if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Number || value instanceof Character || value instanceof Enum || value instanceof Class) {
+			// Converted back to the original type on bean creation
+			String stringValue = (value instanceof Enum ? ((Enum<?>) value).name() :
+					value instanceof Class ? ((Class<?>) value).getName() : value.toString());
+			String typeName = (value instanceof Enum ? ((Enum<?>) value).getDeclaringClass().getName() :
+					value.getClass().getName());
+			out.writeByte(TYPED_STRING_VALUE);
+			writeNullableString(out, stringValue);
+			writeNullableString(out, typeName);
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedStringValue = (TypedStringValue) value;
+			out.writeByte(TYPED_STRING_VALUE);
+			writeNullableString(out, typedStringValue.getValue());
+			writeNullableString(out, typedStringValue.getTargetTypeName());
+		}
+		else if (value instanceof RuntimeBeanReference && ((RuntimeBeanReference) value).getBeanType() == null) {
+			RuntimeBeanReference reference = (RuntimeBeanReference) value;
+			out.writeByte(BEAN_REFERENCE);
+			out.writeUTF(reference.getBeanName());
+			out.writeBoolean(reference.isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			out.writeByte(BEAN_NAME_REFERENCE);
+			out.writeUTF(((RuntimeBeanNameReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			BeanDefinitionHolder holder = (BeanDefinitionHolder) value;
+			out.writeByte(BEAN_DEFINITION_HOLDER);
+			out.writeUTF(holder.getBeanName());
+			writeStrings(out, Arrays.asList(ObjectUtils.isEmpty(holder.getAliases()) ? new String[0] : holder.getAliases()));
+			writeBeanDefinition(out, holder.getBeanName(), holder.getBeanDefinition());
+		}
+		else if (value instanceof BeanDefinition) {
+			out.writeByte(BEAN_DEFINITION);
+			writeBeanDefinition(out, beanName, (BeanDefinition) value);
+		}
+		else if (value instanceof String[]) {
+			out.writeByte(STRING_ARRAY);
+			writeStrings(out, Arrays.asList((String[]) value));
+		}
+		else if (value instanceof ManagedArray) {
+			ManagedArray array = (ManagedArray) value;
+			out.writeByte(MANAGED_ARRAY);
+			writeNullableString(out, array.getElementTypeName());
+			out.writeBoolean(array.isMergeEnabled());
+			writeValues(out, beanName, array);
+		}
+		else if (value instanceof ManagedList) {
+			ManagedList<?> list = (ManagedList<?>) value;
+			out.writeByte(MANAGED_LIST);
+			writeNullableString(out, list.getElementTypeName());
+			out.writeBoolean(list.isMergeEnabled());
+			writeValues(out, beanName, list);
+		}
+		else if (value instanceof ManagedSet) {
+			ManagedSet<?> set = (ManagedSet<?>) value;
+			out.writeByte(MANAGED_SET);
+			writeNullableString(out, set.getElementTypeName());
+			out.writeBoolean(set.isMergeEnabled());
+			writeValues(out, beanName, set);
+		}
+		else if (value instanceof ManagedMap) {
+			ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+			out.writeByte(MANAGED_MAP);
+			writeNullableString(out, map.getKeyTypeName());
+			writeNullableString(out, map.getValueTypeName());
+			out.writeBoolean(map.isMergeEnabled());
+			writeEntries(out, beanName, map);
+		}
+		else if (value instanceof List) {
+			out.writeByte(LIST);
+			writeValues(out, beanName, (List<?>) value);
+		}
+		else if (value instanceof Set) {
+			out.writeByte(SET);
+			writeValues(out, beanName, (Set<?>) value);
+		}
+		else if (value instanceof Map && !(value instanceof Properties)) {
+			out.writeByte(MAP);
+			writeEntries(out, beanName, (Map<?, ?>) value);
+		}
+		else {
+			throw new BeanDefinitionStoreException(null, beanName,
+					"Value of type [" + value.getClass().getName() + "] cannot be captured in a snapshot");
+		}
+	}
+
+	private static void writeValues(DataOutputStream out, String beanName, Collection<?> values) throws IOException {
+		out.writeInt(values.size());
+		for (Object value : values) {
+			writeValue(out, beanName, value);
+		}
+	}
+
+	private static void writeEntries(DataOutputStream out, String beanName, Map<?, ?> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			writeValue(out, beanName, entry.getKey());
+			writeValue(out, beanName, entry.getValue());
+		}
+	}
+
+	@Nullable
+	private static Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case NULL_VALUE:
+				return null;
+			case STRING_VALUE:
+				return in.readUTF();
+			case BOOLEAN_VALUE:
+				return in.readBoolean();
+			case INTEGER_VALUE:
+				return in.readInt();
+			case LONG_VALUE:
+				return in.readLong();
+			case TYPED_STRING_VALUE: {
+				String value = readNullableString(in);
+				String targetTypeName = readNullableString(in);
+				return (targetTypeName != null ? new TypedStringValue(value, targetTypeName) : new TypedStringValue(value));
+			}
+			case BEAN_REFERENCE:
+				return new RuntimeBeanReference(in.readUTF(), in.readBoolean());
+			case BEAN_NAME_REFERENCE:
+				return new RuntimeBeanNameReference(in.readUTF());
+			case BEAN_DEFINITION_HOLDER: {
+				String beanName = in.readUTF();
+				List<String> aliases = readStrings(in);
+				BeanDefinition bd = readBeanDefinition(in);
+				return new BeanDefinitionHolder(bd, beanName, aliases.isEmpty() ? null : aliases.toArray(new String[0]));
+			}
+			case BEAN_DEFINITION:
+				return readBeanDefinition(in);
+			case STRING_ARRAY:
+				return readStrings(in).toArray(new String[0]);
+			case MANAGED_ARRAY: {
+				String elementTypeName = readNullableString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedArray array = new ManagedArray(elementTypeName != null ? elementTypeName : Object.class.getName(), size);
+				array.setMergeEnabled(mergeEnabled);
+				readValues(in, array, size);
+				return array;
+			}
+			case MANAGED_LIST: {
+				String elementTypeName = readNullableString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedList<Object> list = new ManagedList<>(size);
+				list.setElementTypeName(elementTypeName);
+				list.setMergeEnabled(mergeEnabled);
+				readValues(in, list, size);
+				return list;
+			}
+			case MANAGED_SET: {
+				String elementTypeName = readNullableString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedSet<Object> set = new ManagedSet<>(size);
+				set.setElementTypeName(elementTypeName);
+				set.setMergeEnabled(mergeEnabled);
+				readValues(in, set, size);
+				return set;
+			}
+			case MANAGED_MAP: {
+				String keyTypeName = readNullableString(in);
+				String valueTypeName = readNullableString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedMap<Object, Object> map = new ManagedMap<>(size);
+				map.setKeyTypeName(keyTypeName);
+				map.setValueTypeName(valueTypeName);
+				map.setMergeEnabled(mergeEnabled);
+				readEntries(in, map, size);
+				return map;
+			}
+			case LIST: {
+				int size = in.readInt();
+				List<Object> list = new ArrayList<>(size);
+				readValues(in, list, size);
+				return list;
+			}
+			case SET: {
+				int size = in.readInt();
+				Set<Object> set = new LinkedHashSet<>(size * 2);
+				readValues(in, set, size);
+				return set;
+			}
+			case MAP: {
+				int size = in.readInt();
+				Map<Object, Object> map = new LinkedHashMap<>(size * 2);
+				readEntries(in, map, size);
+				return map;
+			}
+			default:
+				throw new IOException("Unknown value type " + type + " in bean definition snapshot");
+		}
+	}
+
+	private static void readValues(DataInputStream in, Collection<Object> values, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			values.add(readValue(in));
+		}
+	}
+
+	private static void readEntries(DataInputStream in, Map<Object, Object> map, int size) throws IOException {
+		for (int i = 0; i < size; i++) {
+			map.put(readValue(in), readValue(in));
+		}
+	}
+
+	private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(in.readUTF());
+		}
+		return values;
+	}
+
+
+	/**
+	 * The inputs that conditions may have evaluated while processing the
+	 * component classes, as recorded by the {@link BeanDefinitionSnapshotGenerator}.
+	 */
+	static final class ConditionInputs {
+
+		/** Names of the bean definitions registered before processing. */
+		final List<String> registeredBeanNames;
+
+		/** Names of the properties looked up in the environment. */
+		final List<String> propertyNames;
+
+		/** Names of the classes looked up through the bean class loader. */
+		final List<String> classNames;
+
+		/** Locations of the resources looked up through the resource loader. */
+		final List<String> resourceLocations;
+
+		ConditionInputs(List<String> registeredBeanNames, List<String> propertyNames,
+				List<String> classNames, List<String> resourceLocations) {
+
+			this.registeredBeanNames = registeredBeanNames;
+			this.propertyNames = propertyNames;
+			this.classNames = classNames;
+			this.resourceLocations = resourceLocations;
+		}
+	}
+
+
+	/**
+	 * Reference to the factory method of a bean definition, resolved on
+	 * registration in order to avoid a lookup among overloaded candidates.
+	 */
+	private static final class FactoryMethod {
+
+		final String declaringClassName;
+
+		final String methodName;
+
+		final String[] parameterTypeNames;
+
+		FactoryMethod(String declaringClassName, String methodName, String[] parameterTypeNames) {
+			this.declaringClassName = declaringClassName;
+			this.methodName = methodName;
+			this.parameterTypeNames = parameterTypeNames;
+		}
+
+		@Nullable
+		Method resolve(@Nullable ClassLoader classLoader) {
+			try {
+				Class<?> declaringClass = ClassUtils.forName(this.declaringClassName, classLoader);
+				Class<?>[] parameterTypes = new Class<?>[this.parameterTypeNames.length];
+				for (int i = 0; i < parameterTypes.length; i++) {
+					parameterTypes[i] = ClassUtils.forName(this.parameterTypeNames[i], classLoader);
+				}
+				return declaringClass.getDeclaredMethod(this.methodName, parameterTypes);
+			}
+			catch (ClassNotFoundException | LinkageError | NoSuchMethodException ex) {
+				// Leave it to regular factory method resolution on bean creation
+				return null;
+			}
+		}
+
+		/**
+		 * Determine the factory method of the given bean definition, provided
+		 * that it is unique within its factory class.
+		 */
+		@Nullable
+		static FactoryMethod determine(BeanDefinitionRegistry registry, BeanDefinition bd,
+				@Nullable ClassLoader classLoader) {
+
+			String factoryMethodName = bd.getFactoryMethodName();
+			if (factoryMethodName == null) {
+				return null;
+			}
+			Method method = null;
+			if (bd instanceof AnnotatedBeanDefinition) {
+				MethodMetadata methodMetadata = ((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata();
+				if (methodMetadata instanceof StandardMethodMetadata) {
+					method = ((StandardMethodMetadata) methodMetadata).getIntrospectedMethod();
+				}
+			}
+			if (method == null && bd instanceof RootBeanDefinition) {
+				method = ((RootBeanDefinition) bd).getResolvedFactoryMethod();
+			}
+			if (method == null) {
+				String factoryClassName = bd.getBeanClassName();
+				String factoryBeanName = bd.getFactoryBeanName();
+				if (factoryBeanName != null) {
+					factoryClassName = (registry.containsBeanDefinition(factoryBeanName) ?
+							registry.getBeanDefinition(factoryBeanName).getBeanClassName() : null);
+				}
+				if (factoryClassName == null) {
+					return null;
+				}
+				try {
+					Class<?> factoryClass = ClassUtils.forName(factoryClassName, classLoader);
+					Method[] candidates = ReflectionUtils.getUniqueDeclaredMethods(factoryClass,
+							candidate -> candidate.getName().equals(factoryMethodName));
+					if (candidates.length != 1) {
+						return null;
+					}
+					method = candidates[0];
+				}
+				catch (ClassNotFoundException | LinkageError ex) {
+					return null;
+				}
+			}
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			String[] parameterTypeNames = new String[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypeNames[i] = parameterTypes[i].getName();
+			}
+			return new FactoryMethod(method.getDeclaringClass().getName(), method.getName(), parameterTypeNames);
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} for the import relationships captured in a snapshot,
+	 * introspecting importing classes on demand.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClasses;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		SnapshotImportRegistry(Map<String, String> importingClasses, @Nullable ClassLoader classLoader) {
+			this.importingClasses = new LinkedHashMap<>(importingClasses);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.importingClasses.get(importedClass);
+			if (importingClass == null) {
+				return null;
+			}
+			try {
+				return AnnotationMetadata.introspect(ClassUtils.forName(importingClass, this.classLoader));
+			}
+			catch (ClassNotFoundException ex) {
+				throw new IllegalStateException("Could not load importing class [" + importingClass + "]", ex);
+			}
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClasses.values().removeIf(importingClass::equals);
+		}
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Generates a {@link BeanDefinitionSnapshot} at build time by processing the
+ * given component classes and base packages the same way as an
+ * {@link AnnotationConfigApplicationContext} would on refresh, without
+ * instantiating any application beans.
+ *
+ * <p>Only the {@link ConfigurationClassPostProcessor} is applied; other bean
+ * definition registry post-processors and regular bean factory post-processors
+ * run at startup as usual, on top of the bean definitions in the snapshot.
+ * The properties, classes and resources looked up while processing are recorded
+ * so that the snapshot is only used for the same inputs to conditions.
+ *
+ * <p>The {@link #main} method allows for generating a snapshot from a build,
+ * e.g. through a Gradle {@code JavaExec} task on the runtime classpath of the
+ * application, writing the snapshot to a resource location that the application
+ * passes to {@link AnnotationConfigApplicationContext#setBeanDefinitionSnapshot}.
+ *
+ * @since 5.3.21
+ * @see BeanDefinitionSnapshot
+ */
+public class BeanDefinitionSnapshotGenerator {
+
+	@Nullable
+	private ConfigurableEnvironment environment;
+
+
+	/**
+	 * Set the environment to process the component classes with, for
+	 * evaluating profiles and conditions.
+	 * <p>Default is a standard environment.
+	 */
+	public void setEnvironment(ConfigurableEnvironment environment) {
+		this.environment = environment;
+	}
+
+
+	/**
+	 * Generate a snapshot of the bean definitions derived from the given
+	 * component classes and base packages.
+	 * @param componentClasses the component classes to register
+	 * @param basePackages the base packages to scan
+	 * @return the snapshot
+	 * @throws org.springframework.beans.factory.BeanDefinitionStoreException
+	 * if a bean definition cannot be captured
+	 * @throws IOException if class files could not be read
+	 */
+	public BeanDefinitionSnapshot generate(Class<?>[] componentClasses, String... basePackages) throws IOException {
+		Assert.isTrue(componentClasses.length > 0 || basePackages.length > 0,
+				"At least one component class or base package must be specified");
+		SnapshotApplicationContext context = new SnapshotApplicationContext();
+		if (this.environment != null) {
+			context.setEnvironment(this.environment);
+		}
+		ConfigurableEnvironment environment = context.getEnvironment();
+		Set<String> basePropertySourceNames = new HashSet<>();
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			basePropertySourceNames.add(propertySource.getName());
+		}
+		PropertyLookupRecorder propertyLookupRecorder = new PropertyLookupRecorder();
+		environment.getPropertySources().addFirst(propertyLookupRecorder);
+		ClassLookupRecorder classLookupRecorder = new ClassLookupRecorder(context.getClassLoader());
+		context.setClassLoader(classLookupRecorder);
+		Thread currentThread = Thread.currentThread();
+		ClassLoader threadContextClassLoader = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader(classLookupRecorder);
+		try {
+			List<String> componentClassNames = new ArrayList<>(componentClasses.length);
+			if (componentClasses.length > 0) {
+				context.register(componentClasses);
+				for (Class<?> componentClass : componentClasses) {
+					componentClassNames.add(componentClass.getName());
+				}
+			}
+			List<String> registeredBeanNames =
+					Arrays.asList(context.getDefaultListableBeanFactory().getBeanDefinitionNames());
+			if (basePackages.length > 0) {
+				context.scan(basePackages);
+			}
+			return context.generateSnapshot(componentClassNames, Arrays.asList(basePackages), registeredBeanNames,
+					basePropertySourceNames, propertyLookupRecorder, classLookupRecorder);
+		}
+		finally {
+			currentThread.setContextClassLoader(threadContextClassLoader);
+			environment.getPropertySources().remove(propertyLookupRecorder.getName());
+			context.getDefaultListableBeanFactory().destroySingletons();
+		}
+	}
+
+	/**
+	 * Generate a snapshot and write it to the given stream.
+	 * @param outputStream the stream to write to (not closed)
+	 * @param componentClasses the component classes to register
+	 * @param basePackages the base packages to scan
+	 * @throws IOException in case of I/O errors
+	 * @see #generate(Class[], String...)
+	 */
+	public void generate(OutputStream outputStream, Class<?>[] componentClasses, String... basePackages)
+			throws IOException {
+
+		generate(componentClasses, basePackages).writeTo(outputStream);
+	}
+
+
+	/**
+	 * Generate a snapshot from the command line.
+	 * <p>The first argument is the file to write the snapshot to, followed by the
+	 * component classes to register; arguments that do not resolve to a class are
+	 * scanned as base packages. Active profiles may be specified through the
+	 * {@code spring.profiles.active} system property.
+	 * @param args the output file, followed by component classes and base packages
+	 * @throws Exception if the snapshot could not be generated
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: BeanDefinitionSnapshotGenerator <output-file> <component-class-or-base-package>...");
+			System.exit(1);
+		}
+		ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+		List<Class<?>> componentClasses = new ArrayList<>();
+		List<String> basePackages = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			if (ClassUtils.isPresent(args[i], classLoader)) {
+				componentClasses.add(ClassUtils.forName(args[i], classLoader));
+			}
+			else {
+				basePackages.add(args[i]);
+			}
+		}
+		Path outputFile = Paths.get(args[0]);
+		if (outputFile.getParent() != null) {
+			Files.createDirectories(outputFile.getParent());
+		}
+		try (OutputStream out = Files.newOutputStream(outputFile)) {
+			new BeanDefinitionSnapshotGenerator().generate(out,
+					componentClasses.toArray(new Class<?>[0]), StringUtils.toStringArray(basePackages));
+		}
+	}
+
+
+	/**
+	 * Context that stops after processing the configuration classes, recording
+	 * the resources looked up on the way.
+	 */
+	private static class SnapshotApplicationContext extends AnnotationConfigApplicationContext {
+
+		private final Set<String> resourceLocations = new LinkedHashSet<>();
+
+		@Override
+		public Resource getResource(String location) {
+			if (!location.endsWith(ClassUtils.CLASS_FILE_SUFFIX)) {
+				this.resourceLocations.add(location);
+			}
+			return super.getResource(location);
+		}
+
+		BeanDefinitionSnapshot generateSnapshot(List<String> componentClasses, List<String> basePackages,
+				List<String> registeredBeanNames, Set<String> basePropertySourceNames,
+				PropertyLookupRecorder propertyLookupRecorder, ClassLookupRecorder classLookupRecorder)
+				throws IOException {
+
+			prepareRefresh();
+			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
+			prepareBeanFactory(beanFactory);
+			BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+			ConfigurationClassPostProcessor postProcessor = beanFactory.getBean(
+					AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME,
+					ConfigurationClassPostProcessor.class);
+			postProcessor.postProcessBeanDefinitionRegistry(registry);
+
+			ConfigurableEnvironment environment = getEnvironment();
+			environment.getPropertySources().remove(propertyLookupRecorder.getName());
+			ImportRegistry importRegistry = null;
+			if (beanFactory.containsSingleton(ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME)) {
+				importRegistry = (ImportRegistry) beanFactory.getSingleton(
+						ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME);
+			}
+
+			// Classes referenced by bean definitions are fingerprinted by their contents already
+			Set<String> classNames = new LinkedHashSet<>(classLookupRecorder.getClassNames());
+			for (String beanName : registry.getBeanDefinitionNames()) {
+				classNames.remove(registry.getBeanDefinition(beanName).getBeanClassName());
+			}
+			BeanDefinitionSnapshot.ConditionInputs conditionInputs = new BeanDefinitionSnapshot.ConditionInputs(
+					registeredBeanNames, new ArrayList<>(propertyLookupRecorder.getPropertyNames()),
+					new ArrayList<>(classNames), new ArrayList<>(this.resourceLocations));
+			return BeanDefinitionSnapshot.capture(registry, importRegistry, componentClasses, basePackages,
+					determineComponentScanPackages(registry), postProcessor.getPropertySourceDeclarations(),
+					conditionInputs, this, BeanDefinitionSnapshot.copyEnvironment(environment,
+							basePropertySourceNames::contains), environment);
+		}
+
+		/**
+		 * Determine the base packages declared through {@link ComponentScan @ComponentScan}
+		 * on the processed configuration classes, for detecting added classes.
+		 */
+		private List<String> determineComponentScanPackages(BeanDefinitionRegistry registry) {
+			Set<String> basePackages = new LinkedHashSet<>();
+			for (String beanName : registry.getBeanDefinitionNames()) {
+				BeanDefinition bd = registry.getBeanDefinition(beanName);
+				String className = bd.getBeanClassName();
+				if (className == null || bd.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE) == null) {
+					continue;
+				}
+				Class<?> configClass;
+				try {
+					configClass = ClassUtils.forName(className, getClassLoader());
+				}
+				catch (ClassNotFoundException | LinkageError ex) {
+					continue;
+				}
+				for (ComponentScan componentScan : AnnotatedElementUtils.findMergedRepeatableAnnotations(
+						configClass, ComponentScan.class, ComponentScans.class)) {
+					Set<String> packages = new LinkedHashSet<>();
+					for (String pkg : componentScan.basePackages()) {
+						Collections.addAll(packages, StringUtils.tokenizeToStringArray(
+								getEnvironment().resolvePlaceholders(pkg),
+								ConfigurableApplicationContext.CONFIG_LOCATION_DELIMITERS));
+					}
+					for (Class<?> clazz : componentScan.basePackageClasses()) {
+						packages.add(ClassUtils.getPackageName(clazz));
+					}
+					if (packages.isEmpty()) {
+						packages.add(ClassUtils.getPackageName(configClass));
+					}
+					basePackages.addAll(packages);
+				}
+			}
+			return new ArrayList<>(basePackages);
+		}
+	}
+
+
+	/**
+	 * Property source that records the names of all properties looked up
+	 * in the environment, without providing any values itself.
+	 */
+	private static class PropertyLookupRecorder extends PropertySource<Object> {
+
+		private final Set<String> propertyNames = Collections.synchronizedSet(new LinkedHashSet<>());
+
+		PropertyLookupRecorder() {
+			super(PropertyLookupRecorder.class.getName(), new Object());
+		}
+
+		@Override
+		@Nullable
+		public Object getProperty(String name) {
+			this.propertyNames.add(name);
+			return null;
+		}
+
+		List<String> getPropertyNames() {
+			synchronized (this.propertyNames) {
+				return new ArrayList<>(this.propertyNames);
+			}
+		}
+	}
+
+
+	/**
+	 * Class loader that records the names of all classes looked up through it,
+	 * delegating to its parent for actually loading them.
+	 */
+	private static class ClassLookupRecorder extends ClassLoader {
+
+		private final Set<String> classNames = Collections.synchronizedSet(new LinkedHashSet<>());
+
+		ClassLookupRecorder(@Nullable ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith("java.") && name.indexOf('[') == -1) {
+				this.classNames.add(name);
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		List<String> getClassNames() {
+			synchronized (this.classNames) {
+				return new ArrayList<>(this.classNames);
+			}
+		}
+	}
+
+}
@@ -16,13 +16,11 @@
 
 package org.springframework.context.annotation;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.net.SocketException;
-import java.net.UnknownHostException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -60,17 +58,11 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
-import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.io.support.DefaultPropertySourceFactory;
-import org.springframework.core.io.support.EncodedResource;
 import org.springframework.core.io.support.PropertySourceFactory;
-import org.springframework.core.io.support.ResourcePropertySource;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
@@ -110,8 +102,6 @@ import org.springframework.util.StringUtils;
  */
 class ConfigurationClassParser {
 
-	private static final PropertySourceFactory DEFAULT_PROPERTY_SOURCE_FACTORY = new DefaultPropertySourceFactory();
-
 	private static final Predicate<String> DEFAULT_EXCLUSION_FILTER = className ->
 			(className.startsWith("java.lang.annotation.") || className.startsWith("org.springframework.stereotype."));
 
@@ -139,7 +129,8 @@ class ConfigurationClassParser {
 
 	private final Map<String, ConfigurationClass> knownSuperclasses = new HashMap<>();
 
-	private final List<String> propertySourceNames = new ArrayList<>();
+	@Nullable
+	private PropertySourceRegistrar propertySourceRegistrar;
 
 	private final ImportStack importStack = new ImportStack();
 
@@ -453,67 +444,26 @@ class ConfigurationClassParser {
 			encoding = null;
 		}
 		String[] locations = propertySource.getStringArray("value");
-		Assert.isTrue(locations.length > 0, "At least one @PropertySource(value) location is required");
 		boolean ignoreResourceNotFound = propertySource.getBoolean("ignoreResourceNotFound");
 
 		Class<? extends PropertySourceFactory> factoryClass = propertySource.getClass("factory");
-		PropertySourceFactory factory = (factoryClass == PropertySourceFactory.class ?
-				DEFAULT_PROPERTY_SOURCE_FACTORY : BeanUtils.instantiateClass(factoryClass));
+		String factoryClassName = (factoryClass == PropertySourceFactory.class ? null : factoryClass.getName());
 
-		for (String location : locations) {
-			try {
-				String resolvedLocation = this.environment.resolveRequiredPlaceholders(location);
-				Resource resource = this.resourceLoader.getResource(resolvedLocation);
-				addPropertySource(factory.createPropertySource(name, new EncodedResource(resource, encoding)));
-			}
-			catch (IllegalArgumentException | FileNotFoundException | UnknownHostException | SocketException ex) {
-				// Placeholders not resolvable or resource not found when trying to open it
-				if (ignoreResourceNotFound) {
-					if (logger.isInfoEnabled()) {
-						logger.info("Properties location [" + location + "] not resolvable: " + ex.getMessage());
-					}
-				}
-				else {
-					throw ex;
-				}
-			}
+		if (this.propertySourceRegistrar == null) {
+			this.propertySourceRegistrar = new PropertySourceRegistrar(
+					(ConfigurableEnvironment) this.environment, this.resourceLoader);
 		}
+		this.propertySourceRegistrar.processPropertySource(new PropertySourceRegistrar.Declaration(
+				name, Arrays.asList(locations), ignoreResourceNotFound, encoding, factoryClassName));
 	}
 
-	private void addPropertySource(PropertySource<?> propertySource) {
-		String name = propertySource.getName();
-		MutablePropertySources propertySources = ((ConfigurableEnvironment) this.environment).getPropertySources();
-
-		if (this.propertySourceNames.contains(name)) {
-			// We've already added a version, we need to extend it
-			PropertySource<?> existing = propertySources.get(name);
-			if (existing != null) {
-				PropertySource<?> newSource = (propertySource instanceof ResourcePropertySource ?
-						((ResourcePropertySource) propertySource).withResourceName() : propertySource);
-				if (existing instanceof CompositePropertySource) {
-					((CompositePropertySource) existing).addFirstPropertySource(newSource);
-				}
-				else {
-					if (existing instanceof ResourcePropertySource) {
-						existing = ((ResourcePropertySource) existing).withResourceName();
-					}
-					CompositePropertySource composite = new CompositePropertySource(name);
-					composite.addPropertySource(newSource);
-					composite.addPropertySource(existing);
-					propertySources.replace(name, composite);
-				}
-				return;
-			}
-		}
-
-		if (this.propertySourceNames.isEmpty()) {
-			propertySources.addLast(propertySource);
-		}
-		else {
-			String firstProcessed = this.propertySourceNames.get(this.propertySourceNames.size() - 1);
-			propertySources.addBefore(firstProcessed, propertySource);
-		}
-		this.propertySourceNames.add(name);
+	/**
+	 * Return the {@code @PropertySource} declarations processed so far, in processing order.
+	 * @since 5.3.21
+	 */
+	List<PropertySourceRegistrar.Declaration> getPropertySourceDeclarations() {
+		return (this.propertySourceRegistrar != null ?
+				this.propertySourceRegistrar.getDeclarations() : Collections.emptyList());
 	}
 
 
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
@@ -40,6 +41,7 @@ import org.springframework.context.annotation.ConfigurationClassEnhancer.Enhance
 import org.springframework.core.NativeDetector;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -54,6 +56,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -91,7 +94,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	public static final AnnotationBeanNameGenerator IMPORT_BEAN_NAME_GENERATOR =
 			FullyQualifiedAnnotationBeanNameGenerator.INSTANCE;
 
-	private static final String IMPORT_REGISTRY_BEAN_NAME =
+	static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
 
@@ -130,6 +133,8 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
+	private List<PropertySourceRegistrar.Declaration> propertySourceDeclarations = Collections.emptyList();
+
 
 	@Override
 	public int getOrder() {
@@ -263,6 +268,15 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 * {@link Configuration} classes.
 	 */
 	public void processConfigBeanDefinitions(BeanDefinitionRegistry registry) {
+		// Register the bean definitions from a snapshot instead, if provided by the context
+		if (registry instanceof SingletonBeanRegistry) {
+			Object snapshot = ((SingletonBeanRegistry) registry).getSingleton(BeanDefinitionSnapshot.BEAN_NAME);
+			if (snapshot instanceof BeanDefinitionSnapshot) {
+				registerSnapshotBeanDefinitions(registry, (BeanDefinitionSnapshot) snapshot);
+				return;
+			}
+		}
+
 		List<BeanDefinitionHolder> configCandidates = new ArrayList<>();
 		String[] candidateNames = registry.getBeanDefinitionNames();
 
@@ -355,6 +369,8 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 		while (!candidates.isEmpty());
 
+		this.propertySourceDeclarations = parser.getPropertySourceDeclarations();
+
 		// Register the ImportRegistry as a bean in order to support ImportAware @Configuration classes
 		if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
 			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, parser.getImportRegistry());
@@ -367,6 +383,46 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Register the bean definitions captured in the given snapshot, including
+	 * the import relationships for {@link ImportAware} configuration classes,
+	 * and add the property sources of the captured {@link PropertySource @PropertySource}
+	 * declarations to the environment.
+	 * @see BeanDefinitionSnapshot#registerBeanDefinitions
+	 */
+	private void registerSnapshotBeanDefinitions(BeanDefinitionRegistry registry, BeanDefinitionSnapshot snapshot) {
+		StartupStep registerSnapshot = this.applicationStartup.start("spring.context.bean-definition-snapshot.register")
+				.tag("beanCount", () -> String.valueOf(snapshot.getBeanDefinitionNames().size()));
+		if (this.environment instanceof ConfigurableEnvironment) {
+			try {
+				snapshot.registerPropertySources((ConfigurableEnvironment) this.environment, this.resourceLoader);
+			}
+			catch (IOException ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to register @PropertySource declarations from bean definition snapshot", ex);
+			}
+		}
+		snapshot.registerBeanDefinitions(registry);
+		// The snapshot is not needed anymore once its bean definitions are registered
+		if (registry instanceof DefaultSingletonBeanRegistry) {
+			((DefaultSingletonBeanRegistry) registry).destroySingleton(BeanDefinitionSnapshot.BEAN_NAME);
+		}
+		SingletonBeanRegistry sbr = (SingletonBeanRegistry) registry;
+		if (!sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, snapshot.getImportRegistry(this.beanClassLoader));
+		}
+		registerSnapshot.end();
+	}
+
+	/**
+	 * Return the {@link PropertySource @PropertySource} declarations processed
+	 * by the last {@link #processConfigBeanDefinitions} call, in processing order.
+	 * @since 5.3.21
+	 */
+	List<PropertySourceRegistrar.Declaration> getPropertySourceDeclarations() {
+		return this.propertySourceDeclarations;
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.DefaultPropertySourceFactory;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertySourceFactory;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Adds the property sources declared through
+ * {@link org.springframework.context.annotation.PropertySource @PropertySource}
+ * to an environment, keeping track of the processed declarations in order.
+ *
+ * <p>Used by the {@link ConfigurationClassParser}, and for replaying the
+ * declarations captured in a {@link BeanDefinitionSnapshot}.
+ *
+ * @since 5.3.21
+ */
+class PropertySourceRegistrar {
+
+	private static final PropertySourceFactory DEFAULT_PROPERTY_SOURCE_FACTORY = new DefaultPropertySourceFactory();
+
+	private static final Log logger = LogFactory.getLog(PropertySourceRegistrar.class);
+
+	private final ConfigurableEnvironment environment;
+
+	private final ResourceLoader resourceLoader;
+
+	private final List<String> propertySourceNames = new ArrayList<>();
+
+	private final List<Declaration> declarations = new ArrayList<>();
+
+
+	PropertySourceRegistrar(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
+		this.environment = environment;
+		this.resourceLoader = resourceLoader;
+	}
+
+
+	/**
+	 * Add the property sources for the given declaration to the environment.
+	 * @param declaration the {@code @PropertySource} declaration to process
+	 * @throws IOException if loading a property source failed
+	 */
+	public void processPropertySource(Declaration declaration) throws IOException {
+		String factoryClassName = declaration.getFactoryClassName();
+		PropertySourceFactory factory = (factoryClassName == null ? DEFAULT_PROPERTY_SOURCE_FACTORY :
+				(PropertySourceFactory) BeanUtils.instantiateClass(
+						ClassUtils.resolveClassName(factoryClassName, this.resourceLoader.getClassLoader())));
+
+		for (String location : declaration.getLocations()) {
+			try {
+				String resolvedLocation = this.environment.resolveRequiredPlaceholders(location);
+				Resource resource = this.resourceLoader.getResource(resolvedLocation);
+				addPropertySource(factory.createPropertySource(
+						declaration.getName(), new EncodedResource(resource, declaration.getEncoding())));
+			}
+			catch (IllegalArgumentException | FileNotFoundException | UnknownHostException | SocketException ex) {
+				// Placeholders not resolvable or resource not found when trying to open it
+				if (declaration.isIgnoreResourceNotFound()) {
+					if (logger.isInfoEnabled()) {
+						logger.info("Properties location [" + location + "] not resolvable: " + ex.getMessage());
+					}
+				}
+				else {
+					throw ex;
+				}
+			}
+		}
+		this.declarations.add(declaration);
+	}
+
+	/**
+	 * Add the property sources for the given declarations to the environment,
+	 * in order.
+	 * @param declarations the {@code @PropertySource} declarations to process
+	 * @throws IOException if loading a property source failed
+	 */
+	public void processPropertySources(List<Declaration> declarations) throws IOException {
+		for (Declaration declaration : declarations) {
+			processPropertySource(declaration);
+		}
+	}
+
+	private void addPropertySource(PropertySource<?> propertySource) {
+		String name = propertySource.getName();
+		MutablePropertySources propertySources = this.environment.getPropertySources();
+
+		if (this.propertySourceNames.contains(name)) {
+			// We've already added a version, we need to extend it
+			PropertySource<?> existing = propertySources.get(name);
+			if (existing != null) {
+				PropertySource<?> newSource = (propertySource instanceof ResourcePropertySource ?
+						((ResourcePropertySource) propertySource).withResourceName() : propertySource);
+				if (existing instanceof CompositePropertySource) {
+					((CompositePropertySource) existing).addFirstPropertySource(newSource);
+				}
+				else {
+					if (existing instanceof ResourcePropertySource) {
+						existing = ((ResourcePropertySource) existing).withResourceName();
+					}
+					CompositePropertySource composite = new CompositePropertySource(name);
+					composite.addPropertySource(newSource);
+					composite.addPropertySource(existing);
+					propertySources.replace(name, composite);
+				}
+				return;
+			}
+		}
+
+		if (this.propertySourceNames.isEmpty()) {
+			propertySources.addLast(propertySource);
+		}
+		else {
+			String firstProcessed = this.propertySourceNames.get(this.propertySourceNames.size() - 1);
+			propertySources.addBefore(firstProcessed, propertySource);
+		}
+		this.propertySourceNames.add(name);
+	}
+
+	/**
+	 * Return the declarations processed so far, in processing order.
+	 */
+	public List<Declaration> getDeclarations() {
+		return Collections.unmodifiableList(this.declarations);
+	}
+
+
+	/**
+	 * The attributes of a
+	 * {@link org.springframework.context.annotation.PropertySource @PropertySource}
+	 * declaration.
+	 */
+	static final class Declaration {
+
+		@Nullable
+		private final String name;
+
+		private final List<String> locations;
+
+		private final boolean ignoreResourceNotFound;
+
+		@Nullable
+		private final String encoding;
+
+		@Nullable
+		private final String factoryClassName;
+
+		Declaration(@Nullable String name, List<String> locations, boolean ignoreResourceNotFound,
+				@Nullable String encoding, @Nullable String factoryClassName) {
+
+			Assert.isTrue(!locations.isEmpty(), "At least one @PropertySource(value) location is required");
+			this.name = name;
+			this.locations = locations;
+			this.ignoreResourceNotFound = ignoreResourceNotFound;
+			this.encoding = encoding;
+			this.factoryClassName = factoryClassName;
+		}
+
+		@Nullable
+		public String getName() {
+			return this.name;
+		}
+
+		public List<String> getLocations() {
+			return this.locations;
+		}
+
+		public boolean isIgnoreResourceNotFound() {
+			return this.ignoreResourceNotFound;
+		}
+
+		@Nullable
+		public String getEncoding() {
+			return this.encoding;
+		}
+
+		/**
+		 * Return the name of the custom {@link PropertySourceFactory} class,
+		 * or {@code null} for the default factory.
+		 */
+		@Nullable
+		public String getFactoryClassName() {
+			return this.factoryClassName;
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -181,7 +182,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
-	 * @return a Collection of ApplicationListeners
+	 * @return a Collection of ApplicationListeners (possibly a cached,
+	 * unmodifiable instance shared across calls for the same event type)
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
@@ -295,6 +297,7 @@ public abstract class AbstractApplicationEventMulticaster
 		AnnotationAwareOrderComparator.sort(allListeners);
 		if (retriever != null) {
 			if (filteredListenerBeans.isEmpty()) {
+				retriever.resolvedListeners = Collections.unmodifiableList(new ArrayList<>(allListeners));
 				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
 				retriever.applicationListenerBeans = filteredListenerBeans;
 			}
@@ -382,7 +385,7 @@ public abstract class AbstractApplicationEventMulticaster
 	/**
 	 * Cache key for ListenerRetrievers, based on event type and source type.
 	 */
-	private static final class ListenerCacheKey implements Comparable<ListenerCacheKey> {
+	static final class ListenerCacheKey implements Comparable<ListenerCacheKey> {
 
 		private final ResolvableType eventType;
 
@@ -448,8 +451,20 @@ public abstract class AbstractApplicationEventMulticaster
 		@Nullable
 		public volatile Set<String> applicationListenerBeans;
 
+		/**
+		 * Pre-sorted, unmodifiable list of all listeners, available if none
+		 * of them has to be retrieved from the bean factory on every call.
+		 */
+		@Nullable
+		public volatile List<ApplicationListener<?>> resolvedListeners;
+
 		@Nullable
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			List<ApplicationListener<?>> resolvedListeners = this.resolvedListeners;
+			if (resolvedListeners != null) {
+				// Fast path: no copying and no bean lookups for singleton listeners
+				return resolvedListeners;
+			}
 			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
 			Set<String> applicationListenerBeans = this.applicationListenerBeans;
 			if (applicationListeners == null || applicationListenerBeans == null) {
@@ -16,6 +16,7 @@
 
 package org.springframework.context.event;
 
+import java.util.Collection;
 import java.util.function.Predicate;
 
 import org.springframework.context.ApplicationEvent;
@@ -124,4 +125,22 @@ public interface ApplicationEventMulticaster {
 	 */
 	void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType);
 
+	/**
+	 * Multicast the given application events to appropriate listeners, as one batch.
+	 * <p>Implementations may group consecutive events of the same resolved event
+	 * type, retrieve the listeners once per type and deliver the events of a group
+	 * to each listener in turn, or as a single batch to listeners supporting it. Each listener
+	 * receives its events in the given order, but the order of invocations across
+	 * different listeners may differ from multicasting the events one by one.
+	 * <p>The default implementation multicasts each event individually.
+	 * @param events the events to multicast
+	 * @since 5.3.21
+	 * @see EventListener#batch()
+	 */
+	default void multicastEvents(Collection<? extends ApplicationEvent> events) {
+		for (ApplicationEvent event : events) {
+			multicastEvent(event);
+		}
+	}
+
 }
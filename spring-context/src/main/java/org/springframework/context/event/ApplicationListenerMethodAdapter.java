@@ -16,8 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
@@ -62,6 +66,11 @@ import org.springframework.util.concurrent.ListenableFuture;
  * to define any arbitrary event type. If a condition is defined, it is
  * evaluated prior to invoking the underlying method.
  *
+ * <p>A method declared with {@link EventListener#batch()} takes a {@link List}
+ * of events. It receives all matching events of a batch multicast through
+ * {@link #onApplicationEvents(List)}, and a singleton list for each event processed
+ * individually.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -72,6 +81,15 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	private static final boolean reactiveStreamsPresent = ClassUtils.isPresent(
 			"org.reactivestreams.Publisher", ApplicationListenerMethodAdapter.class.getClassLoader());
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	/**
+	 * Marker for a listener method that cannot be invoked through a method handle.
+	 */
+	private static final MethodHandle NO_INVOKER = MethodHandles.constant(Object.class, null);
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -90,6 +108,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final int order;
 
+	private final boolean batch;
+
+	private final Class<?>[] parameterTypes;
+
+	@Nullable
+	private volatile MethodHandle invoker;
+
 	@Nullable
 	private volatile String listenerId;
 
@@ -114,9 +139,15 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
-		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.batch = (ann != null && ann.batch());
+		this.declaredEventTypes = (this.batch ? resolveDeclaredBatchEventTypes(method, ann) :
+				resolveDeclaredEventTypes(method, ann));
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
+		this.parameterTypes = this.method.getParameterTypes();
+		for (int i = 0; i < this.parameterTypes.length; i++) {
+			this.parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(this.parameterTypes[i]);
+		}
 		String id = (ann != null ? ann.id() : "");
 		this.listenerId = (!id.isEmpty() ? id : null);
 	}
@@ -146,6 +177,27 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
 	}
 
+	private static List<ResolvableType> resolveDeclaredBatchEventTypes(Method method, EventListener ann) {
+		if (method.getParameterCount() != 1 || method.getParameterTypes()[0] != List.class) {
+			throw new IllegalStateException(
+					"Batch event listener method must declare a single List parameter: " + method);
+		}
+		Class<?>[] classes = ann.classes();
+		if (classes.length > 0) {
+			List<ResolvableType> types = new ArrayList<>(classes.length);
+			for (Class<?> eventType : classes) {
+				types.add(ResolvableType.forClass(eventType));
+			}
+			return types;
+		}
+		ResolvableType elementType = ResolvableType.forMethodParameter(method, 0).getGeneric();
+		if (elementType.resolve() == null) {
+			throw new IllegalStateException(
+					"Event element type is mandatory for batch event listener method: " + method);
+		}
+		return Collections.singletonList(elementType);
+	}
+
 	private static int resolveOrder(Method method) {
 		Order ann = AnnotatedElementUtils.findMergedAnnotation(method, Order.class);
 		return (ann != null ? ann.value() : Ordered.LOWEST_PRECEDENCE);
@@ -166,6 +218,18 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		processEvent(event);
 	}
 
+	/**
+	 * Handle the given events of the same type, as multicast in one batch.
+	 * <p>Delegates to {@link #processEvents(List)} by default. Subclasses may
+	 * override this to defer processing, analogous to
+	 * {@link #onApplicationEvent(ApplicationEvent)} for a single event.
+	 * @param events the events to respond to
+	 * @since 5.3.21
+	 */
+	public void onApplicationEvents(List<? extends ApplicationEvent> events) {
+		processEvents(events);
+	}
+
 	@Override
 	public boolean supportsEventType(ResolvableType eventType) {
 		for (ResolvableType declaredEventType : this.declaredEventTypes) {
@@ -219,11 +283,24 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	}
 
 
+	/**
+	 * Return whether the listener method consumes events in batches.
+	 * @since 5.3.21
+	 * @see EventListener#batch()
+	 */
+	public boolean isBatchListener() {
+		return this.batch;
+	}
+
 	/**
 	 * Process the specified {@link ApplicationEvent}, checking if the condition
 	 * matches and handling a non-null result, if any.
 	 */
 	public void processEvent(ApplicationEvent event) {
+		if (this.batch) {
+			processEvents(Collections.singletonList(event));
+			return;
+		}
 		Object[] args = resolveArguments(event);
 		if (shouldHandle(event, args)) {
 			Object result = doInvoke(args);
@@ -236,6 +313,40 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
+	/**
+	 * Process the specified {@link ApplicationEvent ApplicationEvents} as a batch.
+	 * <p>For a {@link #isBatchListener() batch listener}, the condition is evaluated
+	 * for each event, and the listener method is invoked once with a list of the
+	 * matching events (or their payloads), handling a non-null result, if any.
+	 * Any other listener processes each event individually.
+	 * @param events the events to process, all of the same type
+	 * @since 5.3.21
+	 */
+	public void processEvents(List<? extends ApplicationEvent> events) {
+		if (!this.batch) {
+			for (ApplicationEvent event : events) {
+				processEvent(event);
+			}
+			return;
+		}
+		List<Object> batchArgument = new ArrayList<>(events.size());
+		for (ApplicationEvent event : events) {
+			Object[] args = resolveArguments(event);
+			if (shouldHandle(event, args)) {
+				batchArgument.add(args[0]);
+			}
+		}
+		if (!batchArgument.isEmpty()) {
+			Object result = doInvoke(batchArgument);
+			if (result != null) {
+				handleResult(result);
+			}
+			else {
+				logger.trace("No result object given - no result to handle");
+			}
+		}
+	}
+
 	/**
 	 * Resolve the method arguments to use for the specified {@link ApplicationEvent}.
 	 * <p>These arguments will be used to invoke the method handled by this instance.
@@ -249,7 +360,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			return null;
 		}
 		if (this.method.getParameterCount() == 0) {
-			return new Object[0];
+			return EMPTY_ARGS;
 		}
 		Class<?> declaredEventClass = declaredEventType.toClass();
 		if (!ApplicationEvent.class.isAssignableFrom(declaredEventClass) &&
@@ -339,6 +450,22 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			return null;
 		}
 
+		MethodHandle invoker = getInvoker();
+		if (invoker != NO_INVOKER && isInvocable(bean, args)) {
+			try {
+				return (Object) invoker.invokeExact(bean, args);
+			}
+			catch (RuntimeException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				// Same as for reflective invocation below: errors and checked exceptions get wrapped
+				String msg = getInvocationErrorMessage(bean, "Failed to invoke event listener method", args);
+				throw new UndeclaredThrowableException(ex, msg);
+			}
+		}
+
+		// Fall back to reflective invocation, also for detailed error reporting
 		ReflectionUtils.makeAccessible(this.method);
 		try {
 			return this.method.invoke(bean, args);
@@ -363,6 +490,55 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
+	/**
+	 * Return the method handle for invoking the listener method, created on first use.
+	 * @return the invoker with a {@code (Object, Object[])Object} signature,
+	 * or {@link #NO_INVOKER} if the method is not accessible through a method handle
+	 */
+	private MethodHandle getInvoker() {
+		MethodHandle invoker = this.invoker;
+		if (invoker == null) {
+			try {
+				ReflectionUtils.makeAccessible(this.method);
+				MethodHandle handle = MethodHandles.lookup().unreflect(this.method).asFixedArity();
+				if (Modifier.isStatic(this.method.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				int parameterCount = this.parameterTypes.length;
+				invoker = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+						.asSpreader(Object[].class, parameterCount).asType(INVOKER_TYPE);
+			}
+			catch (IllegalAccessException | RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Falling back to reflective invocation of event listener method " + this.method, ex);
+				}
+				invoker = NO_INVOKER;
+			}
+			this.invoker = invoker;
+		}
+		return invoker;
+	}
+
+	/**
+	 * Check the given bean and arguments up front, so that a failure of the
+	 * method handle invocation can only come from the listener method itself.
+	 * Mismatches are left to the reflective invocation for consistent error reporting.
+	 */
+	private boolean isInvocable(Object bean, Object[] args) {
+		if (!Modifier.isStatic(this.method.getModifiers()) && !this.method.getDeclaringClass().isInstance(bean)) {
+			return false;
+		}
+		if (args.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!this.parameterTypes[i].isInstance(args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Return the target bean instance to use.
 	 */
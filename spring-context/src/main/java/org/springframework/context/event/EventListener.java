@@ -130,6 +130,22 @@ public @interface EventListener {
 	 */
 	String condition() default "";
 
+	/**
+	 * Whether the annotated method consumes events in batches.
+	 * <p>A batch listener method declares a single {@link java.util.List} parameter,
+	 * with the element type (or the {@link #classes} attribute) determining the
+	 * events it handles. Events published together via
+	 * {@link org.springframework.context.ApplicationEventPublisher#publishEvents}
+	 * are delivered in a single invocation per run of consecutive matching events
+	 * of the same type, in publication order; events published individually are
+	 * delivered as a singleton list.
+	 * <p>A {@link #condition} is evaluated for each event, with the method
+	 * argument referring to the individual event rather than the list.
+	 * @since 5.3.21
+	 * @see ApplicationEventMulticaster#multicastEvents
+	 */
+	boolean batch() default false;
+
 	/**
 	 * An optional identifier for the listener, defaulting to the fully-qualified
 	 * signature of the declaring method (e.g. "mypackage.MyClass.myMethod()").
@@ -16,6 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
@@ -42,6 +48,13 @@ import org.springframework.util.ErrorHandler;
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
  *
+ * <p>Events published as a batch via {@link #multicastEvents(Collection)} are
+ * grouped into runs of consecutive events of the same type, with listeners
+ * retrieved once per event type. Listeners declared with {@link EventListener#batch()}
+ * receive all events of a run in a single invocation. With a task executor, a
+ * batch is partitioned by listener: each listener processes its events in one
+ * task. Either way, each listener receives its events in publication order.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -145,6 +158,63 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	/**
+	 * Multicast the given events as one batch.
+	 * <p>Consecutive events of the same resolved event type and source type form a
+	 * group, and the listeners are retrieved once per distinct type in the batch.
+	 * Without a task executor, each listener is invoked with the events of a group
+	 * in turn, group by group. With a task executor, each listener gets a single task
+	 * processing all of its events of this batch. Either way, every listener receives
+	 * its events in publication order.
+	 * @since 5.3.21
+	 * @see #invokeListener(ApplicationListener, List)
+	 */
+	@Override
+	public void multicastEvents(Collection<? extends ApplicationEvent> events) {
+		List<EventGroup> groups = new ArrayList<>();
+		EventGroup currentGroup = null;
+		for (ApplicationEvent event : events) {
+			ResolvableType type = resolveDefaultEventType(event);
+			Object source = event.getSource();
+			ListenerCacheKey key = new ListenerCacheKey(type, (source != null ? source.getClass() : null));
+			if (currentGroup == null || !currentGroup.key.equals(key)) {
+				currentGroup = new EventGroup(key, type);
+				groups.add(currentGroup);
+			}
+			currentGroup.events.add(event);
+		}
+
+		Map<ListenerCacheKey, Collection<ApplicationListener<?>>> listenersByKey = new HashMap<>();
+		Executor executor = getTaskExecutor();
+		if (executor != null) {
+			Map<ApplicationListener<?>, List<EventGroup>> groupsByListener = new LinkedHashMap<>();
+			for (EventGroup group : groups) {
+				for (ApplicationListener<?> listener : getApplicationListeners(group, listenersByKey)) {
+					groupsByListener.computeIfAbsent(listener, l -> new ArrayList<>()).add(group);
+				}
+			}
+			groupsByListener.forEach((listener, listenerGroups) -> executor.execute(() -> {
+				for (EventGroup group : listenerGroups) {
+					invokeListener(listener, group.events);
+				}
+			}));
+		}
+		else {
+			for (EventGroup group : groups) {
+				for (ApplicationListener<?> listener : getApplicationListeners(group, listenersByKey)) {
+					invokeListener(listener, group.events);
+				}
+			}
+		}
+	}
+
+	private Collection<ApplicationListener<?>> getApplicationListeners(
+			EventGroup group, Map<ListenerCacheKey, Collection<ApplicationListener<?>>> listenersByKey) {
+
+		return listenersByKey.computeIfAbsent(group.key,
+				key -> getApplicationListeners(group.events.get(0), group.eventType));
+	}
+
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
 		return ResolvableType.forInstance(event);
 	}
@@ -170,6 +240,38 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	/**
+	 * Invoke the given listener with the given events of the same type.
+	 * <p>A listener declared with {@link EventListener#batch()} is invoked once
+	 * with all events; any other listener is invoked for each event in turn.
+	 * @param listener the ApplicationListener to invoke
+	 * @param events the events to propagate
+	 * @since 5.3.21
+	 */
+	protected void invokeListener(ApplicationListener<?> listener, List<ApplicationEvent> events) {
+		if (listener instanceof ApplicationListenerMethodAdapter &&
+				((ApplicationListenerMethodAdapter) listener).isBatchListener()) {
+			ApplicationListenerMethodAdapter adapter = (ApplicationListenerMethodAdapter) listener;
+			ErrorHandler errorHandler = getErrorHandler();
+			if (errorHandler != null) {
+				try {
+					adapter.onApplicationEvents(events);
+				}
+				catch (Throwable err) {
+					errorHandler.handleError(err);
+				}
+			}
+			else {
+				adapter.onApplicationEvents(events);
+			}
+		}
+		else {
+			for (ApplicationEvent event : events) {
+				invokeListener(listener, event);
+			}
+		}
+	}
+
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	private void doInvokeListener(ApplicationListener listener, ApplicationEvent event) {
 		try {
@@ -215,4 +317,22 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Events of the same resolved type and source type within a batch.
+	 */
+	private static final class EventGroup {
+
+		final ListenerCacheKey key;
+
+		final ResolvableType eventType;
+
+		final List<ApplicationEvent> events = new ArrayList<>();
+
+		EventGroup(ListenerCacheKey key, ResolvableType eventType) {
+			this.key = key;
+			this.eventType = eventType;
+		}
+	}
+
 }
@@ -431,6 +431,44 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		}
 	}
 
+	/**
+	 * 将给定的一批事件发布给所有监听器。
+	 * <p>事件会被转换为 ApplicationEvent（必要时包装为 PayloadApplicationEvent），
+	 * 然后作为一批交给 {@link ApplicationEventMulticaster#multicastEvents}，
+	 * 使多播器可以按事件类型分组并只解析一次监听器。
+	 *
+	 * @param events 要发布的事件（可以是应用程序特定的事件或标准框架事件）
+	 * @since 5.3.21
+	 */
+	@Override
+	public void publishEvents(Collection<?> events) {
+		Assert.notNull(events, "Events must not be null");
+
+		// 如果必要，将事件转换为 ApplicationEvent 类型
+		List<ApplicationEvent> applicationEvents = new ArrayList<>(events.size());
+		for (Object event : events) {
+			Assert.notNull(event, "Event must not be null");
+			if (event instanceof ApplicationEvent) {
+				applicationEvents.add((ApplicationEvent) event);
+			} else {
+				applicationEvents.add(new PayloadApplicationEvent<>(this, event));
+			}
+		}
+
+		if (this.earlyApplicationEvents != null) {
+			// 如果存在早期的事件列表，则将事件添加到列表中
+			this.earlyApplicationEvents.addAll(applicationEvents);
+		} else {
+			// 否则立即进行整批事件的多播
+			getApplicationEventMulticaster().multicastEvents(applicationEvents);
+		}
+
+		// 通过父上下文也发布事件
+		if (this.parent != null) {
+			this.parent.publishEvents(events);
+		}
+	}
+
 	/**
 	 * 返回上下文使用的内部ApplicationEventMulticaster。
 	 *
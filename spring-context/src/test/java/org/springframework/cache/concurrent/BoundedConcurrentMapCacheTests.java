@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ */
+class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private final AtomicLong time = new AtomicLong();
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+
+	@BeforeEach
+	void setup() {
+		ConcurrentMapCacheConfiguration configuration =
+				ConcurrentMapCacheConfiguration.defaultCacheConfig().maximumSize(1000);
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, configuration, true);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, configuration, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache.getNativeCache();
+	}
+
+
+	@Test
+	void maximumSizeEvictsLeastRecentlyUsedEntries() {
+		BoundedConcurrentMapCache cache = createCache(
+				ConcurrentMapCacheConfiguration.defaultCacheConfig().maximumSize(3));
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("c")).isNotNull();
+
+		cache.put("d", 4);
+		assertThat(cache.getSize()).isEqualTo(3);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("c")).isNotNull();
+		assertThat(cache.get("d")).isNotNull();
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void maximumWeightEvictsUntilWithinBound() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig()
+				.maximumWeight(10, (key, value) -> ((String) value).length()));
+		cache.put("a", "aaaa");
+		cache.put("b", "bbbb");
+		assertThat(cache.getWeightedSize()).isEqualTo(8);
+
+		cache.put("c", "cccccc");
+		assertThat(cache.getWeightedSize()).isEqualTo(10);
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b").get()).isEqualTo("bbbb");
+		assertThat(cache.get("c").get()).isEqualTo("cccccc");
+
+		cache.put("c", "cc");
+		assertThat(cache.getWeightedSize()).isEqualTo(6);
+		cache.evict("c");
+		assertThat(cache.getWeightedSize()).isEqualTo(4);
+	}
+
+	@Test
+	void negativeWeightIsRejected() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig()
+				.maximumWeight(10, (key, value) -> -1));
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> cache.put("a", "a"));
+	}
+
+	@Test
+	void expireAfterWrite() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig()
+				.expireAfterWrite(Duration.ofSeconds(10)));
+		cache.put("a", 1);
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		cache.put("b", 2);
+		assertThat(cache.get("a")).isNotNull();
+
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isNotNull();
+		assertThat(cache.putIfAbsent("a", 3)).isNull();
+		assertThat(cache.get("a").get()).isEqualTo(3);
+		assertThat(cache.getStatistics().getExpirationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void perEntryTimeToLive() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig()
+				.expireAfterWrite(Duration.ofSeconds(10)));
+		cache.put("short", 1, Duration.ofSeconds(1));
+		cache.put("eternal", 2, Duration.ZERO);
+		cache.put("default", 3);
+
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThat(cache.get("short")).isNull();
+		assertThat(cache.get("default")).isNotNull();
+
+		this.time.addAndGet(TimeUnit.DAYS.toNanos(1));
+		assertThat(cache.get("default")).isNull();
+		assertThat(cache.get("eternal").get()).isEqualTo(2);
+	}
+
+	@Test
+	void expiredEntriesAreCleanedUpOnWrite() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig()
+				.expireAfterWrite(Duration.ofSeconds(10)));
+		for (int i = 0; i < 32; i++) {
+			cache.put(i, i);
+		}
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		for (int i = 32; i < 64; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.getSize()).isEqualTo(32);
+		assertThat(cache.getStatistics().getExpirationCount()).isEqualTo(32);
+	}
+
+	@Test
+	void statistics() {
+		BoundedConcurrentMapCache cache = createCache(ConcurrentMapCacheConfiguration.defaultCacheConfig());
+		cache.put("a", 1);
+		cache.get("a");
+		cache.get("b");
+		cache.get("c", () -> {
+			this.time.addAndGet(100);
+			return 3;
+		});
+		cache.get("c", () -> 4);
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				cache.get("d", () -> {
+					throw new IllegalStateException();
+				}));
+
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(3);
+		assertThat(statistics.getHitRatio()).isEqualTo(0.4);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+		assertThat(statistics.getTotalLoadTime()).isEqualTo(100);
+		assertThat(statistics.getAverageLoadPenalty()).isEqualTo(50.0);
+	}
+
+	@Test
+	void clearResetsWeightedSize() {
+		BoundedConcurrentMapCache cache = createCache(
+				ConcurrentMapCacheConfiguration.defaultCacheConfig().maximumSize(10));
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		cache.clear();
+		assertThat(cache.getWeightedSize()).isEqualTo(0);
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.getSize()).isEqualTo(10);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void concurrentWritesStayWithinBound() throws Exception {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME,
+				ConcurrentMapCacheConfiguration.defaultCacheConfig().maximumSize(100));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (int t = 0; t < 4; t++) {
+				int offset = t;
+				executor.execute(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						cache.put(i * 4 + offset, i);
+						cache.get(i * 2);
+					}
+				});
+			}
+			executor.shutdown();
+			assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(cache.getSize()).isLessThanOrEqualTo(100);
+		assertThat(cache.getWeightedSize()).isEqualTo(cache.getSize());
+	}
+
+
+	private BoundedConcurrentMapCache createCache(ConcurrentMapCacheConfiguration configuration) {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, configuration);
+		cache.setTicker(this.time::get);
+		return cache;
+	}
+
+}
@@ -16,10 +16,13 @@
 
 package org.springframework.cache.concurrent;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.CacheStatistics;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -131,4 +134,32 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testCacheConfigurations() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager();
+		cm.setCacheConfigurations(Collections.singletonMap("bounded",
+				ConcurrentMapCacheConfiguration.defaultCacheConfig().maximumSize(2)));
+		Cache bounded = cm.getCache("bounded");
+		assertThat(bounded).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(cm.getCache("other")).isInstanceOf(ConcurrentMapCache.class);
+		assertThat(cm.getCacheStatistics("other")).isNull();
+
+		bounded.put("key1", "value1");
+		bounded.put("key2", "value2");
+		bounded.put("key3", "value3");
+		assertThat(((BoundedConcurrentMapCache) bounded).getSize()).isEqualTo(2);
+		assertThat(bounded.get("key3").get()).isEqualTo("value3");
+		assertThat(bounded.get("key4")).isNull();
+		CacheStatistics statistics = cm.getCacheStatistics("bounded");
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getEvictionCount()).isEqualTo(1);
+		assertThat(cm.getCacheStatistics()).containsOnlyKeys("bounded");
+
+		cm.setDefaultCacheConfiguration(ConcurrentMapCacheConfiguration.defaultCacheConfig());
+		assertThat(cm.getCache("other")).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(cm.getCache("bounded")).isNotSameAs(bounded);
+		assertThat(cm.getCacheStatistics()).containsOnlyKeys("bounded", "other");
+	}
+
 }
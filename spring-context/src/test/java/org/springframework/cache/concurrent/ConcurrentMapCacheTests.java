@@ -19,12 +19,14 @@ package org.springframework.cache.concurrent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.Cache;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
@@ -115,6 +117,53 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testRetrieve() {
+		assertThat(this.cache.retrieve("key")).isNull();
+		this.cache.put("key", "value");
+		assertThat(this.cache.retrieve("key").join()).satisfies(wrapper ->
+				assertThat(((Cache.ValueWrapper) wrapper).get()).isEqualTo("value"));
+
+		this.cacheNoNull.put("key", "value");
+		assertThat(this.cacheNoNull.retrieve("key").join()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithLoader() {
+		assertThat(this.cache.retrieve("key", () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+		assertThat(this.cache.retrieve("key", () -> CompletableFuture.completedFuture("other")).join())
+				.isEqualTo("value");
+		assertThat(this.cache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithLoaderSharesPendingLoad() {
+		CompletableFuture<String> load = new CompletableFuture<>();
+		CompletableFuture<String> first = this.cache.retrieve("key", () -> load);
+		CompletableFuture<String> second = this.cache.retrieve("key", () -> CompletableFuture.completedFuture("other"));
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+		assertThat(this.cache.get("key")).isNull();
+
+		load.complete("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.cache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithFailingLoader() {
+		CompletableFuture<String> load = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve("key", () -> load);
+		load.completeExceptionally(new IllegalStateException("Expected failure"));
+		assertThat(result).isCompletedExceptionally();
+		assertThat(this.cache.get("key")).isNull();
+
+		assertThat(this.cache.retrieve("key", () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
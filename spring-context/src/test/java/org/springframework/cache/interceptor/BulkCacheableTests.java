@@ -0,0 +1,230 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link org.springframework.cache.annotation.Cacheable#bulk() bulk}
+ * cacheable operations.
+ */
+class BulkCacheableTests {
+
+	private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+
+	private final UserService service = this.context.getBean(UserService.class);
+
+	private final Cache cache = this.context.getBean(CacheManager.class).getCache("users");
+
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	void mapResultLoadsMissingKeysOnly() {
+		assertThat(this.service.findUsers(Arrays.asList(1L, 2L))).containsExactly(
+				entry(1L, "user1"), entry(2L, "user2"));
+		assertThat(this.service.getInvocations()).containsExactly(Arrays.asList(1L, 2L));
+
+		assertThat(this.service.findUsers(Arrays.asList(3L, 2L, 4L, 1L))).containsExactly(
+				entry(3L, "user3"), entry(2L, "user2"), entry(4L, "user4"), entry(1L, "user1"));
+		assertThat(this.service.getInvocations().get(1)).containsExactly(3L, 4L);
+
+		assertThat(this.service.findUsers(Arrays.asList(4L, 3L))).containsExactly(
+				entry(4L, "user4"), entry(3L, "user3"));
+		assertThat(this.service.getInvocations()).hasSize(2);
+		assertThat(this.cache.get(4L).get()).isEqualTo("user4");
+	}
+
+	@Test
+	void mapResultWithoutValueForKey() {
+		assertThat(this.service.findUsers(Arrays.asList(1L, 0L))).containsExactly(entry(1L, "user1"));
+		assertThat(this.cache.get(0L)).isNull();
+		assertThat(this.service.findUsers(Arrays.asList(0L, 1L))).containsExactly(entry(1L, "user1"));
+		assertThat(this.service.getInvocations().get(1)).containsExactly(0L);
+	}
+
+	@Test
+	void listResultMergedInOrder() {
+		this.cache.put(2L, "cached2");
+		assertThat(this.service.findNames(Arrays.asList(1L, 2L, 3L, 1L))).containsExactly(
+				"name1", "cached2", "name3", "name1");
+		assertThat(this.service.getInvocations()).containsExactly(Arrays.asList(1L, 3L));
+		assertThat(this.cache.get(3L).get()).isEqualTo("name3");
+	}
+
+	@Test
+	void listResultWithWrongSize() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.findWrongSize(Arrays.asList(1L, 2L)));
+	}
+
+	@Test
+	void unlessEvaluatedPerValue() {
+		assertThat(this.service.findNamesUnlessBlank(Arrays.asList(1L, 0L))).containsExactly("name1", "");
+		assertThat(this.cache.get(1L)).isNotNull();
+		assertThat(this.cache.get(0L)).isNull();
+	}
+
+	@Test
+	void conditionNotPassing() {
+		assertThat(this.service.findIfSmall(Arrays.asList(1L, 2L, 3L))).hasSize(3);
+		assertThat(this.cache.get(1L)).isNull();
+		assertThat(this.service.findIfSmall(Arrays.asList(1L, 2L))).hasSize(2);
+		assertThat(this.cache.get(1L)).isNotNull();
+	}
+
+	@Test
+	void invalidDeclaration() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.findWithKey(Collections.singleton(1L)));
+		assertThatIllegalStateException().isThrownBy(() -> this.service.findSingle(1L));
+	}
+
+
+	private static Map.Entry<Long, String> entry(Long key, String value) {
+		return Collections.singletonMap(key, value).entrySet().iterator().next();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		ConcurrentMapCacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("users");
+		}
+
+		@Bean
+		UserService userService() {
+			return new DefaultUserService();
+		}
+	}
+
+
+	interface UserService {
+
+		List<List<Long>> getInvocations();
+
+		Map<Long, String> findUsers(Collection<Long> ids);
+
+		List<String> findNames(List<Long> ids);
+
+		List<String> findWrongSize(List<Long> ids);
+
+		List<String> findNamesUnlessBlank(List<Long> ids);
+
+		List<String> findIfSmall(List<Long> ids);
+
+		List<String> findWithKey(Collection<Long> ids);
+
+		String findSingle(Long id);
+	}
+
+
+	static class DefaultUserService implements UserService {
+
+		private final List<List<Long>> invocations = new ArrayList<>();
+
+		@Override
+		public List<List<Long>> getInvocations() {
+			return this.invocations;
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findUsers(Collection<Long> ids) {
+			this.invocations.add(new ArrayList<>(ids));
+			Map<Long, String> result = new LinkedHashMap<>();
+			for (Long id : ids) {
+				if (id != 0) {
+					result.put(id, "user" + id);
+				}
+			}
+			return result;
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true)
+		public List<String> findNames(List<Long> ids) {
+			this.invocations.add(new ArrayList<>(ids));
+			List<String> result = new ArrayList<>();
+			for (Long id : ids) {
+				result.add("name" + id);
+			}
+			return result;
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true)
+		public List<String> findWrongSize(List<Long> ids) {
+			return Collections.singletonList("name");
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true, unless = "#result.isEmpty()")
+		public List<String> findNamesUnlessBlank(List<Long> ids) {
+			List<String> result = new ArrayList<>();
+			for (Long id : ids) {
+				result.add(id != 0 ? "name" + id : "");
+			}
+			return result;
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true, condition = "#p0.size() < 3")
+		public List<String> findIfSmall(List<Long> ids) {
+			return findNames(ids);
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true, key = "#p0")
+		public List<String> findWithKey(Collection<Long> ids) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		@Cacheable(cacheNames = "users", bulk = true)
+		public String findSingle(Long id) {
+			return "user" + id;
+		}
+	}
+
+}
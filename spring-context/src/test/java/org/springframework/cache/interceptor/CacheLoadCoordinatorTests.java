@@ -0,0 +1,299 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.ExpiringCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CacheLoadCoordinator}.
+ */
+class CacheLoadCoordinatorTests {
+
+	private final CacheLoadCoordinator coordinator = new CacheLoadCoordinator();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void concurrentMissesShareSingleLoad() throws Exception {
+		Cache cache = new ConcurrentMapCache("test");
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<Object> first = this.executor.submit(() -> this.coordinator.get(cache, "key", () -> {
+			loads.incrementAndGet();
+			loading.countDown();
+			release.await();
+			return "value";
+		}));
+		assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+		List<Future<Object>> others = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			others.add(this.executor.submit(() -> this.coordinator.get(cache, "key", () -> {
+				loads.incrementAndGet();
+				return "other";
+			})));
+		}
+		// Loads of other keys are not blocked
+		assertThat(this.coordinator.get(cache, "otherKey", () -> "otherValue")).isEqualTo("otherValue");
+		release.countDown();
+
+		assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+		for (Future<Object> other : others) {
+			assertThat(other.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+		}
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void hitDoesNotInvokeLoader() {
+		Cache cache = new ConcurrentMapCache("test");
+		cache.put("key", null);
+		assertThat(this.coordinator.<Object>get(cache, "key", () -> "value")).isNull();
+	}
+
+	@Test
+	void loadFailureIsPropagated() {
+		Cache cache = new ConcurrentMapCache("test");
+		IllegalStateException failure = new IllegalStateException("boom");
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				this.coordinator.get(cache, "key", () -> {
+					throw failure;
+				})).withCause(failure);
+		assertThat(cache.get("key")).isNull();
+		assertThat(this.coordinator.get(cache, "key", () -> "value")).isEqualTo("value");
+	}
+
+	@Test
+	void recursiveLoadFailsInsteadOfWaitingForItself() {
+		Cache cache = new ConcurrentMapCache("test");
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				this.coordinator.get(cache, "key", () -> this.coordinator.get(cache, "key", () -> "inner")))
+				.havingCause()
+				.isInstanceOf(IllegalStateException.class)
+				.withMessageStartingWith("Recursive load for key 'key'");
+		assertThat(cache.get("key")).isNull();
+		assertThat(this.coordinator.get(cache, "key", () -> "value")).isEqualTo("value");
+	}
+
+	@Test
+	void refreshAheadWithinWindow() throws Exception {
+		TestExpiringCache cache = new TestExpiringCache();
+		this.coordinator.setRefreshAheadExecutor(this.executor);
+		this.coordinator.setRefreshAheadWindow(Duration.ofSeconds(10));
+		cache.put("key", "initial");
+
+		cache.remainingTimeToLive = Duration.ofSeconds(30);
+		assertThat(this.coordinator.get(cache, "key", () -> "loaded", () -> "refreshed")).isEqualTo("initial");
+		assertThat(cache.get("key").get()).isEqualTo("initial");
+
+		CountDownLatch refreshed = new CountDownLatch(1);
+		cache.remainingTimeToLive = Duration.ofSeconds(5);
+		assertThat(this.coordinator.get(cache, "key", () -> "loaded", () -> {
+			refreshed.countDown();
+			return "refreshed";
+		})).isEqualTo("initial");
+		assertThat(refreshed.await(10, TimeUnit.SECONDS)).isTrue();
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(cache.get("key").get()).isEqualTo("refreshed");
+	}
+
+	@Test
+	void refreshAheadFailureKeepsEntry() throws Exception {
+		TestExpiringCache cache = new TestExpiringCache();
+		this.coordinator.setRefreshAheadExecutor(this.executor);
+		this.coordinator.setRefreshAheadWindow(Duration.ofSeconds(10));
+		cache.put("key", "initial");
+		cache.remainingTimeToLive = Duration.ofSeconds(5);
+		assertThat(this.coordinator.get(cache, "key", () -> "loaded", () -> {
+			throw new IllegalStateException("boom");
+		})).isEqualTo("initial");
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(cache.get("key").get()).isEqualTo("initial");
+	}
+
+	@Test
+	void noRefreshAheadWithoutRefreshLoader() throws Exception {
+		TestExpiringCache cache = new TestExpiringCache();
+		this.coordinator.setRefreshAheadExecutor(this.executor);
+		this.coordinator.setRefreshAheadWindow(Duration.ofSeconds(10));
+		cache.put("key", "initial");
+		cache.remainingTimeToLive = Duration.ofSeconds(5);
+		AtomicInteger loads = new AtomicInteger();
+		assertThat(this.coordinator.get(cache, "key", () -> "loaded-" + loads.incrementAndGet())).isEqualTo("initial");
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(loads.get()).isEqualTo(0);
+		assertThat(cache.get("key").get()).isEqualTo("initial");
+	}
+
+	@Test
+	void synchronizedCacheableRefreshesThroughFreshInvocation() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(RefreshAheadConfig.class);
+		SyncService service = context.getBean(SyncService.class);
+		TestExpiringCache cache = context.getBean(TestExpiringCache.class);
+
+		cache.remainingTimeToLive = Duration.ofSeconds(30);
+		assertThat(service.find("1")).isEqualTo("1-1");
+		assertThat(service.find("1")).isEqualTo("1-1");
+		cache.remainingTimeToLive = Duration.ofSeconds(5);
+		assertThat(service.find("1")).isEqualTo("1-1");
+		assertThat(cache.get("1").get()).isEqualTo("1-2");
+		context.close();
+	}
+
+	@Test
+	void synchronizedCacheableWithCoordinator() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+		SyncService service = context.getBean(SyncService.class);
+		assertThat(context.getBean(CacheInterceptor.class).getCacheLoadCoordinator())
+				.isSameAs(context.getBean(CacheLoadCoordinator.class));
+
+		assertThat(service.find("1")).isEqualTo("1-1");
+		assertThat(service.find("1")).isEqualTo("1-1");
+		assertThat(service.find("2")).isEqualTo("2-2");
+		context.close();
+	}
+
+
+	static class TestExpiringCache extends ConcurrentMapCache implements ExpiringCache {
+
+		@Nullable
+		volatile Duration remainingTimeToLive;
+
+		TestExpiringCache() {
+			this("test");
+		}
+
+		TestExpiringCache(String name) {
+			super(name);
+		}
+
+		@Override
+		@Nullable
+		public Duration getRemainingTimeToLive(Object key) {
+			return this.remainingTimeToLive;
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public ConcurrentMapCacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		@Override
+		public CacheLoadCoordinator cacheLoadCoordinator() {
+			return new CacheLoadCoordinator();
+		}
+
+		@Bean
+		SyncService syncService() {
+			return new SyncService();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class RefreshAheadConfig extends CachingConfigurerSupport {
+
+		@Bean
+		TestExpiringCache thingsCache() {
+			return new TestExpiringCache("things");
+		}
+
+		@Bean
+		@Override
+		public SimpleCacheManager cacheManager() {
+			SimpleCacheManager cacheManager = new SimpleCacheManager();
+			cacheManager.setCaches(Collections.singletonList(thingsCache()));
+			return cacheManager;
+		}
+
+		@Bean
+		@Override
+		public CacheLoadCoordinator cacheLoadCoordinator() {
+			CacheLoadCoordinator coordinator = new CacheLoadCoordinator();
+			coordinator.setRefreshAheadExecutor(new SyncTaskExecutor());
+			coordinator.setRefreshAheadWindow(Duration.ofSeconds(10));
+			return coordinator;
+		}
+
+		@Bean
+		SyncService syncService() {
+			return new SyncService();
+		}
+	}
+
+
+	static class SyncService {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Cacheable(cacheNames = "things", sync = true)
+		public String find(String id) {
+			return id + "-" + this.counter.incrementAndGet();
+		}
+	}
+
+}
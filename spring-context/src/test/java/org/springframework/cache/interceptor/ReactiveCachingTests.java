@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for caching methods that return a {@link CompletableFuture} or a
+ * reactive type.
+ */
+class ReactiveCachingTests {
+
+	private final AnnotationConfigApplicationContext context =
+			new AnnotationConfigApplicationContext(Config.class);
+
+	private final AsyncService service = this.context.getBean(AsyncService.class);
+
+	private final CacheManager cacheManager = this.context.getBean(CacheManager.class);
+
+
+	@AfterEach
+	void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	void completableFuture() {
+		String first = this.service.findFuture("a").join();
+		assertThat(this.service.findFuture("a").join()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("futures").get("a").get()).isEqualTo(first);
+		assertThat(this.service.findFuture("b").join()).isNotEqualTo(first);
+	}
+
+	@Test
+	void completableFutureSync() {
+		String first = this.service.findFutureSync("a").join();
+		assertThat(this.service.findFutureSync("a").join()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("futures").get("a").get()).isEqualTo(first);
+	}
+
+	@Test
+	void completableFutureFailureIsNotCached() {
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> this.service.failFuture("a").join())
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.cacheManager.getCache("futures").get("a")).isNull();
+	}
+
+	@Test
+	void completableFuturePutAndEvict() {
+		this.service.findFuture("a").join();
+		assertThat(this.service.updateFuture("a").join()).isEqualTo("updated-a");
+		assertThat(this.service.findFuture("a").join()).isEqualTo("updated-a");
+		this.service.evictFuture("a").join();
+		assertThat(this.cacheManager.getCache("futures").get("a")).isNull();
+	}
+
+	@Test
+	void mono() {
+		String first = this.service.findMono("a").block();
+		assertThat(this.service.findMono("a").block()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("monos").get("a").get()).isEqualTo(first);
+	}
+
+	@Test
+	void monoSync() {
+		String first = this.service.findMonoSync("a").block();
+		assertThat(this.service.findMonoSync("a").block()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("monos").get("a").get()).isEqualTo(first);
+	}
+
+	@Test
+	void flux() {
+		List<String> first = this.service.findFlux("a").collectList().block();
+		assertThat(first).hasSize(2);
+		assertThat(this.service.findFlux("a").collectList().block()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("fluxes").get("a").get()).isEqualTo(first);
+	}
+
+	@Test
+	void fluxSync() {
+		List<String> first = this.service.findFluxSync("a").collectList().block();
+		assertThat(this.service.findFluxSync("a").collectList().block()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("fluxes").get("a").get()).isEqualTo(first);
+	}
+
+	@Test
+	void cacheWithoutRetrieveSupport() {
+		try (AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(NonRetrievingConfig.class)) {
+			AsyncService service = context.getBean(AsyncService.class);
+			CacheManager cacheManager = context.getBean(CacheManager.class);
+
+			String first = service.findFuture("a").join();
+			assertThat(service.findFuture("a").join()).isEqualTo(first);
+			assertThat(cacheManager.getCache("futures").get("a").get()).isEqualTo(first);
+
+			String firstSync = service.findFutureSync("b").join();
+			assertThat(service.findFutureSync("b").join()).isEqualTo(firstSync);
+
+			String firstMono = service.findMono("a").block();
+			assertThat(service.findMono("a").block()).isEqualTo(firstMono);
+
+			List<String> firstFlux = service.findFluxSync("a").collectList().block();
+			assertThat(service.findFluxSync("a").collectList().block()).isEqualTo(firstFlux);
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class NonRetrievingConfig {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager() {
+				@Override
+				protected Cache createConcurrentMapCache(String name) {
+					return new NonRetrievingCache(name);
+				}
+			};
+		}
+
+		@Bean
+		AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+
+	static class NonRetrievingCache extends ConcurrentMapCache {
+
+		NonRetrievingCache(String name) {
+			super(name);
+		}
+
+		@Override
+		public boolean supportsRetrieve() {
+			return false;
+		}
+
+		@Override
+		public CompletableFuture<?> retrieve(Object key) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+
+	static class AsyncService {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Cacheable("futures")
+		public CompletableFuture<String> findFuture(String id) {
+			return CompletableFuture.supplyAsync(() -> id + "-" + this.counter.incrementAndGet());
+		}
+
+		@Cacheable(cacheNames = "futures", sync = true)
+		public CompletableFuture<String> findFutureSync(String id) {
+			return CompletableFuture.completedFuture(id + "-" + this.counter.incrementAndGet());
+		}
+
+		@Cacheable("futures")
+		public CompletableFuture<String> failFuture(String id) {
+			CompletableFuture<String> result = new CompletableFuture<>();
+			result.completeExceptionally(new IllegalStateException(id));
+			return result;
+		}
+
+		@CachePut(cacheNames = "futures", key = "#id")
+		public CompletableFuture<String> updateFuture(String id) {
+			return CompletableFuture.completedFuture("updated-" + id);
+		}
+
+		@CacheEvict("futures")
+		public CompletableFuture<Void> evictFuture(String id) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Cacheable("monos")
+		public Mono<String> findMono(String id) {
+			return Mono.fromSupplier(() -> id + "-" + this.counter.incrementAndGet());
+		}
+
+		@Cacheable(cacheNames = "monos", sync = true)
+		public Mono<String> findMonoSync(String id) {
+			return Mono.fromSupplier(() -> id + "-" + this.counter.incrementAndGet());
+		}
+
+		@Cacheable("fluxes")
+		public Flux<String> findFlux(String id) {
+			return Flux.defer(() -> Flux.just(id + "-" + this.counter.incrementAndGet(),
+					id + "-" + this.counter.incrementAndGet()));
+		}
+
+		@Cacheable(cacheNames = "fluxes", sync = true)
+		public Flux<String> findFluxSync(String id) {
+			return Flux.defer(() -> Flux.just(id + "-" + this.counter.incrementAndGet(),
+					id + "-" + this.counter.incrementAndGet()));
+		}
+	}
+
+}
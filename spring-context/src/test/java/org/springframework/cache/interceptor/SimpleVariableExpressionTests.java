@@ -0,0 +1,227 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link SimpleVariableExpression} and the cache invocation fast path
+ * in {@link CacheAspectSupport}.
+ */
+class SimpleVariableExpressionTests {
+
+	private final Method method = ReflectionUtils.findMethod(
+			SimpleService.class, "find", String.class, TestBean.class);
+
+
+	@Test
+	void argumentByName() {
+		SimpleVariableExpression expression = SimpleVariableExpression.compile("#id", this.method);
+		assertThat(expression).isNotNull();
+		assertThat(expression.getValue(new Object[] {"1", null}, CacheOperationExpressionEvaluator.NO_RESULT))
+				.isEqualTo("1");
+	}
+
+	@Test
+	void argumentByIndex() {
+		Object[] args = new Object[] {"1", new TestBean("tb")};
+		assertThat(SimpleVariableExpression.compile("#p0", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isEqualTo("1");
+		assertThat(SimpleVariableExpression.compile(" #a1 ", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isSameAs(args[1]);
+	}
+
+	@Test
+	void propertyChain() {
+		TestBean bean = new TestBean("tb");
+		bean.setSpouse(new TestBean("spouse"));
+		Object[] args = new Object[] {"1", bean};
+		assertThat(SimpleVariableExpression.compile("#p1.name", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isEqualTo("tb");
+		assertThat(SimpleVariableExpression.compile("#bean.spouse.name", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isEqualTo("spouse");
+	}
+
+	@Test
+	void nullIntermediateValue() {
+		Object[] args = new Object[] {"1", new TestBean("tb")};
+		assertThat(SimpleVariableExpression.compile("#bean.spouse?.name", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isNull();
+		assertThat(SimpleVariableExpression.compile("#bean.spouse.name", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT))
+				.isSameAs(SimpleVariableExpression.NOT_RESOLVABLE);
+	}
+
+	@Test
+	void unknownProperty() {
+		Object[] args = new Object[] {"1", new TestBean("tb")};
+		assertThat(SimpleVariableExpression.compile("#bean.unknown", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT))
+				.isSameAs(SimpleVariableExpression.NOT_RESOLVABLE);
+	}
+
+	@Test
+	void getterExceptionIsPropagated() {
+		FailingBean bean = new FailingBean();
+		Object[] args = new Object[] {"1", bean};
+		SimpleVariableExpression expression = SimpleVariableExpression.compile("#bean.failing", this.method);
+		assertThatIllegalStateException().isThrownBy(() ->
+				expression.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT))
+				.withMessage("getter failure");
+		assertThat(bean.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	void resultVariable() {
+		SimpleVariableExpression expression = SimpleVariableExpression.compile("#result.name", this.method);
+		Object[] args = new Object[] {"1", null};
+		assertThat(expression.getValue(args, new TestBean("result"))).isEqualTo("result");
+		assertThat(expression.getValue(args, CacheOperationExpressionEvaluator.RESULT_UNAVAILABLE))
+				.isSameAs(SimpleVariableExpression.NOT_RESOLVABLE);
+		assertThat(SimpleVariableExpression.compile("#result", this.method)
+				.getValue(args, CacheOperationExpressionEvaluator.NO_RESULT)).isNull();
+	}
+
+	@Test
+	void expressionsThatAreNotSimple() {
+		assertThat(SimpleVariableExpression.compile("#id + #bean", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#root.args[0]", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#bean.getName()", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#p2", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#unknown", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#id.", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("'id'", this.method)).isNull();
+		assertThat(SimpleVariableExpression.compile("#id == null", this.method)).isNull();
+	}
+
+	@Test
+	void cacheableWithSimpleExpressions() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+		SimpleService service = context.getBean(SimpleService.class);
+
+		String first = service.query("1", new Query("a", true));
+		assertThat(service.query("2", new Query("a", true))).isSameAs(first);
+		assertThat(service.query("1", new Query("b", true))).isNotSameAs(first);
+		assertThat(service.getInvocations()).isEqualTo(2);
+		assertThat(context.getBean(CacheManager.class).getCache("things").get("a").get()).isSameAs(first);
+
+		// condition not passing
+		service.query("1", new Query("c", false));
+		service.query("1", new Query("c", false));
+		assertThat(service.getInvocations()).isEqualTo(4);
+
+		// unless passing
+		assertThat(service.query("1", new Query("", true))).isEmpty();
+		assertThat(service.query("1", new Query("", true))).isEmpty();
+		assertThat(service.getInvocations()).isEqualTo(6);
+
+		// null intermediate value evaluated through SpEL
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() -> service.query("1", null));
+		context.close();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	static class SimpleService {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		public Object find(String id, TestBean bean) {
+			return bean;
+		}
+
+		@Cacheable(cacheNames = "things", key = "#query.name", condition = "#query.cacheable", unless = "#result.empty")
+		public String query(String id, Query query) {
+			this.invocations.incrementAndGet();
+			return (query.getName().isEmpty() ? "" : query.getName() + id);
+		}
+
+		public int getInvocations() {
+			return this.invocations.get();
+		}
+	}
+
+
+	public static class Query {
+
+		private final String name;
+
+		private final boolean cacheable;
+
+		Query(String name, boolean cacheable) {
+			this.name = name;
+			this.cacheable = cacheable;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public boolean isCacheable() {
+			return this.cacheable;
+		}
+	}
+
+
+	public static class FailingBean extends TestBean {
+
+		private int invocations;
+
+		public String getFailing() {
+			this.invocations++;
+			throw new IllegalStateException("getter failure");
+		}
+
+		public int getInvocations() {
+			return this.invocations;
+		}
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TieredCacheManager} and {@link TieredCache}.
+ */
+class TieredCacheManagerTests {
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("things");
+
+	private final ConcurrentMapCacheManager localCacheManager1 = new ConcurrentMapCacheManager();
+
+	private final ConcurrentMapCacheManager localCacheManager2 = new ConcurrentMapCacheManager();
+
+	private final GenericApplicationContext context = new GenericApplicationContext();
+
+	private TieredCacheManager cacheManager1;
+
+	private TieredCacheManager cacheManager2;
+
+
+	@BeforeEach
+	void setup() {
+		this.context.registerBean("channel1", ApplicationEventCacheInvalidationChannel.class);
+		this.context.registerBean("channel2", ApplicationEventCacheInvalidationChannel.class);
+		this.context.refresh();
+
+		this.cacheManager1 = new TieredCacheManager(this.localCacheManager1, this.remoteCacheManager);
+		this.cacheManager1.setInvalidationChannel(
+				this.context.getBean("channel1", CacheInvalidationChannel.class));
+		this.cacheManager2 = new TieredCacheManager(this.localCacheManager2, this.remoteCacheManager);
+		this.cacheManager2.setInvalidationChannel(
+				this.context.getBean("channel2", CacheInvalidationChannel.class));
+	}
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	void getCache() {
+		Cache cache = this.cacheManager1.getCache("things");
+		assertThat(cache).isInstanceOf(TieredCache.class);
+		assertThat(cache.getName()).isEqualTo("things");
+		assertThat(cache.getNativeCache()).isSameAs(this.remoteCacheManager.getCache("things").getNativeCache());
+		assertThat(this.cacheManager1.getCache("things")).isSameAs(cache);
+		assertThat(this.cacheManager1.getCache("unknown")).isNull();
+		assertThat(this.cacheManager1.getCacheNames()).containsExactly("things");
+	}
+
+	@Test
+	void getCacheWithoutLocalCache() {
+		this.localCacheManager1.setCacheNames(Collections.singleton("other"));
+		assertThat(this.cacheManager1.getCache("things")).isSameAs(this.remoteCacheManager.getCache("things"));
+	}
+
+	@Test
+	void remoteHitPopulatesLocalCache() {
+		this.remoteCacheManager.getCache("things").put("key", "value");
+		Cache cache = this.cacheManager1.getCache("things");
+		assertThat(this.localCacheManager1.getCache("things").get("key")).isNull();
+
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		assertThat(this.localCacheManager1.getCache("things").get("key").get()).isEqualTo("value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.get("missing")).isNull();
+	}
+
+	@Test
+	void getAllCombinesBothLevels() {
+		this.remoteCacheManager.getCache("things").put("key1", "value1");
+		this.remoteCacheManager.getCache("things").put("key2", "value2");
+		this.localCacheManager1.getCache("things").put("key2", "local2");
+		Cache cache = this.cacheManager1.getCache("things");
+
+		Map<Object, Cache.ValueWrapper> result = cache.getAll(Arrays.asList("key2", "key3", "key1"));
+		assertThat(result.keySet()).containsExactly("key2", "key1");
+		assertThat(result.get("key1").get()).isEqualTo("value1");
+		assertThat(result.get("key2").get()).isEqualTo("local2");
+		assertThat(this.localCacheManager1.getCache("things").get("key1").get()).isEqualTo("value1");
+	}
+
+	@Test
+	void putAllInvalidatesPeerLocalCache() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		Cache cache2 = this.cacheManager2.getCache("things");
+		cache1.put("key", "value1");
+		assertThat(cache2.get("key")).isNotNull();
+
+		cache1.putAll(Collections.singletonMap("key", "value2"));
+		assertThat(this.localCacheManager2.getCache("things").get("key")).isNull();
+		assertThat(cache2.get("key").get()).isEqualTo("value2");
+	}
+
+	@Test
+	void valueLoaderPopulatesBothLevels() {
+		Cache cache = this.cacheManager1.getCache("things");
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+		assertThat(this.localCacheManager1.getCache("things").get("key").get()).isEqualTo("value");
+		assertThat(this.remoteCacheManager.getCache("things").get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void putInvalidatesPeerLocalCache() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		Cache cache2 = this.cacheManager2.getCache("things");
+		cache1.put("key", "value1");
+		assertThat(cache2.get("key").get()).isEqualTo("value1");
+
+		cache1.put("key", "value2");
+		assertThat(this.localCacheManager1.getCache("things").get("key").get()).isEqualTo("value2");
+		assertThat(this.localCacheManager2.getCache("things").get("key")).isNull();
+		assertThat(cache2.get("key").get()).isEqualTo("value2");
+	}
+
+	@Test
+	void putIfAbsentKeepsExistingValue() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		Cache cache2 = this.cacheManager2.getCache("things");
+		assertThat(cache1.putIfAbsent("key", "value1")).isNull();
+		assertThat(cache2.putIfAbsent("key", "value2").get()).isEqualTo("value1");
+		assertThat(this.localCacheManager2.getCache("things").get("key").get()).isEqualTo("value1");
+		assertThat(this.localCacheManager1.getCache("things").get("key").get()).isEqualTo("value1");
+	}
+
+	@Test
+	void evictInvalidatesPeerLocalCache() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		Cache cache2 = this.cacheManager2.getCache("things");
+		cache1.put("key", "value");
+		assertThat(cache2.get("key")).isNotNull();
+
+		cache1.evict("key");
+		assertThat(this.localCacheManager2.getCache("things").get("key")).isNull();
+		assertThat(cache2.get("key")).isNull();
+
+		cache1.put("key", "value");
+		assertThat(cache2.get("key")).isNotNull();
+		assertThat(cache1.evictIfPresent("key")).isTrue();
+		assertThat(cache2.get("key")).isNull();
+		assertThat(cache1.evictIfPresent("key")).isFalse();
+	}
+
+	@Test
+	void clearInvalidatesPeerLocalCache() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		Cache cache2 = this.cacheManager2.getCache("things");
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		assertThat(cache2.get("key1")).isNotNull();
+		assertThat(cache2.get("key2")).isNotNull();
+
+		cache1.clear();
+		assertThat(cache2.get("key1")).isNull();
+		assertThat(cache2.get("key2")).isNull();
+
+		cache1.put("key1", "value1");
+		assertThat(cache2.get("key1")).isNotNull();
+		assertThat(cache1.invalidate()).isTrue();
+		assertThat(this.localCacheManager2.getCache("things").get("key1")).isNull();
+	}
+
+	@Test
+	void replacedInvalidationChannelIsUnsubscribed() {
+		Cache cache1 = this.cacheManager1.getCache("things");
+		cache1.put("key", "value1");
+		assertThat(this.cacheManager2.getCache("things").get("key").get()).isEqualTo("value1");
+
+		this.cacheManager2.setInvalidationChannel(null);
+		cache1.put("key", "value2");
+		assertThat(this.localCacheManager2.getCache("things").get("key").get()).isEqualTo("value1");
+	}
+
+	@Test
+	void sharedInvalidationChannelDoesNotDeliverToPeers() {
+		this.cacheManager2.setInvalidationChannel(this.cacheManager1.getInvalidationChannel());
+		Cache cache1 = this.cacheManager1.getCache("things");
+		cache1.put("key", "value1");
+		assertThat(this.cacheManager2.getCache("things").get("key").get()).isEqualTo("value1");
+
+		cache1.put("key", "value2");
+		assertThat(this.localCacheManager2.getCache("things").get("key").get()).isEqualTo("value1");
+	}
+
+	@Test
+	void withoutInvalidationChannel() {
+		TieredCache cache = new TieredCache(
+				this.localCacheManager1.getCache("things"), this.remoteCacheManager.getCache("things"));
+		cache.put("key", "value");
+		assertThat(cache.getLocalCache().get("key").get()).isEqualTo("value");
+		assertThat(cache.getRemoteCache().get("key").get()).isEqualTo("value");
+		cache.evict("key");
+		assertThat(cache.get("key")).isNull();
+	}
+
+}
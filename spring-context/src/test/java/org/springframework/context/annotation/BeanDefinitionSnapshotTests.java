@@ -0,0 +1,423 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.context.annotation6.ComponentForScanning;
+import org.springframework.context.annotation6.PlainForScanning;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshot} and {@link BeanDefinitionSnapshotGenerator}.
+ */
+class BeanDefinitionSnapshotTests {
+
+	private static final BeanDefinitionSnapshot.ConditionInputs NO_CONDITION_INPUTS =
+			new BeanDefinitionSnapshot.ConditionInputs(Collections.emptyList(), Collections.emptyList(),
+					Collections.emptyList(), Collections.emptyList());
+
+	private static final AtomicInteger conditionEvaluations = new AtomicInteger();
+
+
+	@BeforeEach
+	void resetConditionEvaluations() {
+		conditionEvaluations.set(0);
+	}
+
+
+	@Test
+	void snapshotRegistersBeanDefinitionsWithoutProcessing() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {SnapshotConfig.class});
+		assertThat(conditionEvaluations.get()).isEqualTo(1);
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(SnapshotConfig.class);
+		context.refresh();
+
+		assertThat(conditionEvaluations.get()).isEqualTo(1);
+		assertThat(context.getBean("name")).isEqualTo("snapshot");
+		assertThat(context.getBean("testBean", TestBean.class).getName()).isEqualTo("snapshot");
+		assertThat(context.containsBean("excluded")).isFalse();
+		assertThat(context.getBean(ImportedConfig.class).importingClass).isEqualTo(SnapshotConfig.class.getName());
+		// Full configuration class still enhanced
+		assertThat(context.getBean(SnapshotConfig.class).name()).isSameAs(context.getBean("name"));
+		assertThat(context.containsBean(BeanDefinitionSnapshot.BEAN_NAME)).isFalse();
+		context.close();
+	}
+
+	@Test
+	void snapshotSkipsScanning() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[0], "org.springframework.context.annotation6");
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.scan("org.springframework.context.annotation6");
+		assertThat(context.containsBeanDefinition("componentForScanning")).isFalse();
+		context.refresh();
+
+		assertThat(context.getBean(ComponentForScanning.class)).isNotNull();
+		assertThat(context.getBean("testBean")).isNotNull();
+		context.close();
+	}
+
+	@Test
+	void snapshotIsOutdatedWhenScannedClassBecomesComponent() throws IOException {
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshotGenerator().generate(
+				new Class<?>[0], "org.springframework.context.annotation6");
+		assertThat(snapshot.getBeanDefinitionNames()).doesNotContain("plainForScanning");
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		assertThat(snapshot.isUpToDate(context.getDefaultListableBeanFactory(), context,
+				context.getEnvironment())).isTrue();
+
+		// Same class files, except that PlainForScanning is annotated with @Component now
+		String plainClassFile = ClassUtils.convertClassNameToResourcePath(PlainForScanning.class.getName()) +
+				ClassUtils.CLASS_FILE_SUFFIX;
+		byte[] componentClassBytes = annotateWithComponent(new ClassPathResource(plainClassFile));
+		Resource componentClassFile = new ClassPathResource(plainClassFile) {
+			@Override
+			public InputStream getInputStream() {
+				return new ByteArrayInputStream(componentClassBytes);
+			}
+		};
+		ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver() {
+			@Override
+			public Resource getResource(String location) {
+				return (location.endsWith(plainClassFile) ? componentClassFile : super.getResource(location));
+			}
+			@Override
+			public Resource[] getResources(String locationPattern) throws IOException {
+				Resource[] resources = super.getResources(locationPattern);
+				for (int i = 0; i < resources.length; i++) {
+					if (resources[i].getURL().toString().endsWith(plainClassFile)) {
+						resources[i] = componentClassFile;
+					}
+				}
+				return resources;
+			}
+		};
+		assertThat(snapshot.isUpToDate(context.getDefaultListableBeanFactory(), resolver,
+				context.getEnvironment())).isFalse();
+		context.close();
+	}
+
+	@Test
+	void snapshotForOtherComponentClassesIsIgnored() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {SnapshotConfig.class});
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(ImportedConfig.class);
+		context.refresh();
+
+		assertThat(context.containsBean("name")).isFalse();
+		assertThat(context.getBean("number")).isEqualTo(42L);
+		context.close();
+	}
+
+	@Test
+	void snapshotForOtherProfilesIsIgnored() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {SnapshotConfig.class});
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().setActiveProfiles("other");
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(SnapshotConfig.class);
+		context.refresh();
+
+		assertThat(conditionEvaluations.get()).isEqualTo(2);
+		assertThat(context.getBean("name")).isEqualTo("snapshot");
+		context.close();
+	}
+
+	@Test
+	void snapshotRegistersPropertySources() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {PropertySourceConfig.class});
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(PropertySourceConfig.class);
+		context.refresh();
+
+		assertThat(conditionEvaluations.get()).isEqualTo(1);
+		assertThat(context.getEnvironment().getProperty("from.p2")).isEqualTo("p2Value");
+		assertThat(context.getBean("fromP2")).isEqualTo("p2Value");
+		context.close();
+	}
+
+	@Test
+	void snapshotForOtherConditionPropertiesIsIgnored() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {PropertySourceConfig.class});
+		assertThat(conditionEvaluations.get()).isEqualTo(1);
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(
+				new MapPropertySource("test", Collections.singletonMap("snapshot.enabled", "true")));
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(PropertySourceConfig.class);
+		context.refresh();
+
+		assertThat(conditionEvaluations.get()).isEqualTo(2);
+		assertThat(context.getBean("enabled")).isEqualTo("enabled");
+		context.close();
+	}
+
+	@Test
+	void snapshotDoesNotIncludeBeanDefinitionsFromRegistryPostProcessors() throws IOException {
+		Resource snapshot = generateSnapshot(new Class<?>[] {RegistryPostProcessorConfig.class});
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(snapshot);
+		context.register(RegistryPostProcessorConfig.class);
+		context.refresh();
+
+		assertThat(context.getBeanNamesForType(ExtraBean.class)).hasSize(1);
+		context.close();
+	}
+
+	@Test
+	void missingSnapshotIsIgnored() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setBeanDefinitionSnapshot(new ByteArrayResource(new byte[0]) {
+			@Override
+			public boolean exists() {
+				return false;
+			}
+		});
+		context.scan("org.springframework.context.annotation6");
+		context.refresh();
+
+		assertThat(context.getBean(ComponentForScanning.class)).isNotNull();
+		context.close();
+	}
+
+	@Test
+	void snapshotRoundTrip() throws IOException {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.setLazyInit(true);
+		bd.setDependsOn("spouse");
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(0, "name");
+		bd.getPropertyValues().add("age", 42);
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		ManagedList<Object> friends = new ManagedList<>();
+		friends.add(new RuntimeBeanReference("spouse"));
+		friends.add(new RootBeanDefinition(TestBean.class));
+		bd.getPropertyValues().add("friends", friends);
+		bd.setAttribute("custom", "value");
+
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.registerBeanDefinition("bean", bd);
+		source.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		source.registerAlias("bean", "alias");
+		BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.capture(source, null, Collections.emptyList(),
+				Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), NO_CONDITION_INPUTS,
+				source, new StandardEnvironment(), new StandardEnvironment());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+		BeanDefinitionSnapshot read = BeanDefinitionSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()));
+		assertThat(read.getFingerprint()).isEqualTo(snapshot.getFingerprint());
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		read.registerBeanDefinitions(context);
+		BeanDefinition readDefinition = context.getBeanDefinition("bean");
+		assertThat(readDefinition.getBeanClassName()).isEqualTo(TestBean.class.getName());
+		assertThat(readDefinition.getScope()).isEqualTo(BeanDefinition.SCOPE_PROTOTYPE);
+		assertThat(readDefinition.isLazyInit()).isTrue();
+		assertThat(readDefinition.getDependsOn()).containsExactly("spouse");
+		assertThat(readDefinition.getAttribute("custom")).isEqualTo("value");
+		assertThat(context.getAliases("bean")).containsExactly("alias");
+		context.refresh();
+
+		TestBean bean = context.getBean("bean", TestBean.class);
+		assertThat(bean.getName()).isEqualTo("name");
+		assertThat(bean.getAge()).isEqualTo(42);
+		assertThat(bean.getSpouse()).isSameAs(context.getBean("spouse"));
+		assertThat(bean.getFriends()).hasSize(2);
+		context.close();
+	}
+
+	@Test
+	void beanDefinitionWithInstanceSupplierCannotBeCaptured() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.registerBean("bean", TestBean.class, TestBean::new);
+		BeanDefinitionRegistry registry = context;
+		assertThatExceptionOfType(BeanDefinitionStoreException.class).isThrownBy(() ->
+				BeanDefinitionSnapshot.capture(registry, null, Collections.emptyList(), Collections.emptyList(),
+						Collections.emptyList(), Collections.emptyList(), NO_CONDITION_INPUTS, context,
+						new StandardEnvironment(), new StandardEnvironment()).writeTo(new ByteArrayOutputStream()));
+	}
+
+
+	private static Resource generateSnapshot(Class<?>[] componentClasses, String... basePackages) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new BeanDefinitionSnapshotGenerator().generate(out, componentClasses, basePackages);
+		return new ByteArrayResource(out.toByteArray());
+	}
+
+	private static byte[] annotateWithComponent(Resource classFile) throws IOException {
+		ClassWriter classWriter = new ClassWriter(0);
+		try (InputStream in = classFile.getInputStream()) {
+			new ClassReader(in).accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION, classWriter) {
+				@Override
+				public void visitEnd() {
+					String descriptor = "L" + ClassUtils.convertClassNameToResourcePath(Component.class.getName()) + ";";
+					super.visitAnnotation(descriptor, true).visitEnd();
+					super.visitEnd();
+				}
+			}, 0);
+		}
+		return classWriter.toByteArray();
+	}
+
+
+	static class CountingCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			conditionEvaluations.incrementAndGet();
+			return false;
+		}
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	static class SnapshotConfig {
+
+		@Bean
+		public String name() {
+			return "snapshot";
+		}
+
+		@Bean
+		public TestBean testBean(String name) {
+			return new TestBean(name);
+		}
+
+		@Bean
+		@Conditional(CountingCondition.class)
+		public Integer excluded() {
+			return 1;
+		}
+	}
+
+
+	static class PropertyCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			conditionEvaluations.incrementAndGet();
+			return context.getEnvironment().containsProperty("snapshot.enabled");
+		}
+	}
+
+
+	@Configuration
+	@PropertySource("classpath:org/springframework/context/annotation/p2.properties")
+	static class PropertySourceConfig {
+
+		@Bean
+		public String fromP2(Environment environment) {
+			return environment.getProperty("from.p2");
+		}
+
+		@Bean
+		@Conditional(PropertyCondition.class)
+		public String enabled() {
+			return "enabled";
+		}
+	}
+
+
+	@Configuration
+	static class RegistryPostProcessorConfig {
+
+		@Bean
+		public static BeanDefinitionRegistryPostProcessor extraBeanRegistrar() {
+			return new BeanDefinitionRegistryPostProcessor() {
+				@Override
+				public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+					BeanDefinitionReaderUtils.registerWithGeneratedName(new RootBeanDefinition(ExtraBean.class), registry);
+				}
+				@Override
+				public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+				}
+			};
+		}
+	}
+
+
+	static class ExtraBean {
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		String importingClass;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importingClass = importMetadata.getClassName();
+		}
+
+		@Bean
+		public Long number() {
+			return 42L;
+		}
+	}
+
+}
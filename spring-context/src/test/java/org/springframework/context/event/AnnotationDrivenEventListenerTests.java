@@ -634,6 +634,70 @@ class AnnotationDrivenEventListenerTests {
 		assertThat(listener.order).contains("first", "second", "third");
 	}
 
+	@Test
+	void batchEventListener() {
+		load(BatchEventListener.class);
+		BatchEventListener listener = this.context.getBean(BatchEventListener.class);
+		TestEvent event1 = new TestEvent(this, "one");
+		TestEvent event2 = new TestEvent(this, "two");
+
+		this.context.publishEvents(Arrays.asList(event1, event2, "a", "skip", "b"));
+		assertThat(listener.eventBatches).containsExactly(Arrays.asList(event1, event2));
+		assertThat(listener.payloadBatches).containsExactly(Arrays.asList("a", "skip", "b"));
+		assertThat(listener.conditionalPayloads).containsExactly("a", "b");
+	}
+
+	@Test
+	void batchEventListenerWithInterleavedEvents() {
+		load(BatchEventListener.class);
+		BatchEventListener listener = this.context.getBean(BatchEventListener.class);
+		TestEvent event1 = new TestEvent(this, "one");
+		TestEvent event2 = new TestEvent(this, "two");
+
+		this.context.publishEvents(Arrays.asList(event1, "a", event2, "skip", "b"));
+		assertThat(listener.eventBatches).containsExactly(Arrays.asList(event1), Arrays.asList(event2));
+		assertThat(listener.payloadBatches).containsExactly(Arrays.asList("a"), Arrays.asList("skip", "b"));
+		assertThat(listener.conditionalPayloads).containsExactly("a", "b");
+	}
+
+	@Test
+	void batchEventListenerWithSingleEvent() {
+		load(BatchEventListener.class);
+		BatchEventListener listener = this.context.getBean(BatchEventListener.class);
+
+		this.context.publishEvent("a");
+		this.context.publishEvent("skip");
+		assertThat(listener.payloadBatches).containsExactly(Arrays.asList("a"), Arrays.asList("skip"));
+		assertThat(listener.conditionalPayloads).containsExactly("a");
+		assertThat(listener.eventBatches).isEmpty();
+	}
+
+	@Test
+	void batchEventsDeliveredToNonBatchListener() {
+		load(TestEventListener.class);
+		TestEventListener listener = this.context.getBean(TestEventListener.class);
+		TestEvent event1 = new TestEvent(this, "one");
+		TestEvent event2 = new TestEvent(this, "two");
+
+		this.context.publishEvents(Arrays.asList(event1, event2));
+		this.eventCollector.assertEvent(listener, event1, event2);
+		this.eventCollector.assertTotalEventsCount(2);
+	}
+
+	@Test
+	void methodSignatureBatchWithoutList() {
+		@SuppressWarnings("resource")
+		AnnotationConfigApplicationContext failingContext =
+				new AnnotationConfigApplicationContext();
+		failingContext.register(BasicConfiguration.class,
+				InvalidBatchMethodSignatureEventListener.class);
+
+		assertThatExceptionOfType(BeanInitializationException.class).isThrownBy(() ->
+				failingContext.refresh())
+			.withMessageContaining(InvalidBatchMethodSignatureEventListener.class.getName())
+			.withMessageContaining("cannotBeCalled");
+	}
+
 	@Test @Disabled  // SPR-15122
 	void listenersReceiveEarlyEvents() {
 		load(EventOnPostConstruct.class, OrderedTestListener.class);
@@ -1056,6 +1120,41 @@ class AnnotationDrivenEventListenerTests {
 	}
 
 
+	@Component
+	static class BatchEventListener {
+
+		public final List<List<TestEvent>> eventBatches = new ArrayList<>();
+
+		public final List<List<String>> payloadBatches = new ArrayList<>();
+
+		public final List<String> conditionalPayloads = new ArrayList<>();
+
+		@EventListener(batch = true)
+		public void handleEvents(List<TestEvent> events) {
+			this.eventBatches.add(new ArrayList<>(events));
+		}
+
+		@EventListener(batch = true)
+		public void handlePayloads(List<String> payloads) {
+			this.payloadBatches.add(new ArrayList<>(payloads));
+		}
+
+		@EventListener(batch = true, condition = "#root.args[0] != 'skip'")
+		public void handleConditionalPayloads(List<String> payloads) {
+			this.conditionalPayloads.addAll(payloads);
+		}
+	}
+
+
+	@Component
+	static class InvalidBatchMethodSignatureEventListener {
+
+		@EventListener(batch = true)
+		public void cannotBeCalled(String payload) {
+		}
+	}
+
+
 	static class EventOnPostConstruct {
 
 		@Autowired
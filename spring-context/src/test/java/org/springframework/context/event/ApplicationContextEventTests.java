@@ -17,6 +17,8 @@
 package org.springframework.context.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -303,6 +305,26 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		context.close();
 	}
 
+	@Test
+	public void cachedListenersReusedUntilListenersChange() {
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		multicaster.addApplicationListener(listener1);
+
+		MyEvent event = new MyEvent(this);
+		ResolvableType eventType = ResolvableType.forInstance(event);
+		Collection<ApplicationListener<?>> listeners = multicaster.getApplicationListeners(event, eventType);
+		assertThat(listeners).containsExactly(listener1);
+		assertThat(multicaster.getApplicationListeners(event, eventType)).isSameAs(listeners);
+
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+		multicaster.addApplicationListener(listener2);
+		assertThat(multicaster.getApplicationListeners(event, eventType)).containsExactly(listener1, listener2);
+
+		multicaster.removeApplicationListener(listener1);
+		assertThat(multicaster.getApplicationListeners(event, eventType)).containsExactly(listener2);
+	}
+
 	@Test
 	public void listenersInApplicationContextWithPayloadEvents() {
 		StaticApplicationContext context = new StaticApplicationContext();
@@ -460,6 +482,90 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		context.close();
 	}
 
+	@Test
+	public void multicastEventsPreservesPublicationOrder() {
+		List<ApplicationEvent> received = new ArrayList<>();
+		List<ApplicationEvent> receivedByAll = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(new ApplicationListener<MyEvent>() {
+			@Override
+			public void onApplicationEvent(MyEvent event) {
+				received.add(event);
+			}
+		});
+		smc.addApplicationListener(new ApplicationListener<MyOtherEvent>() {
+			@Override
+			public void onApplicationEvent(MyOtherEvent event) {
+				received.add(event);
+			}
+		});
+		smc.addApplicationListener(new ApplicationListener<ApplicationEvent>() {
+			@Override
+			public void onApplicationEvent(ApplicationEvent event) {
+				receivedByAll.add(event);
+			}
+		});
+
+		MyEvent event1 = new MyEvent(this);
+		MyOtherEvent otherEvent = new MyOtherEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvents(Arrays.asList(event1, otherEvent, event2));
+		assertThat(received).containsExactly(event1, otherEvent, event2);
+		assertThat(receivedByAll).containsExactly(event1, otherEvent, event2);
+	}
+
+	@Test
+	public void multicastEventsWithExecutorSubmitsOneTaskPerListener() {
+		List<Runnable> tasks = new ArrayList<>();
+		List<ApplicationEvent> received1 = new ArrayList<>();
+		List<ApplicationEvent> received2 = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.addApplicationListener(new ApplicationListener<MyEvent>() {
+			@Override
+			public void onApplicationEvent(MyEvent event) {
+				received1.add(event);
+			}
+		});
+		smc.addApplicationListener(new ApplicationListener<ApplicationEvent>() {
+			@Override
+			public void onApplicationEvent(ApplicationEvent event) {
+				received2.add(event);
+			}
+		});
+
+		MyEvent event1 = new MyEvent(this);
+		MyOtherEvent otherEvent = new MyOtherEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvents(Arrays.asList(event1, otherEvent, event2));
+		assertThat(tasks).hasSize(2);
+		assertThat(received1).isEmpty();
+		assertThat(received2).isEmpty();
+
+		tasks.forEach(Runnable::run);
+		assertThat(received1).containsExactly(event1, event2);
+		assertThat(received2).containsExactly(event1, otherEvent, event2);
+	}
+
+	@Test
+	public void publishEventsPropagatesToParent() {
+		StaticApplicationContext parent = new StaticApplicationContext();
+		parent.registerSingleton("listener", MyOrderedListener1.class);
+		parent.refresh();
+		StaticApplicationContext context = new StaticApplicationContext(parent);
+		context.registerSingleton("listener", MyOrderedListener1.class);
+		context.refresh();
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		context.publishEvents(Arrays.asList(event1, event2));
+		assertThat(context.getBean(MyOrderedListener1.class).seenEvents).contains(event1, event2);
+		assertThat(parent.getBean(MyOrderedListener1.class).seenEvents).contains(event1, event2);
+
+		context.close();
+		parent.close();
+	}
+
 	@Test
 	public void lambdaAsListenerWithErrorHandler() {
 		final Set<MyEvent> seenEvents = new HashSet<>();
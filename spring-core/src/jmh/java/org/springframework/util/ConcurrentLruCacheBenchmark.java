@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Contention benchmarks for {@link ConcurrentLruCache}, with 1 to 64 threads
+ * looking up keys concurrently.
+ * <p>The {@code keyCount} parameter controls the hit ratio: with fewer keys
+ * than the size limit all lookups are hits, with more keys some lookups
+ * generate new values and evict existing entries.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ConcurrentLruCacheBenchmark {
+
+	@Benchmark
+	@Threads(1)
+	public void lookupSingleThread(CacheState cache, LookupState lookup, Blackhole bh) {
+		bh.consume(cache.cache.get(lookup.nextKey()));
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void lookupFourThreads(CacheState cache, LookupState lookup, Blackhole bh) {
+		bh.consume(cache.cache.get(lookup.nextKey()));
+	}
+
+	@Benchmark
+	@Threads(16)
+	public void lookupSixteenThreads(CacheState cache, LookupState lookup, Blackhole bh) {
+		bh.consume(cache.cache.get(lookup.nextKey()));
+	}
+
+	@Benchmark
+	@Threads(64)
+	public void lookupSixtyFourThreads(CacheState cache, LookupState lookup, Blackhole bh) {
+		bh.consume(cache.cache.get(lookup.nextKey()));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class CacheState {
+
+		@Param("64")
+		int sizeLimit;
+
+		@Param({"32", "128"})
+		int keyCount;
+
+		ConcurrentLruCache<String, String> cache;
+
+		List<String> keys;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.cache = new ConcurrentLruCache<>(this.sizeLimit, key -> key + "value");
+			this.keys = new ArrayList<>(this.keyCount);
+			for (int i = 0; i < this.keyCount; i++) {
+				this.keys.add("key" + i);
+			}
+			this.keys.forEach(this.cache::get);
+		}
+	}
+
+
+	@State(Scope.Thread)
+	public static class LookupState {
+
+		String[] keys;
+
+		int index;
+
+		@Setup(Level.Trial)
+		public void setup(CacheState cache) {
+			// Each thread looks up the keys in its own random order
+			List<String> keys = new ArrayList<>(cache.keys);
+			Random random = new Random();
+			for (int i = keys.size() - 1; i > 0; i--) {
+				keys.set(i, keys.set(random.nextInt(i + 1), keys.get(i)));
+			}
+			this.keys = keys.toArray(new String[0]);
+		}
+
+		String nextKey() {
+			String key = this.keys[this.index];
+			this.index = (this.index + 1) % this.keys.length;
+			return key;
+		}
+	}
+
+}
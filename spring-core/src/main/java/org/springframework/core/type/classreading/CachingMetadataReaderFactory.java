@@ -120,7 +120,7 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = createMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
@@ -129,17 +129,30 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			synchronized (this.metadataReaderCache) {
 				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
+					metadataReader = createMetadataReader(resource);
 					this.metadataReaderCache.put(resource, metadataReader);
 				}
 				return metadataReader;
 			}
 		}
 		else {
-			return super.getMetadataReader(resource);
+			return createMetadataReader(resource);
 		}
 	}
 
+	/**
+	 * Create a new {@link MetadataReader} for the given resource, to be cached
+	 * by this factory.
+	 * <p>The default implementation reads the class file with ASM.
+	 * @param resource the resource (pointing to a ".class" file)
+	 * @return the MetadataReader instance
+	 * @throws IOException in case of I/O failure
+	 * @since 5.3.21
+	 */
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		return super.getMetadataReader(resource);
+	}
+
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
 	 */
@@ -0,0 +1,897 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link CachingMetadataReaderFactory} that additionally persists the class and
+ * annotation metadata read from ".class" files into a cache file, serving the
+ * metadata from that file on subsequent JVM starts without parsing the class
+ * files with ASM.
+ *
+ * <p>Cache entries are keyed by the location of the class file and validated
+ * against its current state: the last-modified timestamp of the jar file and the
+ * CRC and size of the jar entry for classes in jar files, or the last-modified
+ * timestamp and length for classes in the file system. Classes in archives
+ * outside the file system, as well as classes from other locations, are always
+ * read with ASM.
+ *
+ * <p>The entries are stored in a data file next to the cache file, which in turn
+ * only refers to the current data file. The data file is memory-mapped when
+ * loaded, so only the entries actually requested are deserialized. Since a mapped
+ * file cannot be replaced on all platforms, {@link #persist()} always writes a new
+ * data file and then switches the cache file over to it; data files of previous
+ * runs are deleted once they are no longer in use.
+ *
+ * <p>The entries requested since this factory was created are written on
+ * {@link #persist()}, which is implicitly called on {@link #clearCache()}, i.e.
+ * after configuration class processing for an application context. Entries that
+ * have not been requested are dropped, so that the cache file does not keep
+ * metadata of classes that are no longer scanned. Hit and miss counts as well as
+ * the estimated parse time saved are reported through a
+ * {@code "spring.core.metadata-reader.cache"} {@link StartupStep}.
+ *
+ * <p>Only annotations directly present on classes and methods are persisted,
+ * along with their resolved attribute values; meta-annotations are resolved from
+ * the loaded annotation types as usual.
+ *
+ * @since 5.3.21
+ * @see #setApplicationStartup
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private static final int MAGIC = 0x53504d52;
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final String DATA_FILE_SUFFIX = ".data";
+
+	private static final byte STRING = 1;
+
+	private static final byte BOOLEAN = 2;
+
+	private static final byte BYTE = 3;
+
+	private static final byte CHAR = 4;
+
+	private static final byte SHORT = 5;
+
+	private static final byte INT = 6;
+
+	private static final byte LONG = 7;
+
+	private static final byte FLOAT = 8;
+
+	private static final byte DOUBLE = 9;
+
+	private static final byte ENUM = 10;
+
+	private static final byte ANNOTATION = 11;
+
+	private static final byte ARRAY = 12;
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+
+	private final Path cacheFile;
+
+	/** Cache entries by class file location. */
+	private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+	/** Locations of the class files requested since this factory was created. */
+	private final Set<String> requestedLocations = ConcurrentHashMap.newKeySet();
+
+	/** Last-modified timestamps of the jar files seen so far. */
+	private final Map<String, Long> archiveLastModified = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean modified = new AtomicBoolean();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder parseNanosSaved = new LongAdder();
+
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader,
+	 * using a local resource cache.
+	 * @param cacheFile the file to persist the metadata to
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile) {
+		super();
+		this.cacheFile = cacheFile;
+		loadCacheFile();
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given
+	 * {@link ResourceLoader}, using a shared resource cache if supported or a
+	 * local resource cache otherwise.
+	 * @param cacheFile the file to persist the metadata to
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		this.cacheFile = cacheFile;
+		loadCacheFile();
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ClassLoader},
+	 * using a local resource cache.
+	 * @param cacheFile the file to persist the metadata to
+	 * @param classLoader the ClassLoader to use
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		this.cacheFile = cacheFile;
+		loadCacheFile();
+	}
+
+
+	/**
+	 * Set the {@link ApplicationStartup} to report cache statistics to.
+	 * <p>Default is {@link ApplicationStartup#DEFAULT}, i.e. no reporting.
+	 */
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	/**
+	 * Return the file that the metadata is persisted to.
+	 */
+	public Path getCacheFile() {
+		return this.cacheFile;
+	}
+
+	/**
+	 * Return the number of class files served from the cache file so far.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of class files read with ASM so far.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the estimated time saved by not parsing class files with ASM so far,
+	 * based on the parse time recorded for each cache entry.
+	 */
+	public long getParseNanosSaved() {
+		return this.parseNanosSaved.sum();
+	}
+
+
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		CacheKey key = getCacheKey(resource);
+		if (key == null) {
+			return super.createMetadataReader(resource);
+		}
+		this.requestedLocations.add(key.location);
+		CacheEntry entry = this.entries.get(key.location);
+		if (entry != null && entry.version.equals(key.version)) {
+			long startTime = System.nanoTime();
+			try {
+				AnnotationMetadata metadata = readMetadata(
+						new DataInputStream(new ByteBufferInputStream(entry.getData())), getClassLoader());
+				this.hitCount.increment();
+				this.parseNanosSaved.add(entry.parseNanos - (System.nanoTime() - startTime));
+				return new PersistentMetadataReader(resource, metadata);
+			}
+			catch (IOException | ClassNotFoundException | RuntimeException | LinkageError ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to read cached metadata for " + resource + " - reading class file", ex);
+				}
+			}
+		}
+		this.missCount.increment();
+		long startTime = System.nanoTime();
+		MetadataReader metadataReader = super.createMetadataReader(resource);
+		long parseNanos = System.nanoTime() - startTime;
+		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+		if (metadata instanceof SimpleAnnotationMetadata) {
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+				writeMetadata(new DataOutputStream(out), (SimpleAnnotationMetadata) metadata);
+				this.entries.put(key.location, new CacheEntry(key.version, parseNanos, out.toByteArray()));
+				this.modified.set(true);
+			}
+			catch (IllegalArgumentException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Cannot persist metadata for " + resource + ": " + ex.getMessage());
+				}
+			}
+		}
+		return metadataReader;
+	}
+
+	/**
+	 * Report the cache statistics, persist new entries to the cache file and
+	 * clear the in-memory {@code MetadataReader} cache.
+	 * <p>Failures to write the cache file are logged and otherwise ignored.
+	 * @see #persist()
+	 */
+	@Override
+	public void clearCache() {
+		StartupStep step = this.applicationStartup.start("spring.core.metadata-reader.cache");
+		long hits = getHitCount();
+		long misses = getMissCount();
+		step.tag("cacheFile", this.cacheFile.toString());
+		step.tag("hits", String.valueOf(hits));
+		step.tag("misses", String.valueOf(misses));
+		step.tag("hitRatio", String.valueOf(hits + misses > 0 ? (double) hits / (hits + misses) : 0));
+		step.tag("parseTimeSavedMillis", String.valueOf(getParseNanosSaved() / 1_000_000));
+		try {
+			persist();
+		}
+		catch (IOException ex) {
+			step.tag("persistFailed", "true");
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to persist class metadata to " + this.cacheFile, ex);
+			}
+		}
+		finally {
+			step.end();
+		}
+		super.clearCache();
+	}
+
+	/**
+	 * Write the entries requested since this factory was created to a new data
+	 * file and switch the cache file over to it, if any entries have been added,
+	 * replaced or dropped since the cache file was loaded or last written.
+	 * <p>The cache file is replaced atomically where supported by the file system.
+	 * The previous data file is deleted where possible, i.e. unless it is still
+	 * mapped on a platform that does not allow for deleting mapped files.
+	 * @throws IOException in case of I/O failure
+	 */
+	public void persist() throws IOException {
+		boolean pruned = this.entries.keySet().retainAll(this.requestedLocations);
+		if (!this.modified.compareAndSet(true, false) && !pruned) {
+			return;
+		}
+		Path directory = this.cacheFile.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		String prefix = this.cacheFile.getFileName() + ".";
+		Path dataFile = Files.createTempFile(directory, prefix, DATA_FILE_SUFFIX);
+		Path tempFile = null;
+		try {
+			List<Map.Entry<String, CacheEntry>> entries = new ArrayList<>(this.entries.entrySet());
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, CacheEntry> entry : entries) {
+					CacheEntry cacheEntry = entry.getValue();
+					out.writeUTF(entry.getKey());
+					out.writeUTF(cacheEntry.version);
+					out.writeLong(cacheEntry.parseNanos);
+					byte[] data = cacheEntry.getBytes();
+					out.writeInt(data.length);
+					out.write(data);
+				}
+			}
+			tempFile = Files.createTempFile(directory, prefix, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(dataFile.getFileName().toString());
+			}
+			try {
+				Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException | RuntimeException ex) {
+			this.modified.set(true);
+			Files.deleteIfExists(dataFile);
+			if (tempFile != null) {
+				Files.deleteIfExists(tempFile);
+			}
+			throw ex;
+		}
+		deletePreviousDataFiles(directory, prefix, dataFile);
+	}
+
+	@Nullable
+	private ClassLoader getClassLoader() {
+		return getResourceLoader().getClassLoader();
+	}
+
+	private void loadCacheFile() {
+		if (!Files.isRegularFile(this.cacheFile)) {
+			return;
+		}
+		Path dataFile;
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(this.cacheFile))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring class metadata cache file in unsupported format: " + this.cacheFile);
+				}
+				return;
+			}
+			dataFile = this.cacheFile.toAbsolutePath().resolveSibling(in.readUTF());
+		}
+		catch (IOException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Ignoring unreadable class metadata cache file " + this.cacheFile, ex);
+			}
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer));
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring class metadata data file in unsupported format: " + dataFile);
+				}
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String location = in.readUTF();
+				String version = in.readUTF();
+				long parseNanos = in.readLong();
+				int length = in.readInt();
+				int position = buffer.position();
+				ByteBuffer data = buffer.duplicate();
+				((Buffer) data).limit(position + length);
+				((Buffer) data).position(position);
+				this.entries.put(location, new CacheEntry(version, parseNanos, data.slice()));
+				((Buffer) buffer).position(position + length);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded " + count + " class metadata entries from " + dataFile);
+			}
+		}
+		catch (IOException | RuntimeException ex) {
+			this.entries.clear();
+			if (logger.isWarnEnabled()) {
+				logger.warn("Ignoring unreadable class metadata data file " + dataFile, ex);
+			}
+		}
+	}
+
+	/**
+	 * Delete the data files written for the cache file before the given one.
+	 * <p>Failures are ignored: a data file that is still mapped, by this factory
+	 * or by another process, cannot be deleted on all platforms and is deleted
+	 * on a later call instead.
+	 */
+	private void deletePreviousDataFiles(Path directory, String prefix, Path currentDataFile) {
+		DirectoryStream.Filter<Path> filter = file -> {
+			String fileName = file.getFileName().toString();
+			return (fileName.startsWith(prefix) && fileName.endsWith(DATA_FILE_SUFFIX) && !file.equals(currentDataFile));
+		};
+		try (DirectoryStream<Path> dataFiles = Files.newDirectoryStream(directory, filter)) {
+			for (Path dataFile : dataFiles) {
+				try {
+					Files.deleteIfExists(dataFile);
+				}
+				catch (IOException ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Cannot delete previous class metadata data file " + dataFile + ": " + ex);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot delete previous class metadata data files in " + directory + ": " + ex);
+			}
+		}
+	}
+
+	/**
+	 * Determine the cache key for the given class file resource.
+	 * @return the cache key, or {@code null} if the resource cannot be validated
+	 */
+	@Nullable
+	private CacheKey getCacheKey(Resource resource) {
+		try {
+			if (resource.isFile()) {
+				File file = resource.getFile();
+				return new CacheKey(file.getAbsolutePath(), file.lastModified() + ":" + file.length());
+			}
+			URL url = resource.getURL();
+			long lastModified = (ResourceUtils.isJarURL(url) ? getArchiveLastModified(url) : 0);
+			if (lastModified != 0) {
+				URLConnection con = url.openConnection();
+				if (con instanceof JarURLConnection) {
+					JarURLConnection jarCon = (JarURLConnection) con;
+					ResourceUtils.useCachesIfNecessary(jarCon);
+					JarEntry jarEntry = jarCon.getJarEntry();
+					if (jarEntry != null && jarEntry.getCrc() != -1) {
+						return new CacheKey(url.toString(),
+								lastModified + ":" + jarEntry.getCrc() + ":" + jarEntry.getSize());
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cannot determine cache key for " + resource, ex);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Determine the last-modified timestamp of the archive containing the given
+	 * jar entry.
+	 * @return the timestamp, or {@code 0} if the archive is not in the file system
+	 * and its modifications can therefore not be detected
+	 */
+	private long getArchiveLastModified(URL jarUrl) throws IOException {
+		URL archiveUrl = ResourceUtils.extractArchiveURL(jarUrl);
+		String archiveLocation = archiveUrl.toString();
+		Long lastModified = this.archiveLastModified.get(archiveLocation);
+		if (lastModified == null) {
+			lastModified = (ResourceUtils.isFileURL(archiveUrl) ?
+					ResourceUtils.getFile(archiveUrl).lastModified() : 0);
+			this.archiveLastModified.put(archiveLocation, lastModified);
+		}
+		return lastModified;
+	}
+
+
+	private static void writeMetadata(DataOutput out, SimpleAnnotationMetadata metadata) throws IOException {
+		out.writeUTF(metadata.getClassName());
+		out.writeInt(metadata.getAccess());
+		writeNullableString(out, metadata.getEnclosingClassName());
+		writeNullableString(out, metadata.getSuperClassName());
+		out.writeBoolean(metadata.isIndependent());
+		writeStrings(out, metadata.getInterfaceNames());
+		writeStrings(out, metadata.getMemberClassNames());
+		writeAnnotations(out, metadata.getAnnotations());
+		MethodMetadata[] annotatedMethods = metadata.getAnnotatedMethods();
+		out.writeInt(annotatedMethods.length);
+		for (MethodMetadata annotatedMethod : annotatedMethods) {
+			SimpleMethodMetadata method = (SimpleMethodMetadata) annotatedMethod;
+			out.writeUTF(method.getMethodName());
+			out.writeInt(method.getAccess());
+			out.writeUTF(method.getReturnTypeName());
+			out.writeUTF(((SimpleMethodMetadataReadingVisitor.Source) method.getSource()).getDescriptor());
+			writeAnnotations(out, method.getAnnotations());
+		}
+	}
+
+	private static AnnotationMetadata readMetadata(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		String className = in.readUTF();
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		String[] interfaceNames = readStrings(in);
+		String[] memberClassNames = readStrings(in);
+		MergedAnnotations annotations = readAnnotations(in, classLoader,
+				new SimpleAnnotationMetadataReadingVisitor.Source(className));
+		MethodMetadata[] annotatedMethods = new MethodMetadata[in.readInt()];
+		for (int i = 0; i < annotatedMethods.length; i++) {
+			String methodName = in.readUTF();
+			int methodAccess = in.readInt();
+			String returnTypeName = in.readUTF();
+			String descriptor = in.readUTF();
+			Object source = new SimpleMethodMetadataReadingVisitor.Source(className, methodName, descriptor);
+			annotatedMethods[i] = new SimpleMethodMetadata(methodName, methodAccess, className, returnTypeName,
+					source, readAnnotations(in, classLoader, source));
+		}
+		return new SimpleAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames, annotatedMethods, annotations);
+	}
+
+	private static void writeAnnotations(DataOutput out, MergedAnnotations annotations) throws IOException {
+		List<MergedAnnotation<Annotation>> directAnnotations = new ArrayList<>();
+		annotations.stream().filter(annotation -> annotation.getDistance() == 0).forEach(directAnnotations::add);
+		out.writeInt(directAnnotations.size());
+		for (MergedAnnotation<Annotation> annotation : directAnnotations) {
+			out.writeUTF(annotation.getType().getName());
+			writeAttributes(out, annotation.asMap(Adapt.CLASS_TO_STRING, Adapt.ANNOTATION_TO_MAP));
+		}
+	}
+
+	private static MergedAnnotations readAnnotations(DataInput in, @Nullable ClassLoader classLoader, Object source)
+			throws IOException, ClassNotFoundException {
+
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Class<Annotation> annotationType = resolveClass(in.readUTF(), classLoader);
+			annotations.add(MergedAnnotation.of(classLoader, source, annotationType, readAttributes(in, classLoader)));
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	private static void writeAttributes(DataOutput out, Map<String, Object> attributes) throws IOException {
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+			out.writeUTF(attribute.getKey());
+			Object value = attribute.getValue();
+			Class<?> type = value.getClass();
+			if (type.isArray()) {
+				Class<?> componentType = type.getComponentType();
+				byte tag = getTag(componentType);
+				out.writeByte(ARRAY);
+				out.writeByte(tag);
+				if (tag == ENUM) {
+					out.writeUTF(componentType.getName());
+				}
+				int length = Array.getLength(value);
+				out.writeInt(length);
+				for (int i = 0; i < length; i++) {
+					writeValue(out, tag, Array.get(value, i));
+				}
+			}
+			else {
+				byte tag = getTag(type);
+				out.writeByte(tag);
+				if (tag == ENUM) {
+					out.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+				}
+				writeValue(out, tag, value);
+			}
+		}
+	}
+
+	private static Map<String, Object> readAttributes(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		int count = in.readInt();
+		Map<String, Object> attributes = new LinkedHashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			byte tag = in.readByte();
+			if (tag == ARRAY) {
+				byte componentTag = in.readByte();
+				Class<?> enumType = (componentTag == ENUM ? resolveClass(in.readUTF(), classLoader) : null);
+				int length = in.readInt();
+				Object array = Array.newInstance(getArrayComponentType(componentTag, enumType), length);
+				for (int j = 0; j < length; j++) {
+					Array.set(array, j, readValue(in, componentTag, enumType, classLoader));
+				}
+				attributes.put(name, array);
+			}
+			else {
+				Class<?> enumType = (tag == ENUM ? resolveClass(in.readUTF(), classLoader) : null);
+				attributes.put(name, readValue(in, tag, enumType, classLoader));
+			}
+		}
+		return attributes;
+	}
+
+	private static byte getTag(Class<?> type) {
+		if (type == String.class) {
+			return STRING;
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return BOOLEAN;
+		}
+		if (type == byte.class || type == Byte.class) {
+			return BYTE;
+		}
+		if (type == char.class || type == Character.class) {
+			return CHAR;
+		}
+		if (type == short.class || type == Short.class) {
+			return SHORT;
+		}
+		if (type == int.class || type == Integer.class) {
+			return INT;
+		}
+		if (type == long.class || type == Long.class) {
+			return LONG;
+		}
+		if (type == float.class || type == Float.class) {
+			return FLOAT;
+		}
+		if (type == double.class || type == Double.class) {
+			return DOUBLE;
+		}
+		if (Enum.class.isAssignableFrom(type)) {
+			return ENUM;
+		}
+		if (Map.class.isAssignableFrom(type)) {
+			return ANNOTATION;
+		}
+		throw new IllegalArgumentException("Unsupported annotation attribute type [" + type.getName() + "]");
+	}
+
+	private static Class<?> getArrayComponentType(byte tag, @Nullable Class<?> enumType) throws IOException {
+		switch (tag) {
+			case STRING: return String.class;
+			case BOOLEAN: return boolean.class;
+			case BYTE: return byte.class;
+			case CHAR: return char.class;
+			case SHORT: return short.class;
+			case INT: return int.class;
+			case LONG: return long.class;
+			case FLOAT: return float.class;
+			case DOUBLE: return double.class;
+			case ENUM:
+				Assert.state(enumType != null, "No enum type");
+				return enumType;
+			case ANNOTATION: return Map.class;
+			default: throw new IOException("Unknown attribute value tag: " + tag);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeValue(DataOutput out, byte tag, Object value) throws IOException {
+		switch (tag) {
+			case STRING: out.writeUTF((String) value); break;
+			case BOOLEAN: out.writeBoolean((Boolean) value); break;
+			case BYTE: out.writeByte((Byte) value); break;
+			case CHAR: out.writeChar((Character) value); break;
+			case SHORT: out.writeShort((Short) value); break;
+			case INT: out.writeInt((Integer) value); break;
+			case LONG: out.writeLong((Long) value); break;
+			case FLOAT: out.writeFloat((Float) value); break;
+			case DOUBLE: out.writeDouble((Double) value); break;
+			case ENUM: out.writeUTF(((Enum<?>) value).name()); break;
+			case ANNOTATION: writeAttributes(out, (Map<String, Object>) value); break;
+			default: throw new IllegalArgumentException("Unknown attribute value tag: " + tag);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object readValue(DataInput in, byte tag, @Nullable Class<?> enumType,
+			@Nullable ClassLoader classLoader) throws IOException, ClassNotFoundException {
+
+		switch (tag) {
+			case STRING: return in.readUTF();
+			case BOOLEAN: return in.readBoolean();
+			case BYTE: return in.readByte();
+			case CHAR: return in.readChar();
+			case SHORT: return in.readShort();
+			case INT: return in.readInt();
+			case LONG: return in.readLong();
+			case FLOAT: return in.readFloat();
+			case DOUBLE: return in.readDouble();
+			case ENUM:
+				Assert.state(enumType != null, "No enum type");
+				return Enum.valueOf((Class<Enum>) enumType, in.readUTF());
+			case ANNOTATION: return readAttributes(in, classLoader);
+			default: throw new IOException("Unknown attribute value tag: " + tag);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Class<T> resolveClass(String className, @Nullable ClassLoader classLoader)
+			throws ClassNotFoundException {
+
+		return (Class<T>) ClassUtils.forName(className, classLoader);
+	}
+
+	private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStrings(DataOutput out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStrings(DataInput in) throws IOException {
+		String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+
+	/**
+	 * Location of a class file along with the state it was read in.
+	 */
+	private static final class CacheKey {
+
+		final String location;
+
+		final String version;
+
+		CacheKey(String location, String version) {
+			this.location = location;
+			this.version = version;
+		}
+	}
+
+
+	/**
+	 * Serialized metadata for a class file, either mapped from the cache file
+	 * or read in the current JVM.
+	 */
+	private static final class CacheEntry {
+
+		final String version;
+
+		final long parseNanos;
+
+		@Nullable
+		private final ByteBuffer mappedData;
+
+		@Nullable
+		private final byte[] bytes;
+
+		CacheEntry(String version, long parseNanos, ByteBuffer mappedData) {
+			this.version = version;
+			this.parseNanos = parseNanos;
+			this.mappedData = mappedData;
+			this.bytes = null;
+		}
+
+		CacheEntry(String version, long parseNanos, byte[] bytes) {
+			this.version = version;
+			this.parseNanos = parseNanos;
+			this.mappedData = null;
+			this.bytes = bytes;
+		}
+
+		ByteBuffer getData() {
+			return (this.mappedData != null ? this.mappedData.duplicate() : ByteBuffer.wrap(getBytes()));
+		}
+
+		byte[] getBytes() {
+			if (this.bytes != null) {
+				return this.bytes;
+			}
+			Assert.state(this.mappedData != null, "No data");
+			ByteBuffer data = this.mappedData.duplicate();
+			byte[] bytes = new byte[data.remaining()];
+			data.get(bytes);
+			return bytes;
+		}
+	}
+
+
+	/**
+	 * {@link InputStream} reading directly from a {@link ByteBuffer}.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, this.buffer.remaining());
+			this.buffer.get(bytes, off, count);
+			return count;
+		}
+	}
+
+
+	/**
+	 * {@link MetadataReader} for metadata served from the cache file.
+	 */
+	private static final class PersistentMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadata annotationMetadata;
+
+		PersistentMetadataReader(Resource resource, AnnotationMetadata annotationMetadata) {
+			this.resource = resource;
+			this.annotationMetadata = annotationMetadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.annotationMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.annotationMetadata;
+		}
+	}
+
+}
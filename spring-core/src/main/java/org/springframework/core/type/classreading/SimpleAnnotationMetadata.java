@@ -80,6 +80,10 @@ final class SimpleAnnotationMetadata implements AnnotationMetadata {
 		return this.className;
 	}
 
+	int getAccess() {
+		return this.access;
+	}
+
 	@Override
 	public boolean isInterface() {
 		return (this.access & Opcodes.ACC_INTERFACE) != 0;
@@ -143,6 +147,10 @@ final class SimpleAnnotationMetadata implements AnnotationMetadata {
 		return annotationTypes;
 	}
 
+	MethodMetadata[] getAnnotatedMethods() {
+		return this.annotatedMethods;
+	}
+
 	@Override
 	public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
 		Set<MethodMetadata> annotatedMethods = null;
@@ -71,6 +71,14 @@ final class SimpleMethodMetadata implements MethodMetadata {
 		return this.returnTypeName;
 	}
 
+	int getAccess() {
+		return this.access;
+	}
+
+	Object getSource() {
+		return this.source;
+	}
+
 	@Override
 	public boolean isAbstract() {
 		return (this.access & Opcodes.ACC_ABSTRACT) != 0;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,35 @@
 
 package org.springframework.util;
 
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
  *
  * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
- * the cached values and a {@code ConcurrentLinkedDeque} for ordering the keys
- * and choosing the least recently used key when the cache is at full capacity.
+ * the cached values and a doubly linked eviction queue for ordering the entries
+ * and choosing the least recently used entry when the cache is at full capacity.
+ *
+ * <p>Reads never block: a cache hit is recorded in one of several striped,
+ * lossy read buffers, and writes are recorded in a write buffer. Both buffers
+ * are drained into the eviction queue by whichever thread manages to acquire
+ * the eviction lock, in batches, instead of updating the queue on every access.
+ * The recency order is therefore approximate under heavy contention, while the
+ * size limit is enforced as soon as pending writes are drained.
+ *
+ * <p>Hit, miss and eviction counts are recorded for monitoring purposes.
  *
  * @author Brian Clozel
  * @author Juergen Hoeller
@@ -42,13 +59,25 @@ public class ConcurrentLruCache<K, V> {
 
 	private final Function<K, V> generator;
 
-	private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+	private final ConcurrentMap<K, Node<K, V>> cache = new ConcurrentHashMap<>(16, 0.75f, 16);
+
+	private final AtomicInteger currentSize = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final EvictionQueue<K, V> evictionQueue = new EvictionQueue<>();
+
+	private final ReadOperations<K, V> readOperations = new ReadOperations<>(this.evictionQueue);
 
-	private final ConcurrentLinkedDeque<K> queue = new ConcurrentLinkedDeque<>();
+	private final WriteOperations writeOperations = new WriteOperations();
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicReference<DrainStatus> drainStatus = new AtomicReference<>(DrainStatus.IDLE);
 
-	private volatile int size;
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
 
 
 	/**
@@ -75,49 +104,60 @@ public class ConcurrentLruCache<K, V> {
 		if (this.sizeLimit == 0) {
 			return this.generator.apply(key);
 		}
+		Node<K, V> node = this.cache.get(key);
+		if (node == null) {
+			this.missCount.increment();
+			V value = this.generator.apply(key);
+			put(key, value);
+			return value;
+		}
+		this.hitCount.increment();
+		processRead(node);
+		return node.getValue();
+	}
 
-		V cached = this.cache.get(key);
-		if (cached != null) {
-			if (this.size < this.sizeLimit) {
-				return cached;
-			}
-			this.lock.readLock().lock();
+	private void put(K key, V value) {
+		Node<K, V> node = new Node<>(key, new CacheEntry<>(value, CacheEntryState.ACTIVE));
+		Node<K, V> prior = this.cache.putIfAbsent(key, node);
+		if (prior == null) {
+			processWrite(new AddTask(node));
+		}
+		else {
+			// Generated concurrently by another thread: keep the existing entry
+			processRead(prior);
+		}
+	}
+
+	private void processRead(Node<K, V> node) {
+		boolean drainRequested = this.readOperations.recordRead(node);
+		if (this.drainStatus.get().shouldDrainBuffers(drainRequested)) {
+			drainOperations();
+		}
+	}
+
+	private void processWrite(Runnable task) {
+		this.writeOperations.add(task);
+		this.drainStatus.lazySet(DrainStatus.REQUIRED);
+		drainOperations();
+	}
+
+	private void drainOperations() {
+		if (this.evictionLock.tryLock()) {
 			try {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
-				}
-				return cached;
+				this.drainStatus.lazySet(DrainStatus.PROCESSING);
+				this.readOperations.drain();
+				this.writeOperations.drain();
 			}
 			finally {
-				this.lock.readLock().unlock();
-			}
-		}
-
-		this.lock.writeLock().lock();
-		try {
-			// Retrying in case of concurrent reads on the same key
-			cached = this.cache.get(key);
-			if (cached != null) {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
+				if (this.writeOperations.isEmpty()) {
+					this.drainStatus.compareAndSet(DrainStatus.PROCESSING, DrainStatus.IDLE);
 				}
-				return cached;
-			}
-			// Generate value first, to prevent size inconsistency
-			V value = this.generator.apply(key);
-			if (this.size == this.sizeLimit) {
-				K leastUsed = this.queue.poll();
-				if (leastUsed != null) {
-					this.cache.remove(leastUsed);
+				else {
+					// More writes pending than drained in one batch: keep draining on subsequent reads
+					this.drainStatus.lazySet(DrainStatus.REQUIRED);
 				}
+				this.evictionLock.unlock();
 			}
-			this.queue.offer(key);
-			this.cache.put(key, value);
-			this.size = this.cache.size();
-			return value;
-		}
-		finally {
-			this.lock.writeLock().unlock();
 		}
 	}
 
@@ -138,30 +178,32 @@ public class ConcurrentLruCache<K, V> {
 	 * {@code false} if there was no matching key
 	 */
 	public boolean remove(K key) {
-		this.lock.writeLock().lock();
-		try {
-			boolean wasPresent = (this.cache.remove(key) != null);
-			this.queue.remove(key);
-			this.size = this.cache.size();
-			return wasPresent;
-		}
-		finally {
-			this.lock.writeLock().unlock();
+		Node<K, V> node = this.cache.remove(key);
+		if (node == null) {
+			return false;
 		}
+		markForRemoval(node);
+		processWrite(new RemovalTask(node));
+		return true;
 	}
 
 	/**
 	 * Immediately remove all entries from this cache.
 	 */
 	public void clear() {
-		this.lock.writeLock().lock();
+		this.evictionLock.lock();
 		try {
-			this.cache.clear();
-			this.queue.clear();
-			this.size = 0;
+			// Apply pending additions and removals first, so that all entries are linked
+			this.writeOperations.drainAll();
+			Node<K, V> node;
+			while ((node = this.evictionQueue.poll()) != null) {
+				this.cache.remove(node.key, node);
+				markAsRemoved(node);
+			}
+			this.readOperations.clear();
 		}
 		finally {
-			this.lock.writeLock().unlock();
+			this.evictionLock.unlock();
 		}
 	}
 
@@ -170,7 +212,7 @@ public class ConcurrentLruCache<K, V> {
 	 * @see #sizeLimit()
 	 */
 	public int size() {
-		return this.size;
+		return this.currentSize.get();
 	}
 
 	/**
@@ -182,4 +224,449 @@ public class ConcurrentLruCache<K, V> {
 		return this.sizeLimit;
 	}
 
+	/**
+	 * Return the number of times {@link #get} found a cached value.
+	 * @since 5.3.21
+	 */
+	public long hitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of times {@link #get} had to generate a new value
+	 * (not including calls on a cache with a size limit of 0).
+	 * @since 5.3.21
+	 */
+	public long missCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries evicted because the cache was at full
+	 * capacity (not including explicit {@link #remove} or {@link #clear} calls).
+	 * @since 5.3.21
+	 */
+	public long evictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	/*
+	 * Eviction lock must be held by the caller.
+	 */
+	private void evictEntries() {
+		while (this.currentSize.get() > this.sizeLimit) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			if (this.cache.remove(node.key, node)) {
+				this.evictionCount.increment();
+			}
+			markAsRemoved(node);
+		}
+	}
+
+	private void markForRemoval(Node<K, V> node) {
+		for (;;) {
+			CacheEntry<V> current = node.get();
+			if (!current.isActive()) {
+				return;
+			}
+			CacheEntry<V> pendingRemoval = new CacheEntry<>(current.value, CacheEntryState.PENDING_REMOVAL);
+			if (node.compareAndSet(current, pendingRemoval)) {
+				return;
+			}
+		}
+	}
+
+	private void markAsRemoved(Node<K, V> node) {
+		for (;;) {
+			CacheEntry<V> current = node.get();
+			if (current.state == CacheEntryState.REMOVED) {
+				return;
+			}
+			CacheEntry<V> removed = new CacheEntry<>(current.value, CacheEntryState.REMOVED);
+			if (node.compareAndSet(current, removed)) {
+				this.currentSize.lazySet(this.currentSize.get() - 1);
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Write operation recorded when a new entry is added to the cache.
+	 */
+	private final class AddTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		AddTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			currentSize.lazySet(currentSize.get() + 1);
+			// An entry removed before this task got drained is never linked,
+			// its RemovalTask takes care of the size
+			if (this.node.get().isActive()) {
+				evictionQueue.add(this.node);
+				evictEntries();
+			}
+		}
+	}
+
+
+	/**
+	 * Write operation recorded when an entry is removed from the cache.
+	 */
+	private final class RemovalTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		RemovalTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			evictionQueue.remove(this.node);
+			markAsRemoved(this.node);
+		}
+	}
+
+
+	/**
+	 * Status of the buffer draining, used to decide whether reads should trigger a drain.
+	 */
+	private enum DrainStatus {
+
+		/*
+		 * No drain operation currently running.
+		 */
+		IDLE {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return !delayable;
+			}
+		},
+
+		/*
+		 * A drain operation is required due to a pending write modification.
+		 */
+		REQUIRED {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return true;
+			}
+		},
+
+		/*
+		 * A drain operation is in progress.
+		 */
+		PROCESSING {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return false;
+			}
+		};
+
+		/**
+		 * Determine whether the buffers should be drained.
+		 * @param delayable if a drain should be delayed until required
+		 * @return if a drain should be attempted
+		 */
+		abstract boolean shouldDrainBuffers(boolean delayable);
+	}
+
+
+	private enum CacheEntryState {
+
+		ACTIVE, PENDING_REMOVAL, REMOVED
+	}
+
+
+	private static final class CacheEntry<V> {
+
+		final V value;
+
+		final CacheEntryState state;
+
+		CacheEntry(V value, CacheEntryState state) {
+			this.value = value;
+			this.state = state;
+		}
+
+		boolean isActive() {
+			return (this.state == CacheEntryState.ACTIVE);
+		}
+	}
+
+
+	/**
+	 * Striped, lossy buffers recording cache hits, so that reads do not contend
+	 * on the eviction queue. Each buffer is written by the threads hashed to it
+	 * and drained under the eviction lock.
+	 */
+	private static final class ReadOperations<K, V> {
+
+		private static final int BUFFER_COUNT = detectNumberOfBuffers();
+
+		private static final int BUFFERS_MASK = BUFFER_COUNT - 1;
+
+		private static final int MAX_PENDING_OPERATIONS = 32;
+
+		private static final int MAX_DRAIN_COUNT = 2 * MAX_PENDING_OPERATIONS;
+
+		private static final int BUFFER_SIZE = 2 * MAX_DRAIN_COUNT;
+
+		private static final int BUFFER_INDEX_MASK = BUFFER_SIZE - 1;
+
+		/*
+		 * Number of operations recorded, for each buffer.
+		 */
+		private final AtomicLongArray recordedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		/*
+		 * Number of operations read, for each buffer.
+		 */
+		private final long[] readCount = new long[BUFFER_COUNT];
+
+		/*
+		 * Number of operations processed, for each buffer.
+		 */
+		private final AtomicLongArray processedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		private final AtomicReferenceArray<Node<K, V>>[] buffers = new AtomicReferenceArray[BUFFER_COUNT];
+
+		private final EvictionQueue<K, V> evictionQueue;
+
+		ReadOperations(EvictionQueue<K, V> evictionQueue) {
+			this.evictionQueue = evictionQueue;
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+			}
+		}
+
+		private static int detectNumberOfBuffers() {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int nextPowerOfTwo = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(availableProcessors - 1));
+			return Math.min(4, nextPowerOfTwo);
+		}
+
+		private static int getBufferIndex() {
+			return ((int) Thread.currentThread().getId()) & BUFFERS_MASK;
+		}
+
+		/**
+		 * Record a read of the given node.
+		 * @return {@code true} if draining can be delayed, {@code false} if the
+		 * buffer has enough pending operations to be drained
+		 */
+		boolean recordRead(Node<K, V> node) {
+			int bufferIndex = getBufferIndex();
+			long counter = this.recordedCount.get(bufferIndex);
+			this.recordedCount.lazySet(bufferIndex, counter + 1);
+			int index = (int) (counter & BUFFER_INDEX_MASK);
+			this.buffers[bufferIndex].lazySet(index, node);
+			long pending = (counter - this.processedCount.get(bufferIndex));
+			return (pending < MAX_PENDING_OPERATIONS);
+		}
+
+		/*
+		 * Eviction lock must be held by the caller.
+		 */
+		void drain() {
+			int start = (int) Thread.currentThread().getId();
+			int end = start + BUFFER_COUNT;
+			for (int i = start; i < end; i++) {
+				drainReadBuffer(i & BUFFERS_MASK);
+			}
+		}
+
+		/*
+		 * Eviction lock must be held by the caller.
+		 */
+		void clear() {
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[i];
+				for (int j = 0; j < BUFFER_SIZE; j++) {
+					buffer.lazySet(j, null);
+				}
+				this.readCount[i] = this.recordedCount.get(i);
+				this.processedCount.lazySet(i, this.readCount[i]);
+			}
+		}
+
+		private void drainReadBuffer(int bufferIndex) {
+			long writeCount = this.recordedCount.get(bufferIndex);
+			for (int i = 0; i < MAX_DRAIN_COUNT; i++) {
+				int index = (int) (this.readCount[bufferIndex] & BUFFER_INDEX_MASK);
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[bufferIndex];
+				Node<K, V> node = buffer.get(index);
+				if (node == null) {
+					break;
+				}
+				buffer.lazySet(index, null);
+				this.evictionQueue.moveToBack(node);
+				this.readCount[bufferIndex]++;
+			}
+			this.processedCount.lazySet(bufferIndex, writeCount);
+		}
+	}
+
+
+	/**
+	 * Buffer of pending write operations, applied to the eviction queue
+	 * under the eviction lock.
+	 */
+	private static final class WriteOperations {
+
+		private static final int DRAIN_THRESHOLD = 16;
+
+		private final Queue<Runnable> operations = new ConcurrentLinkedQueue<>();
+
+		void add(Runnable task) {
+			this.operations.add(task);
+		}
+
+		boolean isEmpty() {
+			return this.operations.isEmpty();
+		}
+
+		/*
+		 * Eviction lock must be held by the caller.
+		 */
+		void drain() {
+			for (int i = 0; i < DRAIN_THRESHOLD; i++) {
+				Runnable task = this.operations.poll();
+				if (task == null) {
+					break;
+				}
+				task.run();
+			}
+		}
+
+		/*
+		 * Eviction lock must be held by the caller.
+		 */
+		void drainAll() {
+			Runnable task;
+			while ((task = this.operations.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	private static final class Node<K, V> extends AtomicReference<CacheEntry<V>> {
+
+		final K key;
+
+		@Nullable
+		Node<K, V> prev;
+
+		@Nullable
+		Node<K, V> next;
+
+		Node(K key, CacheEntry<V> cacheEntry) {
+			super(cacheEntry);
+			this.key = key;
+		}
+
+		V getValue() {
+			return get().value;
+		}
+	}
+
+
+	/**
+	 * Doubly linked queue of cache nodes, in access order from least to most
+	 * recently used. Not thread-safe: guarded by the eviction lock.
+	 */
+	private static final class EvictionQueue<K, V> {
+
+		@Nullable
+		Node<K, V> first;
+
+		@Nullable
+		Node<K, V> last;
+
+		@Nullable
+		Node<K, V> poll() {
+			if (this.first == null) {
+				return null;
+			}
+			Node<K, V> f = this.first;
+			Node<K, V> next = f.next;
+			f.next = null;
+			this.first = next;
+			if (next == null) {
+				this.last = null;
+			}
+			else {
+				next.prev = null;
+			}
+			return f;
+		}
+
+		void add(Node<K, V> e) {
+			if (!isLinked(e)) {
+				linkLast(e);
+			}
+		}
+
+		void remove(Node<K, V> e) {
+			if (isLinked(e)) {
+				unlink(e);
+			}
+		}
+
+		void moveToBack(Node<K, V> e) {
+			if (isLinked(e) && e != this.last) {
+				unlink(e);
+				linkLast(e);
+			}
+		}
+
+		boolean isLinked(Node<K, V> e) {
+			return (e.prev != null || e.next != null || e == this.first);
+		}
+
+		private void linkLast(Node<K, V> e) {
+			Node<K, V> l = this.last;
+			this.last = e;
+			if (l == null) {
+				this.first = e;
+			}
+			else {
+				l.next = e;
+				e.prev = l;
+			}
+		}
+
+		private void unlink(Node<K, V> e) {
+			Node<K, V> prev = e.prev;
+			Node<K, V> next = e.next;
+			if (prev == null) {
+				this.first = next;
+			}
+			else {
+				prev.next = next;
+				e.prev = null;
+			}
+			if (next == null) {
+				this.last = prev;
+			}
+			else {
+				next.prev = prev;
+				e.next = null;
+			}
+		}
+	}
+
 }
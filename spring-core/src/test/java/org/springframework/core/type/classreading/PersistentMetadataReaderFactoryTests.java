@@ -0,0 +1,229 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}, running the
+ * {@link AbstractAnnotationMetadataTests} against metadata served from the
+ * cache file.
+ */
+class PersistentMetadataReaderFactoryTests extends AbstractAnnotationMetadataTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			Path cacheFile = this.tempDir.resolve("metadata.cache");
+			PersistentMetadataReaderFactory factory =
+					new PersistentMetadataReaderFactory(cacheFile, source.getClassLoader());
+			factory.getMetadataReader(source.getName());
+			factory.persist();
+			PersistentMetadataReaderFactory cachedFactory =
+					new PersistentMetadataReaderFactory(cacheFile, source.getClassLoader());
+			AnnotationMetadata metadata = cachedFactory.getMetadataReader(source.getName()).getAnnotationMetadata();
+			assertThat(cachedFactory.getHitCount()).isEqualTo(1);
+			return metadata;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void attributeValuesAreRestored() {
+		AnnotationMetadata metadata = get(AttributesClass.class);
+		MergedAnnotation<Attributes> attributes = metadata.getAnnotations().get(Attributes.class);
+		assertThat(attributes.getString("name")).isEqualTo("test");
+		assertThat(attributes.getInt("number")).isEqualTo(42);
+		assertThat(attributes.getEnum("letter", Letter.class)).isEqualTo(Letter.B);
+		assertThat(attributes.getStringArray("types")).containsExactly(String.class.getName(), Integer.class.getName());
+		assertThat(attributes.getAnnotation("nested", Nested.class).getString("value")).isEqualTo("one");
+		assertThat(attributes.getAnnotationArray("nestedArray", Nested.class)).hasSize(2);
+		assertThat(attributes.getAnnotationArray("nestedArray", Nested.class)[1].getString("value")).isEqualTo("three");
+		assertThat(attributes.getIntArray("numbers")).containsExactly(1, 2);
+		assertThat(attributes.getEnumArray("letters", Letter.class)).containsExactly(Letter.A, Letter.B);
+		assertThat(attributes.synthesize().types()).containsExactly(String.class, Integer.class);
+
+		MethodMetadata method = metadata.getAnnotatedMethods(Nested.class.getName()).iterator().next();
+		assertThat(method.getMethodName()).isEqualTo("method");
+		assertThat(method.getReturnTypeName()).isEqualTo(String.class.getName());
+		assertThat(method.getAnnotationAttributes(Nested.class.getName())).containsEntry("value", "method");
+	}
+
+	@Test
+	void modifiedClassFileIsReadAgain() throws IOException {
+		Path classFile = copyClassFile(AttributesClass.class);
+		Resource resource = new FileSystemResource(classFile);
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(resource);
+		factory.clearCache();
+		assertThat(factory.getMissCount()).isEqualTo(1);
+		assertThat(cacheFile).exists();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(resource);
+		assertThat(factory.getHitCount()).isEqualTo(1);
+
+		Files.setLastModifiedTime(classFile, FileTime.from(
+				Files.getLastModifiedTime(classFile).toMillis() + 10_000, TimeUnit.MILLISECONDS));
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		AnnotationMetadata metadata = factory.getMetadataReader(resource).getAnnotationMetadata();
+		assertThat(factory.getHitCount()).isEqualTo(0);
+		assertThat(factory.getMissCount()).isEqualTo(1);
+		assertThat(metadata.hasAnnotation(Attributes.class.getName())).isTrue();
+	}
+
+	@Test
+	void unreadableCacheFileIsIgnored() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		Files.write(cacheFile, new byte[] {1, 2, 3});
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		AnnotationMetadata metadata = factory.getMetadataReader(AttributesClass.class.getName()).getAnnotationMetadata();
+		assertThat(metadata.hasAnnotation(Attributes.class.getName())).isTrue();
+		assertThat(factory.getMissCount()).isEqualTo(1);
+		factory.persist();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		assertThat(factory.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void persistWritesNewDataFileWhileCurrentOneIsMapped() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.persist();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.getMetadataReader(Nested.class.getName());
+		factory.persist();
+		assertThat(factory.getHitCount()).isEqualTo(1);
+		assertThat(factory.getMissCount()).isEqualTo(1);
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.getMetadataReader(Nested.class.getName());
+		assertThat(factory.getHitCount()).isEqualTo(2);
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files.map(file -> file.getFileName().toString()))
+					.filteredOn(fileName -> fileName.endsWith(".data")).hasSize(1);
+		}
+	}
+
+	@Test
+	void entriesNotRequestedAreDropped() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.getMetadataReader(Nested.class.getName());
+		factory.persist();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.persist();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(AttributesClass.class.getName());
+		factory.getMetadataReader(Nested.class.getName());
+		assertThat(factory.getHitCount()).isEqualTo(1);
+		assertThat(factory.getMissCount()).isEqualTo(1);
+	}
+
+	private Path copyClassFile(Class<?> clazz) throws IOException {
+		String name = clazz.getName().replace('.', '/') + ".class";
+		Path classFile = this.tempDir.resolve(clazz.getSimpleName() + ".class");
+		try (InputStream in = clazz.getClassLoader().getResourceAsStream(name)) {
+			assertThat(in).isNotNull();
+			Files.copy(in, classFile);
+		}
+		return classFile;
+	}
+
+
+	enum Letter {
+
+		A, B
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Nested {
+
+		String value();
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Attributes {
+
+		String name();
+
+		int number() default 42;
+
+		Letter letter();
+
+		Class<?>[] types();
+
+		Nested nested();
+
+		Nested[] nestedArray();
+
+		int[] numbers();
+
+		Letter[] letters();
+	}
+
+
+	@Attributes(name = "test", letter = Letter.B, types = {String.class, Integer.class}, nested = @Nested("one"),
+			nestedArray = {@Nested("two"), @Nested("three")}, numbers = {1, 2}, letters = {Letter.A, Letter.B})
+	static class AttributesClass {
+
+		@Nested("method")
+		public String method() {
+			return "";
+		}
+	}
+
+}
@@ -82,4 +82,83 @@ class ConcurrentLruCacheTests {
 		assertThat(this.cache.contains("k3")).isTrue();
 	}
 
+	@Test
+	void statistics() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.hitCount()).isEqualTo(1);
+		assertThat(this.cache.missCount()).isEqualTo(2);
+		assertThat(this.cache.evictionCount()).isEqualTo(0);
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+		this.cache.remove("k3");
+		this.cache.clear();
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void recentlyReadEntryIsRetained() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		// Pending reads are drained along with the next write
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isFalse();
+		assertThat(this.cache.contains("k3")).isTrue();
+	}
+
+	@Test
+	void zeroSizeLimit() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> key + "value");
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.contains("k1")).isFalse();
+	}
+
+	@Test
+	void concurrentAccessRespectsSizeLimit() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(32, key -> key + "value");
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			int seed = i;
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					int key = (j * 31 + seed) % 64;
+					cache.get(key);
+					if (j % 100 == 0) {
+						cache.remove(key);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		// Writes still pending when the last thread finished are drained by subsequent reads
+		for (int i = 0; i < 1000 && countEntries(cache, 64) != cache.size(); i++) {
+			cache.get(0);
+		}
+		assertThat(cache.size()).isLessThanOrEqualTo(cache.sizeLimit());
+		assertThat(countEntries(cache, 64)).isEqualTo(cache.size());
+
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.get(1)).isEqualTo("1value");
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+
+	private static int countEntries(ConcurrentLruCache<Integer, String> cache, int keyCount) {
+		int count = 0;
+		for (int key = 0; key < keyCount; key++) {
+			if (cache.contains(key)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 }
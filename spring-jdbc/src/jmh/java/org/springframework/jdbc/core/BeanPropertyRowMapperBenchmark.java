@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for mapping rows from an embedded H2 database through
+ * {@link BeanPropertyRowMapper} and {@link DataClassRowMapper}, compared
+ * with a hand-written {@link RowMapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanPropertyRowMapperBenchmark {
+
+	private static final String QUERY = "select id, first_name, last_name, age, balance from person";
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "10000"})
+		public int rowCount;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public RowMapper<Person> beanPropertyRowMapper = new BeanPropertyRowMapper<>(Person.class);
+
+		public RowMapper<PersonRecord> dataClassRowMapper = new DataClassRowMapper<>(PersonRecord.class);
+
+		public RowMapper<Person> handWrittenRowMapper = (rs, rowNum) -> {
+			Person person = new Person();
+			person.setId(rs.getLong(1));
+			person.setFirstName(rs.getString(2));
+			person.setLastName(rs.getString(3));
+			person.setAge(rs.getInt(4));
+			person.setBalance(rs.getBigDecimal(5));
+			return person;
+		};
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.H2).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("create table person (id bigint primary key, first_name varchar(50), " +
+					"last_name varchar(50), age integer, balance decimal(10,2))");
+			List<Object[]> rows = new ArrayList<>(this.rowCount);
+			for (int i = 0; i < this.rowCount; i++) {
+				rows.add(new Object[] {i, "first" + i, "last" + i, i % 100, new BigDecimal(i).movePointLeft(2)});
+			}
+			this.jdbcTemplate.batchUpdate("insert into person values (?, ?, ?, ?, ?)", rows);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.database.shutdown();
+		}
+	}
+
+	@Benchmark
+	public void beanPropertyRowMapper(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.jdbcTemplate.query(QUERY, state.beanPropertyRowMapper));
+	}
+
+	@Benchmark
+	public void dataClassRowMapper(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.jdbcTemplate.query(QUERY, state.dataClassRowMapper));
+	}
+
+	@Benchmark
+	public void handWrittenRowMapper(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.jdbcTemplate.query(QUERY, state.handWrittenRowMapper));
+	}
+
+
+	public static class Person {
+
+		private long id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private int age;
+
+		private BigDecimal balance;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public BigDecimal getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(BigDecimal balance) {
+			this.balance = balance;
+		}
+	}
+
+
+	public static class PersonRecord {
+
+		private final long id;
+
+		private final String firstName;
+
+		private final String lastName;
+
+		private final int age;
+
+		private final BigDecimal balance;
+
+		public PersonRecord(long id, String firstName, String lastName, int age, BigDecimal balance) {
+			this.id = id;
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.age = age;
+			this.balance = balance;
+		}
+
+		public long getId() {
+			return this.id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public BigDecimal getBalance() {
+			return this.balance;
+		}
+	}
+
+}
@@ -16,14 +16,24 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
@@ -32,6 +42,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
@@ -43,6 +54,8 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -68,8 +81,11 @@ import org.springframework.util.StringUtils;
  * Be aware that if you use the values from the generated bean to update the database the primitive value
  * will have been set to the primitive's default value instead of null.
  *
- * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * <p>The assignment of columns to bean properties is resolved once per column layout of a
+ * {@link ResultSet} and cached, with values that match the property type being passed
+ * to the setter through a {@link MethodHandle} rather than through a {@link BeanWrapper}.
+ * Still, please note that this class is designed to provide convenience rather than high
+ * performance. For best performance, consider using a custom {@link RowMapper} implementation.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -104,6 +120,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Cache of mapping plans, keyed by the column names of a ResultSet. */
+	private final Map<List<String>, MappingPlan> mappingPlans = new ConcurrentReferenceHashMap<>(16);
+
+	/** Mapping plans of the ResultSets currently being mapped, held weakly. */
+	private final Map<ResultSet, MappingPlan> resultSetMappingPlans =
+			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -222,6 +245,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		this.mappedClass = mappedClass;
 		this.mappedFields = new HashMap<>();
 		this.mappedProperties = new HashSet<>();
+		clearMappingPlans();
 
 		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
 			if (pd.getWriteMethod() != null) {
@@ -246,6 +270,12 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			this.mappedFields.remove(lowerCaseName(propertyName));
 			this.mappedFields.remove(underscoreName(propertyName));
 		}
+		clearMappingPlans();
+	}
+
+	private void clearMappingPlans() {
+		this.mappingPlans.clear();
+		this.resultSetMappingPlans.clear();
 	}
 
 	/**
@@ -294,56 +324,62 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = getMappingPlan(rs, rowNumber);
+
 		BeanWrapperImpl bw = new BeanWrapperImpl();
 		initBeanWrapper(bw);
 
 		T mappedObject = constructMappedInstance(rs, bw);
-		bw.setBeanInstance(mappedObject);
-
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
-		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
-
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String field = lowerCaseName(StringUtils.delete(column, " "));
-			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
-			if (pd != null) {
+		boolean beanInstanceSet = false;
+
+		for (ColumnMapping mapping : plan.columnMappings) {
+			PropertyDescriptor pd = mapping.propertyDescriptor;
+			Object value = getColumnValue(rs, mapping.index, pd);
+			if (rowNumber == 0 && logger.isDebugEnabled()) {
+				logger.debug("Mapping column '" + mapping.column + "' to property '" + pd.getName() +
+						"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+			}
+			if (mapping.setter != null && ClassUtils.isAssignableValue(pd.getPropertyType(), value)) {
+				// Matching value: no conversion necessary, invoke the setter directly
 				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
-					try {
-						bw.setPropertyValue(pd.getName(), value);
-					}
-					catch (TypeMismatchException ex) {
-						if (value == null && this.primitivesDefaultedForNullValue) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
-										" and column '" + column + "' with null value when setting property '" +
-										pd.getName() + "' of type '" +
-										ClassUtils.getQualifiedName(pd.getPropertyType()) +
-										"' on object: " + mappedObject, ex);
-							}
-						}
-						else {
-							throw ex;
+					mapping.setter.invokeExact((Object) mappedObject, value);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(
+							new PropertyChangeEvent(mappedObject, pd.getName(), null, value), ex);
+				}
+				continue;
+			}
+			if (!beanInstanceSet) {
+				bw.setBeanInstance(mappedObject);
+				beanInstanceSet = true;
+			}
+			try {
+				try {
+					bw.setPropertyValue(pd.getName(), value);
+				}
+				catch (TypeMismatchException ex) {
+					if (value == null && this.primitivesDefaultedForNullValue) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+									" and column '" + mapping.column + "' with null value when setting property '" +
+									pd.getName() + "' of type '" +
+									ClassUtils.getQualifiedName(pd.getPropertyType()) +
+									"' on object: " + mappedObject, ex);
 						}
 					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
+					else {
+						throw ex;
 					}
 				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
-				}
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + mapping.column + "' to property '" + pd.getName() + "'", ex);
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
+		if (isCheckFullyPopulated() && !plan.fullyPopulated) {
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
 					"necessary to populate object of " + this.mappedClass + ": " + this.mappedProperties);
 		}
@@ -351,6 +387,110 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Determine the index of the column in the given ResultSet that matches the
+	 * given name, either directly or in its underscored form.
+	 * <p>Resolved against the column layout cached for the ResultSet that is
+	 * currently being mapped, falling back to {@link ResultSet#findColumn}.
+	 * @param rs the ResultSet to map (pre-initialized for the current row)
+	 * @param name the property or parameter name to match
+	 * @return the column index
+	 * @throws SQLException if the ResultSet does not contain a matching column
+	 * @since 5.3.21
+	 * @see #lowerCaseName
+	 * @see #underscoreName
+	 */
+	protected int findColumnIndex(ResultSet rs, String name) throws SQLException {
+		MappingPlan plan = this.resultSetMappingPlans.get(rs);
+		if (plan != null) {
+			Integer index = plan.columnIndexes.get(lowerCaseName(name));
+			if (index == null) {
+				index = plan.columnIndexes.get(underscoreName(name));
+			}
+			if (index != null) {
+				return index;
+			}
+		}
+		try {
+			// Try direct name match first
+			return rs.findColumn(lowerCaseName(name));
+		}
+		catch (SQLException ex) {
+			// Try underscored name match instead
+			return rs.findColumn(underscoreName(name));
+		}
+	}
+
+	/**
+	 * Obtain the mapping plan for the given ResultSet: reused for subsequent
+	 * rows of the same ResultSet, and cached per column layout otherwise.
+	 */
+	private MappingPlan getMappingPlan(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = (rowNumber > 0 ? this.resultSetMappingPlans.get(rs) : null);
+		if (plan != null) {
+			return plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		String[] columns = new String[rsmd.getColumnCount()];
+		for (int index = 1; index <= columns.length; index++) {
+			columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+		}
+		List<String> key = Arrays.asList(columns);
+		plan = this.mappingPlans.get(key);
+		if (plan == null) {
+			plan = createMappingPlan(columns);
+			this.mappingPlans.put(key, plan);
+		}
+		this.resultSetMappingPlans.put(rs, plan);
+		return plan;
+	}
+
+	private MappingPlan createMappingPlan(String[] columns) {
+		BeanWrapperImpl bw = new BeanWrapperImpl();
+		initBeanWrapper(bw);
+		List<ColumnMapping> columnMappings = new ArrayList<>();
+		Map<String, Integer> columnIndexes = new HashMap<>();
+		Set<String> populatedProperties = new HashSet<>();
+		for (int index = 1; index <= columns.length; index++) {
+			String column = columns[index - 1];
+			String field = lowerCaseName(StringUtils.delete(column, " "));
+			columnIndexes.putIfAbsent(field, index);
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			if (pd != null) {
+				columnMappings.add(new ColumnMapping(index, column, pd, createSetter(pd, bw)));
+				populatedProperties.add(pd.getName());
+			}
+		}
+		return new MappingPlan(columnMappings.toArray(new ColumnMapping[0]), columnIndexes,
+				populatedProperties.equals(this.mappedProperties));
+	}
+
+	/**
+	 * Create a handle for setting matching values on the given property directly,
+	 * or {@code null} if values always need to go through the BeanWrapper.
+	 */
+	@Nullable
+	private MethodHandle createSetter(PropertyDescriptor pd, BeanWrapper bw) {
+		Class<?> propertyType = pd.getPropertyType();
+		Method writeMethod = pd.getWriteMethod();
+		if (writeMethod == null || propertyType == null || propertyType == Optional.class ||
+				Collection.class.isAssignableFrom(propertyType) || Map.class.isAssignableFrom(propertyType) ||
+				bw.findCustomEditor(propertyType, pd.getName()) != null) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			return MethodHandles.lookup().unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot access setter for property '" + pd.getName() + "' directly: " + ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Construct an instance of the mapped class for the current row.
 	 * @param rs the ResultSet to map (pre-initialized for the current row)
@@ -442,4 +582,46 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Resolved assignment of a column to a bean property.
+	 */
+	private static final class ColumnMapping {
+
+		final int index;
+
+		final String column;
+
+		final PropertyDescriptor propertyDescriptor;
+
+		@Nullable
+		final MethodHandle setter;
+
+		ColumnMapping(int index, String column, PropertyDescriptor propertyDescriptor, @Nullable MethodHandle setter) {
+			this.index = index;
+			this.column = column;
+			this.propertyDescriptor = propertyDescriptor;
+			this.setter = setter;
+		}
+	}
+
+
+	/**
+	 * Mapping plan for a specific column layout.
+	 */
+	private static final class MappingPlan {
+
+		final ColumnMapping[] columnMappings;
+
+		final Map<String, Integer> columnIndexes;
+
+		final boolean fullyPopulated;
+
+		MappingPlan(ColumnMapping[] columnMappings, Map<String, Integer> columnIndexes, boolean fullyPopulated) {
+			this.columnMappings = columnMappings;
+			this.columnIndexes = columnIndexes;
+			this.fullyPopulated = fullyPopulated;
+		}
+	}
+
 }
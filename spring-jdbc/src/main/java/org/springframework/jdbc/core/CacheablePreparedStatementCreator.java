@@ -0,0 +1,44 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+/**
+ * Extension of the {@link PreparedStatementCreator} interface for creators
+ * whose statements may be reused for subsequent executions within the same
+ * transaction, see {@link JdbcTemplate#setStatementCacheSize}.
+ *
+ * <p>{@link #createPreparedStatement} does not get called for a reused
+ * statement. If a creator also implements {@link PreparedStatementSetter},
+ * its {@code setValues} method gets called for a reused statement instead.
+ *
+ * @since 5.3.21
+ * @see JdbcTemplate#setStatementCacheSize
+ * @see org.springframework.jdbc.datasource.PreparedStatementCache
+ */
+public interface CacheablePreparedStatementCreator extends PreparedStatementCreator {
+
+	/**
+	 * Return the key identifying the statements created by this creator.
+	 * Creators with equal keys have to create equivalent statements, that
+	 * is, with the same SQL as well as the same result set type, concurrency
+	 * and generated keys options.
+	 * @return the statement key, e.g. the SQL string for a statement
+	 * with default options
+	 */
+	Object getStatementCacheKey();
+
+}
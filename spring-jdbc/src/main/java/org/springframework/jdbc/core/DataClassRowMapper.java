@@ -98,16 +98,7 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		if (this.constructorParameterNames != null && this.constructorParameterTypes != null) {
 			args = new Object[this.constructorParameterNames.length];
 			for (int i = 0; i < args.length; i++) {
-				String name = this.constructorParameterNames[i];
-				int index;
-				try {
-					// Try direct name match first
-					index = rs.findColumn(lowerCaseName(name));
-				}
-				catch (SQLException ex) {
-					// Try underscored name match instead
-					index = rs.findColumn(underscoreName(name));
-				}
+				int index = findColumnIndex(rs, this.constructorParameterNames[i]);
 				TypeDescriptor td = this.constructorParameterTypes[i];
 				Object value = getColumnValue(rs, index, td.getType());
 				args[i] = tc.convertIfNecessary(value, td.getType(), td);
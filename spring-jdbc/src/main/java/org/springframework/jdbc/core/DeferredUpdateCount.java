@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Deferred result of an update that has been queued within a transaction,
+ * to be executed as part of a JDBC batch at a later point.
+ *
+ * @since 5.3.21
+ * @see JdbcTemplate#deferUpdate(String, Object...)
+ * @see JdbcTemplate#setDeferUpdates
+ * @see JdbcTemplate#flushDeferredUpdates()
+ */
+public final class DeferredUpdateCount {
+
+	private enum State {
+
+		PENDING, COMPLETED, FAILED, DISCARDED
+	}
+
+
+	private volatile State state = State.PENDING;
+
+	private int updateCount;
+
+	@Nullable
+	private RuntimeException failure;
+
+
+	DeferredUpdateCount() {
+	}
+
+	DeferredUpdateCount(int updateCount) {
+		complete(updateCount);
+	}
+
+
+	/**
+	 * Return whether the update has been executed, has failed,
+	 * or has been discarded because of transaction rollback.
+	 */
+	public boolean isDone() {
+		return (this.state != State.PENDING);
+	}
+
+	/**
+	 * Return the number of rows affected by the update, as reported
+	 * by the JDBC driver for the batch that the update was part of.
+	 * @return the number of rows affected, or {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * if the driver did not report a row count for a batched update
+	 * @throws IllegalStateException if the update has not been executed yet
+	 * or has been discarded
+	 * @throws org.springframework.dao.DataAccessException if the batch that
+	 * the update was part of has failed
+	 */
+	public int getUpdateCount() {
+		State state = this.state;
+		if (state == State.COMPLETED) {
+			return this.updateCount;
+		}
+		else if (state == State.FAILED && this.failure != null) {
+			throw this.failure;
+		}
+		else if (state == State.DISCARDED) {
+			throw new IllegalStateException("Deferred update has been discarded on transaction completion");
+		}
+		throw new IllegalStateException("Deferred update has not been executed yet: " +
+				"call JdbcTemplate.flushDeferredUpdates() or wait for transaction commit");
+	}
+
+	void complete(int updateCount) {
+		this.updateCount = updateCount;
+		this.state = State.COMPLETED;
+	}
+
+	void fail(RuntimeException failure) {
+		this.failure = failure;
+		this.state = State.FAILED;
+	}
+
+	void discard() {
+		if (this.state == State.PENDING) {
+			this.state = State.DISCARDED;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredUpdateCount: " + (this.state == State.COMPLETED ? this.updateCount : this.state);
+	}
+
+}
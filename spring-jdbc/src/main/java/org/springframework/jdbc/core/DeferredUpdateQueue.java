@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Queue of updates deferred within a transaction, bound to the thread as a
+ * transactional resource for the {@link org.springframework.jdbc.datasource.ConnectionHolder}
+ * of the transaction.
+ *
+ * <p>Consecutive updates with the same statement key form a batch. Updates
+ * with different keys are never reordered, so interleaved updates result in
+ * separate batches.
+ *
+ * @since 5.3.21
+ * @see JdbcTemplate#setDeferUpdates
+ */
+final class DeferredUpdateQueue {
+
+	private List<Batch> batches = new ArrayList<>();
+
+	private int size;
+
+	private boolean closed;
+
+
+	/**
+	 * Add the given update to the queue.
+	 * @return the number of queued updates
+	 */
+	int add(CacheablePreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			DeferredUpdateCount result) {
+
+		Object key = psc.getStatementCacheKey();
+		Batch batch = (!this.batches.isEmpty() ? this.batches.get(this.batches.size() - 1) : null);
+		if (batch == null || !batch.key.equals(key)) {
+			batch = new Batch(key);
+			this.batches.add(batch);
+		}
+		batch.updates.add(new Update(psc, pss, result));
+		return ++this.size;
+	}
+
+	boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Remove all queued batches, for execution by the caller.
+	 */
+	List<Batch> drain() {
+		List<Batch> drained = this.batches;
+		this.batches = new ArrayList<>();
+		this.size = 0;
+		return drained;
+	}
+
+	/**
+	 * Stop accepting updates, e.g. after the final flush before commit.
+	 */
+	void close() {
+		this.closed = true;
+	}
+
+	boolean isClosed() {
+		return this.closed;
+	}
+
+	/**
+	 * Discard all queued updates, e.g. on transaction rollback.
+	 */
+	void discard() {
+		this.closed = true;
+		for (Batch batch : drain()) {
+			batch.discard();
+		}
+	}
+
+
+	/**
+	 * Consecutive updates with the same statement key.
+	 */
+	static final class Batch {
+
+		final Object key;
+
+		final List<Update> updates = new ArrayList<>();
+
+		Batch(Object key) {
+			this.key = key;
+		}
+
+		PreparedStatementCreator getStatementCreator() {
+			return this.updates.get(0).psc;
+		}
+
+		void complete(int[] updateCounts) {
+			for (int i = 0; i < this.updates.size(); i++) {
+				this.updates.get(i).result.complete(
+						i < updateCounts.length ? updateCounts[i] : Statement.SUCCESS_NO_INFO);
+			}
+		}
+
+		void fail(RuntimeException failure) {
+			for (Update update : this.updates) {
+				update.result.fail(failure);
+			}
+		}
+
+		void discard() {
+			for (Update update : this.updates) {
+				update.result.discard();
+			}
+		}
+	}
+
+
+	/**
+	 * A single queued update: its statement creator and parameter setter.
+	 */
+	static final class Update {
+
+		private final CacheablePreparedStatementCreator psc;
+
+		@Nullable
+		private final PreparedStatementSetter pss;
+
+		private final DeferredUpdateCount result;
+
+		Update(CacheablePreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+				DeferredUpdateCount result) {
+
+			this.psc = psc;
+			this.pss = pss;
+			this.result = result;
+		}
+
+		void setValues(PreparedStatement ps) throws SQLException {
+			ps.clearParameters();
+			if (this.psc instanceof PreparedStatementSetter) {
+				((PreparedStatementSetter) this.psc).setValues(ps);
+			}
+			if (this.pss != null) {
+				this.pss.setValues(ps);
+			}
+		}
+
+		void cleanupParameters() {
+			if (this.psc instanceof ParameterDisposer) {
+				((ParameterDisposer) this.psc).cleanupParameters();
+			}
+			if (this.pss instanceof ParameterDisposer) {
+				((ParameterDisposer) this.pss).cleanupParameters();
+			}
+		}
+	}
+
+}
@@ -31,6 +31,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,13 +48,17 @@ import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.PreparedStatementCache;
 import org.springframework.jdbc.support.JdbcAccessor;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
@@ -132,6 +137,21 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private int queryTimeout = -1;
 
+	/**
+	 * If this variable is set to a positive value, prepared statements will be kept
+	 * open for reuse within a transaction, up to the given number per Connection.
+	 */
+	private int statementCacheSize = 0;
+
+	/** If this variable is set to true, updates within a transaction will be deferred and batched. */
+	private boolean deferUpdates = false;
+
+	/** Whether this template has deferred any update, with or without {@link #deferUpdates}. */
+	private volatile boolean updatesDeferred;
+
+	/** The number of deferred updates within a transaction that triggers a flush. */
+	private int deferredUpdateFlushSize = 1000;
+
 	/**
 	 * If this variable is set to true, then all results checking will be bypassed for any
 	 * callable statement processing. This can be used to avoid a bug in some older Oracle
@@ -270,6 +290,90 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.queryTimeout;
 	}
 
+	/**
+	 * Set the maximum number of prepared statements to keep open for reuse within
+	 * a transaction, per transactional Connection. Beyond that number, the least
+	 * recently used statements get closed.
+	 * <p>Default is 0, indicating to close each prepared statement right after use.
+	 * A positive value avoids repeated statement preparation, e.g. for a loop of
+	 * updates within a {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}
+	 * transaction, which is worthwhile for JDBC drivers without statement caching
+	 * of their own. Cached statements get closed at transaction completion.
+	 * <p>Applies to statements created through a {@link CacheablePreparedStatementCreator},
+	 * which includes all methods taking a plain SQL string as well as the creators
+	 * obtained from a {@link PreparedStatementCreatorFactory}, e.g. for
+	 * {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate}.
+	 * Statements are shared with other JdbcTemplate instances operating on the same
+	 * transactional Connection, so those should use the same fetch size and
+	 * maximum number of rows.
+	 * @since 5.3.21
+	 * @see org.springframework.jdbc.datasource.DataSourceUtils#getStatementCache
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of prepared statements to keep open for reuse
+	 * within a transaction.
+	 * @since 5.3.21
+	 */
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
+	/**
+	 * Set whether to defer single updates within a transaction, queueing them
+	 * for execution as JDBC batches instead of executing each one right away.
+	 * <p>Default is {@code false}. If switched on, {@code update} calls with a
+	 * {@link CacheablePreparedStatementCreator} (which includes all methods
+	 * taking a plain SQL string as well as {@code NamedParameterJdbcTemplate})
+	 * within a transaction return {@link Statement#SUCCESS_NO_INFO} instead of
+	 * the number of affected rows. Consecutive updates with the same SQL form
+	 * a batch; updates are never reordered.
+	 * <p>Queued updates are flushed before any other operation through a
+	 * JdbcTemplate that defers updates on the same DataSource, before transaction
+	 * commit, and when the {@link #setDeferredUpdateFlushSize flush size} is
+	 * reached. Other data access code sharing the transactional Connection,
+	 * including JdbcTemplate instances that never defer updates, needs to call
+	 * {@link #flushDeferredUpdates()} first. Parameter values are only read on
+	 * flush, so mutable arguments must not be modified in the meantime.
+	 * @since 5.3.21
+	 * @see #deferUpdate(String, Object...)
+	 */
+	public void setDeferUpdates(boolean deferUpdates) {
+		this.deferUpdates = deferUpdates;
+	}
+
+	/**
+	 * Return whether to defer single updates within a transaction.
+	 * @since 5.3.21
+	 */
+	public boolean isDeferUpdates() {
+		return this.deferUpdates;
+	}
+
+	/**
+	 * Set the number of deferred updates within a transaction that triggers
+	 * a flush of the queued updates.
+	 * <p>Default is 1000.
+	 * @since 5.3.21
+	 * @see #setDeferUpdates
+	 */
+	public void setDeferredUpdateFlushSize(int deferredUpdateFlushSize) {
+		Assert.isTrue(deferredUpdateFlushSize > 0, "Deferred update flush size must be greater than 0");
+		this.deferredUpdateFlushSize = deferredUpdateFlushSize;
+	}
+
+	/**
+	 * Return the number of deferred updates within a transaction that
+	 * triggers a flush of the queued updates.
+	 * @since 5.3.21
+	 */
+	public int getDeferredUpdateFlushSize() {
+		return this.deferredUpdateFlushSize;
+	}
+
 	/**
 	 * Set whether results processing should be skipped. Can be used to optimize callable
 	 * statement processing when we know that no results are being passed back - the processing
@@ -326,6 +430,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Nullable
 	public <T> T execute(ConnectionCallback<T> action) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
+		if (this.deferUpdates || this.updatesDeferred) {
+			flushDeferredUpdates();
+		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		try {
@@ -372,6 +479,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Nullable
 	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
+		if (this.deferUpdates || this.updatesDeferred) {
+			flushDeferredUpdates();
+		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		Statement stmt = null;
@@ -642,14 +752,27 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			String sql = getSql(psc);
 			logger.debug("Executing prepared SQL statement" + (sql != null ? " [" + sql + "]" : ""));
 		}
+		if (this.deferUpdates || this.updatesDeferred) {
+			flushDeferredUpdates();
+		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		PreparedStatementCache statementCache = null;
+		Object statementKey = null;
+		if (closeResources && this.statementCacheSize > 0 && psc instanceof CacheablePreparedStatementCreator) {
+			statementCache = DataSourceUtils.getStatementCache(con, getDataSource(), this.statementCacheSize);
+			statementKey = ((CacheablePreparedStatementCreator) psc).getStatementCacheKey();
+		}
 		PreparedStatement ps = null;
+		boolean reusable = false;
 		try {
-			ps = psc.createPreparedStatement(con);
+			ps = (statementCache != null && statementKey != null ?
+					obtainCachedStatement(psc, con, statementCache, statementKey) :
+					psc.createPreparedStatement(con));
 			applyStatementSettings(ps);
 			T result = action.doInPreparedStatement(ps);
 			handleWarnings(ps);
+			reusable = true;
 			return result;
 		}
 		catch (SQLException ex) {
@@ -671,12 +794,42 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				if (psc instanceof ParameterDisposer) {
 					((ParameterDisposer) psc).cleanupParameters();
 				}
-				JdbcUtils.closeStatement(ps);
+				if (reusable && statementCache != null && statementKey != null) {
+					statementCache.put(statementKey, ps);
+				}
+				else {
+					JdbcUtils.closeStatement(ps);
+				}
 				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
 		}
 	}
 
+	/**
+	 * Take a previously prepared statement for the given creator out of the
+	 * given cache, with the creator's parameter values (if any) set on it,
+	 * or let the creator create a new statement otherwise.
+	 */
+	private PreparedStatement obtainCachedStatement(PreparedStatementCreator psc, Connection con,
+			PreparedStatementCache statementCache, Object statementKey) throws SQLException {
+
+		PreparedStatement ps = statementCache.take(statementKey);
+		if (ps == null) {
+			return psc.createPreparedStatement(con);
+		}
+		try {
+			ps.clearParameters();
+			if (psc instanceof PreparedStatementSetter) {
+				((PreparedStatementSetter) psc).setValues(ps);
+			}
+			return ps;
+		}
+		catch (SQLException | RuntimeException ex) {
+			JdbcUtils.closeStatement(ps);
+			throw ex;
+		}
+	}
+
 	@Override
 	@Nullable
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
@@ -955,6 +1108,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	protected int update(final PreparedStatementCreator psc, @Nullable final PreparedStatementSetter pss)
 			throws DataAccessException {
 
+		if (this.deferUpdates && deferUpdateIfPossible(psc, pss) != null) {
+			return Statement.SUCCESS_NO_INFO;
+		}
+
 		logger.debug("Executing prepared SQL update");
 
 		return updateCount(execute(psc, ps -> {
@@ -1025,6 +1182,183 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return update(sql, newArgPreparedStatementSetter(args));
 	}
 
+	/**
+	 * Issue a single SQL update operation via a prepared statement, deferring it
+	 * for batched execution if running within a transaction.
+	 * <p>Unlike {@link #setDeferUpdates deferred updates} through {@code update},
+	 * this exposes the number of affected rows once the update has been executed.
+	 * Outside of a transaction, the update is executed right away.
+	 * @param sql the SQL containing bind parameters
+	 * @param pss helper that sets bind parameters (may be {@code null})
+	 * @return the deferred number of rows affected
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * right away, or flushing the queued updates when the flush size is reached
+	 * @since 5.3.21
+	 * @see #flushDeferredUpdates()
+	 */
+	public DeferredUpdateCount deferUpdate(String sql, @Nullable PreparedStatementSetter pss)
+			throws DataAccessException {
+
+		PreparedStatementCreator psc = new SimplePreparedStatementCreator(sql);
+		DeferredUpdateCount result = deferUpdateIfPossible(psc, pss);
+		if (result == null) {
+			result = new DeferredUpdateCount(update(psc, pss));
+		}
+		return result;
+	}
+
+	/**
+	 * Issue a single SQL update operation via a prepared statement, binding the
+	 * given arguments and deferring it for batched execution if running within
+	 * a transaction.
+	 * @param sql the SQL containing bind parameters
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the deferred number of rows affected
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * right away, or flushing the queued updates when the flush size is reached
+	 * @since 5.3.21
+	 * @see #deferUpdate(String, PreparedStatementSetter)
+	 */
+	public DeferredUpdateCount deferUpdate(String sql, @Nullable Object... args) throws DataAccessException {
+		return deferUpdate(sql, newArgPreparedStatementSetter(args));
+	}
+
+	/**
+	 * Execute the updates deferred within the current transaction, if any,
+	 * as JDBC batches.
+	 * <p>Called automatically before any other operation through a JdbcTemplate
+	 * that defers updates, as well as before transaction commit. To be called
+	 * explicitly before accessing the transactional Connection through other means.
+	 * @throws DataAccessException if there is any problem executing the updates
+	 * @since 5.3.21
+	 * @see #setDeferUpdates
+	 */
+	public void flushDeferredUpdates() throws DataAccessException {
+		DataSource dataSource = getDataSource();
+		if (dataSource == null) {
+			return;
+		}
+		Object conHolder = TransactionSynchronizationManager.getResource(dataSource);
+		if (conHolder != null) {
+			DeferredUpdateQueue queue = (DeferredUpdateQueue) TransactionSynchronizationManager.getResource(conHolder);
+			if (queue != null && !queue.isEmpty()) {
+				flushDeferredUpdates(queue);
+			}
+		}
+	}
+
+	/**
+	 * Queue the given update for the current transaction, if any.
+	 * @return the deferred update count, or {@code null} if the update
+	 * cannot be deferred and needs to be executed right away
+	 */
+	@Nullable
+	private DeferredUpdateCount deferUpdateIfPossible(PreparedStatementCreator psc,
+			@Nullable PreparedStatementSetter pss) {
+
+		if (!(psc instanceof CacheablePreparedStatementCreator) ||
+				!TransactionSynchronizationManager.isSynchronizationActive() ||
+				!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return null;
+		}
+		ConnectionHolder conHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(obtainDataSource());
+		if (conHolder == null || !conHolder.isSynchronizedWithTransaction() || conHolder.hasSavepoint()) {
+			// Within a nested transaction, updates need to run before a potential rollback to the savepoint
+			return null;
+		}
+		DeferredUpdateQueue queue = (DeferredUpdateQueue) TransactionSynchronizationManager.getResource(conHolder);
+		if (queue == null) {
+			queue = new DeferredUpdateQueue();
+			TransactionSynchronizationManager.bindResource(conHolder, queue);
+			TransactionSynchronizationManager.registerSynchronization(
+					new DeferredUpdateSynchronization(this, conHolder, queue));
+		}
+		else if (queue.isClosed()) {
+			return null;
+		}
+		if (logger.isTraceEnabled()) {
+			String sql = getSql(psc);
+			logger.trace("Deferring prepared SQL update" + (sql != null ? " [" + sql + "]" : ""));
+		}
+		this.updatesDeferred = true;
+		DeferredUpdateCount result = new DeferredUpdateCount();
+		if (queue.add((CacheablePreparedStatementCreator) psc, pss, result) >= this.deferredUpdateFlushSize) {
+			flushDeferredUpdates(queue);
+		}
+		return result;
+	}
+
+	/**
+	 * Execute all updates in the given queue as JDBC batches, in the order
+	 * of queueing, reusing a prepared statement per statement key.
+	 */
+	private void flushDeferredUpdates(DeferredUpdateQueue queue) {
+		List<DeferredUpdateQueue.Batch> batches = queue.drain();
+		if (batches.isEmpty()) {
+			return;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Flushing " + batches.size() + " batch(es) of deferred SQL updates");
+		}
+
+		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Map<Object, PreparedStatement> statements = new HashMap<>();
+		int completed = 0;
+		try {
+			boolean batchSupported = JdbcUtils.supportsBatchUpdates(con);
+			for (DeferredUpdateQueue.Batch batch : batches) {
+				PreparedStatement ps = statements.get(batch.key);
+				if (ps == null) {
+					ps = batch.getStatementCreator().createPreparedStatement(con);
+					statements.put(batch.key, ps);
+					applyStatementSettings(ps);
+				}
+				int[] updateCounts = new int[batch.updates.size()];
+				for (int i = 0; i < updateCounts.length; i++) {
+					batch.updates.get(i).setValues(ps);
+					if (batchSupported) {
+						ps.addBatch();
+					}
+					else {
+						updateCounts[i] = ps.executeUpdate();
+					}
+				}
+				batch.complete(batchSupported ? ps.executeBatch() : updateCounts);
+				completed++;
+			}
+		}
+		catch (SQLException ex) {
+			String sql = getSql(batches.get(completed).getStatementCreator());
+			DataAccessException dae = translateException("Deferred PreparedStatement batch", sql, ex);
+			failDeferredUpdates(batches, completed, dae);
+			throw dae;
+		}
+		catch (RuntimeException ex) {
+			failDeferredUpdates(batches, completed, ex);
+			throw ex;
+		}
+		finally {
+			for (PreparedStatement ps : statements.values()) {
+				JdbcUtils.closeStatement(ps);
+			}
+			for (DeferredUpdateQueue.Batch batch : batches) {
+				for (DeferredUpdateQueue.Update update : batch.updates) {
+					update.cleanupParameters();
+				}
+			}
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		}
+	}
+
+	private static void failDeferredUpdates(List<DeferredUpdateQueue.Batch> batches, int from, RuntimeException ex) {
+		for (int i = from; i < batches.size(); i++) {
+			batches.get(i).fail(ex);
+		}
+	}
+
 	@Override
 	public int[] batchUpdate(String sql, final BatchPreparedStatementSetter pss) throws DataAccessException {
 		if (logger.isDebugEnabled()) {
@@ -1181,6 +1515,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			String sql = getSql(csc);
 			logger.debug("Calling stored procedure" + (sql != null ? " [" + sql  + "]" : ""));
 		}
+		if (this.deferUpdates || this.updatesDeferred) {
+			flushDeferredUpdates();
+		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		CallableStatement cs = null;
@@ -1628,10 +1965,56 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * Callback for flushing deferred updates before transaction commit,
+	 * and for discarding them on rollback.
+	 */
+	private static class DeferredUpdateSynchronization implements TransactionSynchronization {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		private final ConnectionHolder connectionHolder;
+
+		private final DeferredUpdateQueue queue;
+
+		public DeferredUpdateSynchronization(JdbcTemplate jdbcTemplate, ConnectionHolder connectionHolder,
+				DeferredUpdateQueue queue) {
+
+			this.jdbcTemplate = jdbcTemplate;
+			this.connectionHolder = connectionHolder;
+			this.queue = queue;
+		}
+
+		@Override
+		public int getOrder() {
+			// Flush before other synchronizations get to access the Connection
+			return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 100;
+		}
+
+		@Override
+		public void flush() {
+			this.jdbcTemplate.flushDeferredUpdates(this.queue);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			this.jdbcTemplate.flushDeferredUpdates(this.queue);
+			// Updates from subsequent synchronizations get executed right away
+			this.queue.close();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			this.queue.discard();
+			TransactionSynchronizationManager.unbindResourceIfPossible(this.connectionHolder);
+		}
+	}
+
+
 	/**
 	 * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
 	 */
-	private static class SimplePreparedStatementCreator implements PreparedStatementCreator, SqlProvider {
+	private static class SimplePreparedStatementCreator implements CacheablePreparedStatementCreator, SqlProvider {
 
 		private final String sql;
 
@@ -1645,6 +2028,11 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			return con.prepareStatement(this.sql);
 		}
 
+		@Override
+		public Object getStatementCacheKey() {
+			return this.sql;
+		}
+
 		@Override
 		public String getSql() {
 			return this.sql;
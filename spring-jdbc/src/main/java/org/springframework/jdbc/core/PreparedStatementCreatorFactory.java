@@ -187,7 +187,7 @@ public class PreparedStatementCreatorFactory {
 	 * PreparedStatementCreator implementation returned by this class.
 	 */
 	private class PreparedStatementCreatorImpl
-			implements PreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer {
+			implements CacheablePreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer {
 
 		private final String actualSql;
 
@@ -285,6 +285,16 @@ public class PreparedStatementCreatorFactory {
 			}
 		}
 
+		@Override
+		public Object getStatementCacheKey() {
+			if (generatedKeysColumnNames == null && !returnGeneratedKeys &&
+					resultSetType == ResultSet.TYPE_FORWARD_ONLY && !updatableResults) {
+				return this.actualSql;
+			}
+			return Arrays.asList(this.actualSql, resultSetType, updatableResults, returnGeneratedKeys,
+					(generatedKeysColumnNames != null ? Arrays.asList(generatedKeysColumnNames) : null));
+		}
+
 		@Override
 		public String getSql() {
 			return sql;
@@ -38,6 +38,7 @@ import org.springframework.jdbc.support.rowset.SqlRowSet;
  * @see org.springframework.jdbc.support.rowset.SqlRowSet
  * @see JdbcTemplate#queryForRowSet(String)
  * @see javax.sql.rowset.CachedRowSet
+ * @see org.springframework.jdbc.support.rowset.ColumnarSqlRowSet
  */
 public class SqlRowSetResultSetExtractor implements ResultSetExtractor<SqlRowSet> {
 
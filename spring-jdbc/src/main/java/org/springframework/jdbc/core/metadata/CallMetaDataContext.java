@@ -254,6 +254,15 @@ public class CallMetaDataContext {
 		this.metaDataProvider = CallMetaDataProviderFactory.createMetaDataProvider(dataSource, this);
 	}
 
+	/**
+	 * Initialize this class with meta-data obtained from the given cache.
+	 * @param metaDataCache the cache to obtain the meta-data from
+	 * @since 5.3.21
+	 */
+	public void initializeMetaData(DatabaseMetaDataCache metaDataCache) {
+		this.metaDataProvider = metaDataCache.getCallMetaDataProvider(this);
+	}
+
 	private CallMetaDataProvider obtainMetaDataProvider() {
 		Assert.state(this.metaDataProvider != null, "No CallMetaDataProvider - call initializeMetaData first");
 		return this.metaDataProvider;
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metadata;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of {@link TableMetaDataProvider} and {@link CallMetaDataProvider}
+ * instances for a given {@link DataSource}, to be shared between any number of
+ * {@link org.springframework.jdbc.core.simple.SimpleJdbcInsert} and
+ * {@link org.springframework.jdbc.core.simple.SimpleJdbcCall} instances.
+ *
+ * <p>Retrieving table column and procedure parameter meta-data through
+ * {@link java.sql.DatabaseMetaData} can be slow on some databases, and each
+ * insert or call object retrieves it again on compilation by default. With a
+ * shared cache, the meta-data for a given table, procedure or function is only
+ * retrieved once, including the database-specific settings such as the support
+ * for generated keys. Cached meta-data can be {@link #invalidateTable invalidated}
+ * after schema changes, and it can be preloaded on initialization through
+ * {@link #setTableNames} and {@link #setProcedureNames}.
+ *
+ * <p>The cache must only be used with insert and call objects that operate
+ * on the same database as the DataSource of the cache.
+ *
+ * @since 5.3.21
+ * @see org.springframework.jdbc.core.simple.AbstractJdbcInsert#setMetaDataCache
+ * @see org.springframework.jdbc.core.simple.AbstractJdbcCall#setMetaDataCache
+ */
+public class DatabaseMetaDataCache implements InitializingBean {
+
+	private static final Log logger = LogFactory.getLog(DatabaseMetaDataCache.class);
+
+	private static final String[] EMPTY_NAMES = new String[0];
+
+
+	private final DataSource dataSource;
+
+	private final ConcurrentMap<List<Object>, TableMetaDataProvider> tableMetaDataProviders =
+			new ConcurrentHashMap<>(64);
+
+	private final ConcurrentMap<List<Object>, CallMetaDataProvider> callMetaDataProviders =
+			new ConcurrentHashMap<>(64);
+
+	private String[] tableNames = EMPTY_NAMES;
+
+	private String[] procedureNames = EMPTY_NAMES;
+
+	private String[] functionNames = EMPTY_NAMES;
+
+
+	/**
+	 * Create a new DatabaseMetaDataCache for the given DataSource.
+	 * @param dataSource the DataSource to retrieve meta-data from
+	 */
+	public DatabaseMetaDataCache(DataSource dataSource) {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		this.dataSource = dataSource;
+	}
+
+
+	/**
+	 * Return the DataSource that meta-data is retrieved from.
+	 */
+	public DataSource getDataSource() {
+		return this.dataSource;
+	}
+
+	/**
+	 * Specify the names of tables to preload meta-data for on initialization,
+	 * optionally qualified as "schema.table" or "catalog.schema.table".
+	 * @see #preloadTables
+	 */
+	public void setTableNames(String... tableNames) {
+		this.tableNames = tableNames;
+	}
+
+	/**
+	 * Specify the names of stored procedures to preload meta-data for on
+	 * initialization, optionally qualified as "schema.procedure" or
+	 * "catalog.schema.procedure".
+	 * @see #preloadProcedures
+	 */
+	public void setProcedureNames(String... procedureNames) {
+		this.procedureNames = procedureNames;
+	}
+
+	/**
+	 * Specify the names of stored functions to preload meta-data for on
+	 * initialization, optionally qualified as "schema.function" or
+	 * "catalog.schema.function".
+	 * @see #preloadFunctions
+	 */
+	public void setFunctionNames(String... functionNames) {
+		this.functionNames = functionNames;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		preloadTables(this.tableNames);
+		preloadProcedures(this.procedureNames);
+		preloadFunctions(this.functionNames);
+	}
+
+
+	/**
+	 * Retrieve the meta-data for the given tables with default settings,
+	 * unless already cached.
+	 * @param tableNames the table names, optionally qualified as "schema.table"
+	 * or "catalog.schema.table"
+	 */
+	public void preloadTables(String... tableNames) {
+		for (String tableName : tableNames) {
+			String[] names = parseQualifiedName(tableName);
+			TableMetaDataContext context = new TableMetaDataContext();
+			context.setCatalogName(names[0]);
+			context.setSchemaName(names[1]);
+			context.setTableName(names[2]);
+			getTableMetaDataProvider(context);
+		}
+	}
+
+	/**
+	 * Retrieve the meta-data for the given stored procedures with default
+	 * settings, unless already cached.
+	 * @param procedureNames the procedure names, optionally qualified as
+	 * "schema.procedure" or "catalog.schema.procedure"
+	 */
+	public void preloadProcedures(String... procedureNames) {
+		preloadCalls(procedureNames, false);
+	}
+
+	/**
+	 * Retrieve the meta-data for the given stored functions with default
+	 * settings, unless already cached.
+	 * @param functionNames the function names, optionally qualified as
+	 * "schema.function" or "catalog.schema.function"
+	 */
+	public void preloadFunctions(String... functionNames) {
+		preloadCalls(functionNames, true);
+	}
+
+	private void preloadCalls(String[] procedureNames, boolean function) {
+		for (String procedureName : procedureNames) {
+			String[] names = parseQualifiedName(procedureName);
+			CallMetaDataContext context = new CallMetaDataContext();
+			context.setCatalogName(names[0]);
+			context.setSchemaName(names[1]);
+			context.setProcedureName(names[2]);
+			context.setFunction(function);
+			getCallMetaDataProvider(context);
+		}
+	}
+
+	/**
+	 * Return the TableMetaDataProvider for the table and settings of the given
+	 * context, retrieving the meta-data from the database if not cached yet.
+	 * @param context the context holding the table name and meta-data settings
+	 * @return the (potentially shared) TableMetaDataProvider
+	 */
+	public TableMetaDataProvider getTableMetaDataProvider(TableMetaDataContext context) {
+		List<Object> key = Arrays.asList(context.getCatalogName(), context.getSchemaName(), context.getTableName(),
+				context.isAccessTableColumnMetaData(), context.isOverrideIncludeSynonymsDefault());
+		TableMetaDataProvider provider = this.tableMetaDataProviders.get(key);
+		if (provider == null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Retrieving meta-data for table [" + context.getTableName() + "]");
+			}
+			provider = TableMetaDataProviderFactory.createMetaDataProvider(this.dataSource, context);
+			TableMetaDataProvider existing = this.tableMetaDataProviders.putIfAbsent(key, provider);
+			if (existing != null) {
+				provider = existing;
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Return the CallMetaDataProvider for the procedure or function and settings
+	 * of the given context, retrieving the meta-data from the database if not
+	 * cached yet.
+	 * @param context the context holding the procedure name and meta-data settings
+	 * @return the (potentially shared) CallMetaDataProvider
+	 */
+	public CallMetaDataProvider getCallMetaDataProvider(CallMetaDataContext context) {
+		List<Object> key = Arrays.asList(context.getCatalogName(), context.getSchemaName(),
+				context.getProcedureName(), context.isFunction(), context.isAccessCallParameterMetaData());
+		CallMetaDataProvider provider = this.callMetaDataProviders.get(key);
+		if (provider == null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Retrieving meta-data for " + (context.isFunction() ? "function" : "procedure") +
+						" [" + context.getProcedureName() + "]");
+			}
+			provider = CallMetaDataProviderFactory.createMetaDataProvider(this.dataSource, context);
+			CallMetaDataProvider existing = this.callMetaDataProviders.putIfAbsent(key, provider);
+			if (existing != null) {
+				provider = existing;
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Remove the cached meta-data for the given table, for all settings.
+	 * <p>Insert objects that have been compiled already keep using the
+	 * meta-data they were compiled with.
+	 * @param catalogName the catalog name, as specified for the insert objects
+	 * @param schemaName the schema name, as specified for the insert objects
+	 * @param tableName the table name, as specified for the insert objects
+	 */
+	public void invalidateTable(@Nullable String catalogName, @Nullable String schemaName, String tableName) {
+		this.tableMetaDataProviders.keySet().removeIf(key -> matches(key, catalogName, schemaName, tableName));
+	}
+
+	/**
+	 * Remove the cached meta-data for the given stored procedure or function,
+	 * for all settings.
+	 * <p>Call objects that have been compiled already keep using the
+	 * meta-data they were compiled with.
+	 * @param catalogName the catalog name, as specified for the call objects
+	 * @param schemaName the schema name, as specified for the call objects
+	 * @param procedureName the procedure or function name, as specified for the call objects
+	 */
+	public void invalidateProcedure(@Nullable String catalogName, @Nullable String schemaName, String procedureName) {
+		this.callMetaDataProviders.keySet().removeIf(key -> matches(key, catalogName, schemaName, procedureName));
+	}
+
+	/**
+	 * Remove all cached meta-data.
+	 */
+	public void invalidateAll() {
+		this.tableMetaDataProviders.clear();
+		this.callMetaDataProviders.clear();
+	}
+
+
+	private static boolean matches(List<Object> key, @Nullable String catalogName,
+			@Nullable String schemaName, String name) {
+
+		return (ObjectUtils.nullSafeEquals(key.get(0), catalogName) &&
+				ObjectUtils.nullSafeEquals(key.get(1), schemaName) && name.equals(key.get(2)));
+	}
+
+	/**
+	 * Split the given name, optionally qualified by schema or catalog and schema,
+	 * into a catalog name, schema name and simple name.
+	 */
+	private static String[] parseQualifiedName(String qualifiedName) {
+		String[] parts = StringUtils.delimitedListToStringArray(qualifiedName, ".");
+		Assert.isTrue(parts.length <= 3, () -> "Invalid qualified name: " + qualifiedName);
+		String[] names = new String[3];
+		System.arraycopy(parts, 0, names, 3 - parts.length, parts.length);
+		return names;
+	}
+
+}
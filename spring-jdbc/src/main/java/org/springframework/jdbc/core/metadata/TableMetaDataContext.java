@@ -173,6 +173,21 @@ public class TableMetaDataContext {
 		this.tableColumns = reconcileColumnsToUse(declaredColumns, generatedKeyNames);
 	}
 
+	/**
+	 * Process the current meta-data with the provided configuration options,
+	 * obtaining the table meta-data from the given cache.
+	 * @param metaDataCache the cache to obtain the meta-data from
+	 * @param declaredColumns any columns that are declared
+	 * @param generatedKeyNames name of generated keys
+	 * @since 5.3.21
+	 */
+	public void processMetaData(DatabaseMetaDataCache metaDataCache, List<String> declaredColumns,
+			String[] generatedKeyNames) {
+
+		this.metaDataProvider = metaDataCache.getTableMetaDataProvider(this);
+		this.tableColumns = reconcileColumnsToUse(declaredColumns, generatedKeyNames);
+	}
+
 	private TableMetaDataProvider obtainMetaDataProvider() {
 		Assert.state(this.metaDataProvider != null, "No TableMetaDataProvider - call processMetaData first");
 		return this.metaDataProvider;
@@ -34,6 +34,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.metadata.CallMetaDataContext;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -66,6 +67,10 @@ public abstract class AbstractJdbcCall {
 	/** List of RefCursor/ResultSet RowMapper objects. */
 	private final Map<String, RowMapper<?>> declaredRowMappers = new LinkedHashMap<>();
 
+	/** The shared cache to obtain procedure meta-data from, if any. */
+	@Nullable
+	private DatabaseMetaDataCache metaDataCache;
+
 	/**
 	 * Has this operation been compiled? Compilation means at least checking
 	 * that a DataSource or JdbcTemplate has been provided.
@@ -223,6 +228,27 @@ public abstract class AbstractJdbcCall {
 		this.callMetaDataContext.setAccessCallParameterMetaData(accessCallParameterMetaData);
 	}
 
+	/**
+	 * Specify a shared cache to obtain the procedure meta-data from, avoiding
+	 * repeated meta-data retrieval for calls of the same procedure or function.
+	 * <p>The cache needs to be created for the same database as the
+	 * DataSource of this call. Default is none.
+	 * @since 5.3.21
+	 */
+	public void setMetaDataCache(@Nullable DatabaseMetaDataCache metaDataCache) {
+		checkIfConfigurationModificationIsAllowed();
+		this.metaDataCache = metaDataCache;
+	}
+
+	/**
+	 * Return the shared cache to obtain the procedure meta-data from, if any.
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public DatabaseMetaDataCache getMetaDataCache() {
+		return this.metaDataCache;
+	}
+
 	/**
 	 * Get the call string that should be used based on parameters and meta-data.
 	 */
@@ -310,9 +336,14 @@ public abstract class AbstractJdbcCall {
 	 * Invoked after this base class's compilation is complete.
 	 */
 	protected void compileInternal() {
-		DataSource dataSource = getJdbcTemplate().getDataSource();
-		Assert.state(dataSource != null, "No DataSource set");
-		this.callMetaDataContext.initializeMetaData(dataSource);
+		if (this.metaDataCache != null) {
+			this.callMetaDataContext.initializeMetaData(this.metaDataCache);
+		}
+		else {
+			DataSource dataSource = getJdbcTemplate().getDataSource();
+			Assert.state(dataSource != null, "No DataSource set");
+			this.callMetaDataContext.initializeMetaData(dataSource);
+		}
 
 		// Iterate over the declared RowMappers and register the corresponding SqlParameter
 		this.declaredRowMappers.forEach((key, value) -> this.declaredParameters.add(this.callMetaDataContext.createReturnResultSetParameter(key, value)));
@@ -356,6 +387,18 @@ public abstract class AbstractJdbcCall {
 		}
 	}
 
+	/**
+	 * Method to check whether we are allowed to make any configuration changes at this time.
+	 * <p>If the class has been compiled, then no further changes to the configuration are allowed.
+	 * @since 5.3.21
+	 */
+	protected void checkIfConfigurationModificationIsAllowed() {
+		if (isCompiled()) {
+			throw new InvalidDataAccessApiUsageException(
+					"Configuration cannot be altered once the class has been compiled or used");
+		}
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods handling execution
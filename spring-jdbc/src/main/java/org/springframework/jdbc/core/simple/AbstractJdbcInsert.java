@@ -41,6 +41,7 @@ import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.metadata.TableMetaDataContext;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -76,6 +77,10 @@ public abstract class AbstractJdbcInsert {
 	/** The names of the columns holding the generated key. */
 	private String[] generatedKeyNames = new String[0];
 
+	/** The shared cache to obtain table meta-data from, if any. */
+	@Nullable
+	private DatabaseMetaDataCache metaDataCache;
+
 	/**
 	 * Has this operation been compiled? Compilation means at least checking
 	 * that a DataSource or JdbcTemplate has been provided.
@@ -221,6 +226,27 @@ public abstract class AbstractJdbcInsert {
 		this.tableMetaDataContext.setOverrideIncludeSynonymsDefault(override);
 	}
 
+	/**
+	 * Specify a shared cache to obtain the table meta-data from, avoiding
+	 * repeated meta-data retrieval for inserts into the same table.
+	 * <p>The cache needs to be created for the same database as the
+	 * DataSource of this insert. Default is none.
+	 * @since 5.3.21
+	 */
+	public void setMetaDataCache(@Nullable DatabaseMetaDataCache metaDataCache) {
+		checkIfConfigurationModificationIsAllowed();
+		this.metaDataCache = metaDataCache;
+	}
+
+	/**
+	 * Return the shared cache to obtain the table meta-data from, if any.
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public DatabaseMetaDataCache getMetaDataCache() {
+		return this.metaDataCache;
+	}
+
 	/**
 	 * Get the insert string to be used.
 	 */
@@ -272,9 +298,14 @@ public abstract class AbstractJdbcInsert {
 	 * Invoked after this base class's compilation is complete.
 	 */
 	protected void compileInternal() {
-		DataSource dataSource = getJdbcTemplate().getDataSource();
-		Assert.state(dataSource != null, "No DataSource set");
-		this.tableMetaDataContext.processMetaData(dataSource, getColumnNames(), getGeneratedKeyNames());
+		if (this.metaDataCache != null) {
+			this.tableMetaDataContext.processMetaData(this.metaDataCache, getColumnNames(), getGeneratedKeyNames());
+		}
+		else {
+			DataSource dataSource = getJdbcTemplate().getDataSource();
+			Assert.state(dataSource != null, "No DataSource set");
+			this.tableMetaDataContext.processMetaData(dataSource, getColumnNames(), getGeneratedKeyNames());
+		}
 		this.insertString = this.tableMetaDataContext.createInsertString(getGeneratedKeyNames());
 		this.insertTypes = this.tableMetaDataContext.createInsertTypes();
 		if (logger.isDebugEnabled()) {
@@ -25,6 +25,7 @@ import javax.sql.DataSource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 /**
@@ -147,6 +148,12 @@ public class SimpleJdbcCall extends AbstractJdbcCall implements SimpleJdbcCallOp
 		return this;
 	}
 
+	@Override
+	public SimpleJdbcCall withMetaDataCache(DatabaseMetaDataCache metaDataCache) {
+		setMetaDataCache(metaDataCache);
+		return this;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T executeFunction(Class<T> returnType, Object... args) {
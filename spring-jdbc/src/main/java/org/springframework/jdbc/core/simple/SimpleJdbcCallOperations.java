@@ -20,6 +20,7 @@ import java.util.Map;
 
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 /**
@@ -108,6 +109,16 @@ public interface SimpleJdbcCallOperations {
 	 */
 	SimpleJdbcCallOperations withNamedBinding();
 
+	/**
+	 * Obtain the procedure meta-data from the given shared cache.
+	 * @param metaDataCache the cache for the DataSource of this call
+	 * @return the instance of this SimpleJdbcCall
+	 * @since 5.3.21
+	 */
+	default SimpleJdbcCallOperations withMetaDataCache(DatabaseMetaDataCache metaDataCache) {
+		throw new UnsupportedOperationException("Shared meta-data cache not supported by " + getClass().getName());
+	}
+
 
 	/**
 	 * Execute the stored function and return the results obtained as an Object of the
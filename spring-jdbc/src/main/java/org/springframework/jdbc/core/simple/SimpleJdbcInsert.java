@@ -22,6 +22,7 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
 
@@ -112,6 +113,12 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return this;
 	}
 
+	@Override
+	public SimpleJdbcInsert withMetaDataCache(DatabaseMetaDataCache metaDataCache) {
+		setMetaDataCache(metaDataCache);
+		return this;
+	}
+
 	@Override
 	public int execute(Map<String, ?> args) {
 		return doExecute(args);
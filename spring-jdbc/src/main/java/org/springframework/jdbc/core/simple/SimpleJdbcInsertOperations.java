@@ -18,6 +18,7 @@ package org.springframework.jdbc.core.simple;
 
 import java.util.Map;
 
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
 
@@ -80,6 +81,16 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	SimpleJdbcInsertOperations includeSynonymsForTableColumnMetaData();
 
+	/**
+	 * Obtain the table meta-data from the given shared cache.
+	 * @param metaDataCache the cache for the DataSource of this insert
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 5.3.21
+	 */
+	default SimpleJdbcInsertOperations withMetaDataCache(DatabaseMetaDataCache metaDataCache) {
+		throw new UnsupportedOperationException("Shared meta-data cache not supported by " + getClass().getName());
+	}
+
 
 	/**
 	 * Execute the insert using the values passed in.
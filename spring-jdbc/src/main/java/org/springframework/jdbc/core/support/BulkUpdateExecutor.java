@@ -0,0 +1,693 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Executes a parameterized update statement for a potentially large number
+ * of items in chunks, with each chunk being sent as a JDBC batch. Designed
+ * for bulk ingestion.
+ *
+ * <p>In contrast to {@link JdbcTemplate#batchUpdate(String, java.util.Collection, int, ParameterizedPreparedStatementSetter)},
+ * items are consumed lazily from an {@link Iterator} or {@link Stream}, with
+ * only the chunks currently being executed held in memory. Additionally:
+ * <ul>
+ * <li>a single-row {@code INSERT ... VALUES (...)} statement can be rewritten
+ * into multi-row statements, see {@link #setMultiRowInsert} and
+ * {@link #setMaxParametersPerStatement};
+ * <li>chunks can be spread across several connections when not running
+ * within a transaction, see {@link #setConcurrency};
+ * <li>the row count, update counts and execution time of each chunk are
+ * reported in the returned {@link BulkUpdateResult} as well as to an
+ * optional {@link #setChunkListener chunk listener}.
+ * </ul>
+ *
+ * <p>A configured {@code BulkUpdateExecutor} is thread-safe.
+ *
+ * @since 5.3.21
+ * @param <T> the item type
+ * @see JdbcTemplate#batchUpdate(String, java.util.Collection, int, ParameterizedPreparedStatementSetter)
+ * @see org.springframework.jdbc.object.BatchSqlUpdate
+ */
+public class BulkUpdateExecutor<T> {
+
+	/**
+	 * Default number of items per chunk (1000).
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+	/**
+	 * Default maximum number of parameters per multi-row statement (2000),
+	 * which is within the limits of all common databases.
+	 */
+	public static final int DEFAULT_MAX_PARAMETERS_PER_STATEMENT = 2000;
+
+
+	/** Logger available to subclasses. */
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final String sql;
+
+	private final ParameterizedPreparedStatementSetter<T> pss;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private boolean multiRowInsert = false;
+
+	private int maxParametersPerStatement = DEFAULT_MAX_PARAMETERS_PER_STATEMENT;
+
+	private int concurrency = 1;
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private Consumer<BulkUpdateResult.Chunk> chunkListener;
+
+
+	/**
+	 * Create a new {@code BulkUpdateExecutor} for the given DataSource.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 * @param sql the SQL statement to execute for each item
+	 * @param pss the setter for the parameters of an item
+	 */
+	public BulkUpdateExecutor(DataSource dataSource, String sql, ParameterizedPreparedStatementSetter<T> pss) {
+		this(new JdbcTemplate(dataSource), sql, pss);
+	}
+
+	/**
+	 * Create a new {@code BulkUpdateExecutor} for the given JdbcTemplate.
+	 * @param jdbcTemplate the JdbcTemplate to obtain connections and
+	 * translate exceptions through
+	 * @param sql the SQL statement to execute for each item
+	 * @param pss the setter for the parameters of an item
+	 */
+	public BulkUpdateExecutor(JdbcTemplate jdbcTemplate, String sql, ParameterizedPreparedStatementSetter<T> pss) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		Assert.hasText(sql, "SQL must not be empty");
+		Assert.notNull(pss, "ParameterizedPreparedStatementSetter must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		this.sql = sql;
+		this.pss = pss;
+	}
+
+
+	/**
+	 * Set the number of items per chunk, i.e. per JDBC batch.
+	 * <p>Default is {@value #DEFAULT_CHUNK_SIZE}.
+	 */
+	public void setChunkSize(int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Return the number of items per chunk.
+	 */
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+
+	/**
+	 * Set whether to rewrite the single-row {@code INSERT ... VALUES (...)}
+	 * statement into statements inserting multiple rows at once, i.e.
+	 * {@code INSERT ... VALUES (...), (...), ...}, with the parameters of
+	 * consecutive items being set at the corresponding offsets.
+	 * <p>Default is {@code false}. Only switch this on for databases that
+	 * support multi-row inserts, and for statements whose parameters are all
+	 * placeholders within the {@code VALUES} clause.
+	 * @see #setMaxParametersPerStatement
+	 */
+	public void setMultiRowInsert(boolean multiRowInsert) {
+		this.multiRowInsert = multiRowInsert;
+	}
+
+	/**
+	 * Return whether to rewrite the statement into multi-row inserts.
+	 */
+	public boolean isMultiRowInsert() {
+		return this.multiRowInsert;
+	}
+
+	/**
+	 * Set the maximum number of parameters in a multi-row insert statement,
+	 * determining the number of rows per statement.
+	 * <p>Default is {@value #DEFAULT_MAX_PARAMETERS_PER_STATEMENT}.
+	 * @see #setMultiRowInsert
+	 */
+	public void setMaxParametersPerStatement(int maxParametersPerStatement) {
+		Assert.isTrue(maxParametersPerStatement > 0, "Maximum number of parameters must be greater than 0");
+		this.maxParametersPerStatement = maxParametersPerStatement;
+	}
+
+	/**
+	 * Return the maximum number of parameters in a multi-row insert statement.
+	 */
+	public int getMaxParametersPerStatement() {
+		return this.maxParametersPerStatement;
+	}
+
+	/**
+	 * Set the number of connections to execute chunks on concurrently.
+	 * <p>Default is 1, executing all chunks one after the other on the
+	 * calling thread. Higher values only take effect when not running within
+	 * a transaction: chunks are then committed independently, so a failure
+	 * leaves the chunks executed so far in place. The
+	 * {@link ParameterizedPreparedStatementSetter} needs to be thread-safe
+	 * in that case.
+	 * @see #setTaskExecutor
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Return the number of connections to execute chunks on concurrently.
+	 */
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	/**
+	 * Set the executor to execute chunks on when the concurrency is higher
+	 * than 1.
+	 * <p>Default is a {@link SimpleAsyncTaskExecutor} for each run.
+	 * @see #setConcurrency
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set a listener to be notified of each executed chunk, e.g. for
+	 * progress reporting.
+	 * <p>Called on the thread that executed the chunk.
+	 */
+	public void setChunkListener(@Nullable Consumer<BulkUpdateResult.Chunk> chunkListener) {
+		this.chunkListener = chunkListener;
+	}
+
+
+	/**
+	 * Execute the statement for all given items.
+	 * @param items the items to execute the statement for
+	 * @return the result, reporting the individual chunks
+	 * @throws org.springframework.dao.DataAccessException if there is any problem
+	 * executing the statement
+	 */
+	public BulkUpdateResult execute(Iterable<? extends T> items) {
+		Assert.notNull(items, "Items must not be null");
+		return execute(items.iterator());
+	}
+
+	/**
+	 * Execute the statement for all items of the given stream. The stream is
+	 * consumed but not closed.
+	 * @param items the items to execute the statement for
+	 * @return the result, reporting the individual chunks
+	 * @throws org.springframework.dao.DataAccessException if there is any problem
+	 * executing the statement
+	 */
+	public BulkUpdateResult execute(Stream<? extends T> items) {
+		Assert.notNull(items, "Items must not be null");
+		return execute(items.iterator());
+	}
+
+	/**
+	 * Execute the statement for all remaining items of the given iterator.
+	 * @param items the items to execute the statement for
+	 * @return the result, reporting the individual chunks
+	 * @throws org.springframework.dao.DataAccessException if there is any problem
+	 * executing the statement
+	 */
+	public BulkUpdateResult execute(Iterator<? extends T> items) {
+		Assert.notNull(items, "Items must not be null");
+		StatementLayout layout = (this.multiRowInsert ?
+				StatementLayout.forMultiRowInsert(this.sql, this.chunkSize, this.maxParametersPerStatement) :
+				StatementLayout.forSingleRow(this.sql, this.chunkSize));
+		ChunkSource<T> source = new ChunkSource<>(items, layout.rowsPerChunk);
+		List<BulkUpdateResult.Chunk> chunks = Collections.synchronizedList(new ArrayList<>());
+		int concurrency = determineConcurrency();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL bulk update [" + layout.getSql(layout.rowsPerStatement) + "] with " +
+					layout.rowsPerChunk + " rows per chunk on " + concurrency + " connection(s)");
+		}
+
+		long startTime = System.nanoTime();
+		try {
+			if (concurrency > 1) {
+				executeConcurrently(concurrency, layout, source, chunks);
+			}
+			else {
+				executeChunks(layout, source, chunks);
+			}
+		}
+		finally {
+			if (this.pss instanceof ParameterDisposer) {
+				((ParameterDisposer) this.pss).cleanupParameters();
+			}
+		}
+
+		List<BulkUpdateResult.Chunk> result = new ArrayList<>(chunks);
+		result.sort(Comparator.comparingInt(BulkUpdateResult.Chunk::getIndex));
+		return new BulkUpdateResult(result, Duration.ofNanos(System.nanoTime() - startTime));
+	}
+
+	private int determineConcurrency() {
+		if (this.concurrency > 1 && TransactionSynchronizationManager.isActualTransactionActive()) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing bulk update on a single connection within current transaction");
+			}
+			return 1;
+		}
+		return this.concurrency;
+	}
+
+	private void executeConcurrently(int concurrency, StatementLayout layout, ChunkSource<T> source,
+			List<BulkUpdateResult.Chunk> chunks) {
+
+		Executor executor = (this.taskExecutor != null ? this.taskExecutor : new SimpleAsyncTaskExecutor("bulk-update-"));
+		CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+		for (int i = 0; i < concurrency; i++) {
+			try {
+				workers[i] = CompletableFuture.runAsync(() -> {
+					try {
+						executeChunks(layout, source, chunks);
+					}
+					catch (RuntimeException | Error ex) {
+						source.abort();
+						throw ex;
+					}
+				}, executor);
+			}
+			catch (RejectedExecutionException ex) {
+				// Let the workers started so far finish their current chunk before propagating
+				source.abort();
+				try {
+					CompletableFuture.allOf(Arrays.copyOf(workers, i)).join();
+				}
+				catch (CompletionException workerEx) {
+					ex.addSuppressed(workerEx.getCause() != null ? workerEx.getCause() : workerEx);
+				}
+				throw ex;
+			}
+		}
+		try {
+			CompletableFuture.allOf(workers).join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Execute chunks from the given source on a single connection until the
+	 * source is exhausted.
+	 */
+	private void executeChunks(StatementLayout layout, ChunkSource<T> source, List<BulkUpdateResult.Chunk> chunks) {
+		this.jdbcTemplate.execute(layout.getSql(layout.rowsPerStatement), (PreparedStatementCallback<Void>) ps -> {
+			boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+			ParameterOffsetHandler statement = new ParameterOffsetHandler(ps);
+			List<T> items;
+			int index;
+			while (true) {
+				synchronized (source) {
+					items = source.nextChunk();
+					index = source.chunkCount - 1;
+				}
+				if (items == null) {
+					return null;
+				}
+				long startTime = System.nanoTime();
+				int fullRows = items.size() - items.size() % layout.rowsPerStatement;
+				int[] updateCounts = executeStatements(statement, layout, items.subList(0, fullRows), batchSupported);
+				if (fullRows < items.size()) {
+					// Remaining rows of the last chunk, for a multi-row insert
+					List<T> remainingItems = items.subList(fullRows, items.size());
+					PreparedStatement remainingPs = ps.getConnection().prepareStatement(
+							layout.getSql(remainingItems.size()));
+					try {
+						int[] remainingCounts = executeStatements(new ParameterOffsetHandler(remainingPs),
+								new StatementLayout(layout, remainingItems.size()), remainingItems, false);
+						updateCounts = concat(updateCounts, remainingCounts);
+					}
+					finally {
+						JdbcUtils.closeStatement(remainingPs);
+					}
+				}
+				chunkExecuted(new BulkUpdateResult.Chunk(index, items.size(), updateCounts,
+						Duration.ofNanos(System.nanoTime() - startTime)), chunks);
+			}
+		});
+	}
+
+	private int[] executeStatements(ParameterOffsetHandler statement, StatementLayout layout, List<T> items,
+			boolean batchSupported) throws SQLException {
+
+		int statementCount = items.size() / layout.rowsPerStatement;
+		int[] updateCounts = new int[statementCount];
+		Iterator<T> it = items.iterator();
+		for (int i = 0; i < statementCount; i++) {
+			for (int row = 0; row < layout.rowsPerStatement; row++) {
+				statement.offset = row * layout.parametersPerRow;
+				this.pss.setValues(statement.getStatement(), it.next());
+			}
+			if (batchSupported) {
+				statement.target.addBatch();
+			}
+			else {
+				updateCounts[i] = statement.target.executeUpdate();
+			}
+		}
+		return (batchSupported && statementCount > 0 ? statement.target.executeBatch() : updateCounts);
+	}
+
+	private void chunkExecuted(BulkUpdateResult.Chunk chunk, List<BulkUpdateResult.Chunk> chunks) {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Executed SQL bulk update chunk #" + chunk.getIndex() + " with " + chunk.getRowCount() +
+					" rows in " + chunk.getElapsedTime().toMillis() + " ms");
+		}
+		chunks.add(chunk);
+		if (this.chunkListener != null) {
+			this.chunkListener.accept(chunk);
+		}
+	}
+
+	private static int[] concat(int[] first, int[] second) {
+		int[] result = new int[first.length + second.length];
+		System.arraycopy(first, 0, result, 0, first.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+
+	/**
+	 * Source of chunks, shared between all connections of a run.
+	 * To be accessed while synchronized on the instance.
+	 */
+	private static final class ChunkSource<T> {
+
+		private final Iterator<? extends T> items;
+
+		private final int rowsPerChunk;
+
+		int chunkCount;
+
+		private boolean aborted;
+
+		ChunkSource(Iterator<? extends T> items, int rowsPerChunk) {
+			this.items = items;
+			this.rowsPerChunk = rowsPerChunk;
+		}
+
+		@Nullable
+		List<T> nextChunk() {
+			if (this.aborted || !this.items.hasNext()) {
+				return null;
+			}
+			List<T> chunk = new ArrayList<>(Math.min(this.rowsPerChunk, 1024));
+			while (chunk.size() < this.rowsPerChunk && this.items.hasNext()) {
+				chunk.add(this.items.next());
+			}
+			this.chunkCount++;
+			return chunk;
+		}
+
+		synchronized void abort() {
+			this.aborted = true;
+		}
+	}
+
+
+	/**
+	 * Layout of the statement: the number of rows per statement and
+	 * per chunk, and the SQL for a given number of rows.
+	 */
+	private static final class StatementLayout {
+
+		private final String prefix;
+
+		private final String valuesClause;
+
+		private final String suffix;
+
+		final int parametersPerRow;
+
+		final int rowsPerStatement;
+
+		final int rowsPerChunk;
+
+		private StatementLayout(String prefix, String valuesClause, String suffix,
+				int parametersPerRow, int rowsPerStatement, int rowsPerChunk) {
+
+			this.prefix = prefix;
+			this.valuesClause = valuesClause;
+			this.suffix = suffix;
+			this.parametersPerRow = parametersPerRow;
+			this.rowsPerStatement = rowsPerStatement;
+			this.rowsPerChunk = rowsPerChunk;
+		}
+
+		StatementLayout(StatementLayout layout, int rowsPerStatement) {
+			this(layout.prefix, layout.valuesClause, layout.suffix, layout.parametersPerRow,
+					rowsPerStatement, rowsPerStatement);
+		}
+
+		String getSql(int rows) {
+			if (rows == 1) {
+				return this.prefix + this.valuesClause + this.suffix;
+			}
+			StringBuilder sb = new StringBuilder(this.prefix.length() + this.suffix.length() +
+					rows * (this.valuesClause.length() + 2));
+			sb.append(this.prefix);
+			for (int i = 0; i < rows; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(this.valuesClause);
+			}
+			return sb.append(this.suffix).toString();
+		}
+
+		static StatementLayout forSingleRow(String sql, int chunkSize) {
+			return new StatementLayout(sql, "", "", 0, 1, chunkSize);
+		}
+
+		static StatementLayout forMultiRowInsert(String sql, int chunkSize, int maxParametersPerStatement) {
+			int valuesIndex = findValuesKeyword(sql);
+			int tupleStart = (valuesIndex != -1 ? skipWhitespace(sql, valuesIndex + 6) : -1);
+			if (tupleStart == -1 || !sql.regionMatches(true, skipWhitespace(sql, 0), "insert", 0, 6) ||
+					sql.charAt(tupleStart) != '(') {
+				throw new InvalidDataAccessApiUsageException(
+						"Cannot rewrite SQL statement into multi-row insert: expected INSERT ... VALUES (...) - " + sql);
+			}
+			int tupleEnd = findClosingParenthesis(sql, tupleStart);
+			int parametersPerRow = countPlaceholders(sql, tupleStart, tupleEnd);
+			String suffix = sql.substring(tupleEnd);
+			int suffixStart = skipWhitespace(suffix, 0);
+			if (parametersPerRow == 0 || countPlaceholders(sql, tupleEnd, sql.length()) > 0 ||
+					(suffixStart != -1 && suffix.charAt(suffixStart) == ',')) {
+				throw new InvalidDataAccessApiUsageException("Cannot rewrite SQL statement into multi-row insert: " +
+						"expected a single VALUES row containing all placeholders - " + sql);
+			}
+			int rowsPerStatement = Math.max(1, Math.min(chunkSize, maxParametersPerStatement / parametersPerRow));
+			int rowsPerChunk = Math.max(rowsPerStatement, chunkSize - chunkSize % rowsPerStatement);
+			return new StatementLayout(sql.substring(0, tupleStart), sql.substring(tupleStart, tupleEnd), suffix,
+					parametersPerRow, rowsPerStatement, rowsPerChunk);
+		}
+
+		/**
+		 * Find the top-level {@code VALUES} keyword, outside of quotes and parentheses.
+		 */
+		private static int findValuesKeyword(String sql) {
+			int depth = 0;
+			char quote = 0;
+			for (int i = 0; i < sql.length(); i++) {
+				char c = sql.charAt(i);
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					}
+				}
+				else if (c == '\'' || c == '"' || c == '`') {
+					quote = c;
+				}
+				else if (c == '(') {
+					depth++;
+				}
+				else if (c == ')') {
+					depth--;
+				}
+				else if (depth == 0 && sql.regionMatches(true, i, "values", 0, 6) &&
+						(i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1))) &&
+						(i + 6 == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(i + 6)))) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Return the index after the parenthesis closing the one at the given index.
+		 */
+		private static int findClosingParenthesis(String sql, int start) {
+			int depth = 0;
+			char quote = 0;
+			for (int i = start; i < sql.length(); i++) {
+				char c = sql.charAt(i);
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					}
+				}
+				else if (c == '\'' || c == '"' || c == '`') {
+					quote = c;
+				}
+				else if (c == '(') {
+					depth++;
+				}
+				else if (c == ')' && --depth == 0) {
+					return i + 1;
+				}
+			}
+			throw new InvalidDataAccessApiUsageException(
+					"Cannot rewrite SQL statement into multi-row insert: unbalanced parentheses - " + sql);
+		}
+
+		private static int countPlaceholders(String sql, int start, int end) {
+			int count = 0;
+			char quote = 0;
+			for (int i = start; i < end; i++) {
+				char c = sql.charAt(i);
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					}
+				}
+				else if (c == '\'' || c == '"' || c == '`') {
+					quote = c;
+				}
+				else if (c == '?') {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		private static int skipWhitespace(String sql, int start) {
+			for (int i = start; i < sql.length(); i++) {
+				if (!Character.isWhitespace(sql.charAt(i))) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+
+	/**
+	 * Exposes a PreparedStatement with parameter indexes shifted by a given
+	 * offset, for setting the parameters of a specific row of a multi-row
+	 * statement through a single-row {@link ParameterizedPreparedStatementSetter}.
+	 */
+	private static final class ParameterOffsetHandler implements InvocationHandler {
+
+		final PreparedStatement target;
+
+		int offset;
+
+		@Nullable
+		private PreparedStatement proxy;
+
+		ParameterOffsetHandler(PreparedStatement target) {
+			this.target = target;
+		}
+
+		PreparedStatement getStatement() {
+			if (this.offset == 0) {
+				return this.target;
+			}
+			if (this.proxy == null) {
+				this.proxy = (PreparedStatement) Proxy.newProxyInstance(ParameterOffsetHandler.class.getClassLoader(),
+						new Class<?>[] {PreparedStatement.class}, this);
+			}
+			return this.proxy;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			if (args != null && args.length > 1 && method.getName().startsWith("set") &&
+					method.getParameterTypes()[0] == int.class) {
+				// Parameter setter: shift the parameter index to the current row
+				args[0] = (Integer) args[0] + this.offset;
+			}
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.support;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a {@link BulkUpdateExecutor} run, reporting the row count,
+ * update counts and execution time of each chunk.
+ *
+ * @since 5.3.21
+ * @see BulkUpdateExecutor#execute
+ */
+public final class BulkUpdateResult {
+
+	private final List<Chunk> chunks;
+
+	private final Duration elapsedTime;
+
+
+	BulkUpdateResult(List<Chunk> chunks, Duration elapsedTime) {
+		this.chunks = Collections.unmodifiableList(chunks);
+		this.elapsedTime = elapsedTime;
+	}
+
+
+	/**
+	 * Return the executed chunks, in the order of their items.
+	 */
+	public List<Chunk> getChunks() {
+		return this.chunks;
+	}
+
+	/**
+	 * Return the total number of items across all chunks.
+	 */
+	public long getRowCount() {
+		long rowCount = 0;
+		for (Chunk chunk : this.chunks) {
+			rowCount += chunk.getRowCount();
+		}
+		return rowCount;
+	}
+
+	/**
+	 * Return the total number of rows affected across all chunks,
+	 * as far as reported by the JDBC driver.
+	 * @see Chunk#getUpdateCount()
+	 */
+	public long getUpdateCount() {
+		long updateCount = 0;
+		for (Chunk chunk : this.chunks) {
+			updateCount += chunk.getUpdateCount();
+		}
+		return updateCount;
+	}
+
+	/**
+	 * Return the wall-clock time of the entire run.
+	 */
+	public Duration getElapsedTime() {
+		return this.elapsedTime;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkUpdateResult: " + this.chunks.size() + " chunks with " + getRowCount() +
+				" rows in " + this.elapsedTime.toMillis() + " ms";
+	}
+
+
+	/**
+	 * Result of a single chunk, i.e. a JDBC batch of consecutive items.
+	 */
+	public static final class Chunk {
+
+		private final int index;
+
+		private final int rowCount;
+
+		private final int[] updateCounts;
+
+		private final Duration elapsedTime;
+
+		Chunk(int index, int rowCount, int[] updateCounts, Duration elapsedTime) {
+			this.index = index;
+			this.rowCount = rowCount;
+			this.updateCounts = updateCounts;
+			this.elapsedTime = elapsedTime;
+		}
+
+		/**
+		 * Return the 0-based index of this chunk within the run.
+		 */
+		public int getIndex() {
+			return this.index;
+		}
+
+		/**
+		 * Return the number of items in this chunk.
+		 */
+		public int getRowCount() {
+			return this.rowCount;
+		}
+
+		/**
+		 * Return the update counts as returned by the JDBC driver, one per
+		 * executed statement: a multi-row insert counts as one statement.
+		 */
+		public int[] getUpdateCounts() {
+			return this.updateCounts.clone();
+		}
+
+		/**
+		 * Return the number of rows affected by this chunk, ignoring
+		 * statements for which the driver did not report a row count.
+		 * @see java.sql.Statement#SUCCESS_NO_INFO
+		 */
+		public long getUpdateCount() {
+			long updateCount = 0;
+			for (int count : this.updateCounts) {
+				if (count > 0) {
+					updateCount += count;
+				}
+			}
+			return updateCount;
+		}
+
+		/**
+		 * Return the time spent on setting the parameters and executing
+		 * the statements of this chunk.
+		 */
+		public Duration getElapsedTime() {
+			return this.elapsedTime;
+		}
+
+		@Override
+		public String toString() {
+			return "Chunk #" + this.index + ": " + this.rowCount + " rows in " +
+					this.elapsedTime.toMillis() + " ms";
+		}
+	}
+
+}
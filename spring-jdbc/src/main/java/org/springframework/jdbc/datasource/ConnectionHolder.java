@@ -60,6 +60,11 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	private int activeSavepoints = 0;
+
+	@Nullable
+	private PreparedStatementCache statementCache;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -184,7 +189,50 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 */
 	public Savepoint createSavepoint() throws SQLException {
 		this.savepointCounter++;
-		return getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
+		Savepoint savepoint = getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
+		this.activeSavepoints++;
+		return savepoint;
+	}
+
+	/**
+	 * Release the given JDBC 3.0 Savepoint, as created by {@link #createSavepoint()}.
+	 * @param savepoint the savepoint to release
+	 * @throws SQLException if thrown by the JDBC driver
+	 * @since 5.3.21
+	 */
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		if (this.activeSavepoints > 0) {
+			this.activeSavepoints--;
+		}
+		getConnection().releaseSavepoint(savepoint);
+	}
+
+	/**
+	 * Return whether a savepoint created by {@link #createSavepoint()} has not
+	 * been released yet, i.e. whether a nested transaction is active.
+	 * @since 5.3.21
+	 */
+	public boolean hasSavepoint() {
+		return (this.activeSavepoints > 0);
+	}
+
+	/**
+	 * Set the cache of prepared statements to reuse within the current transaction.
+	 * @since 5.3.21
+	 * @see DataSourceUtils#getStatementCache
+	 */
+	public void setStatementCache(@Nullable PreparedStatementCache statementCache) {
+		this.statementCache = statementCache;
+	}
+
+	/**
+	 * Return the cache of prepared statements to reuse within the current
+	 * transaction, if any.
+	 * @since 5.3.21
+	 */
+	@Nullable
+	public PreparedStatementCache getStatementCache() {
+		return this.statementCache;
 	}
 
 	/**
@@ -212,6 +260,8 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
+		this.activeSavepoints = 0;
+		this.statementCache = null;
 	}
 
 }
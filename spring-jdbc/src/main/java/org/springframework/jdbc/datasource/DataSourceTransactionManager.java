@@ -19,6 +19,11 @@ package org.springframework.jdbc.datasource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.DataSource;
 
@@ -26,6 +31,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionStatus;
@@ -78,6 +84,14 @@ import org.springframework.util.Assert;
  * without any JDBC statements executed. A LazyConnectionDataSourceProxy will not fetch
  * an actual JDBC Connection from the target DataSource until a Statement gets executed,
  * lazily applying the specified transaction settings to the target Connection.
+ * As of 5.3.21, the {@link #setLazyConnectionFetch "lazyConnectionFetch"} flag
+ * provides the same optimization without a separate proxy definition.
+ *
+ * <p>As of 5.3.21, read-only transactions can also be routed to a set of
+ * {@link #setReadOnlyDataSources read-only DataSources}, e.g. database replicas,
+ * with a pluggable {@link ReadOnlyDataSourceSelector} choosing among them. Data
+ * access code keeps working against the primary DataSource, which the transactional
+ * Connection remains bound to.
  *
  * <p>This transaction manager supports nested transactions via the JDBC 3.0
  * {@link java.sql.Savepoint} mechanism. The
@@ -122,6 +136,14 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 
 	private boolean enforceReadOnly = false;
 
+	private boolean lazyConnectionFetch = false;
+
+	private List<DataSource> readOnlyDataSources = Collections.emptyList();
+
+	private ReadOnlyDataSourceSelector readOnlyDataSourceSelector = ReadOnlyDataSourceSelector.roundRobin();
+
+	private final Map<DataSource, LazyConnectionDataSourceProxy> lazyDataSources = new ConcurrentHashMap<>(4);
+
 
 	/**
 	 * Create a new DataSourceTransactionManager instance.
@@ -225,6 +247,80 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		return this.enforceReadOnly;
 	}
 
+	/**
+	 * Specify whether to defer fetching the physical JDBC Connection for a
+	 * transaction until the first Statement gets created on it.
+	 * <p>Transactions that do not execute any JDBC statements, e.g. due to
+	 * cache hits, will then not touch the connection pool at all. Transaction
+	 * settings such as auto-commit, isolation level and read-only are applied
+	 * to the Connection once fetched, as with a {@link LazyConnectionDataSourceProxy}.
+	 * Note that {@link #setEnforceReadOnly "enforceReadOnly"} causes an
+	 * immediate fetch for read-only transactions.
+	 * <p>Default is "false", fetching the Connection on transaction begin.
+	 * @since 5.3.21
+	 * @see LazyConnectionDataSourceProxy
+	 */
+	public void setLazyConnectionFetch(boolean lazyConnectionFetch) {
+		this.lazyConnectionFetch = lazyConnectionFetch;
+	}
+
+	/**
+	 * Return whether to defer fetching the physical JDBC Connection for a
+	 * transaction until the first Statement gets created on it.
+	 * @since 5.3.21
+	 * @see #setLazyConnectionFetch
+	 */
+	public boolean isLazyConnectionFetch() {
+		return this.lazyConnectionFetch;
+	}
+
+	/**
+	 * Specify DataSources to fetch Connections for read-only transactions
+	 * from, typically connection pools for replicas of the primary database.
+	 * <p>The transactional Connection is still bound to the
+	 * {@link #setDataSource primary DataSource}, so data access code works
+	 * against the primary DataSource as usual and transparently participates
+	 * in read-only transactions on a read-only DataSource. Transactions which
+	 * are not read-only, as well as read-only transactions participating in
+	 * an outer read-write transaction, keep using the primary DataSource.
+	 * <p>Default is none, i.e. all transactions use the primary DataSource.
+	 * @since 5.3.21
+	 * @see TransactionDefinition#isReadOnly()
+	 * @see #setReadOnlyDataSourceSelector
+	 */
+	public void setReadOnlyDataSources(List<DataSource> readOnlyDataSources) {
+		Assert.noNullElements(readOnlyDataSources, "Read-only DataSources must not contain null elements");
+		this.readOnlyDataSources = Collections.unmodifiableList(new ArrayList<>(readOnlyDataSources));
+	}
+
+	/**
+	 * Return the DataSources to fetch Connections for read-only transactions from.
+	 * @since 5.3.21
+	 */
+	public List<DataSource> getReadOnlyDataSources() {
+		return this.readOnlyDataSources;
+	}
+
+	/**
+	 * Specify the strategy for selecting one of the
+	 * {@link #setReadOnlyDataSources read-only DataSources} for a transaction.
+	 * <p>Default is {@link ReadOnlyDataSourceSelector#roundRobin()}.
+	 * @since 5.3.21
+	 * @see ReadOnlyDataSourceSelector#random()
+	 */
+	public void setReadOnlyDataSourceSelector(ReadOnlyDataSourceSelector readOnlyDataSourceSelector) {
+		Assert.notNull(readOnlyDataSourceSelector, "ReadOnlyDataSourceSelector must not be null");
+		this.readOnlyDataSourceSelector = readOnlyDataSourceSelector;
+	}
+
+	/**
+	 * Return the strategy for selecting one of the read-only DataSources.
+	 * @since 5.3.21
+	 */
+	public ReadOnlyDataSourceSelector getReadOnlyDataSourceSelector() {
+		return this.readOnlyDataSourceSelector;
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		if (getDataSource() == null) {
@@ -262,7 +358,7 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		try {
 			if (!txObject.hasConnectionHolder() ||
 					txObject.getConnectionHolder().isSynchronizedWithTransaction()) {
-				Connection newCon = obtainDataSource().getConnection();
+				Connection newCon = obtainConnection(definition);
 				if (logger.isDebugEnabled()) {
 					logger.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
 				}
@@ -310,6 +406,31 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		}
 	}
 
+	/**
+	 * Obtain a new Connection for a transaction with the given definition,
+	 * from a read-only DataSource if applicable, and lazily fetched if
+	 * {@link #setLazyConnectionFetch "lazyConnectionFetch"} is enabled.
+	 */
+	private Connection obtainConnection(TransactionDefinition definition) throws SQLException {
+		DataSource dataSource = obtainDataSource();
+		if (definition.isReadOnly() && !this.readOnlyDataSources.isEmpty()) {
+			dataSource = this.readOnlyDataSourceSelector.select(this.readOnlyDataSources, definition);
+		}
+		if (isLazyConnectionFetch()) {
+			LazyConnectionDataSourceProxy lazyDataSource = this.lazyDataSources.get(dataSource);
+			if (lazyDataSource == null) {
+				// Checks the default connection properties: outside of the map's lock
+				lazyDataSource = new LazyConnectionDataSourceProxy(dataSource);
+				LazyConnectionDataSourceProxy existing = this.lazyDataSources.putIfAbsent(dataSource, lazyDataSource);
+				if (existing != null) {
+					lazyDataSource = existing;
+				}
+			}
+			dataSource = lazyDataSource;
+		}
+		return dataSource.getConnection();
+	}
+
 	@Override
 	protected Object doSuspend(Object transaction) {
 		DataSourceTransactionObject txObject = (DataSourceTransactionObject) transaction;
@@ -478,6 +599,14 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 				TransactionSynchronizationUtils.triggerFlush();
 			}
 		}
+
+		@Override
+		public Object createSavepoint() throws TransactionException {
+			// Write pending changes (e.g. deferred JdbcTemplate updates) before the savepoint,
+			// so that they are not rolled back along with the nested transaction.
+			flush();
+			return super.createSavepoint();
+		}
 	}
 
 }
@@ -346,6 +346,46 @@ public abstract class DataSourceUtils {
 		}
 	}
 
+	/**
+	 * Return the cache of prepared statements for the given transactional
+	 * JDBC Connection, creating it if necessary. The cache gets closed at
+	 * transaction completion, closing all statements that it holds.
+	 * @param con the Connection to return the statement cache for
+	 * @param dataSource the DataSource that the Connection was obtained from
+	 * (may be {@code null})
+	 * @param maxSize the maximum number of statements to keep open,
+	 * in case of a newly created cache
+	 * @return the statement cache, or {@code null} if the Connection is not
+	 * transactional or transaction synchronization is not active
+	 * @since 5.3.21
+	 * @see ConnectionHolder#getStatementCache()
+	 */
+	@Nullable
+	public static PreparedStatementCache getStatementCache(
+			Connection con, @Nullable DataSource dataSource, int maxSize) {
+
+		if (dataSource == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		ConnectionHolder conHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+		if (conHolder == null || !conHolder.isSynchronizedWithTransaction() || !connectionEquals(conHolder, con)) {
+			return null;
+		}
+		PreparedStatementCache statementCache = conHolder.getStatementCache();
+		if (statementCache != null) {
+			if (statementCache.getConnection() == con && !statementCache.isClosed()) {
+				return statementCache;
+			}
+			// Statements of a previously held Connection
+			statementCache.close();
+		}
+		statementCache = new PreparedStatementCache(con, maxSize);
+		conHolder.setStatementCache(statementCache);
+		TransactionSynchronizationManager.registerSynchronization(
+				new StatementCacheSynchronization(conHolder, statementCache, dataSource));
+		return statementCache;
+	}
+
 	/**
 	 * Close the given Connection, obtained from the given DataSource,
 	 * if it is not managed externally (that is, not bound to the thread).
@@ -547,4 +587,55 @@ public abstract class DataSourceUtils {
 		}
 	}
 
+
+	/**
+	 * Callback for closing the cached prepared statements of a Connection
+	 * before the Connection itself gets released.
+	 * @see #getStatementCache
+	 */
+	private static class StatementCacheSynchronization implements TransactionSynchronization {
+
+		private final ConnectionHolder connectionHolder;
+
+		private final PreparedStatementCache statementCache;
+
+		private final int order;
+
+		public StatementCacheSynchronization(ConnectionHolder connectionHolder,
+				PreparedStatementCache statementCache, DataSource dataSource) {
+
+			this.connectionHolder = connectionHolder;
+			this.statementCache = statementCache;
+			this.order = getConnectionSynchronizationOrder(dataSource) - 1;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+
+		@Override
+		public void suspend() {
+			// The Connection might get released on suspend
+			closeStatementCache();
+		}
+
+		@Override
+		public void beforeCompletion() {
+			closeStatementCache();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			closeStatementCache();
+		}
+
+		private void closeStatementCache() {
+			this.statementCache.close();
+			if (this.connectionHolder.getStatementCache() == this.statementCache) {
+				this.connectionHolder.setStatementCache(null);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of open {@link PreparedStatement PreparedStatements} for a single
+ * JDBC {@link Connection}, held by the {@link ConnectionHolder} of a
+ * transaction in order to reuse statements until transaction completion.
+ *
+ * <p>Statements are taken out of the cache while in use and put back
+ * afterwards, so nested use of the same statement key leads to separate
+ * statements. Beyond the maximum size, the least recently used statements
+ * get closed.
+ *
+ * <p>Not thread-safe: to be used by the thread that the transaction is
+ * bound to only.
+ *
+ * <p>Note: This is an SPI class, not intended to be used by applications.
+ *
+ * @since 5.3.21
+ * @see DataSourceUtils#getStatementCache
+ * @see org.springframework.jdbc.core.JdbcTemplate#setStatementCacheSize
+ */
+public class PreparedStatementCache {
+
+	private static final Log logger = LogFactory.getLog(PreparedStatementCache.class);
+
+	private final Connection connection;
+
+	private final int maxSize;
+
+	private final LinkedHashMap<Object, PreparedStatement> statements = new LinkedHashMap<>();
+
+	private boolean closed;
+
+
+	/**
+	 * Create a new PreparedStatementCache for the given Connection.
+	 * @param connection the Connection that the statements belong to
+	 * @param maxSize the maximum number of statements to keep open
+	 */
+	public PreparedStatementCache(Connection connection, int maxSize) {
+		Assert.notNull(connection, "Connection must not be null");
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than 0");
+		this.connection = connection;
+		this.maxSize = maxSize;
+	}
+
+
+	/**
+	 * Return the Connection that the cached statements belong to.
+	 */
+	public Connection getConnection() {
+		return this.connection;
+	}
+
+	/**
+	 * Return the maximum number of statements to keep open.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the number of statements currently cached,
+	 * not counting the statements currently in use.
+	 */
+	public int size() {
+		return this.statements.size();
+	}
+
+	/**
+	 * Take the statement for the given key out of the cache, if any.
+	 * <p>The statement is to be {@link #put returned} once not in use anymore.
+	 * @param key the statement key, identifying SQL and statement options
+	 * @return the cached statement, or {@code null} if none
+	 */
+	@Nullable
+	public PreparedStatement take(Object key) {
+		return this.statements.remove(key);
+	}
+
+	/**
+	 * Put the given statement into the cache for reuse, closing the least
+	 * recently used statement if the maximum size is exceeded.
+	 * <p>If the cache already holds a statement for the given key or if this
+	 * cache has been closed, the given statement gets closed right away.
+	 * @param key the statement key, identifying SQL and statement options
+	 * @param statement the statement, not in use anymore
+	 */
+	public void put(Object key, PreparedStatement statement) {
+		if (this.closed || this.statements.containsKey(key)) {
+			closeStatement(statement);
+			return;
+		}
+		this.statements.put(key, statement);
+		if (this.statements.size() > this.maxSize) {
+			Iterator<PreparedStatement> it = this.statements.values().iterator();
+			PreparedStatement eldest = it.next();
+			it.remove();
+			closeStatement(eldest);
+		}
+	}
+
+	/**
+	 * Close all cached statements, also closing any statement put
+	 * into this cache afterwards.
+	 */
+	public void close() {
+		this.closed = true;
+		List<PreparedStatement> statementsToClose = new ArrayList<>(this.statements.values());
+		this.statements.clear();
+		for (PreparedStatement statement : statementsToClose) {
+			closeStatement(statement);
+		}
+	}
+
+	/**
+	 * Return whether this cache has been closed.
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	private static void closeStatement(PreparedStatement statement) {
+		try {
+			statement.close();
+		}
+		catch (SQLException ex) {
+			logger.trace("Could not close cached JDBC PreparedStatement", ex);
+		}
+		catch (Throwable ex) {
+			// We don't trust the JDBC driver: It might throw RuntimeException or Error.
+			logger.trace("Unexpected exception on closing cached JDBC PreparedStatement", ex);
+		}
+	}
+
+}
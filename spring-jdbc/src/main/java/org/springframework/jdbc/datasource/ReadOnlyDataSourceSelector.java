@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Strategy for selecting one of several read-only DataSources, e.g. database
+ * replicas, for a read-only transaction.
+ *
+ * <p>Implementations may balance the load based on any criteria, such as the
+ * number of active connections per DataSource or the name of the transaction.
+ * {@link #roundRobin()} and {@link #random()} provide common strategies.
+ *
+ * @since 5.3.21
+ * @see DataSourceTransactionManager#setReadOnlyDataSources
+ * @see DataSourceTransactionManager#setReadOnlyDataSourceSelector
+ */
+@FunctionalInterface
+public interface ReadOnlyDataSourceSelector {
+
+	/**
+	 * Select the DataSource to fetch the Connection for the given read-only
+	 * transaction from.
+	 * @param dataSources the candidate DataSources (never empty)
+	 * @param definition the definition of the read-only transaction
+	 * @return the selected DataSource, typically one of the candidates
+	 */
+	DataSource select(List<DataSource> dataSources, TransactionDefinition definition);
+
+
+	/**
+	 * Return a selector that cycles through the candidate DataSources in order.
+	 */
+	static ReadOnlyDataSourceSelector roundRobin() {
+		AtomicInteger counter = new AtomicInteger();
+		return (dataSources, definition) ->
+				dataSources.get((counter.getAndIncrement() & Integer.MAX_VALUE) % dataSources.size());
+	}
+
+	/**
+	 * Return a selector that picks one of the candidate DataSources at random.
+	 */
+	static ReadOnlyDataSourceSelector random() {
+		return (dataSources, definition) -> dataSources.get(ThreadLocalRandom.current().nextInt(dataSources.size()));
+	}
+
+}
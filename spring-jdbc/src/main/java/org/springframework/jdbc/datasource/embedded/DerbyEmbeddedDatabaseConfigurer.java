@@ -16,8 +16,15 @@
 
 package org.springframework.jdbc.datasource.embedded;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.CallableStatement;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashSet;
 import java.util.Properties;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
@@ -25,6 +32,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.derby.jdbc.EmbeddedDriver;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.FileSystemUtils;
 
 /**
  * {@link EmbeddedDatabaseConfigurer} for the Apache Derby database.
@@ -42,6 +50,11 @@ final class DerbyEmbeddedDatabaseConfigurer implements EmbeddedDatabaseConfigure
 	@Nullable
 	private static DerbyEmbeddedDatabaseConfigurer instance;
 
+	/** Backup directories of the current snapshots, deleted on JVM shutdown. */
+	private static final Set<File> snapshotDirectories = new LinkedHashSet<>();
+
+	private static boolean snapshotCleanupRegistered;
+
 
 	/**
 	 * Get the singleton {@link DerbyEmbeddedDatabaseConfigurer} instance.
@@ -83,4 +96,104 @@ final class DerbyEmbeddedDatabaseConfigurer implements EmbeddedDatabaseConfigure
 		}
 	}
 
+	/**
+	 * Capture the database as an online backup in a temporary directory,
+	 * which is deleted when the snapshot is discarded or on JVM shutdown.
+	 * New databases are created from that backup via Derby's {@code createFrom}
+	 * connection attribute.
+	 */
+	@Override
+	public EmbeddedDatabaseSnapshot createSnapshot(DataSource dataSource, String databaseName) throws SQLException {
+		File backupDirectory;
+		try {
+			backupDirectory = Files.createTempDirectory("derby-snapshot").toFile();
+		}
+		catch (IOException ex) {
+			throw new SQLException("Could not create backup directory for embedded Derby database", ex);
+		}
+		registerSnapshotDirectory(backupDirectory);
+		try {
+			try (Connection con = dataSource.getConnection();
+					CallableStatement cs = con.prepareCall("CALL SYSCS_UTIL.SYSCS_BACKUP_DATABASE(?)")) {
+				cs.setString(1, backupDirectory.getAbsolutePath());
+				cs.execute();
+			}
+			File[] backups = backupDirectory.listFiles(File::isDirectory);
+			if (backups == null || backups.length != 1) {
+				throw new SQLException("No backup of embedded Derby database '" + databaseName +
+						"' found in " + backupDirectory);
+			}
+			return new DerbyEmbeddedDatabaseSnapshot(backupDirectory, backups[0]);
+		}
+		catch (SQLException | RuntimeException ex) {
+			deleteSnapshotDirectory(backupDirectory);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Register the given snapshot directory for deletion on JVM shutdown,
+	 * through a single shutdown hook for all snapshots.
+	 */
+	private static void registerSnapshotDirectory(File directory) {
+		synchronized (snapshotDirectories) {
+			if (!snapshotCleanupRegistered) {
+				Runtime.getRuntime().addShutdownHook(new Thread(
+						DerbyEmbeddedDatabaseConfigurer::deleteSnapshotDirectories, "derby-snapshot-cleanup"));
+				snapshotCleanupRegistered = true;
+			}
+			snapshotDirectories.add(directory);
+		}
+	}
+
+	private static void deleteSnapshotDirectory(File directory) {
+		synchronized (snapshotDirectories) {
+			snapshotDirectories.remove(directory);
+		}
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	private static void deleteSnapshotDirectories() {
+		synchronized (snapshotDirectories) {
+			for (File directory : snapshotDirectories) {
+				FileSystemUtils.deleteRecursively(directory);
+			}
+			snapshotDirectories.clear();
+		}
+	}
+
+
+	/**
+	 * {@link EmbeddedDatabaseSnapshot} for a Derby database backup.
+	 */
+	private static class DerbyEmbeddedDatabaseSnapshot implements EmbeddedDatabaseSnapshot {
+
+		private final File directory;
+
+		private final File backup;
+
+		DerbyEmbeddedDatabaseSnapshot(File directory, File backup) {
+			this.directory = directory;
+			this.backup = backup;
+		}
+
+		@Override
+		public void configureConnectionProperties(ConnectionProperties properties, String databaseName) {
+			properties.setDriverClass(EmbeddedDriver.class);
+			properties.setUrl(String.format(URL_TEMPLATE, databaseName, "createFrom=" + this.backup.getAbsolutePath()));
+			properties.setUsername("sa");
+			properties.setPassword("");
+		}
+
+		@Override
+		public void restore(DataSource dataSource) {
+			// Already restored on creation of the database
+		}
+
+		@Override
+		public void discard() {
+			deleteSnapshotDirectory(this.directory);
+		}
+	}
+
 }
@@ -16,9 +16,14 @@
 
 package org.springframework.jdbc.datasource.embedded;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.sql.DataSource;
 
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
@@ -43,6 +48,10 @@ import org.springframework.util.Assert;
  * db.shutdown();
  * </pre>
  *
+ * <p>Builders that {@linkplain #snapshot(boolean) enable snapshots} run their
+ * scripts only once per JVM and database type; subsequent databases built with
+ * the same scripts and script settings are cloned from a snapshot instead.
+ *
  * @author Keith Donald
  * @author Juergen Hoeller
  * @author Dave Syer
@@ -60,6 +69,10 @@ public class EmbeddedDatabaseBuilder {
 
 	private final ResourceLoader resourceLoader;
 
+	private final List<Object> populatorSettings = new ArrayList<>();
+
+	private boolean snapshot = false;
+
 
 	/**
 	 * Create a new embedded database builder with a {@link DefaultResourceLoader}.
@@ -136,6 +149,27 @@ public class EmbeddedDatabaseBuilder {
 		return this;
 	}
 
+	/**
+	 * Specify whether the populated database should be captured in a snapshot,
+	 * from which subsequent databases with the same type, scripts and script
+	 * settings are created instead of executing the scripts again.
+	 * <p>This considerably speeds up the creation of databases with sizable
+	 * scripts, e.g. for test application contexts. It is supported for H2,
+	 * HSQL, and Derby; databases of other types are always populated by
+	 * executing the scripts.
+	 * <p>Since the snapshot is reused for the lifetime of the JVM, changes
+	 * to the contents of the scripts in the meantime are not picked up.
+	 * <p>Defaults to {@code false}.
+	 * @param flag {@code true} if the database should be created from a snapshot
+	 * @return {@code this}, to facilitate method chaining
+	 * @since 5.3.21
+	 * @see EmbeddedDatabaseFactory#setSnapshotKey
+	 */
+	public EmbeddedDatabaseBuilder snapshot(boolean flag) {
+		this.snapshot = flag;
+		return this;
+	}
+
 	/**
 	 * Add default SQL scripts to execute to populate the database.
 	 * <p>The default scripts are {@code "schema.sql"} to create the database
@@ -152,7 +186,9 @@ public class EmbeddedDatabaseBuilder {
 	 * @return {@code this}, to facilitate method chaining
 	 */
 	public EmbeddedDatabaseBuilder addScript(String script) {
-		this.databasePopulator.addScript(this.resourceLoader.getResource(script));
+		Resource resource = this.resourceLoader.getResource(script);
+		this.databasePopulator.addScript(resource);
+		this.populatorSettings.add(resource);
 		return this;
 	}
 
@@ -178,6 +214,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setScriptEncoding(String scriptEncoding) {
 		this.databasePopulator.setSqlScriptEncoding(scriptEncoding);
+		addPopulatorSetting("scriptEncoding", scriptEncoding);
 		return this;
 	}
 
@@ -192,6 +229,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setSeparator(String separator) {
 		this.databasePopulator.setSeparator(separator);
+		addPopulatorSetting("separator", separator);
 		return this;
 	}
 
@@ -205,6 +243,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setCommentPrefix(String commentPrefix) {
 		this.databasePopulator.setCommentPrefix(commentPrefix);
+		addPopulatorSetting("commentPrefixes", Arrays.asList(commentPrefix));
 		return this;
 	}
 
@@ -217,6 +256,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setCommentPrefixes(String... commentPrefixes) {
 		this.databasePopulator.setCommentPrefixes(commentPrefixes);
+		addPopulatorSetting("commentPrefixes", Arrays.asList(commentPrefixes));
 		return this;
 	}
 
@@ -230,6 +270,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setBlockCommentStartDelimiter(String blockCommentStartDelimiter) {
 		this.databasePopulator.setBlockCommentStartDelimiter(blockCommentStartDelimiter);
+		addPopulatorSetting("blockCommentStartDelimiter", blockCommentStartDelimiter);
 		return this;
 	}
 
@@ -243,6 +284,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder setBlockCommentEndDelimiter(String blockCommentEndDelimiter) {
 		this.databasePopulator.setBlockCommentEndDelimiter(blockCommentEndDelimiter);
+		addPopulatorSetting("blockCommentEndDelimiter", blockCommentEndDelimiter);
 		return this;
 	}
 
@@ -256,6 +298,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder continueOnError(boolean flag) {
 		this.databasePopulator.setContinueOnError(flag);
+		addPopulatorSetting("continueOnError", flag);
 		return this;
 	}
 
@@ -272,6 +315,7 @@ public class EmbeddedDatabaseBuilder {
 	 */
 	public EmbeddedDatabaseBuilder ignoreFailedDrops(boolean flag) {
 		this.databasePopulator.setIgnoreFailedDrops(flag);
+		addPopulatorSetting("ignoreFailedDrops", flag);
 		return this;
 	}
 
@@ -280,7 +324,12 @@ public class EmbeddedDatabaseBuilder {
 	 * @return the embedded database
 	 */
 	public EmbeddedDatabase build() {
+		this.databaseFactory.setSnapshotKey(this.snapshot ? new ArrayList<>(this.populatorSettings) : null);
 		return this.databaseFactory.getDatabase();
 	}
 
+	private void addPopulatorSetting(String name, Object value) {
+		this.populatorSettings.add(Arrays.asList(name, value));
+	}
+
 }
@@ -16,8 +16,12 @@
 
 package org.springframework.jdbc.datasource.embedded;
 
+import java.sql.SQLException;
+
 import javax.sql.DataSource;
 
+import org.springframework.lang.Nullable;
+
 /**
  * {@code EmbeddedDatabaseConfigurer} encapsulates the configuration required to
  * create, connect to, and shut down a specific type of embedded database such as
@@ -43,4 +47,21 @@ public interface EmbeddedDatabaseConfigurer {
 	 */
 	void shutdown(DataSource dataSource, String databaseName);
 
+	/**
+	 * Capture a snapshot of the populated embedded database instance that backs
+	 * the supplied {@link DataSource}, from which new instances can be created.
+	 * <p>The default implementation returns {@code null}, indicating that
+	 * snapshots are not supported.
+	 * @param dataSource the corresponding {@link DataSource}
+	 * @param databaseName the name of the database to capture
+	 * @return the snapshot, or {@code null} if not supported
+	 * @throws SQLException if the snapshot could not be captured
+	 * @since 5.3.21
+	 * @see EmbeddedDatabaseFactory#setSnapshotKey
+	 */
+	@Nullable
+	default EmbeddedDatabaseSnapshot createSnapshot(DataSource dataSource, String databaseName) throws SQLException {
+		return null;
+	}
+
 }
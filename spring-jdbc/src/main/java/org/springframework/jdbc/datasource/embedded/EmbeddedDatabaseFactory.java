@@ -19,7 +19,11 @@ package org.springframework.jdbc.datasource.embedded;
 import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
@@ -27,6 +31,7 @@ import javax.sql.DataSource;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.datasource.SimpleDriverDataSource;
 import org.springframework.jdbc.datasource.init.DatabasePopulator;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
@@ -52,6 +57,8 @@ import org.springframework.util.Assert;
  * populate the database.
  * <li>Call {@link #setDataSourceFactory} to change the type of
  * {@link DataSource} used to connect to the database.
+ * <li>Call {@link #setSnapshotKey} to populate the database only once per JVM
+ * and create subsequent databases from a snapshot.
  * </ul>
  *
  * <p>After configuring the factory, call {@link #getDatabase()} to obtain
@@ -71,6 +78,9 @@ public class EmbeddedDatabaseFactory {
 
 	private static final Log logger = LogFactory.getLog(EmbeddedDatabaseFactory.class);
 
+	/** Snapshots of populated databases, keyed by configurer and snapshot key. */
+	private static final Map<List<Object>, EmbeddedDatabaseSnapshot> snapshots = new ConcurrentHashMap<>(16);
+
 	private boolean generateUniqueDatabaseName = false;
 
 	private String databaseName = DEFAULT_DATABASE_NAME;
@@ -83,6 +93,9 @@ public class EmbeddedDatabaseFactory {
 	@Nullable
 	private DatabasePopulator databasePopulator;
 
+	@Nullable
+	private Object snapshotKey;
+
 	@Nullable
 	private DataSource dataSource;
 
@@ -149,6 +162,27 @@ public class EmbeddedDatabaseFactory {
 		this.databasePopulator = populator;
 	}
 
+	/**
+	 * Set a key that identifies the populated state of the database, in order
+	 * to run the {@linkplain #setDatabasePopulator database populator} only
+	 * once per JVM.
+	 * <p>The first database created for a given key and database type is
+	 * populated as usual and then captured in an {@link EmbeddedDatabaseSnapshot};
+	 * subsequent databases with an equal key and the same database type are
+	 * created from that snapshot instead. The key must therefore reflect
+	 * everything that affects population, typically the scripts and their
+	 * settings.
+	 * <p>Defaults to {@code null}, i.e. no snapshots. Has no effect for database
+	 * types that do not {@linkplain EmbeddedDatabaseConfigurer#createSnapshot
+	 * support snapshots}.
+	 * @param snapshotKey the key, with proper {@code equals} and {@code hashCode}
+	 * implementations, or {@code null} if the database should always be populated
+	 * @since 5.3.21
+	 */
+	public void setSnapshotKey(@Nullable Object snapshotKey) {
+		this.snapshotKey = snapshotKey;
+	}
+
 	/**
 	 * Factory method that returns the {@linkplain EmbeddedDatabase embedded database}
 	 * instance, which is also a {@link DataSource}.
@@ -176,12 +210,21 @@ public class EmbeddedDatabaseFactory {
 			setDatabaseName(UUID.randomUUID().toString());
 		}
 
-		// Create the embedded database first
+		// Create the embedded database first, from a snapshot if available
 		if (this.databaseConfigurer == null) {
 			this.databaseConfigurer = EmbeddedDatabaseConfigurerFactory.getConfigurer(EmbeddedDatabaseType.HSQL);
 		}
-		this.databaseConfigurer.configureConnectionProperties(
-				this.dataSourceFactory.getConnectionProperties(), this.databaseName);
+		List<Object> snapshotCacheKey = (this.snapshotKey != null ?
+				Arrays.asList(this.databaseConfigurer, this.snapshotKey) : null);
+		EmbeddedDatabaseSnapshot snapshot = (snapshotCacheKey != null ? snapshots.get(snapshotCacheKey) : null);
+		if (snapshot != null) {
+			snapshot.configureConnectionProperties(
+					this.dataSourceFactory.getConnectionProperties(), this.databaseName);
+		}
+		else {
+			this.databaseConfigurer.configureConnectionProperties(
+					this.dataSourceFactory.getConnectionProperties(), this.databaseName);
+		}
 		this.dataSource = this.dataSourceFactory.getDataSource();
 
 		if (logger.isInfoEnabled()) {
@@ -196,7 +239,17 @@ public class EmbeddedDatabaseFactory {
 		}
 
 		// Now populate the database
-		if (this.databasePopulator != null) {
+		if (snapshot != null) {
+			try {
+				snapshot.restore(this.dataSource);
+			}
+			catch (SQLException ex) {
+				shutdownDatabase();
+				throw new DataAccessResourceFailureException(
+						"Failed to restore embedded database '" + this.databaseName + "' from snapshot", ex);
+			}
+		}
+		else if (this.databasePopulator != null) {
 			try {
 				DatabasePopulatorUtils.execute(this.databasePopulator, this.dataSource);
 			}
@@ -206,6 +259,38 @@ public class EmbeddedDatabaseFactory {
 				throw ex;
 			}
 		}
+
+		if (snapshot == null && snapshotCacheKey != null) {
+			captureSnapshot(this.databaseConfigurer, this.dataSource, snapshotCacheKey);
+		}
+	}
+
+	/**
+	 * Capture a snapshot of the freshly populated database for subsequent
+	 * databases with the same snapshot key. Failures are logged only, since
+	 * the database itself is usable regardless.
+	 */
+	private void captureSnapshot(EmbeddedDatabaseConfigurer configurer, DataSource dataSource,
+			List<Object> snapshotCacheKey) {
+
+		try {
+			EmbeddedDatabaseSnapshot snapshot = configurer.createSnapshot(dataSource, this.databaseName);
+			if (snapshot != null) {
+				if (snapshots.putIfAbsent(snapshotCacheKey, snapshot) != null) {
+					// Captured concurrently by another factory with the same snapshot key
+					snapshot.discard();
+				}
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("Embedded database configurer [" + configurer +
+						"] did not capture a snapshot of embedded database '" + this.databaseName + "'");
+			}
+		}
+		catch (SQLException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Could not capture snapshot of embedded database '" + this.databaseName + "'", ex);
+			}
+		}
 	}
 
 	/**
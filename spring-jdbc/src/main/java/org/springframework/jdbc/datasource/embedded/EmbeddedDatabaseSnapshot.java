@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.embedded;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * A snapshot of a populated embedded database, from which new embedded
+ * database instances can be created without running the database populator
+ * again.
+ *
+ * <p>Snapshots are captured via {@link EmbeddedDatabaseConfigurer#createSnapshot}
+ * and shared by all {@link EmbeddedDatabaseFactory} instances with an equal
+ * {@linkplain EmbeddedDatabaseFactory#setSnapshotKey snapshot key}.
+ *
+ * @since 5.3.21
+ * @see EmbeddedDatabaseBuilder#snapshot
+ */
+public interface EmbeddedDatabaseSnapshot {
+
+	/**
+	 * Configure the properties required to create and connect to a new
+	 * embedded database from this snapshot.
+	 * @param properties connection properties to configure
+	 * @param databaseName the name of the new embedded database
+	 */
+	void configureConnectionProperties(ConnectionProperties properties, String databaseName);
+
+	/**
+	 * Restore the state captured in this snapshot into the new embedded
+	 * database instance that backs the supplied {@link DataSource}.
+	 * @param dataSource the {@link DataSource} for the new database
+	 * @throws SQLException if the snapshot could not be restored
+	 */
+	void restore(DataSource dataSource) throws SQLException;
+
+	/**
+	 * Release any resources held by this snapshot, e.g. files, when it is
+	 * not going to be used for creating databases.
+	 * <p>The default implementation is empty.
+	 */
+	default void discard() {
+	}
+
+}
@@ -17,6 +17,10 @@
 package org.springframework.jdbc.datasource.embedded;
 
 import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -66,4 +70,12 @@ final class H2EmbeddedDatabaseConfigurer extends AbstractEmbeddedDatabaseConfigu
 		properties.setPassword("");
 	}
 
+	@Override
+	public EmbeddedDatabaseSnapshot createSnapshot(DataSource dataSource, String databaseName) throws SQLException {
+		List<String> statements = ScriptEmbeddedDatabaseSnapshot.exportScript(dataSource, "SCRIPT");
+		// Skip the row count comments
+		statements.removeIf(statement -> statement.startsWith("--"));
+		return new ScriptEmbeddedDatabaseSnapshot(this, statements);
+	}
+
 }
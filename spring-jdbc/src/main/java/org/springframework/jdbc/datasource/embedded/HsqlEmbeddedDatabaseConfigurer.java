@@ -17,6 +17,14 @@
 package org.springframework.jdbc.datasource.embedded;
 
 import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -32,6 +40,27 @@ import org.springframework.util.ClassUtils;
  */
 final class HsqlEmbeddedDatabaseConfigurer extends AbstractEmbeddedDatabaseConfigurer {
 
+	/**
+	 * Prefixes of exported statements which recreate objects that every new
+	 * database already has.
+	 */
+	private static final String[] BUILT_IN_STATEMENT_PREFIXES = {
+			"SET DATABASE UNIQUE NAME ", "SET FILES ", "CREATE USER SA ", "CREATE SCHEMA PUBLIC ",
+			"GRANT DBA TO SA", "ALTER SEQUENCE SYSTEM_LOBS."};
+
+	/**
+	 * Exported grants on the objects of the built-in {@code INFORMATION_SCHEMA},
+	 * e.g. {@code GRANT USAGE ON DOMAIN INFORMATION_SCHEMA.YES_OR_NO TO PUBLIC}.
+	 */
+	private static final Pattern BUILT_IN_GRANT_PATTERN =
+			Pattern.compile("GRANT [A-Z, ]+ ON (?:[A-Z]+ )?INFORMATION_SCHEMA\\.\\S+ TO .*");
+
+	/**
+	 * Prefixes of the statements in the {@code SYSTEM_LOBS} schema that
+	 * indicate stored LOB values.
+	 */
+	private static final String[] LOB_STATEMENT_PREFIXES = {"INSERT INTO LOBS ", "INSERT INTO LOB_IDS "};
+
 	@Nullable
 	private static HsqlEmbeddedDatabaseConfigurer instance;
 
@@ -65,4 +94,54 @@ final class HsqlEmbeddedDatabaseConfigurer extends AbstractEmbeddedDatabaseConfi
 		properties.setPassword("");
 	}
 
+	/**
+	 * Capture the database via HSQL's {@code SCRIPT} command, leaving out the
+	 * statements for built-in users, schemas and grants, as well as the
+	 * internal {@code SYSTEM_LOBS} schema.
+	 * <p>LOB values are stored in the {@code SYSTEM_LOBS} schema and cannot be
+	 * restored from the script: no snapshot is captured for a database that
+	 * contains any.
+	 */
+	@Override
+	@Nullable
+	public EmbeddedDatabaseSnapshot createSnapshot(DataSource dataSource, String databaseName) throws SQLException {
+		List<String> script = ScriptEmbeddedDatabaseSnapshot.exportScript(dataSource, "SCRIPT");
+		List<String> statements = new ArrayList<>(script.size());
+		boolean inSystemSchema = false;
+		for (String statement : script) {
+			if (statement.startsWith("SET SCHEMA ")) {
+				inSystemSchema = statement.startsWith("SET SCHEMA SYSTEM_LOBS");
+			}
+			if (inSystemSchema) {
+				if (isLobStatement(statement)) {
+					LogFactory.getLog(getClass()).debug("Not capturing a snapshot of embedded HSQL database '" +
+							databaseName + "' since it contains LOB values");
+					return null;
+				}
+			}
+			else if (!isBuiltInStatement(statement)) {
+				statements.add(statement);
+			}
+		}
+		return new ScriptEmbeddedDatabaseSnapshot(this, statements);
+	}
+
+	private static boolean isBuiltInStatement(String statement) {
+		for (String prefix : BUILT_IN_STATEMENT_PREFIXES) {
+			if (statement.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return BUILT_IN_GRANT_PATTERN.matcher(statement).matches();
+	}
+
+	private static boolean isLobStatement(String statement) {
+		for (String prefix : LOB_STATEMENT_PREFIXES) {
+			if (statement.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.embedded;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link EmbeddedDatabaseSnapshot} that holds a script export of the database
+ * in memory, one statement per element, and restores it by executing those
+ * statements against a new, empty database.
+ *
+ * @since 5.3.21
+ * @see H2EmbeddedDatabaseConfigurer
+ * @see HsqlEmbeddedDatabaseConfigurer
+ */
+final class ScriptEmbeddedDatabaseSnapshot implements EmbeddedDatabaseSnapshot {
+
+	private final EmbeddedDatabaseConfigurer configurer;
+
+	private final List<String> statements;
+
+
+	ScriptEmbeddedDatabaseSnapshot(EmbeddedDatabaseConfigurer configurer, List<String> statements) {
+		this.configurer = configurer;
+		this.statements = statements;
+	}
+
+
+	@Override
+	public void configureConnectionProperties(ConnectionProperties properties, String databaseName) {
+		this.configurer.configureConnectionProperties(properties, databaseName);
+	}
+
+	@Override
+	public void restore(DataSource dataSource) throws SQLException {
+		try (Connection con = dataSource.getConnection(); Statement stmt = con.createStatement()) {
+			for (String statement : this.statements) {
+				stmt.execute(statement);
+			}
+			if (!con.getAutoCommit()) {
+				con.commit();
+			}
+		}
+	}
+
+
+	/**
+	 * Run the given export query, which returns the statements of a script
+	 * that recreates the database in its first column, one per row.
+	 * @param dataSource the {@link DataSource} for the database to export
+	 * @param exportQuery the vendor-specific export query
+	 * @return the exported statements
+	 * @throws SQLException if the export failed
+	 */
+	static List<String> exportScript(DataSource dataSource, String exportQuery) throws SQLException {
+		List<String> statements = new ArrayList<>();
+		try (Connection con = dataSource.getConnection(); Statement stmt = con.createStatement();
+				ResultSet rs = stmt.executeQuery(exportQuery)) {
+			while (rs.next()) {
+				String statement = rs.getString(1);
+				if (statement != null) {
+					statements.add(statement);
+				}
+			}
+		}
+		return statements;
+	}
+
+}
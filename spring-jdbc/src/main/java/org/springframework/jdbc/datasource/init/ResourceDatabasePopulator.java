@@ -72,6 +72,13 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 
 	private boolean ignoreFailedDrops = false;
 
+	private boolean streaming = false;
+
+	private int batchSize = 1;
+
+	@Nullable
+	private ScriptProgressListener progressListener;
+
 
 	/**
 	 * Construct a new {@code ResourceDatabasePopulator} with default settings.
@@ -241,6 +248,40 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		this.ignoreFailedDrops = ignoreFailedDrops;
 	}
 
+	/**
+	 * Flag to indicate that scripts should be read and executed statement by
+	 * statement, without loading entire scripts into memory.
+	 * <p>Recommended for large scripts such as data dumps. Defaults to {@code false}.
+	 * @param streaming {@code true} if scripts should be executed in streaming mode
+	 * @since 5.3.21
+	 * @see #setBatchSize
+	 * @see #setProgressListener
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Specify the maximum number of consecutive data manipulation statements
+	 * to execute as a JDBC batch in {@linkplain #setStreaming streaming mode}.
+	 * <p>Defaults to 1, i.e. no batching.
+	 * @param batchSize the maximum number of statements per batch
+	 * @since 5.3.21
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Specify a listener to notify about the progress of script execution
+	 * in {@linkplain #setStreaming streaming mode}.
+	 * @param progressListener the listener to notify, or {@code null} if none
+	 * @since 5.3.21
+	 */
+	public void setProgressListener(@Nullable ScriptProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+
 
 	/**
 	 * {@inheritDoc}
@@ -251,8 +292,16 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		Assert.notNull(connection, "'connection' must not be null");
 		for (Resource script : this.scripts) {
 			EncodedResource encodedScript = new EncodedResource(script, this.sqlScriptEncoding);
-			ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
-					this.commentPrefixes, this.separator, this.blockCommentStartDelimiter, this.blockCommentEndDelimiter);
+			if (this.streaming) {
+				ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
+						this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
+						this.blockCommentEndDelimiter, this.batchSize, this.progressListener);
+			}
+			else {
+				ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
+						this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
+						this.blockCommentEndDelimiter);
+			}
 		}
 	}
 
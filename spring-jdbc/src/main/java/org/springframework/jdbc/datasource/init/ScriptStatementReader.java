@@ -0,0 +1,345 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.init;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reads the statements of an SQL script one by one from a {@link Reader},
+ * keeping only the current statement and a fixed-size read buffer in memory.
+ *
+ * <p>Follows the rules of {@link ScriptUtils#splitSqlScript}: separators,
+ * line comments and block comments outside of quoted literals are removed,
+ * and adjacent whitespace characters are collapsed into a single space.
+ *
+ * @since 5.3.21
+ * @see ScriptUtils#executeSqlScript(java.sql.Connection, EncodedResource, boolean, boolean, String[], String, String, String, int, ScriptProgressListener)
+ */
+class ScriptStatementReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+
+	private final Reader reader;
+
+	private final EncodedResource resource;
+
+	private String separator;
+
+	private final String[] commentPrefixes;
+
+	private final String blockCommentStartDelimiter;
+
+	private final String blockCommentEndDelimiter;
+
+	private char[] buffer = new char[BUFFER_SIZE];
+
+	private int position;
+
+	private int limit;
+
+	/** Position of the first character to retain in the buffer, or -1 if none. */
+	private int mark = -1;
+
+	private boolean endOfInput;
+
+	private int lineNumber = 1;
+
+
+	/**
+	 * Create a new {@code ScriptStatementReader}.
+	 * @param reader the reader to read the script from
+	 * @param resource the resource from which the script is read
+	 * @param separator text separating each statement
+	 * @param commentPrefixes the prefixes that identify SQL line comments
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 */
+	ScriptStatementReader(Reader reader, EncodedResource resource, String separator, String[] commentPrefixes,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter) {
+
+		Assert.hasLength(separator, "'separator' must not be null or empty");
+		Assert.notEmpty(commentPrefixes, "'commentPrefixes' must not be null or empty");
+		for (String commentPrefix : commentPrefixes) {
+			Assert.hasText(commentPrefix, "'commentPrefixes' must not contain null or empty elements");
+		}
+		Assert.hasText(blockCommentStartDelimiter, "'blockCommentStartDelimiter' must not be null or empty");
+		Assert.hasText(blockCommentEndDelimiter, "'blockCommentEndDelimiter' must not be null or empty");
+		this.reader = reader;
+		this.resource = resource;
+		this.separator = separator;
+		this.commentPrefixes = commentPrefixes;
+		this.blockCommentStartDelimiter = blockCommentStartDelimiter;
+		this.blockCommentEndDelimiter = blockCommentEndDelimiter;
+	}
+
+
+	/**
+	 * Return the resource from which the script is read.
+	 */
+	EncodedResource getResource() {
+		return this.resource;
+	}
+
+	/**
+	 * Return the number of the line that the reader is currently positioned in.
+	 */
+	int getLineNumber() {
+		return this.lineNumber;
+	}
+
+	/**
+	 * Read the next statement of the script.
+	 * @return the statement, or {@code null} if the end of the script has been reached
+	 * @throws IOException in case of I/O errors
+	 * @throws ScriptParseException if a block comment is not terminated
+	 */
+	@Nullable
+	String readStatement() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		if (parse(sb)) {
+			return sb.toString();
+		}
+		// End of script: strip a trailing separator that lacks its trailing whitespace
+		String trimmedSeparator = this.separator.trim();
+		if (trimmedSeparator.length() > 0 && trimmedSeparator.length() < this.separator.length() &&
+				sb.lastIndexOf(trimmedSeparator) == sb.length() - trimmedSeparator.length()) {
+			sb.setLength(sb.length() - trimmedSeparator.length());
+		}
+		return (StringUtils.hasText(sb) ? StringUtils.trimTrailingWhitespace(sb.toString()) : null);
+	}
+
+	/**
+	 * Switch to the given fallback separator if the remainder of the script
+	 * does not contain the current statement separator.
+	 * <p>The script is read ahead up to the first separator, retaining the
+	 * text read in the buffer, so that the underlying reader is only read once.
+	 * Without any separator, this means buffering the entire script.
+	 * @param fallbackSeparator the separator to use instead
+	 * @throws IOException in case of I/O errors
+	 * @throws ScriptParseException if a block comment is not terminated
+	 */
+	void useFallbackSeparatorIfAbsent(String fallbackSeparator) throws IOException {
+		int startLineNumber = this.lineNumber;
+		this.mark = this.position;
+		boolean containsSeparator;
+		try {
+			containsSeparator = parse(null);
+		}
+		finally {
+			this.position = this.mark;
+			this.mark = -1;
+			this.lineNumber = startLineNumber;
+		}
+		if (!containsSeparator) {
+			this.separator = fallbackSeparator;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+
+	/**
+	 * Parse the script up to the end of the next statement.
+	 * @param sb the builder to append the statement to, or {@code null} to
+	 * stop at the first separator without collecting statement text
+	 * @return {@code true} if a separator terminated the statement,
+	 * {@code false} if the end of the script has been reached
+	 */
+	private boolean parse(@Nullable StringBuilder sb) throws IOException {
+		boolean inSingleQuote = false;
+		boolean inDoubleQuote = false;
+		int next;
+		while ((next = read()) != -1) {
+			char c = (char) next;
+			// MySQL style escapes
+			if (c == '\\') {
+				append(sb, c);
+				int escaped = read();
+				if (escaped != -1) {
+					append(sb, (char) escaped);
+				}
+				continue;
+			}
+			if (!inDoubleQuote && (c == '\'')) {
+				inSingleQuote = !inSingleQuote;
+			}
+			else if (!inSingleQuote && (c == '"')) {
+				inDoubleQuote = !inDoubleQuote;
+			}
+			if (!inSingleQuote && !inDoubleQuote) {
+				if (lookingAt(c, this.separator)) {
+					// We've reached the end of the current statement
+					skip(this.separator.length() - 1);
+					if (sb == null || sb.length() > 0) {
+						return true;
+					}
+					continue;
+				}
+				else if (lookingAtAny(c, this.commentPrefixes)) {
+					// Skip over any content from the start of the comment to the EOL
+					skipLineComment();
+					continue;
+				}
+				else if (lookingAt(c, this.blockCommentStartDelimiter)) {
+					// Skip over any block comments
+					skip(this.blockCommentStartDelimiter.length() - 1);
+					skipBlockComment();
+					continue;
+				}
+				else if (c == ' ' || c == '\r' || c == '\n' || c == '\t') {
+					// Avoid multiple adjacent whitespace characters
+					if (sb != null && sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ' &&
+							!(c == '\r' && lookingAt('\n'))) {
+						c = ' ';
+					}
+					else {
+						continue;
+					}
+				}
+			}
+			append(sb, c);
+		}
+		return false;
+	}
+
+	private static void append(@Nullable StringBuilder sb, char c) {
+		if (sb != null) {
+			sb.append(c);
+		}
+	}
+
+	private void skipLineComment() throws IOException {
+		// Leave the line break itself for the regular separator and whitespace handling
+		while (!lookingAt('\n')) {
+			if (read() == -1) {
+				return;
+			}
+		}
+	}
+
+	private void skipBlockComment() throws IOException {
+		int next;
+		while ((next = read()) != -1) {
+			if (lookingAt((char) next, this.blockCommentEndDelimiter)) {
+				skip(this.blockCommentEndDelimiter.length() - 1);
+				return;
+			}
+		}
+		throw new ScriptParseException(
+				"Missing block comment end delimiter: " + this.blockCommentEndDelimiter, this.resource);
+	}
+
+	private int read() throws IOException {
+		if (!ensureAvailable(1)) {
+			return -1;
+		}
+		char c = this.buffer[this.position++];
+		if (c == '\n') {
+			this.lineNumber++;
+		}
+		return c;
+	}
+
+	private void skip(int count) throws IOException {
+		for (int i = 0; i < count; i++) {
+			read();
+		}
+	}
+
+	/**
+	 * Determine whether the next character to be read is the given character.
+	 */
+	private boolean lookingAt(char expected) throws IOException {
+		return (ensureAvailable(1) && this.buffer[this.position] == expected);
+	}
+
+	/**
+	 * Determine whether the given token starts with the given character that
+	 * has just been read, followed by the characters to be read next.
+	 */
+	private boolean lookingAt(char current, String token) throws IOException {
+		if (token.charAt(0) != current) {
+			return false;
+		}
+		int remaining = token.length() - 1;
+		if (!ensureAvailable(remaining)) {
+			return false;
+		}
+		for (int i = 0; i < remaining; i++) {
+			if (this.buffer[this.position + i] != token.charAt(i + 1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean lookingAtAny(char current, String[] tokens) throws IOException {
+		for (String token : tokens) {
+			if (lookingAt(current, token)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Make sure that the given number of characters is available in the
+	 * buffer, reading from the underlying reader if necessary. Characters
+	 * from the {@link #mark}, if any, are retained in the buffer.
+	 * @return {@code false} if the end of the input has been reached before
+	 */
+	private boolean ensureAvailable(int count) throws IOException {
+		while (this.limit - this.position < count) {
+			if (this.endOfInput) {
+				return false;
+			}
+			int retained = (this.mark != -1 ? this.mark : this.position);
+			if (retained > 0) {
+				System.arraycopy(this.buffer, retained, this.buffer, 0, this.limit - retained);
+				this.limit -= retained;
+				this.position -= retained;
+				if (this.mark != -1) {
+					this.mark = 0;
+				}
+			}
+			if (this.position + count > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(this.position + count, this.buffer.length * 2));
+			}
+			int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+			if (read == -1) {
+				this.endOfInput = true;
+			}
+			else {
+				this.limit += read;
+			}
+		}
+		return true;
+	}
+
+}
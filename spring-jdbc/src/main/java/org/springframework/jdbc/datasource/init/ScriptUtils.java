@@ -18,6 +18,7 @@ package org.springframework.jdbc.datasource.init;
 
 import java.io.IOException;
 import java.io.LineNumberReader;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -30,6 +31,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -99,6 +101,8 @@ public abstract class ScriptUtils {
 	public static final String DEFAULT_BLOCK_COMMENT_END_DELIMITER = "*/";
 
 
+	private static final String[] BATCHABLE_STATEMENT_KEYWORDS = {"insert", "update", "delete", "merge"};
+
 	private static final Log logger = LogFactory.getLog(ScriptUtils.class);
 
 
@@ -257,31 +261,7 @@ public abstract class ScriptUtils {
 			try {
 				for (String statement : statements) {
 					stmtNumber++;
-					try {
-						stmt.execute(statement);
-						int rowsAffected = stmt.getUpdateCount();
-						if (logger.isDebugEnabled()) {
-							logger.debug(rowsAffected + " returned as update count for SQL: " + statement);
-							SQLWarning warningToLog = stmt.getWarnings();
-							while (warningToLog != null) {
-								logger.debug("SQLWarning ignored: SQL state '" + warningToLog.getSQLState() +
-										"', error code '" + warningToLog.getErrorCode() +
-										"', message [" + warningToLog.getMessage() + "]");
-								warningToLog = warningToLog.getNextWarning();
-							}
-						}
-					}
-					catch (SQLException ex) {
-						boolean dropStatement = StringUtils.startsWithIgnoreCase(statement.trim(), "drop");
-						if (continueOnError || (dropStatement && ignoreFailedDrops)) {
-							if (logger.isDebugEnabled()) {
-								logger.debug(ScriptStatementFailedException.buildErrorMessage(statement, stmtNumber, resource), ex);
-							}
-						}
-						else {
-							throw new ScriptStatementFailedException(statement, stmtNumber, resource, ex);
-						}
-					}
+					executeStatement(stmt, statement, stmtNumber, resource, continueOnError, ignoreFailedDrops);
 				}
 			}
 			finally {
@@ -307,6 +287,248 @@ public abstract class ScriptUtils {
 		}
 	}
 
+	/**
+	 * Execute the given SQL script, reading and executing its statements one
+	 * at a time instead of loading the entire script into memory.
+	 * <p>Statement separators and comments will be removed before executing
+	 * individual statements within the supplied script, as for
+	 * {@link #executeSqlScript(Connection, EncodedResource, boolean, boolean, String[], String, String, String)}.
+	 * The resource is read only once, so one-shot resources such as an
+	 * {@link org.springframework.core.io.InputStreamResource} are supported.
+	 * To detect whether the script contains the separator, the script is
+	 * buffered up to the first separator; a script without any separator is
+	 * buffered entirely and executed with the
+	 * {@linkplain #FALLBACK_STATEMENT_SEPARATOR fallback separator}.
+	 * <p>If a batch size greater than 1 is specified and the driver supports
+	 * batch updates, consecutive {@code INSERT}, {@code UPDATE}, {@code DELETE}
+	 * and {@code MERGE} statements are executed in JDBC batches of up to that
+	 * size. Note that with {@code continueOnError}, a driver may not execute
+	 * the statements of a batch after a failed statement.
+	 * <p><strong>Warning</strong>: this method does <em>not</em> release the
+	 * provided {@link Connection}.
+	 * @param connection the JDBC connection to use to execute the script; already
+	 * configured and ready to use
+	 * @param resource the resource (potentially associated with a specific encoding)
+	 * to load the SQL script from
+	 * @param continueOnError whether or not to continue without throwing an exception
+	 * in the event of an error
+	 * @param ignoreFailedDrops whether or not to continue in the event of specifically
+	 * an error on a {@code DROP} statement
+	 * @param commentPrefixes the prefixes that identify single-line comments in the
+	 * SQL script (typically "--")
+	 * @param separator the script statement separator; defaults to
+	 * {@value #DEFAULT_STATEMENT_SEPARATOR} if not specified and falls back to
+	 * {@value #FALLBACK_STATEMENT_SEPARATOR} as a last resort; may be set to
+	 * {@value #EOF_STATEMENT_SEPARATOR} to signal that the script contains a
+	 * single statement without a separator
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 * @param batchSize the maximum number of consecutive data manipulation
+	 * statements to execute as a batch; 1 or less for no batching
+	 * @param progressListener the listener to notify about the progress of the
+	 * execution, or {@code null} if none
+	 * @throws ScriptException if an error occurred while executing the SQL script
+	 * @since 5.3.21
+	 * @see org.springframework.jdbc.datasource.DataSourceUtils#getConnection
+	 * @see org.springframework.jdbc.datasource.DataSourceUtils#releaseConnection
+	 */
+	public static void executeSqlScript(Connection connection, EncodedResource resource, boolean continueOnError,
+			boolean ignoreFailedDrops, String[] commentPrefixes, @Nullable String separator,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter, int batchSize,
+			@Nullable ScriptProgressListener progressListener) throws ScriptException {
+
+		try {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing SQL script from " + resource + " in streaming mode");
+			}
+			long startTime = System.currentTimeMillis();
+
+			if (separator == null) {
+				separator = DEFAULT_STATEMENT_SEPARATOR;
+			}
+			int stmtNumber;
+			try (ScriptStatementReader reader = new ScriptStatementReader(resource.getReader(), resource,
+					separator, commentPrefixes, blockCommentStartDelimiter, blockCommentEndDelimiter)) {
+				if (!EOF_STATEMENT_SEPARATOR.equals(separator)) {
+					reader.useFallbackSeparatorIfAbsent(FALLBACK_STATEMENT_SEPARATOR);
+				}
+				stmtNumber = executeStatements(connection, reader, continueOnError, ignoreFailedDrops,
+						batchSize, progressListener);
+			}
+			catch (IOException ex) {
+				throw new CannotReadScriptException(resource, ex);
+			}
+
+			long elapsedTime = System.currentTimeMillis() - startTime;
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executed " + stmtNumber + " statements of SQL script from " + resource +
+						" in " + elapsedTime + " ms.");
+			}
+		}
+		catch (Exception ex) {
+			if (ex instanceof ScriptException) {
+				throw (ScriptException) ex;
+			}
+			throw new UncategorizedScriptException(
+				"Failed to execute database script from resource [" + resource + "]", ex);
+		}
+	}
+
+	/**
+	 * Execute the statements read from the given reader.
+	 * @return the number of statements read
+	 */
+	private static int executeStatements(Connection connection, ScriptStatementReader reader,
+			boolean continueOnError, boolean ignoreFailedDrops, int batchSize,
+			@Nullable ScriptProgressListener progressListener) throws IOException, SQLException {
+
+		EncodedResource resource = reader.getResource();
+		boolean batchUpdates = (batchSize > 1 && JdbcUtils.supportsBatchUpdates(connection));
+		List<String> batch = new ArrayList<>(batchUpdates ? batchSize : 0);
+		int stmtNumber = 0;
+		Statement stmt = connection.createStatement();
+		try {
+			String statement;
+			while ((statement = reader.readStatement()) != null) {
+				stmtNumber++;
+				if (batchUpdates && isBatchableStatement(statement)) {
+					stmt.addBatch(statement);
+					batch.add(statement);
+					if (batch.size() < batchSize) {
+						continue;
+					}
+					executeBatch(stmt, batch, stmtNumber - batch.size() + 1, resource,
+							continueOnError, ignoreFailedDrops);
+				}
+				else {
+					if (!batch.isEmpty()) {
+						executeBatch(stmt, batch, stmtNumber - batch.size(), resource,
+								continueOnError, ignoreFailedDrops);
+					}
+					executeStatement(stmt, statement, stmtNumber, resource, continueOnError, ignoreFailedDrops);
+				}
+				if (progressListener != null) {
+					progressListener.statementsExecuted(stmtNumber, reader.getLineNumber());
+				}
+			}
+			if (!batch.isEmpty()) {
+				executeBatch(stmt, batch, stmtNumber - batch.size() + 1, resource,
+						continueOnError, ignoreFailedDrops);
+				if (progressListener != null) {
+					progressListener.statementsExecuted(stmtNumber, reader.getLineNumber());
+				}
+			}
+		}
+		finally {
+			try {
+				stmt.close();
+			}
+			catch (Throwable ex) {
+				logger.trace("Could not close JDBC Statement", ex);
+			}
+		}
+		return stmtNumber;
+	}
+
+	private static void executeStatement(Statement stmt, String statement, int stmtNumber,
+			EncodedResource resource, boolean continueOnError, boolean ignoreFailedDrops) throws SQLException {
+
+		try {
+			stmt.execute(statement);
+			int rowsAffected = stmt.getUpdateCount();
+			if (logger.isDebugEnabled()) {
+				logger.debug(rowsAffected + " returned as update count for SQL: " + statement);
+				SQLWarning warningToLog = stmt.getWarnings();
+				while (warningToLog != null) {
+					logger.debug("SQLWarning ignored: SQL state '" + warningToLog.getSQLState() +
+							"', error code '" + warningToLog.getErrorCode() +
+							"', message [" + warningToLog.getMessage() + "]");
+					warningToLog = warningToLog.getNextWarning();
+				}
+			}
+		}
+		catch (SQLException ex) {
+			boolean dropStatement = StringUtils.startsWithIgnoreCase(statement.trim(), "drop");
+			if (continueOnError || (dropStatement && ignoreFailedDrops)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(ScriptStatementFailedException.buildErrorMessage(statement, stmtNumber, resource), ex);
+				}
+			}
+			else {
+				throw new ScriptStatementFailedException(statement, stmtNumber, resource, ex);
+			}
+		}
+	}
+
+	/**
+	 * Execute the statements added to the given JDBC statement as a batch.
+	 * If the driver stops processing the batch at a failed statement, the
+	 * remaining statements are executed individually when continuing on error.
+	 */
+	private static void executeBatch(Statement stmt, List<String> batch, int firstStmtNumber,
+			EncodedResource resource, boolean continueOnError, boolean ignoreFailedDrops) throws SQLException {
+
+		try {
+			int[] rowsAffected = stmt.executeBatch();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executed batch of " + rowsAffected.length + " statements starting with SQL: " +
+						batch.get(0));
+			}
+		}
+		catch (SQLException ex) {
+			int failedIndex = 0;
+			int remainingIndex = batch.size();
+			if (ex instanceof BatchUpdateException) {
+				int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+				int processed = (updateCounts != null ? updateCounts.length : 0);
+				if (processed < batch.size()) {
+					// The driver stopped at the failed statement
+					failedIndex = processed;
+					remainingIndex = processed + 1;
+				}
+				else {
+					for (int i = 0; i < processed; i++) {
+						if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+							failedIndex = i;
+							break;
+						}
+					}
+				}
+			}
+			String statement = batch.get(failedIndex);
+			if (!continueOnError) {
+				throw new ScriptStatementFailedException(statement, firstStmtNumber + failedIndex, resource, ex);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(ScriptStatementFailedException.buildErrorMessage(
+						statement, firstStmtNumber + failedIndex, resource), ex);
+			}
+			stmt.clearBatch();
+			for (int i = remainingIndex; i < batch.size(); i++) {
+				executeStatement(stmt, batch.get(i), firstStmtNumber + i, resource,
+						continueOnError, ignoreFailedDrops);
+			}
+		}
+		finally {
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Determine whether the given statement is a data manipulation statement
+	 * that can be executed as part of a batch.
+	 */
+	private static boolean isBatchableStatement(String statement) {
+		for (String keyword : BATCHABLE_STATEMENT_KEYWORDS) {
+			if (StringUtils.startsWithIgnoreCase(statement, keyword) &&
+					(statement.length() == keyword.length() ||
+							!Character.isLetterOrDigit(statement.charAt(keyword.length())))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Read a script from the provided resource, using the supplied comment prefixes
 	 * and statement separator, and build a {@code String} containing the lines.
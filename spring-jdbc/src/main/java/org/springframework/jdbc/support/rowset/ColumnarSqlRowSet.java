@@ -0,0 +1,1185 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Disconnected implementation of Spring's {@link SqlRowSet} interface, holding
+ * the data of a {@link ResultSet} in a compact column-oriented representation.
+ *
+ * <p>In contrast to a {@code javax.sql.rowset.CachedRowSet} wrapped by a
+ * {@link ResultSetWrappingSqlRowSet}, values are not stored as an object per
+ * cell within an object per row: columns with {@code Integer}, {@code Long},
+ * {@code Double} and {@code Boolean} values are stored in primitive arrays,
+ * and {@code String} columns are dictionary-encoded, storing each distinct
+ * value once. This typically reduces the memory footprint of large cached
+ * result sets considerably, in particular for reference data with many
+ * repeated values. Columns with other value types, as well as columns with
+ * values of mixed types, are stored as plain object arrays.
+ *
+ * <p>The storage type of a column is determined from the values returned by
+ * {@link ResultSet#getObject(int)}, so {@link #getObject(int)} exposes the
+ * same values as the original ResultSet would. The typed accessor methods
+ * convert between value types along the lines of common JDBC drivers.
+ *
+ * <p>Can be used as a {@link org.springframework.jdbc.core.ResultSetExtractor}
+ * through its constructor, e.g. {@code jdbcTemplate.query(sql, ColumnarSqlRowSet::new)}.
+ *
+ * <p>Note: Like a ResultSet, an instance of this class keeps a cursor and is
+ * therefore not thread-safe.
+ *
+ * @since 5.3.21
+ * @see org.springframework.jdbc.core.SqlRowSetResultSetExtractor
+ * @see ResultSetWrappingSqlRowSet
+ */
+public class ColumnarSqlRowSet implements SqlRowSet {
+
+	private static final long serialVersionUID = 1L;
+
+
+	private final SqlRowSetMetaData metaData;
+
+	private final Map<String, Integer> columnLabelMap;
+
+	private final Column[] columns;
+
+	private final int rowCount;
+
+	private int cursor;
+
+	private boolean wasNull;
+
+
+	/**
+	 * Create a new ColumnarSqlRowSet, reading all remaining rows
+	 * of the given ResultSet.
+	 * @param resultSet the ResultSet to read (connected)
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public ColumnarSqlRowSet(ResultSet resultSet) throws SQLException {
+		ResultSetMetaData rsmd = resultSet.getMetaData();
+		this.metaData = new ColumnarSqlRowSetMetaData(rsmd);
+		int columnCount = rsmd.getColumnCount();
+		this.columnLabelMap = CollectionUtils.newHashMap(columnCount);
+		for (int i = 1; i <= columnCount; i++) {
+			// Preserve first matching column for any given label
+			this.columnLabelMap.putIfAbsent(rsmd.getColumnLabel(i), i);
+		}
+
+		Column[] columns = new Column[columnCount];
+		int row = 0;
+		while (resultSet.next()) {
+			for (int i = 0; i < columnCount; i++) {
+				Object value = resultSet.getObject(i + 1);
+				Column column = columns[i];
+				if (value == null) {
+					if (column != null) {
+						column.addNull(row);
+					}
+				}
+				else if (column == null) {
+					column = Column.forValue(value);
+					column.addNulls(row);
+					column.add(row, value);
+					columns[i] = column;
+				}
+				else if (!column.add(row, value)) {
+					// Value of a different type: fall back to plain objects
+					column = column.toObjectColumn(row);
+					column.add(row, value);
+					columns[i] = column;
+				}
+			}
+			row++;
+		}
+		for (int i = 0; i < columnCount; i++) {
+			if (columns[i] == null) {
+				columns[i] = new ObjectColumn();
+			}
+			columns[i].trim(row);
+		}
+		this.columns = columns;
+		this.rowCount = row;
+	}
+
+
+	@Override
+	public SqlRowSetMetaData getMetaData() {
+		return this.metaData;
+	}
+
+	/**
+	 * @see java.sql.ResultSet#findColumn(String)
+	 */
+	@Override
+	public int findColumn(String columnLabel) throws InvalidResultSetAccessException {
+		Integer columnIndex = this.columnLabelMap.get(columnLabel);
+		if (columnIndex != null) {
+			return columnIndex;
+		}
+		for (int i = 1; i <= this.columns.length; i++) {
+			if (this.metaData.getColumnLabel(i).equalsIgnoreCase(columnLabel)) {
+				return i;
+			}
+		}
+		throw invalidAccess("Invalid column label: " + columnLabel);
+	}
+
+	/**
+	 * Return the number of rows in this row set.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+
+	// RowSet methods for extracting data values
+
+	/**
+	 * @see java.sql.ResultSet#getBigDecimal(int)
+	 */
+	@Override
+	@Nullable
+	public BigDecimal getBigDecimal(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO);
+		}
+		try {
+			return new BigDecimal(value.toString().trim());
+		}
+		catch (NumberFormatException ex) {
+			throw invalidConversion(value, BigDecimal.class);
+		}
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getBigDecimal(String)
+	 */
+	@Override
+	@Nullable
+	public BigDecimal getBigDecimal(String columnLabel) throws InvalidResultSetAccessException {
+		return getBigDecimal(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getBoolean(int)
+	 */
+	@Override
+	public boolean getBoolean(int columnIndex) throws InvalidResultSetAccessException {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		if (checkNull(column, row)) {
+			return false;
+		}
+		if (column instanceof BooleanColumn) {
+			return ((BooleanColumn) column).values.get(row);
+		}
+		Object value = column.get(row);
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		if (value instanceof Number) {
+			return (((Number) value).intValue() != 0);
+		}
+		String str = value.toString().trim();
+		return ("true".equalsIgnoreCase(str) || "1".equals(str));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getBoolean(String)
+	 */
+	@Override
+	public boolean getBoolean(String columnLabel) throws InvalidResultSetAccessException {
+		return getBoolean(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getByte(int)
+	 */
+	@Override
+	public byte getByte(int columnIndex) throws InvalidResultSetAccessException {
+		Number number = getNumber(columnIndex);
+		return (number != null ? number.byteValue() : 0);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getByte(String)
+	 */
+	@Override
+	public byte getByte(String columnLabel) throws InvalidResultSetAccessException {
+		return getByte(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDate(int)
+	 */
+	@Override
+	@Nullable
+	public Date getDate(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Date) {
+			return (Date) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Date(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalDate) {
+			return Date.valueOf((LocalDate) value);
+		}
+		if (value instanceof LocalDateTime) {
+			return Date.valueOf(((LocalDateTime) value).toLocalDate());
+		}
+		try {
+			return Date.valueOf(value.toString().trim());
+		}
+		catch (IllegalArgumentException ex) {
+			throw invalidConversion(value, Date.class);
+		}
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDate(String)
+	 */
+	@Override
+	@Nullable
+	public Date getDate(String columnLabel) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDate(int, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Date getDate(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Date date = getDate(columnIndex);
+		return (date != null ? new Date(adjustToCalendar(date, cal)) : null);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDate(String, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Date getDate(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnLabel), cal);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDouble(int)
+	 */
+	@Override
+	public double getDouble(int columnIndex) throws InvalidResultSetAccessException {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		if (checkNull(column, row)) {
+			return 0;
+		}
+		if (column instanceof DoubleColumn) {
+			return ((DoubleColumn) column).values[row];
+		}
+		return toNumber(column.get(row)).doubleValue();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getDouble(String)
+	 */
+	@Override
+	public double getDouble(String columnLabel) throws InvalidResultSetAccessException {
+		return getDouble(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getFloat(int)
+	 */
+	@Override
+	public float getFloat(int columnIndex) throws InvalidResultSetAccessException {
+		Number number = getNumber(columnIndex);
+		return (number != null ? number.floatValue() : 0);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getFloat(String)
+	 */
+	@Override
+	public float getFloat(String columnLabel) throws InvalidResultSetAccessException {
+		return getFloat(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getInt(int)
+	 */
+	@Override
+	public int getInt(int columnIndex) throws InvalidResultSetAccessException {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		if (checkNull(column, row)) {
+			return 0;
+		}
+		if (column instanceof IntColumn) {
+			return ((IntColumn) column).values[row];
+		}
+		return toNumber(column.get(row)).intValue();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getInt(String)
+	 */
+	@Override
+	public int getInt(String columnLabel) throws InvalidResultSetAccessException {
+		return getInt(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getLong(int)
+	 */
+	@Override
+	public long getLong(int columnIndex) throws InvalidResultSetAccessException {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		if (checkNull(column, row)) {
+			return 0;
+		}
+		if (column instanceof LongColumn) {
+			return ((LongColumn) column).values[row];
+		}
+		if (column instanceof IntColumn) {
+			return ((IntColumn) column).values[row];
+		}
+		return toNumber(column.get(row)).longValue();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getLong(String)
+	 */
+	@Override
+	public long getLong(String columnLabel) throws InvalidResultSetAccessException {
+		return getLong(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getNString(int)
+	 */
+	@Override
+	@Nullable
+	public String getNString(int columnIndex) throws InvalidResultSetAccessException {
+		return getString(columnIndex);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getNString(String)
+	 */
+	@Override
+	@Nullable
+	public String getNString(String columnLabel) throws InvalidResultSetAccessException {
+		return getNString(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(int)
+	 */
+	@Override
+	@Nullable
+	public Object getObject(int columnIndex) throws InvalidResultSetAccessException {
+		return getValue(columnIndex);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(String)
+	 */
+	@Override
+	@Nullable
+	public Object getObject(String columnLabel) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(int, Map)
+	 */
+	@Override
+	@Nullable
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws InvalidResultSetAccessException {
+		return getValue(columnIndex);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(String, Map)
+	 */
+	@Override
+	@Nullable
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel), map);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(int, Class)
+	 */
+	@Override
+	@Nullable
+	public <T> T getObject(int columnIndex, Class<T> type) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || type.isInstance(value)) {
+			return type.cast(value);
+		}
+		Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(type);
+		Object result;
+		if (String.class == targetType) {
+			result = getString(columnIndex);
+		}
+		else if (Integer.class == targetType) {
+			result = getInt(columnIndex);
+		}
+		else if (Long.class == targetType) {
+			result = getLong(columnIndex);
+		}
+		else if (Double.class == targetType) {
+			result = getDouble(columnIndex);
+		}
+		else if (Float.class == targetType) {
+			result = getFloat(columnIndex);
+		}
+		else if (Short.class == targetType) {
+			result = getShort(columnIndex);
+		}
+		else if (Byte.class == targetType) {
+			result = getByte(columnIndex);
+		}
+		else if (Boolean.class == targetType) {
+			result = getBoolean(columnIndex);
+		}
+		else if (BigDecimal.class == targetType) {
+			result = getBigDecimal(columnIndex);
+		}
+		else if (Date.class == targetType) {
+			result = getDate(columnIndex);
+		}
+		else if (Time.class == targetType) {
+			result = getTime(columnIndex);
+		}
+		else if (Timestamp.class == targetType) {
+			result = getTimestamp(columnIndex);
+		}
+		else if (LocalDate.class == targetType) {
+			Date date = getDate(columnIndex);
+			result = (date != null ? date.toLocalDate() : null);
+		}
+		else if (LocalTime.class == targetType) {
+			Time time = getTime(columnIndex);
+			result = (time != null ? time.toLocalTime() : null);
+		}
+		else if (LocalDateTime.class == targetType) {
+			Timestamp timestamp = getTimestamp(columnIndex);
+			result = (timestamp != null ? timestamp.toLocalDateTime() : null);
+		}
+		else {
+			throw invalidConversion(value, type);
+		}
+		@SuppressWarnings("unchecked")
+		T castResult = (T) result;
+		return castResult;
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getObject(String, Class)
+	 */
+	@Override
+	@Nullable
+	public <T> T getObject(String columnLabel, Class<T> type) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel), type);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getShort(int)
+	 */
+	@Override
+	public short getShort(int columnIndex) throws InvalidResultSetAccessException {
+		Number number = getNumber(columnIndex);
+		return (number != null ? number.shortValue() : 0);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getShort(String)
+	 */
+	@Override
+	public short getShort(String columnLabel) throws InvalidResultSetAccessException {
+		return getShort(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getString(int)
+	 */
+	@Override
+	@Nullable
+	public String getString(int columnIndex) throws InvalidResultSetAccessException {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		if (checkNull(column, row)) {
+			return null;
+		}
+		if (column instanceof StringColumn) {
+			return ((StringColumn) column).getString(row);
+		}
+		return column.get(row).toString();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getString(String)
+	 */
+	@Override
+	@Nullable
+	public String getString(String columnLabel) throws InvalidResultSetAccessException {
+		return getString(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTime(int)
+	 */
+	@Override
+	@Nullable
+	public Time getTime(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Time) {
+			return (Time) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Time(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalTime) {
+			return Time.valueOf((LocalTime) value);
+		}
+		if (value instanceof LocalDateTime) {
+			return Time.valueOf(((LocalDateTime) value).toLocalTime());
+		}
+		try {
+			return Time.valueOf(value.toString().trim());
+		}
+		catch (IllegalArgumentException ex) {
+			throw invalidConversion(value, Time.class);
+		}
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTime(String)
+	 */
+	@Override
+	@Nullable
+	public Time getTime(String columnLabel) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTime(int, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Time getTime(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Time time = getTime(columnIndex);
+		return (time != null ? new Time(adjustToCalendar(time, cal)) : null);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTime(String, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Time getTime(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnLabel), cal);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTimestamp(int)
+	 */
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Timestamp) {
+			return (Timestamp) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Timestamp(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalDateTime) {
+			return Timestamp.valueOf((LocalDateTime) value);
+		}
+		if (value instanceof LocalDate) {
+			return Timestamp.valueOf(((LocalDate) value).atStartOfDay());
+		}
+		if (value instanceof OffsetDateTime) {
+			return Timestamp.from(((OffsetDateTime) value).toInstant());
+		}
+		try {
+			return Timestamp.valueOf(value.toString().trim());
+		}
+		catch (IllegalArgumentException ex) {
+			throw invalidConversion(value, Timestamp.class);
+		}
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTimestamp(String)
+	 */
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(String columnLabel) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnLabel));
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTimestamp(int, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Timestamp timestamp = getTimestamp(columnIndex);
+		if (timestamp == null) {
+			return null;
+		}
+		Timestamp result = new Timestamp(adjustToCalendar(timestamp, cal));
+		result.setNanos(timestamp.getNanos());
+		return result;
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getTimestamp(String, Calendar)
+	 */
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnLabel), cal);
+	}
+
+
+	// RowSet navigation methods
+
+	/**
+	 * @see java.sql.ResultSet#absolute(int)
+	 */
+	@Override
+	public boolean absolute(int row) throws InvalidResultSetAccessException {
+		if (row >= 0) {
+			this.cursor = Math.min(row, this.rowCount + 1);
+		}
+		else {
+			this.cursor = Math.max(this.rowCount + 1 + row, 0);
+		}
+		return isOnRow();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#afterLast()
+	 */
+	@Override
+	public void afterLast() throws InvalidResultSetAccessException {
+		this.cursor = this.rowCount + 1;
+	}
+
+	/**
+	 * @see java.sql.ResultSet#beforeFirst()
+	 */
+	@Override
+	public void beforeFirst() throws InvalidResultSetAccessException {
+		this.cursor = 0;
+	}
+
+	/**
+	 * @see java.sql.ResultSet#first()
+	 */
+	@Override
+	public boolean first() throws InvalidResultSetAccessException {
+		return absolute(1);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#getRow()
+	 */
+	@Override
+	public int getRow() throws InvalidResultSetAccessException {
+		return (isOnRow() ? this.cursor : 0);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#isAfterLast()
+	 */
+	@Override
+	public boolean isAfterLast() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor > this.rowCount);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#isBeforeFirst()
+	 */
+	@Override
+	public boolean isBeforeFirst() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == 0);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#isFirst()
+	 */
+	@Override
+	public boolean isFirst() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == 1);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#isLast()
+	 */
+	@Override
+	public boolean isLast() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == this.rowCount);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#last()
+	 */
+	@Override
+	public boolean last() throws InvalidResultSetAccessException {
+		return absolute(-1);
+	}
+
+	/**
+	 * @see java.sql.ResultSet#next()
+	 */
+	@Override
+	public boolean next() throws InvalidResultSetAccessException {
+		if (this.cursor <= this.rowCount) {
+			this.cursor++;
+		}
+		return isOnRow();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#previous()
+	 */
+	@Override
+	public boolean previous() throws InvalidResultSetAccessException {
+		if (this.cursor > 0) {
+			this.cursor--;
+		}
+		return isOnRow();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#relative(int)
+	 */
+	@Override
+	public boolean relative(int rows) throws InvalidResultSetAccessException {
+		long target = (long) this.cursor + rows;
+		this.cursor = (int) Math.max(0, Math.min(target, this.rowCount + 1));
+		return isOnRow();
+	}
+
+	/**
+	 * @see java.sql.ResultSet#wasNull()
+	 */
+	@Override
+	public boolean wasNull() throws InvalidResultSetAccessException {
+		return this.wasNull;
+	}
+
+
+	private boolean isOnRow() {
+		return (this.cursor > 0 && this.cursor <= this.rowCount);
+	}
+
+	private Column getColumn(int columnIndex) {
+		if (columnIndex < 1 || columnIndex > this.columns.length) {
+			throw invalidAccess("Invalid column index: " + columnIndex);
+		}
+		if (!isOnRow()) {
+			throw invalidAccess("Invalid cursor position: not on a row");
+		}
+		return this.columns[columnIndex - 1];
+	}
+
+	private boolean checkNull(Column column, int row) {
+		this.wasNull = column.isNull(row);
+		return this.wasNull;
+	}
+
+	@Nullable
+	private Object getValue(int columnIndex) {
+		Column column = getColumn(columnIndex);
+		int row = this.cursor - 1;
+		return (checkNull(column, row) ? null : column.get(row));
+	}
+
+	@Nullable
+	private Number getNumber(int columnIndex) {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value) : null);
+	}
+
+	private Number toNumber(Object value) {
+		if (value instanceof Number) {
+			return (Number) value;
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value ? 1 : 0);
+		}
+		try {
+			return new BigDecimal(value.toString().trim());
+		}
+		catch (NumberFormatException ex) {
+			throw invalidConversion(value, Number.class);
+		}
+	}
+
+	/**
+	 * Return the time of the given value with its local date and time fields
+	 * interpreted in the time zone of the given calendar.
+	 */
+	private static long adjustToCalendar(java.util.Date value, Calendar cal) {
+		Calendar local = Calendar.getInstance();
+		local.setTime(value);
+		Calendar target = (Calendar) cal.clone();
+		target.clear();
+		target.set(local.get(Calendar.YEAR), local.get(Calendar.MONTH), local.get(Calendar.DAY_OF_MONTH),
+				local.get(Calendar.HOUR_OF_DAY), local.get(Calendar.MINUTE), local.get(Calendar.SECOND));
+		target.set(Calendar.MILLISECOND, local.get(Calendar.MILLISECOND));
+		return target.getTimeInMillis();
+	}
+
+	private static InvalidResultSetAccessException invalidAccess(String message) {
+		return new InvalidResultSetAccessException(new SQLException(message));
+	}
+
+	private static InvalidResultSetAccessException invalidConversion(Object value, Class<?> type) {
+		return invalidAccess("Cannot convert value [" + value + "] of type [" +
+				value.getClass().getName() + "] to [" + type.getName() + "]");
+	}
+
+
+	/**
+	 * Values of a single column, with nulls tracked separately
+	 * for columns with primitive values.
+	 */
+	private abstract static class Column implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final BitSet nulls = new BitSet();
+
+		static Column forValue(Object value) {
+			if (value instanceof Integer) {
+				return new IntColumn();
+			}
+			else if (value instanceof Long) {
+				return new LongColumn();
+			}
+			else if (value instanceof Double) {
+				return new DoubleColumn();
+			}
+			else if (value instanceof Boolean) {
+				return new BooleanColumn();
+			}
+			else if (value instanceof String) {
+				return new StringColumn();
+			}
+			else {
+				return new ObjectColumn();
+			}
+		}
+
+		void addNull(int row) {
+			this.nulls.set(row);
+		}
+
+		void addNulls(int rowCount) {
+			this.nulls.set(0, rowCount);
+		}
+
+		boolean isNull(int row) {
+			return this.nulls.get(row);
+		}
+
+		/**
+		 * Add the given non-null value for the given row.
+		 * @return {@code false} if the value is not of the type of this column
+		 */
+		abstract boolean add(int row, Object value);
+
+		/**
+		 * Return the value of the given non-null row.
+		 */
+		abstract Object get(int row);
+
+		/**
+		 * Trim the storage of this column to the given number of rows.
+		 */
+		abstract void trim(int rowCount);
+
+		ObjectColumn toObjectColumn(int rowCount) {
+			ObjectColumn column = new ObjectColumn();
+			for (int row = 0; row < rowCount; row++) {
+				if (!isNull(row)) {
+					column.add(row, get(row));
+				}
+			}
+			return column;
+		}
+
+		/**
+		 * Determine the new length of a storage array of the given length,
+		 * with room for at least the given number of elements: previous rows
+		 * may have been null without growing the array.
+		 */
+		static int grow(int length, int minLength) {
+			return Math.max(minLength, Math.max(16, length * 2));
+		}
+	}
+
+
+	private static final class IntColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		int[] values = new int[16];
+
+		@Override
+		boolean add(int row, Object value) {
+			if (!(value instanceof Integer)) {
+				return false;
+			}
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row + 1));
+			}
+			this.values[row] = (Integer) value;
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void trim(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+	}
+
+
+	private static final class LongColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		long[] values = new long[16];
+
+		@Override
+		boolean add(int row, Object value) {
+			if (!(value instanceof Long)) {
+				return false;
+			}
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row + 1));
+			}
+			this.values[row] = (Long) value;
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void trim(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+	}
+
+
+	private static final class DoubleColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		double[] values = new double[16];
+
+		@Override
+		boolean add(int row, Object value) {
+			if (!(value instanceof Double)) {
+				return false;
+			}
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row + 1));
+			}
+			this.values[row] = (Double) value;
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void trim(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+	}
+
+
+	private static final class BooleanColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		final BitSet values = new BitSet();
+
+		@Override
+		boolean add(int row, Object value) {
+			if (!(value instanceof Boolean)) {
+				return false;
+			}
+			this.values.set(row, (Boolean) value);
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return this.values.get(row);
+		}
+
+		@Override
+		void trim(int rowCount) {
+		}
+	}
+
+
+	/**
+	 * Dictionary-encoded String column: each distinct value is stored once,
+	 * with an index into the dictionary per row.
+	 */
+	private static final class StringColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		private int[] codes = new int[16];
+
+		private String[] dictionary = new String[16];
+
+		private int dictionarySize;
+
+		@Nullable
+		private transient Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+		@Override
+		boolean add(int row, Object value) {
+			if (!(value instanceof String) || this.dictionaryIndex == null) {
+				return false;
+			}
+			if (row >= this.codes.length) {
+				this.codes = Arrays.copyOf(this.codes, grow(this.codes.length, row + 1));
+			}
+			Integer code = this.dictionaryIndex.get(value);
+			if (code == null) {
+				code = this.dictionarySize++;
+				if (code >= this.dictionary.length) {
+					this.dictionary = Arrays.copyOf(this.dictionary, grow(this.dictionary.length, code + 1));
+				}
+				this.dictionary[code] = (String) value;
+				this.dictionaryIndex.put((String) value, code);
+			}
+			this.codes[row] = code;
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return getString(row);
+		}
+
+		String getString(int row) {
+			return this.dictionary[this.codes[row]];
+		}
+
+		@Override
+		void trim(int rowCount) {
+			this.codes = Arrays.copyOf(this.codes, rowCount);
+			this.dictionary = Arrays.copyOf(this.dictionary, this.dictionarySize);
+			this.dictionaryIndex = null;
+		}
+	}
+
+
+	private static final class ObjectColumn extends Column {
+
+		private static final long serialVersionUID = 1L;
+
+		private Object[] values = new Object[16];
+
+		@Override
+		void addNull(int row) {
+		}
+
+		@Override
+		void addNulls(int rowCount) {
+		}
+
+		@Override
+		boolean isNull(int row) {
+			return (this.values[row] == null);
+		}
+
+		@Override
+		boolean add(int row, Object value) {
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row + 1));
+			}
+			this.values[row] = value;
+			return true;
+		}
+
+		@Override
+		Object get(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void trim(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+	}
+
+}
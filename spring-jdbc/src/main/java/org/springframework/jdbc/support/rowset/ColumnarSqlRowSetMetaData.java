@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+
+/**
+ * Disconnected {@link SqlRowSetMetaData} implementation, holding a copy of
+ * the column meta-data of a {@link java.sql.ResultSet}.
+ *
+ * <p>Used by {@link ColumnarSqlRowSet}.
+ *
+ * @since 5.3.21
+ * @see ColumnarSqlRowSet#getMetaData()
+ */
+final class ColumnarSqlRowSetMetaData implements SqlRowSetMetaData, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+
+	private final ColumnInfo[] columns;
+
+	private final String[] columnNames;
+
+
+	ColumnarSqlRowSetMetaData(ResultSetMetaData metaData) throws SQLException {
+		int columnCount = metaData.getColumnCount();
+		this.columns = new ColumnInfo[columnCount];
+		this.columnNames = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			this.columns[i] = new ColumnInfo(metaData, i + 1);
+			this.columnNames[i] = this.columns[i].columnName;
+		}
+	}
+
+
+	private ColumnInfo getColumn(int column) {
+		if (column < 1 || column > this.columns.length) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid column index: " + column));
+		}
+		return this.columns[column - 1];
+	}
+
+	@Override
+	public String getCatalogName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).catalogName;
+	}
+
+	@Override
+	public String getColumnClassName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnClassName;
+	}
+
+	@Override
+	public int getColumnCount() throws InvalidResultSetAccessException {
+		return this.columns.length;
+	}
+
+	@Override
+	public String[] getColumnNames() throws InvalidResultSetAccessException {
+		return this.columnNames;
+	}
+
+	@Override
+	public int getColumnDisplaySize(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnDisplaySize;
+	}
+
+	@Override
+	public String getColumnLabel(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnLabel;
+	}
+
+	@Override
+	public String getColumnName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnName;
+	}
+
+	@Override
+	public int getColumnType(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnType;
+	}
+
+	@Override
+	public String getColumnTypeName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).columnTypeName;
+	}
+
+	@Override
+	public int getPrecision(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).precision;
+	}
+
+	@Override
+	public int getScale(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).scale;
+	}
+
+	@Override
+	public String getSchemaName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).schemaName;
+	}
+
+	@Override
+	public String getTableName(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).tableName;
+	}
+
+	@Override
+	public boolean isCaseSensitive(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).caseSensitive;
+	}
+
+	@Override
+	public boolean isCurrency(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).currency;
+	}
+
+	@Override
+	public boolean isSigned(int column) throws InvalidResultSetAccessException {
+		return getColumn(column).signed;
+	}
+
+
+	/**
+	 * Meta-data of a single column.
+	 */
+	private static final class ColumnInfo implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		final String catalogName;
+
+		final String columnClassName;
+
+		final int columnDisplaySize;
+
+		final String columnLabel;
+
+		final String columnName;
+
+		final int columnType;
+
+		final String columnTypeName;
+
+		final int precision;
+
+		final int scale;
+
+		final String schemaName;
+
+		final String tableName;
+
+		final boolean caseSensitive;
+
+		final boolean currency;
+
+		final boolean signed;
+
+		ColumnInfo(ResultSetMetaData metaData, int column) throws SQLException {
+			this.catalogName = metaData.getCatalogName(column);
+			this.columnClassName = metaData.getColumnClassName(column);
+			this.columnDisplaySize = metaData.getColumnDisplaySize(column);
+			this.columnLabel = metaData.getColumnLabel(column);
+			this.columnName = metaData.getColumnName(column);
+			this.columnType = metaData.getColumnType(column);
+			this.columnTypeName = metaData.getColumnTypeName(column);
+			this.precision = metaData.getPrecision(column);
+			this.scale = metaData.getScale(column);
+			this.schemaName = metaData.getSchemaName(column);
+			this.tableName = metaData.getTableName(column);
+			this.caseSensitive = metaData.isCaseSensitive(column);
+			this.currency = metaData.isCurrency(column);
+			this.signed = metaData.isSigned(column);
+		}
+	}
+
+}
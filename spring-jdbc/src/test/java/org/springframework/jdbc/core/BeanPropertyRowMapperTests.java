@@ -16,6 +16,8 @@
 
 package org.springframework.jdbc.core;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,10 @@ import org.springframework.jdbc.core.test.SpacePerson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link BeanPropertyRowMapper}.
@@ -162,6 +168,59 @@ class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	void columnLayoutIsResolvedOncePerResultSet() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		ResultSet rs = mockResultSet("name", "age");
+		given(rs.getString(1)).willReturn("Bubba", "Barney");
+		given(rs.getLong(2)).willReturn(22L, 33L);
+
+		Person first = mapper.mapRow(rs, 0);
+		Person second = mapper.mapRow(rs, 1);
+		assertThat(first.getName()).isEqualTo("Bubba");
+		assertThat(first.getAge()).isEqualTo(22L);
+		assertThat(second.getName()).isEqualTo("Barney");
+		assertThat(second.getAge()).isEqualTo(33L);
+		verify(rs, times(1)).getMetaData();
+	}
+
+	@Test
+	void differentColumnLayoutsWithSameMapper() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		ResultSet rs1 = mockResultSet("name", "age");
+		given(rs1.getString(1)).willReturn("Bubba");
+		given(rs1.getLong(2)).willReturn(22L);
+		ResultSet rs2 = mockResultSet("age", "name");
+		given(rs2.getLong(1)).willReturn(33L);
+		given(rs2.getString(2)).willReturn("Barney");
+
+		assertThat(mapper.mapRow(rs1, 0).getName()).isEqualTo("Bubba");
+		Person person = mapper.mapRow(rs2, 0);
+		assertThat(person.getName()).isEqualTo("Barney");
+		assertThat(person.getAge()).isEqualTo(33L);
+		assertThat(mapper.mapRow(rs1, 0).getAge()).isEqualTo(22L);
+	}
+
+	@Test
+	void columnLayoutIsResolvedOncePerResultSetWhenMappingInterleaved() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		ResultSet rs1 = mockResultSet("name", "age");
+		given(rs1.getString(1)).willReturn("Bubba", "Barney");
+		given(rs1.getLong(2)).willReturn(22L, 33L);
+		ResultSet rs2 = mockResultSet("age", "name");
+		given(rs2.getLong(1)).willReturn(44L, 55L);
+		given(rs2.getString(2)).willReturn("Fred", "Wilma");
+
+		assertThat(mapper.mapRow(rs1, 0).getName()).isEqualTo("Bubba");
+		assertThat(mapper.mapRow(rs2, 0).getName()).isEqualTo("Fred");
+		assertThat(mapper.mapRow(rs1, 1).getName()).isEqualTo("Barney");
+		Person person = mapper.mapRow(rs2, 1);
+		assertThat(person.getName()).isEqualTo("Wilma");
+		assertThat(person.getAge()).isEqualTo(55L);
+		verify(rs1, times(1)).getMetaData();
+		verify(rs2, times(1)).getMetaData();
+	}
+
 	@ParameterizedTest
 	@CsvSource({
 		"age, age",
@@ -176,4 +235,16 @@ class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		assertThat(mapper.underscoreName(input)).isEqualTo(expected);
 	}
 
+
+	private static ResultSet mockResultSet(String... columns) throws Exception {
+		ResultSet rs = mock(ResultSet.class);
+		ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+		given(rs.getMetaData()).willReturn(rsmd);
+		given(rsmd.getColumnCount()).willReturn(columns.length);
+		for (int i = 0; i < columns.length; i++) {
+			given(rsmd.getColumnLabel(i + 1)).willReturn(columns[i]);
+		}
+		return rs;
+	}
+
 }
@@ -25,6 +25,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -37,6 +38,7 @@ import javax.sql.DataSource;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -46,19 +48,24 @@ import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.core.support.AbstractInterruptibleBatchPreparedStatementSetter;
 import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -1087,6 +1094,197 @@ public class JdbcTemplateTests {
 		assertThat(map.get("x")).isEqualTo("first value");
 	}
 
+	@Test
+	public void testPreparedStatementReuseWithinTransaction() throws Exception {
+		String sql = "UPDATE FOO SET BAR = ? WHERE ID = ?";
+		PreparedStatement otherStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement("DELETE FROM FOO")).willReturn(otherStatement);
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.template.setStatementCacheSize(10);
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		tt.executeWithoutResult(status -> {
+			for (int i = 0; i < 3; i++) {
+				this.template.update(sql, i, 11);
+			}
+			this.template.update("DELETE FROM FOO");
+		});
+
+		verify(this.connection).prepareStatement(sql);
+		verify(this.preparedStatement, times(3)).executeUpdate();
+		verify(this.preparedStatement).setObject(1, 2);
+		verify(this.preparedStatement, times(2)).clearParameters();
+		verify(this.preparedStatement).close();
+		verify(otherStatement).close();
+		verify(this.connection).commit();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testPreparedStatementReuseWithLeastRecentlyUsedEviction() throws Exception {
+		PreparedStatement otherStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement("DELETE FROM FOO")).willReturn(otherStatement);
+		this.template.setStatementCacheSize(1);
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		tt.executeWithoutResult(status -> {
+			this.template.update("UPDATE FOO SET BAR = 1");
+			this.template.update("DELETE FROM FOO");
+			this.template.update("DELETE FROM FOO");
+			this.template.update("UPDATE FOO SET BAR = 1");
+		});
+
+		verify(this.connection, times(2)).prepareStatement("UPDATE FOO SET BAR = 1");
+		verify(this.connection).prepareStatement("DELETE FROM FOO");
+		verify(this.preparedStatement, times(2)).close();
+		verify(otherStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testPreparedStatementNotReusedAfterFailure() throws Exception {
+		String sql = "UPDATE FOO SET BAR = 1";
+		given(this.preparedStatement.executeUpdate()).willThrow(new SQLException("bad update"));
+		this.template.setStatementCacheSize(10);
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				tt.executeWithoutResult(status -> this.template.update(sql)));
+
+		verify(this.preparedStatement).close();
+		verify(this.connection).rollback();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testPreparedStatementNotReusedWithoutTransaction() throws Exception {
+		String sql = "UPDATE FOO SET BAR = 1";
+		this.template.setStatementCacheSize(10);
+		this.template.update(sql);
+		this.template.update(sql);
+
+		verify(this.connection, times(2)).prepareStatement(sql);
+		verify(this.preparedStatement, times(2)).close();
+		verify(this.connection, times(2)).close();
+	}
+
+	@Test
+	public void testDeferredUpdatesWithinTransaction() throws Exception {
+		String sql = "UPDATE FOO SET BAR = ? WHERE ID = ?";
+		mockDatabaseMetaData(true);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1, 1});
+		this.template.setDeferUpdates(true);
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		List<Integer> results = new ArrayList<>();
+		tt.executeWithoutResult(status -> {
+			for (int i = 0; i < 3; i++) {
+				results.add(this.template.update(sql, i, 11));
+			}
+		});
+
+		assertThat(results).containsOnly(Statement.SUCCESS_NO_INFO);
+		verify(this.connection).prepareStatement(sql);
+		verify(this.preparedStatement).setObject(1, 2);
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement).executeBatch();
+		verify(this.preparedStatement, never()).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection).commit();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testDeferredUpdatesFlushedBeforeQuery() throws Exception {
+		mockDatabaseMetaData(true);
+		PreparedStatement queryStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement("SELECT BAR FROM FOO WHERE ID = ?")).willReturn(queryStatement);
+		given(queryStatement.executeQuery()).willReturn(this.resultSet);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 0});
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		List<DeferredUpdateCount> results = new ArrayList<>();
+		tt.executeWithoutResult(status -> {
+			results.add(this.template.deferUpdate("UPDATE FOO SET BAR = ? WHERE ID = ?", 1, 11));
+			results.add(this.template.deferUpdate("UPDATE FOO SET BAR = ? WHERE ID = ?", 1, 12));
+			assertThat(results.get(0).isDone()).isFalse();
+			assertThatIllegalStateException().isThrownBy(results.get(0)::getUpdateCount);
+			this.template.query("SELECT BAR FROM FOO WHERE ID = ?", rs -> {}, 11);
+			assertThat(results.get(0).isDone()).isTrue();
+		});
+
+		assertThat(results).extracting(DeferredUpdateCount::getUpdateCount).containsExactly(1, 0);
+		InOrder ordered = inOrder(this.preparedStatement, queryStatement);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(queryStatement).executeQuery();
+		verify(this.connection).commit();
+	}
+
+	@Test
+	public void testDeferredUpdatesDiscardedOnRollback() throws Exception {
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		List<DeferredUpdateCount> results = new ArrayList<>();
+		tt.executeWithoutResult(status -> {
+			results.add(this.template.deferUpdate("UPDATE FOO SET BAR = 1"));
+			status.setRollbackOnly();
+		});
+
+		assertThat(results.get(0).isDone()).isTrue();
+		assertThatIllegalStateException().isThrownBy(results.get(0)::getUpdateCount);
+		verify(this.connection, never()).prepareStatement(anyString());
+		verify(this.connection).rollback();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testDeferredUpdatesWithNestedTransactionRollback() throws Exception {
+		mockDatabaseMetaData(true);
+		given(this.connection.getMetaData().supportsSavepoints()).willReturn(true);
+		Savepoint savepoint = mock(Savepoint.class);
+		given(this.connection.setSavepoint(anyString())).willReturn(savepoint);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1});
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.template.setDeferUpdates(true);
+
+		DataSourceTransactionManager tm = new DataSourceTransactionManager(this.dataSource);
+		TransactionTemplate tt = new TransactionTemplate(tm);
+		TransactionTemplate nestedTt = new TransactionTemplate(tm);
+		nestedTt.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+		List<DeferredUpdateCount> results = new ArrayList<>();
+		tt.executeWithoutResult(status -> {
+			results.add(this.template.deferUpdate("UPDATE FOO SET BAR = 1"));
+			nestedTt.executeWithoutResult(nestedStatus -> {
+				assertThat(results.get(0).isDone()).isTrue();
+				results.add(this.template.deferUpdate("UPDATE FOO SET BAR = 2"));
+				assertThat(results.get(1).isDone()).isTrue();
+				nestedStatus.setRollbackOnly();
+			});
+			results.add(this.template.deferUpdate("UPDATE FOO SET BAR = 3"));
+			assertThat(results.get(2).isDone()).isFalse();
+		});
+
+		assertThat(results).extracting(DeferredUpdateCount::getUpdateCount).containsExactly(1, 1, 1);
+		InOrder ordered = inOrder(this.connection, this.preparedStatement);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.connection).setSavepoint(anyString());
+		ordered.verify(this.preparedStatement).executeUpdate();
+		ordered.verify(this.connection).rollback(savepoint);
+		ordered.verify(this.connection).releaseSavepoint(savepoint);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.connection).commit();
+	}
+
+	@Test
+	public void testDeferredUpdateExecutedRightAwayWithoutTransaction() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(3);
+		DeferredUpdateCount result = this.template.deferUpdate("UPDATE FOO SET BAR = 1");
+
+		assertThat(result.isDone()).isTrue();
+		assertThat(result.getUpdateCount()).isEqualTo(3);
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
 
 	private void mockDatabaseMetaData(boolean supportsBatchUpdates) throws SQLException {
 		DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
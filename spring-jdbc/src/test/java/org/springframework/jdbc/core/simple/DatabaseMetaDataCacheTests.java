@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.metadata.DatabaseMetaDataCache;
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+import org.springframework.jdbc.core.metadata.TableMetaDataProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DatabaseMetaDataCache}.
+ */
+class DatabaseMetaDataCacheTests {
+
+	private EmbeddedDatabase database;
+
+	private CountingDataSource dataSource;
+
+	private DatabaseMetaDataCache metaDataCache;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		new JdbcTemplate(this.database).execute(
+				"create table items (id integer auto_increment primary key, name varchar(50))");
+		this.dataSource = new CountingDataSource(this.database);
+		this.metaDataCache = new DatabaseMetaDataCache(this.dataSource);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void insertsShareTableMetaData() {
+		SimpleJdbcInsert first = new SimpleJdbcInsert(this.dataSource)
+				.withTableName("ITEMS").usingGeneratedKeyColumns("ID").withMetaDataCache(this.metaDataCache);
+		first.compile();
+		int connections = this.dataSource.connections.get();
+
+		SimpleJdbcInsert second = new SimpleJdbcInsert(this.dataSource)
+				.withTableName("ITEMS").usingGeneratedKeyColumns("ID").withMetaDataCache(this.metaDataCache);
+		second.compile();
+		assertThat(this.dataSource.connections.get()).isEqualTo(connections);
+		assertThat(second.getInsertString()).isEqualTo(first.getInsertString());
+
+		Map<String, Object> args = new HashMap<>();
+		args.put("name", "item");
+		assertThat(first.executeAndReturnKey(args).intValue()).isEqualTo(1);
+		assertThat(second.executeAndReturnKey(args).intValue()).isEqualTo(2);
+	}
+
+	@Test
+	void differentSettingsAreCachedSeparately() {
+		TableMetaDataContext context = tableContext("ITEMS");
+		TableMetaDataProvider provider = this.metaDataCache.getTableMetaDataProvider(context);
+		assertThat(this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"))).isSameAs(provider);
+
+		context.setAccessTableColumnMetaData(false);
+		TableMetaDataProvider otherProvider = this.metaDataCache.getTableMetaDataProvider(context);
+		assertThat(otherProvider).isNotSameAs(provider);
+		assertThat(otherProvider.getTableParameterMetaData()).isEmpty();
+		assertThat(provider.getTableParameterMetaData()).hasSize(2);
+	}
+
+	@Test
+	void invalidateTable() {
+		TableMetaDataProvider provider = this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"));
+		this.metaDataCache.invalidateTable(null, null, "OTHER");
+		assertThat(this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"))).isSameAs(provider);
+
+		this.metaDataCache.invalidateTable(null, null, "ITEMS");
+		assertThat(this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"))).isNotSameAs(provider);
+
+		provider = this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"));
+		this.metaDataCache.invalidateAll();
+		assertThat(this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"))).isNotSameAs(provider);
+	}
+
+	@Test
+	void preloadTables() {
+		this.metaDataCache.setTableNames("ITEMS", "PUBLIC.ITEMS");
+		this.metaDataCache.afterPropertiesSet();
+		int connections = this.dataSource.connections.get();
+		assertThat(connections).isEqualTo(2);
+
+		this.metaDataCache.getTableMetaDataProvider(tableContext("ITEMS"));
+		TableMetaDataContext context = tableContext("ITEMS");
+		context.setSchemaName("PUBLIC");
+		this.metaDataCache.getTableMetaDataProvider(context);
+		assertThat(this.dataSource.connections.get()).isEqualTo(connections);
+	}
+
+
+	private static TableMetaDataContext tableContext(String tableName) {
+		TableMetaDataContext context = new TableMetaDataContext();
+		context.setTableName(tableName);
+		return context;
+	}
+
+
+	private static class CountingDataSource extends DelegatingDataSource {
+
+		final AtomicInteger connections = new AtomicInteger();
+
+		CountingDataSource(EmbeddedDatabase database) {
+			super(database);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			this.connections.incrementAndGet();
+			return super.getConnection();
+		}
+	}
+
+}
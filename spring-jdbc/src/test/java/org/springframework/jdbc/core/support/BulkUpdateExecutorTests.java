@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BulkUpdateExecutor}.
+ */
+class BulkUpdateExecutorTests {
+
+	private static final String INSERT_SQL = "insert into items (id, name) values (?, ?)";
+
+	private static final ParameterizedPreparedStatementSetter<Integer> SETTER = (ps, id) -> {
+		ps.setInt(1, id);
+		ps.setString(2, "item-" + id);
+	};
+
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("create table items (id integer primary key, name varchar(50))");
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void executeInChunks() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setChunkSize(4);
+		BulkUpdateResult result = executor.execute(ids(10));
+
+		assertThat(result.getChunks()).extracting(BulkUpdateResult.Chunk::getRowCount).containsExactly(4, 4, 2);
+		assertThat(result.getChunks()).extracting(BulkUpdateResult.Chunk::getIndex).containsExactly(0, 1, 2);
+		assertThat(result.getChunks().get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1);
+		assertThat(result.getRowCount()).isEqualTo(10);
+		assertThat(result.getUpdateCount()).isEqualTo(10);
+		assertInserted(10);
+	}
+
+	@Test
+	void executeWithStream() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.database, INSERT_SQL, SETTER);
+		executor.setChunkSize(3);
+		BulkUpdateResult result = executor.execute(IntStream.range(0, 7).boxed());
+
+		assertThat(result.getChunks()).hasSize(3);
+		assertInserted(7);
+	}
+
+	@Test
+	void executeWithEmptyInput() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		BulkUpdateResult result = executor.execute(new ArrayList<>());
+
+		assertThat(result.getChunks()).isEmpty();
+		assertThat(result.getRowCount()).isEqualTo(0);
+	}
+
+	@Test
+	void executeWithMultiRowInsert() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setMultiRowInsert(true);
+		executor.setMaxParametersPerStatement(6);
+		executor.setChunkSize(7);
+		BulkUpdateResult result = executor.execute(ids(11));
+
+		// 3 rows per statement: chunks of 6 rows, the last one with a remainder
+		assertThat(result.getChunks()).extracting(BulkUpdateResult.Chunk::getRowCount).containsExactly(6, 5);
+		assertThat(result.getChunks().get(0).getUpdateCounts()).containsExactly(3, 3);
+		assertThat(result.getChunks().get(1).getUpdateCounts()).containsExactly(3, 2);
+		assertThat(result.getUpdateCount()).isEqualTo(11);
+		assertInserted(11);
+	}
+
+	@Test
+	void multiRowInsertRejectsUnsupportedStatement() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate,
+				"update items set name = ? where id = ?", SETTER);
+		executor.setMultiRowInsert(true);
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				executor.execute(ids(1)));
+
+		BulkUpdateExecutor<Integer> executor2 = new BulkUpdateExecutor<>(this.jdbcTemplate,
+				"insert into items (id, name) values (?, ?), (?, ?)", SETTER);
+		executor2.setMultiRowInsert(true);
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				executor2.execute(ids(1)));
+	}
+
+	@Test
+	void executeConcurrently() {
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setChunkSize(10);
+		executor.setMultiRowInsert(true);
+		executor.setConcurrency(4);
+		BulkUpdateResult result = executor.execute(ids(1005));
+
+		assertThat(result.getChunks()).hasSize(101);
+		assertThat(result.getChunks()).extracting(BulkUpdateResult.Chunk::getIndex)
+				.containsExactlyElementsOf(ids(101));
+		assertInserted(1005);
+	}
+
+	@Test
+	void executeConcurrentlyWithFailure() {
+		this.jdbcTemplate.update("insert into items (id, name) values (500, 'existing')");
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setChunkSize(10);
+		executor.setConcurrency(4);
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				executor.execute(ids(1000)));
+	}
+
+	@Test
+	void executeConcurrentlyWithRejectedWorker() throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		Executor taskExecutor = task -> {
+			if (threads.size() == 2) {
+				throw new RejectedExecutionException("No more threads");
+			}
+			Thread thread = new Thread(task);
+			threads.add(thread);
+			thread.start();
+		};
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setChunkSize(10);
+		executor.setConcurrency(4);
+		executor.setTaskExecutor(taskExecutor);
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() ->
+				executor.execute(ids(1000)));
+
+		// The started workers have finished before the rejection was propagated
+		Integer inserted = this.jdbcTemplate.queryForObject("select count(*) from items", Integer.class);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(threads).hasSize(2);
+		assertThat(this.jdbcTemplate.queryForObject("select count(*) from items", Integer.class)).isEqualTo(inserted);
+	}
+
+	@Test
+	void chunkListener() {
+		List<BulkUpdateResult.Chunk> chunks = new ArrayList<>();
+		BulkUpdateExecutor<Integer> executor = new BulkUpdateExecutor<>(this.jdbcTemplate, INSERT_SQL, SETTER);
+		executor.setChunkSize(5);
+		executor.setChunkListener(chunks::add);
+		BulkUpdateResult result = executor.execute(ids(12));
+
+		assertThat(chunks).containsExactlyElementsOf(result.getChunks());
+	}
+
+
+	private static List<Integer> ids(int count) {
+		List<Integer> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(i);
+		}
+		return ids;
+	}
+
+	private void assertInserted(int count) {
+		assertThat(this.jdbcTemplate.queryForObject("select count(*) from items", Integer.class)).isEqualTo(count);
+		assertThat(this.jdbcTemplate.queryForObject("select name from items where id = ?", String.class, count - 1))
+				.isEqualTo("item-" + (count - 1));
+	}
+
+}
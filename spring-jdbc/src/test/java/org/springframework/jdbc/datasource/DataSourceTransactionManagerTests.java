@@ -22,6 +22,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.Arrays;
 
 import javax.sql.DataSource;
 
@@ -58,6 +59,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.core.testfixture.TestGroup.LONG_RUNNING;
@@ -187,6 +189,66 @@ public class DataSourceTransactionManagerTests  {
 		}
 	}
 
+	@Test
+	public void testTransactionWithLazyConnectionFetch() throws Exception {
+		given(con.getAutoCommit()).willReturn(true);
+		given(con.getTransactionIsolation()).willReturn(Connection.TRANSACTION_READ_COMMITTED);
+		tm.setLazyConnectionFetch(true);
+		TransactionTemplate tt = new TransactionTemplate(tm);
+
+		tt.executeWithoutResult(status ->
+				assertThat(TransactionSynchronizationManager.hasResource(ds)).as("Has thread connection").isTrue());
+		// Only fetched once for checking the default connection properties
+		verify(ds).getConnection();
+		verify(con, never()).setAutoCommit(false);
+		verify(con, never()).commit();
+
+		tt.executeWithoutResult(status -> {
+			try {
+				DataSourceUtils.getConnection(ds).createStatement();
+			}
+			catch (SQLException ex) {
+				throw new UncategorizedSQLException("", "", ex);
+			}
+		});
+		verify(ds, times(2)).getConnection();
+		InOrder ordered = inOrder(con);
+		ordered.verify(con).setAutoCommit(false);
+		ordered.verify(con).createStatement();
+		ordered.verify(con).commit();
+		ordered.verify(con).setAutoCommit(true);
+		ordered.verify(con).close();
+	}
+
+	@Test
+	public void testReadOnlyTransactionWithReadOnlyDataSources() throws Exception {
+		DataSource ds2 = mock(DataSource.class);
+		Connection con2 = mock(Connection.class);
+		given(ds2.getConnection()).willReturn(con2);
+		DataSource ds3 = mock(DataSource.class);
+		Connection con3 = mock(Connection.class);
+		given(ds3.getConnection()).willReturn(con3);
+		tm.setReadOnlyDataSources(Arrays.asList(ds2, ds3));
+		TransactionTemplate tt = new TransactionTemplate(tm);
+		tt.setReadOnly(true);
+
+		tt.executeWithoutResult(status -> assertThat(DataSourceUtils.getConnection(ds)).isSameAs(con2));
+		tt.executeWithoutResult(status -> assertThat(DataSourceUtils.getConnection(ds)).isSameAs(con3));
+		tt.executeWithoutResult(status -> assertThat(DataSourceUtils.getConnection(ds)).isSameAs(con2));
+		tt.setReadOnly(false);
+		tt.executeWithoutResult(status -> assertThat(DataSourceUtils.getConnection(ds)).isSameAs(con));
+
+		verify(ds2, times(2)).getConnection();
+		verify(ds3).getConnection();
+		verify(ds).getConnection();
+		InOrder ordered = inOrder(con2);
+		ordered.verify(con2).setReadOnly(true);
+		ordered.verify(con2).commit();
+		ordered.verify(con2).setReadOnly(false);
+		ordered.verify(con2).close();
+		verify(con, never()).setReadOnly(true);
+	}
+
 	@Test
 	public void testTransactionRollbackWithAutoCommitTrue() throws Exception  {
 		doTestTransactionRollbackRestoringAutoCommit(true, false, false);
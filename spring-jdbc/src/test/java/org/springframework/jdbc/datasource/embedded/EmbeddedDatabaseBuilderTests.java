@@ -16,17 +16,25 @@
 
 package org.springframework.jdbc.datasource.embedded;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import org.springframework.core.io.ClassRelativeResourceLoader;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.CannotReadScriptException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.DERBY;
 import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.HSQL;
 
 /**
  * Integration tests for {@link EmbeddedDatabaseBuilder}.
@@ -167,6 +175,91 @@ public class EmbeddedDatabaseBuilderTests {
 		db2.shutdown();
 	}
 
+	@ParameterizedTest
+	@EnumSource(EmbeddedDatabaseType.class)
+	public void createFromSnapshot(EmbeddedDatabaseType type) throws Exception {
+		String snapshotKey = UUID.randomUUID().toString();
+		AtomicInteger populations = new AtomicInteger();
+		EmbeddedDatabase db1 = buildFromSnapshot(type, snapshotKey, populations,
+				"db-schema-without-dropping.sql", "db-test-data.sql");
+		JdbcTemplate template1 = new JdbcTemplate(db1);
+		assertNumRowsInTestTable(template1, 1);
+		template1.update("insert into T_TEST (NAME) values ('Sam')");
+
+		EmbeddedDatabase db2 = buildFromSnapshot(type, snapshotKey, populations,
+				"db-schema-without-dropping.sql", "db-test-data.sql");
+		JdbcTemplate template2 = new JdbcTemplate(db2);
+		assertThat(template2.queryForObject("select NAME from T_TEST", String.class)).isEqualTo("Keith");
+		template2.update("insert into T_TEST (NAME) values ('Juergen')");
+
+		EmbeddedDatabase db3 = buildFromSnapshot(type, snapshotKey, populations,
+				"db-schema-without-dropping.sql", "db-test-data.sql");
+		assertNumRowsInTestTable(template1, 2);
+		assertNumRowsInTestTable(template2, 2);
+		assertDatabaseCreated(db3);
+		// Only the first database ran the scripts, the others were cloned from its snapshot
+		assertThat(populations.get()).isEqualTo(1);
+
+		db1.shutdown();
+		db2.shutdown();
+		db3.shutdown();
+	}
+
+	@Test
+	public void createFromSnapshotWithDataReferringToInformationSchema() throws Exception {
+		EmbeddedDatabase db1 = buildFromSnapshot(HSQL, "db-schema-without-dropping.sql",
+				"db-test-data-information-schema.sql");
+		EmbeddedDatabase db2 = buildFromSnapshot(HSQL, "db-schema-without-dropping.sql",
+				"db-test-data-information-schema.sql");
+		assertThat(new JdbcTemplate(db2).queryForObject("select NAME from T_TEST", String.class))
+				.isEqualTo("See INFORMATION_SCHEMA.TABLES");
+
+		db1.shutdown();
+		db2.shutdown();
+	}
+
+	@Test
+	public void createFromSnapshotWithLobValues() throws Exception {
+		String snapshotKey = UUID.randomUUID().toString();
+		AtomicInteger populations = new AtomicInteger();
+		EmbeddedDatabase db1 = buildFromSnapshot(HSQL, snapshotKey, populations, "db-schema-lob.sql");
+		EmbeddedDatabase db2 = buildFromSnapshot(HSQL, snapshotKey, populations, "db-schema-lob.sql");
+		assertThat(new JdbcTemplate(db2).queryForObject("select CONTENT from T_LOB", String.class)).isEqualTo("Keith");
+		// No snapshot taken for LOB values: the scripts ran again for the second database
+		assertThat(populations.get()).isEqualTo(2);
+
+		db1.shutdown();
+		db2.shutdown();
+	}
+
+	private EmbeddedDatabase buildFromSnapshot(EmbeddedDatabaseType type, Object snapshotKey,
+			AtomicInteger populations, String... scripts) {
+
+		ResourceLoader resourceLoader = new ClassRelativeResourceLoader(getClass());
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+		for (String script : scripts) {
+			populator.addScript(resourceLoader.getResource(script));
+		}
+		EmbeddedDatabaseFactory factory = new EmbeddedDatabaseFactory();
+		factory.setDatabaseType(type);
+		factory.setGenerateUniqueDatabaseName(true);
+		factory.setDatabasePopulator(connection -> {
+			populations.incrementAndGet();
+			populator.populate(connection);
+		});
+		factory.setSnapshotKey(snapshotKey);
+		return factory.getDatabase();
+	}
+
+	private EmbeddedDatabase buildFromSnapshot(EmbeddedDatabaseType type, String... scripts) {
+		return new EmbeddedDatabaseBuilder(new ClassRelativeResourceLoader(getClass()))//
+		.setType(type)//
+		.addScripts(scripts)//
+		.generateUniqueName(true)//
+		.snapshot(true)//
+		.build();
+	}
+
 	private void doTwice(Runnable test) {
 		test.run();
 		test.run();
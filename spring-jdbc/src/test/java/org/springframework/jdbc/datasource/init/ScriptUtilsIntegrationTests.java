@@ -16,13 +16,24 @@
 
 package org.springframework.jdbc.datasource.init;
 
+import java.io.ByteArrayInputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.support.EncodedResource;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER;
+import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER;
+import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_COMMENT_PREFIXES;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.executeSqlScript;
 
 /**
@@ -59,4 +70,40 @@ public class ScriptUtilsIntegrationTests extends AbstractDatabaseInitializationT
 		assertUsersDatabaseCreated("Hoeller", "Brannen");
 	}
 
+	@Test
+	public void executeSqlScriptStreamingWithBatches() throws SQLException {
+		List<Integer> progress = new ArrayList<>();
+		executeSqlScript(db.getConnection(), new EncodedResource(resource("test-data-with-multi-line-comments.sql")),
+				false, false, DEFAULT_COMMENT_PREFIXES, null, DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				DEFAULT_BLOCK_COMMENT_END_DELIMITER, 10, (statementCount, lineNumber) -> progress.add(statementCount));
+		assertUsersDatabaseCreated("Hoeller", "Brannen");
+		assertThat(progress).containsExactly(2);
+	}
+
+	@Test
+	public void executeSqlScriptStreamingWithFailedStatementInBatch() throws SQLException {
+		EncodedResource script = new EncodedResource(new ByteArrayResource((
+				"INSERT INTO users(first_name, last_name) VALUES('Juergen', 'Hoeller');\n" +
+				"INSERT INTO bogus(first_name) VALUES('Rod');\n" +
+				"INSERT INTO users(first_name, last_name) VALUES('Sam', 'Brannen');\n").getBytes()));
+		assertThatExceptionOfType(ScriptStatementFailedException.class).isThrownBy(() ->
+				executeSqlScript(db.getConnection(), script, false, false, DEFAULT_COMMENT_PREFIXES, ";",
+						DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER, 10, null));
+
+		jdbcTemplate.update("DELETE FROM users");
+		executeSqlScript(db.getConnection(), script, true, false, DEFAULT_COMMENT_PREFIXES, ";",
+				DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER, 10, null);
+		assertUsersDatabaseCreated("Hoeller", "Brannen");
+	}
+
+	@Test
+	public void executeSqlScriptStreamingFromInputStreamWithNewlineFallback() throws SQLException {
+		EncodedResource script = new EncodedResource(new InputStreamResource(new ByteArrayInputStream((
+				"INSERT INTO users(first_name, last_name) VALUES('Juergen', 'Hoeller')\n" +
+				"INSERT INTO users(first_name, last_name) VALUES('Sam', 'Brannen')\n").getBytes())));
+		executeSqlScript(db.getConnection(), script, false, false, DEFAULT_COMMENT_PREFIXES, null,
+				DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER, 10, null);
+		assertUsersDatabaseCreated("Hoeller", "Brannen");
+	}
+
 }
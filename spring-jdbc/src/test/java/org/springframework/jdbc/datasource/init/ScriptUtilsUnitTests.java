@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.datasource.init;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +24,9 @@ import org.assertj.core.util.Strings;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.EncodedResource;
 
@@ -237,6 +240,53 @@ public class ScriptUtilsUnitTests {
 		assertThat(containsSqlScriptDelimiters(script, delimiter)).isEqualTo(expected);
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"test-data-with-comments.sql",
+		"test-data-with-comments-and-leading-tabs.sql",
+		"test-data-with-multi-line-comments.sql",
+		"test-data-with-multi-line-nested-comments.sql",
+		"users-data-with-single-quotes-nested-in-double-quotes.sql"
+	})
+	@SuppressWarnings("deprecation")
+	public void readStatementsIncrementally(String path) throws Exception {
+		List<String> expected = new ArrayList<>();
+		splitSqlScript(readScript(path), ';', expected);
+		assertThat(readStatements(readScript(path), ";")).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	public void readStatementsIncrementallyWithWindowsLineEnding() throws Exception {
+		String script = readScript("test-data-with-comments.sql").replaceAll("\n", "\r\n");
+		assertThat(readStatements(script, ";")).hasSize(4);
+	}
+
+	@Test
+	public void readStatementsIncrementallyAcrossBufferBoundaries() throws Exception {
+		StringBuilder script = new StringBuilder();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			String statement = "insert into T_TEST (NAME) values ('Name " + i + "')";
+			script.append(statement).append("\n/\n");
+			expected.add(statement);
+		}
+		assertThat(readStatements(script.toString(), "\n/\n")).containsExactlyElementsOf(expected);
+	}
+
+	private List<String> readStatements(String script, String separator) throws Exception {
+		EncodedResource resource = new EncodedResource(new ByteArrayResource(script.getBytes()));
+		List<String> statements = new ArrayList<>();
+		try (ScriptStatementReader reader = new ScriptStatementReader(new StringReader(script), resource,
+				separator, DEFAULT_COMMENT_PREFIXES, DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				DEFAULT_BLOCK_COMMENT_END_DELIMITER)) {
+			String statement;
+			while ((statement = reader.readStatement()) != null) {
+				statements.add(statement);
+			}
+		}
+		return statements;
+	}
+
 	private String readScript(String path) throws Exception {
 		EncodedResource resource = new EncodedResource(new ClassPathResource(path, getClass()));
 		return ScriptUtils.readScript(resource, DEFAULT_STATEMENT_SEPARATOR, DEFAULT_COMMENT_PREFIXES,
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ColumnarSqlRowSet}.
+ */
+class ColumnarSqlRowSetTests {
+
+	private static final String SELECT_SQL =
+			"select id, big, amount, price, active, name, created from items order by id";
+
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("create table items (id integer primary key, big bigint, amount double, " +
+				"price decimal(10,2), active boolean, name varchar(50), created timestamp)");
+		this.jdbcTemplate.update("insert into items values (?, ?, ?, ?, ?, ?, ?)",
+				1, 10_000_000_000L, 1.5, new BigDecimal("9.99"), true, "red", Timestamp.valueOf("2022-01-01 10:00:00"));
+		this.jdbcTemplate.update("insert into items values (?, ?, ?, ?, ?, ?, ?)",
+				2, null, null, null, null, null, null);
+		this.jdbcTemplate.update("insert into items values (?, ?, ?, ?, ?, ?, ?)",
+				3, 30L, 3.25, new BigDecimal("0.50"), false, "red", Timestamp.valueOf("2022-03-01 12:30:00"));
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void valuesMatchWrappingRowSet() {
+		assertValuesMatchWrappingRowSet(SELECT_SQL);
+	}
+
+	@Test
+	void valuesAfterLongRunOfNulls() {
+		for (int id = 10; id < 50; id++) {
+			this.jdbcTemplate.update("insert into items (id) values (?)", id);
+		}
+		for (int id = 50; id < 55; id++) {
+			this.jdbcTemplate.update("insert into items values (?, ?, ?, ?, ?, ?, ?)", id, (long) id, id + 0.5,
+					new BigDecimal(id), (id % 2 == 0), "name" + (id % 2), Timestamp.valueOf("2022-01-01 10:00:00"));
+		}
+		// Values following a long run of nulls, after a first value or from the start
+		assertValuesMatchWrappingRowSet(SELECT_SQL);
+		assertValuesMatchWrappingRowSet(SELECT_SQL.replace("order by", "where id >= 10 order by"));
+
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL, ColumnarSqlRowSet::new);
+		assertThat(rowSet.last()).isTrue();
+		assertThat(rowSet.getLong("big")).isEqualTo(54L);
+		assertThat(rowSet.getString("name")).isEqualTo("name0");
+	}
+
+	@Test
+	void primitiveAccessorsOnNullValues() {
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL, ColumnarSqlRowSet::new);
+		assertThat(rowSet.absolute(2)).isTrue();
+		assertThat(rowSet.getLong("big")).isEqualTo(0);
+		assertThat(rowSet.wasNull()).isTrue();
+		assertThat(rowSet.getDouble("amount")).isEqualTo(0.0);
+		assertThat(rowSet.getBoolean("active")).isFalse();
+		assertThat(rowSet.getString("name")).isNull();
+		assertThat(rowSet.wasNull()).isTrue();
+		assertThat(rowSet.getInt("id")).isEqualTo(2);
+		assertThat(rowSet.wasNull()).isFalse();
+	}
+
+	@Test
+	void conversions() {
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL, ColumnarSqlRowSet::new);
+		assertThat(rowSet.first()).isTrue();
+		assertThat(rowSet.getString("id")).isEqualTo("1");
+		assertThat(rowSet.getLong("id")).isEqualTo(1L);
+		assertThat(rowSet.getBigDecimal("amount")).isEqualTo(new BigDecimal("1.5"));
+		assertThat(rowSet.getInt("price")).isEqualTo(9);
+		assertThat(rowSet.getObject("id", Long.class)).isEqualTo(1L);
+		assertThat(rowSet.getObject("created", LocalDateTime.class)).isEqualTo(LocalDateTime.of(2022, 1, 1, 10, 0));
+		assertThatExceptionOfType(InvalidResultSetAccessException.class).isThrownBy(() ->
+				rowSet.getInt("name"));
+	}
+
+	@Test
+	void navigation() {
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL, ColumnarSqlRowSet::new);
+		assertThat(rowSet.isBeforeFirst()).isTrue();
+		assertThat(rowSet.getRow()).isEqualTo(0);
+		assertThat(rowSet.last()).isTrue();
+		assertThat(rowSet.isLast()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(3);
+		assertThat(rowSet.previous()).isTrue();
+		assertThat(rowSet.getRow()).isEqualTo(2);
+		assertThat(rowSet.relative(-1)).isTrue();
+		assertThat(rowSet.isFirst()).isTrue();
+		assertThat(rowSet.absolute(-2)).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(2);
+		assertThat(rowSet.relative(5)).isFalse();
+		assertThat(rowSet.isAfterLast()).isTrue();
+		assertThat(rowSet.previous()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(3);
+		rowSet.beforeFirst();
+		assertThat(rowSet.previous()).isFalse();
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(1);
+		rowSet.afterLast();
+		assertThat(rowSet.next()).isFalse();
+	}
+
+	@Test
+	void invalidAccess() {
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL, ColumnarSqlRowSet::new);
+		assertThatExceptionOfType(InvalidResultSetAccessException.class).isThrownBy(() ->
+				rowSet.getInt(1));
+		rowSet.next();
+		assertThatExceptionOfType(InvalidResultSetAccessException.class).isThrownBy(() ->
+				rowSet.getInt(8));
+		assertThatExceptionOfType(InvalidResultSetAccessException.class).isThrownBy(() ->
+				rowSet.findColumn("missing"));
+	}
+
+	@Test
+	void emptyResult() {
+		SqlRowSet rowSet = this.jdbcTemplate.query(SELECT_SQL.replace("order by", "where id < 0 order by"),
+				ColumnarSqlRowSet::new);
+		assertThat(rowSet.isBeforeFirst()).isFalse();
+		assertThat(rowSet.first()).isFalse();
+		assertThat(rowSet.next()).isFalse();
+		assertThat(rowSet.getMetaData().getColumnCount()).isEqualTo(7);
+	}
+
+
+	private void assertValuesMatchWrappingRowSet(String sql) {
+		SqlRowSet expected = this.jdbcTemplate.queryForRowSet(sql);
+		SqlRowSet actual = this.jdbcTemplate.query(sql, ColumnarSqlRowSet::new);
+		int columnCount = expected.getMetaData().getColumnCount();
+		assertThat(actual.getMetaData().getColumnCount()).isEqualTo(columnCount);
+		assertThat(actual.getMetaData().getColumnNames()).containsExactly(expected.getMetaData().getColumnNames());
+
+		while (expected.next()) {
+			assertThat(actual.next()).isTrue();
+			for (int i = 1; i <= columnCount; i++) {
+				assertThat(actual.getObject(i)).isEqualTo(expected.getObject(i));
+				assertThat(actual.wasNull()).isEqualTo(expected.wasNull());
+				assertThat(actual.getString(i)).isEqualTo(expected.getString(i));
+			}
+			assertThat(actual.getInt("ID")).isEqualTo(expected.getInt("ID"));
+			assertThat(actual.getLong("BIG")).isEqualTo(expected.getLong("BIG"));
+			assertThat(actual.getDouble("AMOUNT")).isEqualTo(expected.getDouble("AMOUNT"));
+			assertThat(actual.getBigDecimal("PRICE")).isEqualTo(expected.getBigDecimal("PRICE"));
+			assertThat(actual.getBoolean("ACTIVE")).isEqualTo(expected.getBoolean("ACTIVE"));
+			assertThat(actual.getTimestamp("CREATED")).isEqualTo(expected.getTimestamp("CREATED"));
+		}
+		assertThat(actual.next()).isFalse();
+	}
+
+}
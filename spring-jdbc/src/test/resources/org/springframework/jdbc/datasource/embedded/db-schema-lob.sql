@@ -0,0 +1,2 @@
+create table T_LOB (ID integer primary key, CONTENT clob);
+insert into T_LOB (ID, CONTENT) values (1, 'Keith');
@@ -0,0 +1 @@
+insert into T_TEST (NAME) values ('See INFORMATION_SCHEMA.TABLES');
@@ -76,6 +76,13 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 
 	private DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	private boolean streaming = false;
+
+	private int batchSize = 1;
+
+	@Nullable
+	private ScriptProgressListener progressListener;
+
 
 	/**
 	 * Create a new {@code ResourceDatabasePopulator} with default settings.
@@ -258,12 +265,52 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		this.dataBufferFactory = dataBufferFactory;
 	}
 
+	/**
+	 * Flag to indicate that scripts should be read and executed statement by
+	 * statement, without loading entire scripts into memory.
+	 * <p>Recommended for large scripts such as data dumps. Defaults to {@code false}.
+	 * @param streaming {@code true} if scripts should be executed in streaming mode
+	 * @since 5.3.21
+	 * @see #setBatchSize
+	 * @see #setProgressListener
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Specify the maximum number of consecutive data manipulation statements
+	 * to execute as a {@link io.r2dbc.spi.Batch} in {@linkplain #setStreaming
+	 * streaming mode}.
+	 * <p>Defaults to 1, i.e. no batching.
+	 * @param batchSize the maximum number of statements per batch
+	 * @since 5.3.21
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Specify a listener to notify about the progress of script execution
+	 * in {@linkplain #setStreaming streaming mode}.
+	 * @param progressListener the listener to notify, or {@code null} if none
+	 * @since 5.3.21
+	 */
+	public void setProgressListener(@Nullable ScriptProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+
 
 	@Override
 	public Mono<Void> populate(Connection connection) throws ScriptException {
 		Assert.notNull(connection, "Connection must not be null");
 		return Flux.fromIterable(this.scripts).concatMap(resource -> {
 			EncodedResource encodedScript = new EncodedResource(resource, this.sqlScriptEncoding);
+			if (this.streaming) {
+				return ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError,
+						this.ignoreFailedDrops, this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
+						this.blockCommentEndDelimiter, this.batchSize, this.progressListener);
+			}
 			return ScriptUtils.executeSqlScript(connection, encodedScript, this.dataBufferFactory, this.continueOnError,
 					this.ignoreFailedDrops, this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
 					this.blockCommentEndDelimiter);
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.connection.init;
+
+/**
+ * Callback interface for progress notifications during the streaming
+ * execution of an SQL script.
+ *
+ * @since 5.3.21
+ * @see ScriptUtils#executeSqlScript(io.r2dbc.spi.Connection, org.springframework.core.io.support.EncodedResource, boolean, boolean, String[], String, String, String, int, ScriptProgressListener)
+ * @see ResourceDatabasePopulator#setProgressListener
+ */
+@FunctionalInterface
+public interface ScriptProgressListener {
+
+	/**
+	 * Called after a statement or a batch of statements has been executed.
+	 * @param statementCount the number of statements of the script
+	 * executed so far, including failed statements that have been ignored
+	 * @param lineNumber the line of the script that has been read up to
+	 */
+	void statementsExecuted(int statementCount, int lineNumber);
+
+}
@@ -16,15 +16,18 @@
 
 package org.springframework.r2dbc.connection.init;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import io.r2dbc.spi.Batch;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Result;
 import org.apache.commons.logging.Log;
@@ -32,6 +35,7 @@ import org.apache.commons.logging.LogFactory;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -102,6 +106,8 @@ public abstract class ScriptUtils {
 	public static final String DEFAULT_BLOCK_COMMENT_END_DELIMITER = "*/";
 
 
+	private static final String[] BATCHABLE_STATEMENT_KEYWORDS = {"insert", "update", "delete", "merge"};
+
 	private static final Log logger = LogFactory.getLog(ScriptUtils.class);
 
 
@@ -256,8 +262,119 @@ public abstract class ScriptUtils {
 			return splitSqlScript(resource, script, separatorToUse, commentPrefixes,
 					blockCommentStartDelimiter, blockCommentEndDelimiter);
 		}).concatMap(statement -> {
-			statementNumber.incrementAndGet();
-			return runStatement(statement, connection, resource, continueOnError, ignoreFailedDrops, statementNumber);
+			int stmtNumber = statementNumber.incrementAndGet();
+			return runStatement(statement, connection, resource, continueOnError, ignoreFailedDrops, stmtNumber);
+		});
+
+		if (logger.isDebugEnabled()) {
+			executeScript = executeScript.doOnComplete(() -> {
+				long elapsedTime = System.currentTimeMillis() - startTime;
+				logger.debug("Executed SQL script from " + resource + " in " + elapsedTime + " ms.");
+			});
+		}
+
+		return executeScript.onErrorMap(ex -> !(ex instanceof ScriptException),
+				ex -> new UncategorizedScriptException(
+						"Failed to execute database script from resource [" + resource + "]", ex))
+				.then();
+	}
+
+	/**
+	 * Execute the given SQL script, reading and executing its statements one
+	 * at a time instead of loading the entire script into memory.
+	 * <p>Statement separators and comments will be removed before executing
+	 * individual statements within the supplied script, as for
+	 * {@link #executeSqlScript(Connection, EncodedResource, DataBufferFactory, boolean, boolean, String[], String, String, String)}.
+	 * The resource is read only once, so one-shot resources such as an
+	 * {@link org.springframework.core.io.InputStreamResource} are supported.
+	 * To detect whether the script contains the separator, the script is
+	 * buffered up to the first separator; a script without any separator is
+	 * buffered entirely and executed with the
+	 * {@linkplain #FALLBACK_STATEMENT_SEPARATOR fallback separator}. The script
+	 * is read on the {@linkplain Schedulers#boundedElastic() bounded elastic}
+	 * scheduler.
+	 * <p>If a batch size greater than 1 is specified, consecutive {@code INSERT},
+	 * {@code UPDATE}, {@code DELETE} and {@code MERGE} statements are executed
+	 * in {@link Batch batches} of up to that size. Since R2DBC does not expose
+	 * which statement of a batch failed, a failure is reported for the first
+	 * statement of the batch.
+	 * <p><strong>Warning</strong>: this method does <em>not</em> release the
+	 * provided {@link Connection}.
+	 * @param connection the R2DBC connection to use to execute the script; already
+	 * configured and ready to use
+	 * @param resource the resource (potentially associated with a specific encoding)
+	 * to load the SQL script from
+	 * @param continueOnError whether or not to continue without throwing an exception
+	 * in the event of an error
+	 * @param ignoreFailedDrops whether or not to continue in the event of specifically
+	 * an error on a {@code DROP} statement
+	 * @param commentPrefixes the prefixes that identify single-line comments in the
+	 * SQL script (typically "--")
+	 * @param separator the script statement separator; defaults to
+	 * {@value #DEFAULT_STATEMENT_SEPARATOR} if not specified and falls back to
+	 * {@value #FALLBACK_STATEMENT_SEPARATOR} as a last resort; may be set to
+	 * {@value #EOF_STATEMENT_SEPARATOR} to signal that the script contains a
+	 * single statement without a separator
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 * @param batchSize the maximum number of consecutive data manipulation
+	 * statements to execute as a batch; 1 or less for no batching
+	 * @param progressListener the listener to notify about the progress of the
+	 * execution, or {@code null} if none
+	 * @throws ScriptException if an error occurred while executing the SQL script
+	 * @since 5.3.21
+	 * @see org.springframework.r2dbc.connection.ConnectionFactoryUtils#getConnection
+	 * @see org.springframework.r2dbc.connection.ConnectionFactoryUtils#releaseConnection
+	 */
+	public static Mono<Void> executeSqlScript(Connection connection, EncodedResource resource,
+			boolean continueOnError, boolean ignoreFailedDrops, String[] commentPrefixes, @Nullable String separator,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter, int batchSize,
+			@Nullable ScriptProgressListener progressListener) throws ScriptException {
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL script from " + resource + " in streaming mode");
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		Flux<StatementChunk> chunks = Flux.using(
+				() -> new StatementChunkReader(openStatementReader(resource, commentPrefixes, separator,
+						blockCommentStartDelimiter, blockCommentEndDelimiter), batchSize),
+				reader -> Flux.<StatementChunk>generate(sink -> {
+					try {
+						StatementChunk chunk = reader.nextChunk();
+						if (chunk != null) {
+							sink.next(chunk);
+						}
+						else {
+							sink.complete();
+						}
+					}
+					catch (IOException ex) {
+						sink.error(ex);
+					}
+				}),
+				reader -> {
+					try {
+						reader.close();
+					}
+					catch (IOException ex) {
+						logger.trace("Could not close SQL script reader", ex);
+					}
+				})
+				.onErrorMap(IOException.class, ex -> new CannotReadScriptException(resource, ex))
+				.subscribeOn(Schedulers.boundedElastic());
+
+		Flux<Void> executeScript = chunks.concatMap(chunk -> {
+			Mono<Void> execution = Mono.from(chunk.batch ?
+					runBatch(chunk, connection, resource, continueOnError) :
+					runStatement(chunk.statements.get(0), connection, resource, continueOnError,
+							ignoreFailedDrops, chunk.firstStatementNumber));
+			if (progressListener != null) {
+				execution = execution.then(Mono.fromRunnable(() ->
+						progressListener.statementsExecuted(chunk.getLastStatementNumber(), chunk.lineNumber)));
+			}
+			return execution;
 		});
 
 		if (logger.isDebugEnabled()) {
@@ -273,6 +390,33 @@ public abstract class ScriptUtils {
 				.then();
 	}
 
+	/**
+	 * Open a {@link ScriptStatementReader} for the given resource, determining
+	 * the statement separator to use by reading ahead up to the first separator
+	 * if necessary.
+	 */
+	private static ScriptStatementReader openStatementReader(EncodedResource resource, String[] commentPrefixes,
+			@Nullable String separator, String blockCommentStartDelimiter, String blockCommentEndDelimiter)
+			throws IOException {
+
+		String separatorToUse = separator;
+		if (separatorToUse == null) {
+			separatorToUse = DEFAULT_STATEMENT_SEPARATOR;
+		}
+		ScriptStatementReader reader = new ScriptStatementReader(resource.getReader(), resource,
+				separatorToUse, commentPrefixes, blockCommentStartDelimiter, blockCommentEndDelimiter);
+		if (!EOF_STATEMENT_SEPARATOR.equals(separatorToUse)) {
+			try {
+				reader.useFallbackSeparatorIfAbsent(FALLBACK_STATEMENT_SEPARATOR);
+			}
+			catch (IOException | RuntimeException ex) {
+				reader.close();
+				throw ex;
+			}
+		}
+		return reader;
+	}
+
 	/**
 	 * Read a script from the provided resource, using the supplied statement
 	 * separator, and build a {@code String} containing the lines.
@@ -548,7 +692,7 @@ public abstract class ScriptUtils {
 	}
 
 	private static Publisher<? extends Void> runStatement(String statement, Connection connection,
-			EncodedResource resource, boolean continueOnError, boolean ignoreFailedDrops, AtomicInteger statementNumber) {
+			EncodedResource resource, boolean continueOnError, boolean ignoreFailedDrops, int statementNumber) {
 
 		Mono<Long> execution = Flux.from(connection.createStatement(statement).execute())
 				.flatMap(Result::getRowsUpdated)
@@ -564,14 +708,153 @@ public abstract class ScriptUtils {
 			if (continueOnError || (dropStatement && ignoreFailedDrops)) {
 				if (logger.isDebugEnabled()) {
 					logger.debug(ScriptStatementFailedException.buildErrorMessage(
-							statement, statementNumber.get(), resource), ex);
+							statement, statementNumber, resource), ex);
 				}
 			}
 			else {
-				return Mono.error(new ScriptStatementFailedException(statement, statementNumber.get(), resource, ex));
+				return Mono.error(new ScriptStatementFailedException(statement, statementNumber, resource, ex));
 			}
 			return Mono.empty();
 		}).then();
 	}
 
+	private static Publisher<? extends Void> runBatch(StatementChunk chunk, Connection connection,
+			EncodedResource resource, boolean continueOnError) {
+
+		Batch batch = connection.createBatch();
+		chunk.statements.forEach(batch::add);
+		Mono<Long> execution = Flux.from(batch.execute())
+				.flatMap(Result::getRowsUpdated)
+				.collect(Collectors.summingLong(count -> count));
+
+		if (logger.isDebugEnabled()) {
+			execution = execution.doOnNext(rowsAffected ->
+					logger.debug(rowsAffected + " returned as update count for batch of " + chunk.statements.size() +
+							" statements starting with SQL: " + chunk.statements.get(0)));
+		}
+
+		// R2DBC does not expose the failed statement of a batch: report the first one
+		return execution.onErrorResume(ex -> {
+			String statement = chunk.statements.get(0);
+			if (continueOnError) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(ScriptStatementFailedException.buildErrorMessage(
+							statement, chunk.firstStatementNumber, resource), ex);
+				}
+				return Mono.empty();
+			}
+			return Mono.error(new ScriptStatementFailedException(
+					statement, chunk.firstStatementNumber, resource, ex));
+		}).then();
+	}
+
+	/**
+	 * Determine whether the given statement is a data manipulation statement
+	 * that can be executed as part of a batch.
+	 */
+	private static boolean isBatchableStatement(String statement) {
+		for (String keyword : BATCHABLE_STATEMENT_KEYWORDS) {
+			if (StringUtils.startsWithIgnoreCase(statement, keyword) &&
+					(statement.length() == keyword.length() ||
+							!Character.isLetterOrDigit(statement.charAt(keyword.length())))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Reads the statements of a script in chunks: either a single statement,
+	 * or up to the batch size of consecutive data manipulation statements.
+	 */
+	private static final class StatementChunkReader implements Closeable {
+
+		private final ScriptStatementReader reader;
+
+		private final int batchSize;
+
+		@Nullable
+		private String pendingStatement;
+
+		private int statementCount;
+
+		StatementChunkReader(ScriptStatementReader reader, int batchSize) {
+			this.reader = reader;
+			this.batchSize = batchSize;
+		}
+
+		@Nullable
+		StatementChunk nextChunk() throws IOException {
+			String statement = nextStatement();
+			if (statement == null) {
+				return null;
+			}
+			int firstStatementNumber = ++this.statementCount;
+			if (this.batchSize <= 1 || !isBatchableStatement(statement)) {
+				return new StatementChunk(Collections.singletonList(statement), firstStatementNumber, false,
+						this.reader.getLineNumber());
+			}
+			List<String> statements = new ArrayList<>(this.batchSize);
+			statements.add(statement);
+			// Line number after the last statement of the chunk, not after a statement read ahead
+			int lineNumber = this.reader.getLineNumber();
+			while (statements.size() < this.batchSize) {
+				statement = nextStatement();
+				if (statement == null) {
+					break;
+				}
+				if (!isBatchableStatement(statement)) {
+					this.pendingStatement = statement;
+					break;
+				}
+				this.statementCount++;
+				statements.add(statement);
+				lineNumber = this.reader.getLineNumber();
+			}
+			return new StatementChunk(statements, firstStatementNumber, true, lineNumber);
+		}
+
+		@Nullable
+		private String nextStatement() throws IOException {
+			String statement = this.pendingStatement;
+			if (statement != null) {
+				this.pendingStatement = null;
+				return statement;
+			}
+			return this.reader.readStatement();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+	}
+
+
+	/**
+	 * Statements of a script to be executed together.
+	 */
+	private static final class StatementChunk {
+
+		final List<String> statements;
+
+		final int firstStatementNumber;
+
+		final boolean batch;
+
+		final int lineNumber;
+
+		StatementChunk(List<String> statements, int firstStatementNumber, boolean batch, int lineNumber) {
+			this.statements = statements;
+			this.firstStatementNumber = firstStatementNumber;
+			this.batch = batch;
+			this.lineNumber = lineNumber;
+		}
+
+		int getLastStatementNumber() {
+			return this.firstStatementNumber + this.statements.size() - 1;
+		}
+	}
+
 }
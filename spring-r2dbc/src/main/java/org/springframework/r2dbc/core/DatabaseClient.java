@@ -26,6 +26,8 @@ import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
@@ -88,6 +90,26 @@ public interface DatabaseClient extends ConnectionAccessor {
 	 */
 	GenericExecuteSpec sql(Supplier<String> sqlSupplier);
 
+	/**
+	 * Specify a static {@code sql} statement to run for many sets of parameter
+	 * bindings, binding chunks of parameter sets to a single {@link Statement}
+	 * through {@link Statement#add()}. The SQL string can contain either native
+	 * parameter bind markers or named parameters (e.g. {@literal :foo, :bar})
+	 * when {@link NamedParameterExpander} is enabled.
+	 * <pre class="code">
+	 * Flux&lt;Integer&gt; updated = client.batch("INSERT INTO t_actor (first_name, last_name) VALUES (:first, :last)")
+	 *     .chunkSize(500)
+	 *     .execute(actors.map(this::toParameterMap));
+	 * </pre>
+	 * @param sql the SQL statement
+	 * @return a new {@link BatchSpec}
+	 * @since 5.3.21
+	 * @see NamedParameterExpander
+	 */
+	default BatchSpec batch(String sql) {
+		throw new UnsupportedOperationException("Batch execution not supported by " + getClass().getName());
+	}
+
 
 	// Static factory methods
 
@@ -244,4 +266,41 @@ public interface DatabaseClient extends ConnectionAccessor {
 		Mono<Void> then();
 	}
 
+
+	/**
+	 * Contract for running an SQL statement for many sets of parameter bindings.
+	 * @since 5.3.21
+	 */
+	interface BatchSpec {
+
+		/**
+		 * Configure the maximum number of parameter sets to bind to a single
+		 * {@link Statement}, i.e. to send to the database in one execution.
+		 * <p>Defaults to 256.
+		 * @param chunkSize the maximum number of parameter sets per chunk
+		 */
+		BatchSpec chunkSize(int chunkSize);
+
+		/**
+		 * Add the given filter to the end of the filter chain, applied to
+		 * the {@link Statement} of each chunk before it is executed.
+		 * @param filter the filter to be added to the chain
+		 * @see GenericExecuteSpec#filter(StatementFilterFunction)
+		 */
+		BatchSpec filter(StatementFilterFunction filter);
+
+		/**
+		 * Run the statement for each of the given parameter sets.
+		 * <p>Parameter sets are requested from the given publisher as chunks get
+		 * executed, one chunk at a time on a single connection. A chunk ends early
+		 * if named parameter expansion yields a different SQL string for the next
+		 * parameter set, e.g. for collection values of different sizes.
+		 * @param parameterSets the parameter sets, each mapping parameter names to
+		 * either scalar values or {@link Parameter}, the latter also for {@code null}
+		 * values
+		 * @return a {@link Flux} emitting the number of updated rows per chunk
+		 */
+		Flux<Integer> execute(Publisher<? extends Map<String, ?>> parameterSets);
+	}
+
 }
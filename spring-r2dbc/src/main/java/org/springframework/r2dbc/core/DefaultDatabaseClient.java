@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -64,6 +65,8 @@ import org.springframework.util.StringUtils;
  */
 class DefaultDatabaseClient implements DatabaseClient {
 
+	private static final int DEFAULT_BATCH_CHUNK_SIZE = 256;
+
 	private final Log logger = LogFactory.getLog(getClass());
 
 	private final BindMarkersFactory bindMarkersFactory;
@@ -103,6 +106,12 @@ class DefaultDatabaseClient implements DatabaseClient {
 		return new DefaultGenericExecuteSpec(sqlSupplier);
 	}
 
+	@Override
+	public BatchSpec batch(String sql) {
+		Assert.hasText(sql, "SQL must not be null or empty");
+		return new DefaultBatchSpec(sql, DEFAULT_BATCH_CHUNK_SIZE, StatementFilterFunction.EMPTY_FILTER);
+	}
+
 	@Override
 	public <T> Mono<T> inConnection(Function<Connection, Mono<T>> action) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
@@ -212,6 +221,71 @@ class DefaultDatabaseClient implements DatabaseClient {
 		}
 	}
 
+	/**
+	 * Retrieve the parameters for the given named parameters, matching them by
+	 * name or by their position, and removing the matched parameters from the
+	 * given remainders.
+	 */
+	private static MapBindParameterSource retrieveParameters(String sql, List<String> parameterNames,
+			Map<String, Parameter> byName, Map<Integer, Parameter> byIndex,
+			Map<String, Parameter> remainderByName, Map<Integer, Parameter> remainderByIndex) {
+
+		Map<String, Parameter> namedBindings = CollectionUtils.newLinkedHashMap(parameterNames.size());
+		for (String parameterName : parameterNames) {
+			Parameter parameter = getParameter(byName, byIndex, remainderByName, remainderByIndex,
+					parameterNames, parameterName);
+			if (parameter == null) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("No parameter specified for [%s] in query [%s]", parameterName, sql));
+			}
+			namedBindings.put(parameterName, parameter);
+		}
+		return new MapBindParameterSource(namedBindings);
+	}
+
+	@Nullable
+	private static Parameter getParameter(Map<String, Parameter> byName, Map<Integer, Parameter> byIndex,
+			Map<String, Parameter> remainderByName, Map<Integer, Parameter> remainderByIndex,
+			List<String> parameterNames, String parameterName) {
+
+		if (byName.containsKey(parameterName)) {
+			remainderByName.remove(parameterName);
+			return byName.get(parameterName);
+		}
+
+		int index = parameterNames.indexOf(parameterName);
+		if (byIndex.containsKey(index)) {
+			remainderByIndex.remove(index);
+			return byIndex.get(index);
+		}
+
+		return null;
+	}
+
+	private static void bindByName(Statement statement, Map<String, Parameter> byName) {
+		byName.forEach((name, parameter) -> {
+			Object value = parameter.getValue();
+			if (value != null) {
+				statement.bind(name, value);
+			}
+			else {
+				statement.bindNull(name, parameter.getType());
+			}
+		});
+	}
+
+	private static void bindByIndex(Statement statement, Map<Integer, Parameter> byIndex) {
+		byIndex.forEach((i, parameter) -> {
+			Object value = parameter.getValue();
+			if (value != null) {
+				statement.bind(i, value);
+			}
+			else {
+				statement.bindNull(i, parameter.getType());
+			}
+		});
+	}
+
 
 	/**
 	 * Base class for {@link DatabaseClient.GenericExecuteSpec} implementations.
@@ -340,8 +414,8 @@ class DefaultDatabaseClient implements DatabaseClient {
 					Map<Integer, Parameter> remainderByIndex = new LinkedHashMap<>(this.byIndex);
 
 					List<String> parameterNames = DefaultDatabaseClient.this.namedParameterExpander.getParameterNames(sql);
-					MapBindParameterSource namedBindings = retrieveParameters(
-							sql, parameterNames, remainderByName, remainderByIndex);
+					MapBindParameterSource namedBindings = retrieveParameters(sql, parameterNames,
+							this.byName, this.byIndex, remainderByName, remainderByIndex);
 
 					PreparedOperation<String> operation = DefaultDatabaseClient.this.namedParameterExpander.expand(
 							sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
@@ -383,74 +457,162 @@ class DefaultDatabaseClient implements DatabaseClient {
 					mappingFunction);
 		}
 
-		private MapBindParameterSource retrieveParameters(String sql, List<String> parameterNames,
-				Map<String, Parameter> remainderByName, Map<Integer, Parameter> remainderByIndex) {
-
-			Map<String, Parameter> namedBindings = CollectionUtils.newLinkedHashMap(parameterNames.size());
-			for (String parameterName : parameterNames) {
-				Parameter parameter = getParameter(remainderByName, remainderByIndex, parameterNames, parameterName);
-				if (parameter == null) {
-					throw new InvalidDataAccessApiUsageException(
-							String.format("No parameter specified for [%s] in query [%s]", parameterName, sql));
-				}
-				namedBindings.put(parameterName, parameter);
+		private void assertNotPreparedOperation() {
+			if (this.sqlSupplier instanceof PreparedOperation<?>) {
+				throw new InvalidDataAccessApiUsageException(
+						"Cannot add bindings to a PreparedOperation");
 			}
-			return new MapBindParameterSource(namedBindings);
 		}
 
-		@Nullable
-		private Parameter getParameter(Map<String, Parameter> remainderByName,
-				Map<Integer, Parameter> remainderByIndex, List<String> parameterNames, String parameterName) {
+		private String getRequiredSql(Supplier<String> sqlSupplier) {
+			String sql = sqlSupplier.get();
+			Assert.state(StringUtils.hasText(sql), "SQL returned by SQL supplier must not be empty!");
+			return sql;
+		}
+	}
 
-			if (this.byName.containsKey(parameterName)) {
-				remainderByName.remove(parameterName);
-				return this.byName.get(parameterName);
-			}
 
-			int index = parameterNames.indexOf(parameterName);
-			if (this.byIndex.containsKey(index)) {
-				remainderByIndex.remove(index);
-				return this.byIndex.get(index);
-			}
+	/**
+	 * Default {@link DatabaseClient.BatchSpec} implementation.
+	 */
+	class DefaultBatchSpec implements BatchSpec {
 
-			return null;
+		final String sql;
+
+		final int chunkSize;
+
+		final StatementFilterFunction filterFunction;
+
+		DefaultBatchSpec(String sql, int chunkSize, StatementFilterFunction filterFunction) {
+			this.sql = sql;
+			this.chunkSize = chunkSize;
+			this.filterFunction = filterFunction;
 		}
 
-		private void assertNotPreparedOperation() {
-			if (this.sqlSupplier instanceof PreparedOperation<?>) {
-				throw new InvalidDataAccessApiUsageException(
-						"Cannot add bindings to a PreparedOperation");
-			}
+		@Override
+		public DefaultBatchSpec chunkSize(int chunkSize) {
+			Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+			return new DefaultBatchSpec(this.sql, chunkSize, this.filterFunction);
 		}
 
-		private void bindByName(Statement statement, Map<String, Parameter> byName) {
-			byName.forEach((name, parameter) -> {
-				Object value = parameter.getValue();
-				if (value != null) {
-					statement.bind(name, value);
-				}
-				else {
-					statement.bindNull(name, parameter.getType());
-				}
+		@Override
+		public DefaultBatchSpec filter(StatementFilterFunction filter) {
+			Assert.notNull(filter, "Statement FilterFunction must not be null");
+			return new DefaultBatchSpec(this.sql, this.chunkSize, this.filterFunction.andThen(filter));
+		}
+
+		@Override
+		public Flux<Integer> execute(Publisher<? extends Map<String, ?>> parameterSets) {
+			Assert.notNull(parameterSets, "Parameter sets must not be null");
+			NamedParameterExpander expander = DefaultDatabaseClient.this.namedParameterExpander;
+			List<String> parameterNames = (expander != null ?
+					expander.getParameterNames(this.sql) : Collections.emptyList());
+
+			Function<Connection, Flux<Integer>> batchFunction = connection -> Flux.from(parameterSets)
+					.map(parameterSet -> prepareBinding(parameterSet, parameterNames))
+					.bufferUntil(new ChunkBoundary(this.chunkSize), true)
+					.concatMap(chunk -> executeChunk(connection, chunk), 1);
+			return inConnectionMany(new ConnectionFunction<>(this.sql, batchFunction));
+		}
+
+		private BatchBinding prepareBinding(Map<String, ?> parameterSet, List<String> parameterNames) {
+			Map<String, Parameter> byName = CollectionUtils.newLinkedHashMap(parameterSet.size());
+			parameterSet.forEach((name, value) -> {
+				Assert.notNull(value, () -> String.format(
+						"Value for parameter %s must not be null. Use Parameter.empty(…) instead.", name));
+				byName.put(name, (value instanceof Parameter ?
+						(Parameter) value : Parameter.fromOrEmpty(value, value.getClass())));
 			});
+
+			NamedParameterExpander expander = DefaultDatabaseClient.this.namedParameterExpander;
+			if (expander == null) {
+				return new BatchBinding(this.sql, null, byName);
+			}
+
+			Map<String, Parameter> remainderByName = new LinkedHashMap<>(byName);
+			MapBindParameterSource namedBindings = retrieveParameters(this.sql, parameterNames,
+					byName, Collections.emptyMap(), remainderByName, Collections.emptyMap());
+			PreparedOperation<String> operation = expander.expand(
+					this.sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
+			return new BatchBinding(operation.toQuery(), operation, remainderByName);
 		}
 
-		private void bindByIndex(Statement statement, Map<Integer, Parameter> byIndex) {
-			byIndex.forEach((i, parameter) -> {
-				Object value = parameter.getValue();
-				if (value != null) {
-					statement.bind(i, value);
-				}
-				else {
-					statement.bindNull(i, parameter.getType());
+		private Mono<Integer> executeChunk(Connection connection, List<BatchBinding> chunk) {
+			String sql = chunk.get(0).sql;
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing SQL statement [" + sql + "] for " + chunk.size() + " parameter sets");
+			}
+			Statement statement = connection.createStatement(sql);
+			for (int i = 0; i < chunk.size(); i++) {
+				if (i > 0) {
+					statement.add();
 				}
-			});
+				chunk.get(i).bindTo(statement);
+			}
+			return Flux.from(this.filterFunction.filter(statement, DefaultDatabaseClient.this.executeFunction))
+					.cast(Result.class)
+					.flatMap(Result::getRowsUpdated)
+					.collect(Collectors.summingInt(Integer::intValue))
+					.checkpoint("SQL \"" + sql + "\" [DatabaseClient]");
 		}
+	}
 
-		private String getRequiredSql(Supplier<String> sqlSupplier) {
-			String sql = sqlSupplier.get();
-			Assert.state(StringUtils.hasText(sql), "SQL returned by SQL supplier must not be empty!");
-			return sql;
+
+	/**
+	 * The SQL and bindings for a single parameter set of a batch.
+	 */
+	private static class BatchBinding {
+
+		final String sql;
+
+		@Nullable
+		final PreparedOperation<String> operation;
+
+		final Map<String, Parameter> byName;
+
+		BatchBinding(String sql, @Nullable PreparedOperation<String> operation, Map<String, Parameter> byName) {
+			this.sql = sql;
+			this.operation = operation;
+			this.byName = byName;
+		}
+
+		void bindTo(Statement statement) {
+			if (this.operation != null) {
+				this.operation.bindTo(new StatementWrapper(statement));
+			}
+			bindByName(statement, this.byName);
+		}
+	}
+
+
+	/**
+	 * Predicate for {@link Flux#bufferUntil(Predicate, boolean)} that starts a new
+	 * chunk once the chunk size is reached or the SQL of the next binding differs.
+	 * Stateful: to be used for a single subscription only.
+	 */
+	private static class ChunkBoundary implements Predicate<BatchBinding> {
+
+		private final int chunkSize;
+
+		@Nullable
+		private String sql;
+
+		private int count;
+
+		ChunkBoundary(int chunkSize) {
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public boolean test(BatchBinding binding) {
+			if (binding.sql.equals(this.sql) && this.count < this.chunkSize) {
+				this.count++;
+				return false;
+			}
+			boolean boundary = (this.sql != null);
+			this.sql = binding.sql;
+			this.count = 1;
+			return boundary;
 		}
 	}
 
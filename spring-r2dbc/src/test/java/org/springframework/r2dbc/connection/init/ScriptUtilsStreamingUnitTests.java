@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.connection.init;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.doReturn;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.when;
+import static org.springframework.r2dbc.connection.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER;
+import static org.springframework.r2dbc.connection.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER;
+import static org.springframework.r2dbc.connection.init.ScriptUtils.DEFAULT_COMMENT_PREFIXES;
+
+/**
+ * Unit tests for the streaming execution of SQL scripts through
+ * {@link ScriptUtils#executeSqlScript(Connection, EncodedResource, boolean, boolean, String[], String, String, String, int, ScriptProgressListener)}.
+ *
+ * @see ScriptUtilsUnitTests
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ScriptUtilsStreamingUnitTests {
+
+	@Mock
+	Connection connection;
+
+	/** The executed statements, with each batch as a single comma-separated entry. */
+	final List<String> executed = new ArrayList<>();
+
+
+	@BeforeEach
+	void before() {
+		when(this.connection.createStatement(anyString())).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			Statement statement = mock(Statement.class);
+			doReturn(execution(Arrays.asList(sql))).when(statement).execute();
+			return statement;
+		});
+		when(this.connection.createBatch()).thenAnswer(invocation -> new RecordingBatch());
+	}
+
+
+	@Test
+	void executeWithNewlineFallback() {
+		EncodedResource script = script(
+				"INSERT INTO users (last_name) VALUES ('Heisenberg')\n" +
+				"INSERT INTO users (last_name) VALUES ('Jesse')\n");
+
+		execute(script, false, null, 1, null).verifyComplete();
+
+		assertThat(this.executed).containsExactly(
+				"INSERT INTO users (last_name) VALUES ('Heisenberg')",
+				"INSERT INTO users (last_name) VALUES ('Jesse')");
+	}
+
+	@Test
+	void executeOneShotResourceWithNewlineFallback() {
+		EncodedResource script = new EncodedResource(new InputStreamResource(new ByteArrayInputStream((
+				"INSERT INTO users (last_name) VALUES ('Heisenberg')\n" +
+				"INSERT INTO users (last_name) VALUES ('Jesse')\n").getBytes(StandardCharsets.UTF_8))));
+
+		execute(script, false, null, 1, null).verifyComplete();
+
+		assertThat(this.executed).containsExactly(
+				"INSERT INTO users (last_name) VALUES ('Heisenberg')",
+				"INSERT INTO users (last_name) VALUES ('Jesse')");
+	}
+
+	@Test
+	void executeGroupsConsecutiveDataManipulationStatementsIntoBatches() {
+		EncodedResource script = script(
+				"CREATE TABLE users (last_name VARCHAR(50));\n" +
+				"INSERT INTO users (last_name) VALUES ('Heisenberg');\n" +
+				"INSERT INTO users (last_name) VALUES ('Jesse');\n" +
+				"INSERT INTO users (last_name) VALUES ('Walter');\n" +
+				"UPDATE users SET last_name = 'Saul' WHERE last_name = 'Walter';\n" +
+				"SELECT COUNT(*) FROM users;\n" +
+				"DELETE FROM users;\n");
+
+		execute(script, false, ";", 2, null).verifyComplete();
+
+		assertThat(this.executed).containsExactly(
+				"CREATE TABLE users (last_name VARCHAR(50))",
+				"INSERT INTO users (last_name) VALUES ('Heisenberg'), " +
+						"INSERT INTO users (last_name) VALUES ('Jesse')",
+				"INSERT INTO users (last_name) VALUES ('Walter'), " +
+						"UPDATE users SET last_name = 'Saul' WHERE last_name = 'Walter'",
+				"SELECT COUNT(*) FROM users",
+				"DELETE FROM users");
+	}
+
+	@Test
+	void executeWithFailedStatementInBatch() {
+		EncodedResource script = script(
+				"INSERT INTO users (last_name) VALUES ('Heisenberg');\n" +
+				"INSERT INTO bogus (last_name) VALUES ('Jesse');\n" +
+				"INSERT INTO users (last_name) VALUES ('Walter');\n" +
+				"CREATE TABLE other (id INTEGER);\n");
+
+		execute(script, false, ";", 10, null).verifyErrorSatisfies(ex ->
+				assertThat(ex).isInstanceOf(ScriptStatementFailedException.class)
+						.hasMessageContaining("statement #1")
+						.hasMessageContaining("'Heisenberg'"));
+		assertThat(this.executed).hasSize(1);
+
+		this.executed.clear();
+		execute(script, true, ";", 10, null).verifyComplete();
+		assertThat(this.executed).containsExactly(
+				"INSERT INTO users (last_name) VALUES ('Heisenberg'), " +
+						"INSERT INTO bogus (last_name) VALUES ('Jesse'), " +
+						"INSERT INTO users (last_name) VALUES ('Walter')",
+				"CREATE TABLE other (id INTEGER)");
+	}
+
+	@Test
+	void executeNotifiesProgressListener() {
+		EncodedResource script = script(
+				"CREATE TABLE users (last_name VARCHAR(50));\n" +
+				"INSERT INTO users (last_name) VALUES ('Heisenberg');\n" +
+				"INSERT INTO users (last_name) VALUES ('Jesse');\n" +
+				"INSERT INTO users (last_name) VALUES ('Walter');\n" +
+				"SELECT COUNT(*) FROM users;\n");
+		List<Integer> statementCounts = new ArrayList<>();
+		List<Integer> lineNumbers = new ArrayList<>();
+
+		execute(script, false, ";", 2, (statementCount, lineNumber) -> {
+			statementCounts.add(statementCount);
+			lineNumbers.add(lineNumber);
+		}).verifyComplete();
+
+		assertThat(statementCounts).containsExactly(1, 3, 4, 5);
+		// The batch with 'Walter' ends at line 4, even though the SELECT statement was read ahead
+		assertThat(lineNumbers).containsExactly(1, 3, 4, 5);
+	}
+
+
+	private StepVerifier.FirstStep<Void> execute(EncodedResource script, boolean continueOnError,
+			@Nullable String separator, int batchSize, @Nullable ScriptProgressListener progressListener) {
+
+		return ScriptUtils.executeSqlScript(this.connection, script, continueOnError, false,
+				DEFAULT_COMMENT_PREFIXES, separator, DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				DEFAULT_BLOCK_COMMENT_END_DELIMITER, batchSize, progressListener).as(StepVerifier::create);
+	}
+
+	private static EncodedResource script(String script) {
+		return new EncodedResource(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private Publisher<Result> execution(List<String> statements) {
+		return Flux.defer(() -> {
+			this.executed.add(String.join(", ", statements));
+			if (statements.stream().anyMatch(statement -> statement.contains("bogus"))) {
+				return Flux.error(new R2dbcBadGrammarException("Table not found: bogus"));
+			}
+			Result result = mock(Result.class);
+			when(result.getRowsUpdated()).thenReturn(Mono.just(1));
+			return Flux.just(result);
+		});
+	}
+
+
+	private class RecordingBatch implements Batch {
+
+		private final List<String> statements = new ArrayList<>();
+
+		@Override
+		public Batch add(String sql) {
+			this.statements.add(sql);
+			return this;
+		}
+
+		@Override
+		public Publisher<? extends Result> execute() {
+			return execution(this.statements);
+		}
+	}
+
+}
@@ -16,13 +16,17 @@
 
 package org.springframework.r2dbc.connection.init;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.assertj.core.util.Strings;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.support.EncodedResource;
@@ -218,6 +222,56 @@ public class ScriptUtilsUnitTests {
 		assertThat(contains).isEqualTo(expected);
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"test-data-with-comments.sql",
+		"test-data-with-comments-and-leading-tabs.sql",
+		"test-data-with-multi-line-comments.sql",
+		"test-data-with-multi-line-nested-comments.sql"
+	})
+	public void readStatementsIncrementally(String path) throws Exception {
+		String script = readScript(path);
+		assertThat(readStatements(script, ";")).containsExactlyElementsOf(splitSqlScript(script, ";"));
+	}
+
+	@Test
+	public void readStatementsIncrementallyWithWindowsLineEnding() throws Exception {
+		String script = readScript("test-data-with-comments.sql").replaceAll("\n", "\r\n");
+		assertThat(readStatements(script, ";")).containsExactlyElementsOf(splitSqlScript(script, ";"));
+	}
+
+	@Test
+	public void readStatementsIncrementallyWithNewlineAsSeparator() throws Exception {
+		String script = "insert into T_TEST (NAME) values ('Keith')\ninsert into T_TEST (NAME) values ('Dave')";
+		assertThat(readStatements(script, "\n")).containsExactlyElementsOf(splitSqlScript(script, "\n"));
+	}
+
+	@Test
+	public void readStatementsIncrementallyAcrossBufferBoundaries() throws Exception {
+		StringBuilder script = new StringBuilder();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			String statement = "insert into T_TEST (NAME) values ('Name " + i + "')";
+			script.append(statement).append("\n/\n");
+			expected.add(statement);
+		}
+		assertThat(readStatements(script.toString(), "\n/\n")).containsExactlyElementsOf(expected);
+	}
+
+	private List<String> readStatements(String script, String separator) throws Exception {
+		EncodedResource resource = new EncodedResource(new ByteArrayResource(script.getBytes()));
+		List<String> statements = new ArrayList<>();
+		try (ScriptStatementReader reader = new ScriptStatementReader(new StringReader(script), resource,
+				separator, DEFAULT_COMMENT_PREFIXES, DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				DEFAULT_BLOCK_COMMENT_END_DELIMITER)) {
+			String statement;
+			while ((statement = reader.readStatement()) != null) {
+				statements.add(statement);
+			}
+		}
+		return statements;
+	}
+
 	private String readScript(String path) throws Exception {
 		EncodedResource resource = new EncodedResource(new ClassPathResource(path, getClass()));
 		return ScriptUtils.readScript(resource, DefaultDataBufferFactory.sharedInstance, DEFAULT_STATEMENT_SEPARATOR).block();
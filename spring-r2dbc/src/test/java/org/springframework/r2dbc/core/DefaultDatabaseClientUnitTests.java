@@ -17,6 +17,8 @@
 package org.springframework.r2dbc.core;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
@@ -42,6 +44,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.lang.Nullable;
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 import org.springframework.r2dbc.core.binding.BindTarget;
@@ -397,6 +400,76 @@ class DefaultDatabaseClientUnitTests {
 		inOrder.verifyNoMoreInteractions();
 	}
 
+	@Test
+	void batchShouldBindParameterSetsInChunks() {
+		Result result = mock(Result.class);
+		when(result.getRowsUpdated()).thenReturn(Mono.just(2), Mono.just(1));
+		Statement statement = mockStatementFor("INSERT INTO tab (name) VALUES ($1)", result);
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.batch("INSERT INTO tab (name) VALUES (:name)").chunkSize(2)
+				.execute(Flux.just("a", "b", "c").map(name -> Collections.singletonMap("name", name)))
+				.as(StepVerifier::create)
+				.expectNext(2, 1)
+				.verifyComplete();
+
+		InOrder inOrder = inOrder(statement);
+		inOrder.verify(statement).bind(0, "a");
+		inOrder.verify(statement).add();
+		inOrder.verify(statement).bind(0, "b");
+		inOrder.verify(statement).execute();
+		inOrder.verify(statement).bind(0, "c");
+		inOrder.verify(statement).execute();
+		inOrder.verifyNoMoreInteractions();
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	void batchShouldStartNewChunkForDifferentExpandedSql() {
+		Statement statement1 = mockStatementFor("DELETE FROM tab WHERE id IN ($1, $2)");
+		Statement statement2 = mockStatementFor("DELETE FROM tab WHERE id IN ($1)");
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		Flux<Map<String, Object>> parameterSets = Flux.just(
+				Collections.singletonMap("ids", Arrays.asList(1, 2)),
+				Collections.singletonMap("ids", Arrays.asList(3, 4)),
+				Collections.singletonMap("ids", Collections.singletonList(5)));
+		databaseClient.batch("DELETE FROM tab WHERE id IN (:ids)").execute(parameterSets)
+				.as(StepVerifier::create)
+				.expectNext(0, 0)
+				.verifyComplete();
+
+		verify(statement1).bind(0, 1);
+		verify(statement1).bind(1, 2);
+		verify(statement1).add();
+		verify(statement1).bind(0, 3);
+		verify(statement1).bind(1, 4);
+		verify(statement1).execute();
+		verify(statement2).bind(0, 5);
+		verify(statement2).execute();
+	}
+
+	@Test
+	void batchShouldBindNullValuesAndRejectMissingParameters() {
+		Statement statement = mockStatementFor("INSERT INTO tab (name) VALUES ($1)");
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.batch("INSERT INTO tab (name) VALUES (:name)")
+				.execute(Flux.just(Collections.singletonMap("name", Parameter.empty(String.class))))
+				.as(StepVerifier::create)
+				.expectNext(0)
+				.verifyComplete();
+		verify(statement).bindNull(0, String.class);
+
+		databaseClient.batch("INSERT INTO tab (name) VALUES (:name)")
+				.execute(Flux.just(Collections.singletonMap("other", "a")))
+				.as(StepVerifier::create)
+				.verifyError(InvalidDataAccessApiUsageException.class);
+	}
+
 	private Statement mockStatement() {
 		return mockStatementFor(null, null);
 	}
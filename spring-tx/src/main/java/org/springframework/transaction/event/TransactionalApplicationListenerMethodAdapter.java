@@ -106,4 +106,25 @@ public class TransactionalApplicationListenerMethodAdapter extends ApplicationLi
 		}
 	}
 
+	@Override
+	public void onApplicationEvents(List<? extends ApplicationEvent> events) {
+		if (TransactionSynchronizationManager.isSynchronizationActive() &&
+				TransactionSynchronizationManager.isActualTransactionActive()) {
+			TransactionSynchronizationManager.registerSynchronization(
+					new TransactionalApplicationListenerSynchronization<>(events, this, this.callbacks));
+		}
+		else if (this.annotation.fallbackExecution()) {
+			if (this.annotation.phase() == TransactionPhase.AFTER_ROLLBACK && logger.isWarnEnabled()) {
+				logger.warn("Processing " + events + " as a fallback execution on AFTER_ROLLBACK phase");
+			}
+			processEvents(events);
+		}
+		else {
+			// No transactional event execution at all
+			if (logger.isDebugEnabled()) {
+				logger.debug("No transaction is active - skipping " + events);
+			}
+		}
+	}
+
 }
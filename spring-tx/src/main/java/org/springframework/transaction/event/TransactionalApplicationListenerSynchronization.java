@@ -16,9 +16,11 @@
 
 package org.springframework.transaction.event;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
 import org.springframework.transaction.support.TransactionSynchronization;
 
 /**
@@ -32,7 +34,7 @@ import org.springframework.transaction.support.TransactionSynchronization;
 class TransactionalApplicationListenerSynchronization<E extends ApplicationEvent>
 		implements TransactionSynchronization {
 
-	private final E event;
+	private final List<? extends E> events;
 
 	private final TransactionalApplicationListener<E> listener;
 
@@ -42,7 +44,20 @@ class TransactionalApplicationListenerSynchronization<E extends ApplicationEvent
 	public TransactionalApplicationListenerSynchronization(E event, TransactionalApplicationListener<E> listener,
 			List<TransactionalApplicationListener.SynchronizationCallback> callbacks) {
 
-		this.event = event;
+		this(Collections.singletonList(event), listener, callbacks);
+	}
+
+	/**
+	 * Create a synchronization for the given events of the same type, multicast
+	 * in one batch, to be processed together by an
+	 * {@link ApplicationListenerMethodAdapter} and one by one by any other listener.
+	 * @since 5.3.21
+	 */
+	public TransactionalApplicationListenerSynchronization(List<? extends E> events,
+			TransactionalApplicationListener<E> listener,
+			List<TransactionalApplicationListener.SynchronizationCallback> callbacks) {
+
+		this.events = events;
 		this.listener = listener;
 		this.callbacks = callbacks;
 	}
@@ -75,15 +90,20 @@ class TransactionalApplicationListenerSynchronization<E extends ApplicationEvent
 	}
 
 	private void processEventWithCallbacks() {
-		this.callbacks.forEach(callback -> callback.preProcessEvent(this.event));
+		this.events.forEach(event -> this.callbacks.forEach(callback -> callback.preProcessEvent(event)));
 		try {
-			this.listener.processEvent(this.event);
+			if (this.events.size() > 1 && this.listener instanceof ApplicationListenerMethodAdapter) {
+				((ApplicationListenerMethodAdapter) this.listener).processEvents(this.events);
+			}
+			else {
+				this.events.forEach(this.listener::processEvent);
+			}
 		}
 		catch (RuntimeException | Error ex) {
-			this.callbacks.forEach(callback -> callback.postProcessEvent(this.event, ex));
+			this.events.forEach(event -> this.callbacks.forEach(callback -> callback.postProcessEvent(event, ex)));
 			throw ex;
 		}
-		this.callbacks.forEach(callback -> callback.postProcessEvent(this.event, null));
+		this.events.forEach(event -> this.callbacks.forEach(callback -> callback.postProcessEvent(event, null)));
 	}
 
 }
@@ -116,4 +116,13 @@ public @interface TransactionalEventListener {
 	@AliasFor(annotation = EventListener.class, attribute = "id")
 	String id() default "";
 
+	/**
+	 * Whether the annotated method consumes events in batches, receiving the
+	 * events of a batch together in the configured transaction phase.
+	 * @since 5.3.21
+	 * @see EventListener#batch
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "batch")
+	boolean batch() default false;
+
 }
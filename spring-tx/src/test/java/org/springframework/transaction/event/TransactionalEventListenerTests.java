@@ -159,6 +159,18 @@ public class TransactionalEventListenerTests {
 		getEventCollector().assertNoEventReceived();
 	}
 
+	@Test
+	public void afterCommitWithBatch() {
+		load(BatchAfterCommitTestListener.class);
+		this.transactionTemplate.execute(status -> {
+			getContext().publishEvents(Arrays.asList("one", "two"));
+			getEventCollector().assertNoEventReceived();
+			return null;
+		});
+		getEventCollector().assertEvents(EventCollector.AFTER_COMMIT, Arrays.asList("one", "two"));
+		getEventCollector().assertTotalEventsCount(1);
+	}
+
 	@Test
 	public void afterRollback() {
 		load(AfterCompletionExplicitTestListener.class);
@@ -573,6 +585,19 @@ public class TransactionalEventListenerTests {
 	}
 
 
+	@Component
+	static class BatchAfterCommitTestListener {
+
+		@Autowired
+		private EventCollector eventCollector;
+
+		@TransactionalEventListener(batch = true)
+		public void handleAfterCommit(List<String> data) {
+			this.eventCollector.addEvent(EventCollector.AFTER_COMMIT, data);
+		}
+	}
+
+
 	@Component
 	static class AfterCommitMetaAnnotationTestListener extends BaseTransactionalTestListener {
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Benchmarks for reading typed values from {@link HttpHeaders}, simulating
+ * a request where the same headers are read several times by filters,
+ * content negotiation and message readers.
+ * <p>Run with {@code -prof gc} to compare the allocation rate per request of
+ * the memoized typed getters against parsing the raw header values on every call.
+ *
+ * @see HttpHeaders#getContentType()
+ * @see HttpHeaders#getAccept()
+ * @see HttpHeaders#getContentLength()
+ */
+@BenchmarkMode(Mode.Throughput)
+public class HttpHeadersBenchmark {
+
+	@Benchmark
+	public void readTypedHeaders(RequestData data, Blackhole bh) {
+		HttpHeaders headers = data.createHeaders();
+		for (int i = 0; i < data.readCount; i++) {
+			bh.consume(headers.getContentType());
+			bh.consume(headers.getAccept());
+			bh.consume(headers.getContentLength());
+		}
+	}
+
+	@Benchmark
+	public void readTypedReadOnlyHeaders(RequestData data, Blackhole bh) {
+		HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(data.createHeaders());
+		for (int i = 0; i < data.readCount; i++) {
+			bh.consume(headers.getContentType());
+			bh.consume(headers.getAccept());
+			bh.consume(headers.getContentLength());
+		}
+	}
+
+	@Benchmark
+	public void parseRawHeaders(RequestData data, Blackhole bh) {
+		HttpHeaders headers = data.createHeaders();
+		for (int i = 0; i < data.readCount; i++) {
+			String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+			bh.consume(StringUtils.hasLength(contentType) ? MediaType.parseMediaType(contentType) : null);
+			bh.consume(MediaType.parseMediaTypes(headers.get(HttpHeaders.ACCEPT)));
+			String contentLength = headers.getFirst(HttpHeaders.CONTENT_LENGTH);
+			bh.consume(contentLength != null ? Long.parseLong(contentLength) : -1);
+		}
+	}
+
+
+	/**
+	 * Benchmark data creating the headers of a typical browser request,
+	 * each benchmark invocation handling a new request.
+	 * The {@code readCount} parameter is the number of times each typed
+	 * header value is read while handling a single request.
+	 */
+	@State(Scope.Thread)
+	public static class RequestData {
+
+		@Param({"1", "5"})
+		public int readCount;
+
+		public HttpHeaders createHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			headers.add(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8");
+			headers.add(HttpHeaders.ACCEPT,
+					"text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8");
+			headers.add(HttpHeaders.CONTENT_LENGTH, "1024");
+			return headers;
+		}
+
+	}
+
+}
@@ -74,6 +74,29 @@ public class PathMatchingBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void matchAllRoutesWithPathPatternSet(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			bh.consume(data.patternSet.getMatchingPatterns(path));
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllRoutesWithPathPatternParser(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllRoutesWithPathPatternSet(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			bh.consume(data.patternSet.matchAndExtract(path));
+		}
+	}
+
 	@State(Scope.Benchmark)
 	public static class StaticRoutesPatternParser extends PatternParserData {
 
@@ -92,6 +115,13 @@ public class PathMatchingBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void matchStaticRoutesWithPathPatternSet(StaticRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			bh.consume(data.patternSet.getMatchingPatterns(path));
+		}
+	}
+
 	@State(Scope.Benchmark)
 	public static class AllRoutesAntPathMatcher extends AntPathMatcherData {
 
@@ -149,12 +179,15 @@ public class PathMatchingBenchmark {
 
 		List<PathContainer> requestPaths = new ArrayList<>();
 
+		PathPatternSet patternSet;
+
 		void parseRoutes(List<Route> routes) {
 			PathPatternParser parser = new PathPatternParser();
 			routes.forEach(route -> {
 				this.patterns.add(parser.parse(route.pattern));
 				route.matchingPaths.forEach(path -> this.requestPaths.add(PathContainer.parsePath(path)));
 			});
+			this.patternSet = new PathPatternSet(this.patterns);
 		}
 
 	}
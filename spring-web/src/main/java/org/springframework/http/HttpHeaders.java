@@ -540,6 +540,24 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	final MultiValueMap<String, String> headers;
 
+	/**
+	 * 解析后的 {@code Content-Type} 头部值，按需创建
+	 */
+	@Nullable
+	private transient ParsedHeaderValue<MediaType> parsedContentType;
+
+	/**
+	 * 解析后的 {@code Accept} 头部值，按需创建
+	 */
+	@Nullable
+	private transient ParsedHeaderValue<List<MediaType>> parsedAccept;
+
+	/**
+	 * 解析后的 {@code Content-Length} 头部值，按需创建
+	 */
+	@Nullable
+	private transient ParsedHeaderValue<Long> parsedContentLength;
+
 
 	/**
 	 * 构造一个新的空的 {@code HttpHeaders} 对象实例。
@@ -586,7 +604,28 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 * <p>当未指定可接受的媒体类型时，返回空列表。
 	 */
 	public List<MediaType> getAccept() {
-		return MediaType.parseMediaTypes(get(ACCEPT));
+		List<MediaType> accept = getParsedAccept();
+		// 返回副本，调用方可以像以前一样修改（例如排序）返回的列表
+		return (accept.isEmpty() ? accept : new ArrayList<>(accept));
+	}
+
+	/**
+	 * 返回解析后的 {@code Accept} 头部值。
+	 * <p>解析结果按原始头部值缓存，只要头部值未改变，就不会重新解析。
+	 * 返回的列表与缓存共享，供只读头部直接暴露。
+	 */
+	List<MediaType> getParsedAccept() {
+		List<String> values = get(ACCEPT);
+		if (CollectionUtils.isEmpty(values)) {
+			return Collections.emptyList();
+		}
+		ParsedHeaderValue<List<MediaType>> parsed = this.parsedAccept;
+		if (parsed == null || !parsed.matches(values)) {
+			// 首次读取或头部值已被修改：重新解析并保存原始值的快照
+			parsed = new ParsedHeaderValue<>(new ArrayList<>(values), MediaType.parseMediaTypes(values));
+			this.parsedAccept = parsed;
+		}
+		return parsed.getValue();
 	}
 
 	/**
@@ -1125,8 +1164,17 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 		// 获取 CONTENT_LENGTH 头部的第一个值
 		String value = getFirst(CONTENT_LENGTH);
 
-		// 如果值不为空，则将其解析为长整型返回；否则返回 -1
-		return (value != null ? Long.parseLong(value) : -1);
+		// 如果值为空，则返回 -1
+		if (value == null) {
+			return -1;
+		}
+		ParsedHeaderValue<Long> parsed = this.parsedContentLength;
+		if (parsed == null || !parsed.matches(value)) {
+			// 将值解析为长整型并缓存
+			parsed = new ParsedHeaderValue<>(value, Long.parseLong(value));
+			this.parsedContentLength = parsed;
+		}
+		return parsed.getValue();
 	}
 
 	/**
@@ -1153,8 +1201,17 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	public MediaType getContentType() {
 		// 获取第一个内容类型值
 		String value = getFirst(CONTENT_TYPE);
-		// 如果值非空
-		return (StringUtils.hasLength(value) ? MediaType.parseMediaType(value) : null);
+		// 如果值为空，则返回 null
+		if (!StringUtils.hasLength(value)) {
+			return null;
+		}
+		ParsedHeaderValue<MediaType> parsed = this.parsedContentType;
+		if (parsed == null || !parsed.matches(value)) {
+			// 首次读取或头部值已被修改：重新解析并缓存
+			parsed = new ParsedHeaderValue<>(value, MediaType.parseMediaType(value));
+			this.parsedContentType = parsed;
+		}
+		return parsed.getValue();
 	}
 
 	/**
@@ -2129,4 +2186,43 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 		return DATE_FORMATTER.format(time);
 	}
 
+
+	/**
+	 * 解析后的类型化头部值，以及解析时所用的原始头部值。
+	 * <p>头部可以通过多种途径被修改（包括直接修改底层的原生头部），因此缓存的值在每次读取时
+	 * 都会与当前的原始值比较，原始值不同即视为失效，从而无需在每个修改方法中显式清除缓存。
+	 * 实例是不可变的，因此可以在没有同步的情况下安全地发布。
+	 *
+	 * @param <T> 解析后的值类型
+	 */
+	private static final class ParsedHeaderValue<T> {
+
+		/**
+		 * 原始头部值：单个字符串或字符串列表的快照
+		 */
+		private final Object rawValue;
+
+		/**
+		 * 解析后的值
+		 */
+		private final T value;
+
+		ParsedHeaderValue(Object rawValue, T value) {
+			this.rawValue = rawValue;
+			this.value = value;
+		}
+
+		/**
+		 * 判断给定的原始头部值是否与解析时的原始值相同。
+		 */
+		boolean matches(Object rawValue) {
+			// 原生头部通常返回相同的字符串实例，先比较引用
+			return (this.rawValue == rawValue || this.rawValue.equals(rawValue));
+		}
+
+		T getValue() {
+			return this.value;
+		}
+	}
+
 }
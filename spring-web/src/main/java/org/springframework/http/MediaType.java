@@ -415,6 +415,12 @@ public class MediaType extends MimeType implements Serializable {
 	 */
 	private static final String PARAM_QUALITY_FACTOR = "q";
 
+	/**
+	 * 最近解析的媒体类型缓存，{@code MediaType} 是不可变的，因此可以在多次解析之间共享
+	 */
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<>(64, MediaType::parseMediaTypeInternal);
+
 
 	static {
 		// 不使用 “value of” 来避免静态init成本
@@ -668,12 +674,21 @@ public class MediaType extends MimeType implements Serializable {
 
 	/**
 	 * 将给定的 String 解析为单个 {@code MediaType}。
+	 * <p>最近解析的 {@code MediaType} 会被缓存，以便再次解析相同的值时直接返回。
 	 *
 	 * @param mediaType 要解析的字符串
 	 * @return 媒体类型
 	 * @throws InvalidMediaTypeException 如果无法解析媒体类型值
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		// 不缓存空值（由解析抛出异常）以及带有随机边界的 multipart 媒体类型
+		if (!StringUtils.hasLength(mediaType) || mediaType.startsWith("multipart")) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		return cachedMediaTypes.get(mediaType);
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		// 声明一个MimeType类型的变量
 		MimeType type;
 
@@ -34,18 +34,6 @@ class ReadOnlyHttpHeaders extends HttpHeaders {
 
 	private static final long serialVersionUID = -8578554704772377436L;
 
-	/**
-	 * 缓存的内容类型。
-	 */
-	@Nullable
-	private MediaType cachedContentType;
-
-	/**
-	 * 缓存的接受类型。
-	 */
-	@Nullable
-	private List<MediaType> cachedAccept;
-
 	/**
 	 * 创建一个只读的 HttpHeaders 对象。
 	 *
@@ -57,37 +45,10 @@ class ReadOnlyHttpHeaders extends HttpHeaders {
 
 	// 以下为重写的方法，实现只读操作，不允许写入
 
-	@Override
-	public MediaType getContentType() {
-		// 如果已缓存的内容类型不为空
-		if (this.cachedContentType != null) {
-			// 返回已缓存的内容类型
-			return this.cachedContentType;
-		} else {
-			// 否则，调用父类的 getContentType 方法获取内容类型
-			MediaType contentType = super.getContentType();
-
-			// 将获取到的内容类型缓存起来
-			this.cachedContentType = contentType;
-
-			// 返回获取到的内容类型
-			return contentType;
-		}
-	}
-
 	@Override
 	public List<MediaType> getAccept() {
-		// 如果已缓存的Accept列表不为空，则直接返回
-		if (this.cachedAccept != null) {
-			return this.cachedAccept;
-		} else {
-			// 否则，调用父类方法获取Accept列表
-			List<MediaType> accept = super.getAccept();
-			// 缓存获取到的Accept列表
-			this.cachedAccept = accept;
-			// 返回获取到的Accept列表
-			return accept;
-		}
+		// 直接返回缓存的解析结果，无需为每次调用复制列表
+		return getParsedAccept();
 	}
 
 	@Override
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.PathContainer.Element;
+import org.springframework.http.server.PathContainer.PathSegment;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.*;
+
+/**
+ * 由多个 {@link PathPattern} 构建的不可变模式集合，通过一次遍历路径即可找到所有匹配的模式。
+ *
+ * <p>所有模式开头的分隔符和字面量路径元素被合并到一棵共享的前缀树中，因此每个路径元素最多比较一次，
+ * 只有字面量前缀与路径匹配的模式才会继续执行剩余路径元素的匹配。
+ * 匹配结果与对每个模式分别调用 {@link PathPattern#matches(PathContainer)} 或
+ * {@link PathPattern#matchAndExtract(PathContainer)} 完全相同。
+ *
+ * <p>此类的实例是线程安全的。
+ *
+ * @since 5.3.21
+ * @see PathPattern
+ */
+public class PathPatternSet {
+
+	/**
+	 * 构建时提供的模式，按原始顺序
+	 */
+	private final List<PathPattern> patterns;
+
+	/**
+	 * 前缀树的根节点
+	 */
+	private final Node root = new Node();
+
+	/**
+	 * 没有路径元素的模式（例如空模式），总是单独匹配
+	 */
+	private final List<Entry> emptyPatterns = new ArrayList<>();
+
+
+	/**
+	 * 使用给定的模式创建一个新的 {@code PathPatternSet}。
+	 *
+	 * @param patterns 要组合的模式
+	 */
+	public PathPatternSet(Collection<PathPattern> patterns) {
+		Assert.notNull(patterns, "Patterns must not be null");
+		this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+		int index = 0;
+		for (PathPattern pattern : this.patterns) {
+			Assert.notNull(pattern, "Patterns must not contain null");
+			addPattern(pattern, index++);
+		}
+	}
+
+	private void addPattern(PathPattern pattern, int index) {
+		PathElement element = pattern.getHeadSection();
+		if (element == null) {
+			this.emptyPatterns.add(new Entry(pattern, index, null));
+			return;
+		}
+		Node node = this.root;
+		// 最后一个元素不放入前缀树，以便由路径元素本身处理结尾的匹配语义（例如可选的尾部分隔符）
+		while (element.next != null) {
+			if (element instanceof SeparatorPathElement) {
+				if (node.separatorChild == null) {
+					node.separatorChild = new Node();
+				}
+				node = node.separatorChild;
+			} else if (element instanceof LiteralPathElement) {
+				Map<String, Node> children = (pattern.isCaseSensitive() ?
+						node.getLiteralChildren() : node.getCaseInsensitiveLiteralChildren());
+				node = children.computeIfAbsent(new String(element.getChars()), key -> new Node());
+			} else {
+				break;
+			}
+			element = element.next;
+		}
+		node.entries.add(new Entry(pattern, index, element));
+	}
+
+
+	/**
+	 * 返回此集合中的模式，按构建时提供的顺序。
+	 */
+	public List<PathPattern> getPatterns() {
+		return this.patterns;
+	}
+
+	/**
+	 * 返回与给定路径匹配的所有模式，按构建时提供的顺序。
+	 *
+	 * @param pathContainer 要匹配的候选路径
+	 * @return 匹配的模式，如果没有匹配则返回空列表
+	 */
+	public List<PathPattern> getMatchingPatterns(PathContainer pathContainer) {
+		List<PatternMatch> matches = match(pathContainer, false);
+		if (matches.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<PathPattern> result = new ArrayList<>(matches.size());
+		for (PatternMatch match : matches) {
+			result.add(match.getPattern());
+		}
+		return result;
+	}
+
+	/**
+	 * 将给定路径与所有模式匹配，并返回每个匹配的模式及其提取的 URI 模板变量和矩阵变量，
+	 * 按构建时提供的顺序。
+	 *
+	 * @param pathContainer 要匹配的候选路径
+	 * @return 匹配结果，如果没有匹配则返回空列表
+	 */
+	public List<PatternMatch> matchAndExtract(PathContainer pathContainer) {
+		return match(pathContainer, true);
+	}
+
+	private List<PatternMatch> match(PathContainer pathContainer, boolean extractVariables) {
+		List<PatternMatch> matches = new ArrayList<>();
+		if (pathContainer.elements().isEmpty()) {
+			// 空路径的匹配规则比较特殊，交由每个模式自行处理
+			int index = 0;
+			for (PathPattern pattern : this.patterns) {
+				PathPattern.PathMatchInfo info = pattern.matchAndExtract(pathContainer);
+				if (info != null) {
+					matches.add(new PatternMatch(pattern, info, index));
+				}
+				index++;
+			}
+			return matches;
+		}
+		for (Entry entry : this.emptyPatterns) {
+			PathPattern.PathMatchInfo info = entry.pattern.matchAndExtract(pathContainer);
+			if (info != null) {
+				matches.add(new PatternMatch(entry.pattern, info, entry.index));
+			}
+		}
+		match(this.root, 0, pathContainer, pathContainer.elements(), extractVariables, matches);
+		if (matches.size() > 1) {
+			matches.sort(Comparator.comparingInt(match -> match.index));
+		}
+		return matches;
+	}
+
+	private void match(Node node, int pathIndex, PathContainer pathContainer, List<Element> pathElements,
+			boolean extractVariables, List<PatternMatch> matches) {
+
+		// 在当前位置匹配剩余的路径元素
+		for (Entry entry : node.entries) {
+			Assert.state(entry.remaining != null, "Remaining path element expected");
+			PathPattern.MatchingContext context = entry.pattern.new MatchingContext(pathContainer, extractVariables);
+			if (entry.remaining.matches(pathIndex, context)) {
+				matches.add(new PatternMatch(entry.pattern, context.getPathMatchResult(), entry.index));
+			}
+		}
+		if (pathIndex >= pathElements.size()) {
+			return;
+		}
+		// 沿共享的前缀继续遍历
+		Element element = pathElements.get(pathIndex);
+		if (element instanceof PathSegment) {
+			String value = ((PathSegment) element).valueToMatch();
+			if (node.literalChildren != null) {
+				Node child = node.literalChildren.get(value);
+				if (child != null) {
+					match(child, pathIndex + 1, pathContainer, pathElements, extractVariables, matches);
+				}
+			}
+			if (node.caseInsensitiveLiteralChildren != null) {
+				Node child = node.caseInsensitiveLiteralChildren.get(toLowerCase(value));
+				if (child != null) {
+					match(child, pathIndex + 1, pathContainer, pathElements, extractVariables, matches);
+				}
+			}
+		} else if (node.separatorChild != null) {
+			match(node.separatorChild, pathIndex + 1, pathContainer, pathElements, extractVariables, matches);
+		}
+	}
+
+	/**
+	 * 以与 {@link LiteralPathElement} 相同的方式逐字符转换为小写。
+	 */
+	private static String toLowerCase(String value) {
+		char[] chars = new char[value.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(value.charAt(i));
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public String toString() {
+		return "PathPatternSet" + this.patterns;
+	}
+
+
+	/**
+	 * 模式与路径的匹配结果。
+	 */
+	public static final class PatternMatch {
+
+		/**
+		 * 匹配的模式
+		 */
+		private final PathPattern pattern;
+
+		/**
+		 * 提取的变量
+		 */
+		private final PathPattern.PathMatchInfo matchInfo;
+
+		/**
+		 * 模式在集合中的位置
+		 */
+		private final int index;
+
+		PatternMatch(PathPattern pattern, PathPattern.PathMatchInfo matchInfo, int index) {
+			this.pattern = pattern;
+			this.matchInfo = matchInfo;
+			this.index = index;
+		}
+
+		/**
+		 * 返回匹配的模式。
+		 */
+		public PathPattern getPattern() {
+			return this.pattern;
+		}
+
+		/**
+		 * 返回提取的 URI 模板变量和矩阵变量；如果匹配时未提取变量，则为空。
+		 */
+		public PathPattern.PathMatchInfo getMatchInfo() {
+			return this.matchInfo;
+		}
+
+		@Override
+		public String toString() {
+			return "PatternMatch[pattern=" + this.pattern + ", " + this.matchInfo + "]";
+		}
+	}
+
+
+	private static final class Entry {
+
+		/**
+		 * 模式
+		 */
+		private final PathPattern pattern;
+
+		/**
+		 * 模式在集合中的位置
+		 */
+		private final int index;
+
+		/**
+		 * 前缀树之后剩余的第一个路径元素
+		 */
+		@Nullable
+		private final PathElement remaining;
+
+		Entry(PathPattern pattern, int index, @Nullable PathElement remaining) {
+			this.pattern = pattern;
+			this.index = index;
+			this.remaining = remaining;
+		}
+	}
+
+
+	private static final class Node {
+
+		/**
+		 * 在此节点继续匹配的模式
+		 */
+		private final List<Entry> entries = new ArrayList<>(1);
+
+		/**
+		 * 分隔符子节点
+		 */
+		@Nullable
+		private Node separatorChild;
+
+		/**
+		 * 区分大小写的字面量子节点
+		 */
+		@Nullable
+		private Map<String, Node> literalChildren;
+
+		/**
+		 * 不区分大小写的字面量子节点，键为小写文本
+		 */
+		@Nullable
+		private Map<String, Node> caseInsensitiveLiteralChildren;
+
+		Map<String, Node> getLiteralChildren() {
+			if (this.literalChildren == null) {
+				this.literalChildren = new HashMap<>(4);
+			}
+			return this.literalChildren;
+		}
+
+		Map<String, Node> getCaseInsensitiveLiteralChildren() {
+			if (this.caseInsensitiveLiteralChildren == null) {
+				this.caseInsensitiveLiteralChildren = new HashMap<>(4);
+			}
+			return this.caseInsensitiveLiteralChildren;
+		}
+	}
+
+}
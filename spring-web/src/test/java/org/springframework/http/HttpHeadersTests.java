@@ -151,6 +151,39 @@ public class HttpHeadersTests {
 		assertThat(headers.getFirst("Content-Type")).as("Invalid Content-Type header").isEqualTo("text/html;charset=UTF-8");
 	}
 
+	@Test
+	void parsedValuesReflectHeaderChanges() {
+		headers.setContentType(MediaType.TEXT_HTML);
+		headers.setContentLength(42L);
+		headers.add("Accept", "text/html");
+		MediaType contentType = headers.getContentType();
+		assertThat(headers.getContentType()).isSameAs(contentType);
+		assertThat(headers.getContentLength()).isEqualTo(42L);
+		assertThat(headers.getAccept()).containsExactly(MediaType.TEXT_HTML);
+
+		headers.set("Content-Type", "application/json");
+		headers.getOrEmpty("Content-Length").set(0, "24");
+		headers.get("Accept").add("application/json");
+		assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(headers.getContentLength()).isEqualTo(24L);
+		assertThat(headers.getAccept()).containsExactly(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON);
+
+		headers.remove("Content-Type");
+		headers.remove("Content-Length");
+		headers.remove("Accept");
+		assertThat(headers.getContentType()).isNull();
+		assertThat(headers.getContentLength()).isEqualTo(-1);
+		assertThat(headers.getAccept()).isEmpty();
+	}
+
+	@Test
+	void acceptReturnsModifiableCopy() {
+		headers.add("Accept", "text/html, application/json");
+		List<MediaType> accept = headers.getAccept();
+		accept.clear();
+		assertThat(headers.getAccept()).containsExactly(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON);
+	}
+
 	@Test
 	void location() throws URISyntaxException {
 		URI location = new URI("https://www.example.com/hotels");
@@ -704,6 +737,18 @@ public class HttpHeadersTests {
 		assertThat(readOnlyHttpHeaders.entrySet()).extracting(Entry::getKey).containsExactly(expectedKeys);
 	}
 
+	@Test
+	void readOnlyHttpHeadersReflectChangesToUnderlyingHeaders() {
+		headers.add("Accept", "text/html");
+		HttpHeaders readOnlyHttpHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
+		List<MediaType> accept = readOnlyHttpHeaders.getAccept();
+		assertThat(accept).containsExactly(MediaType.TEXT_HTML);
+		assertThat(readOnlyHttpHeaders.getAccept()).isSameAs(accept);
+
+		headers.set("Accept", "application/json");
+		assertThat(readOnlyHttpHeaders.getAccept()).containsExactly(MediaType.APPLICATION_JSON);
+	}
+
 	@Test // gh-25034
 	void equalsUnwrapsHttpHeaders() {
 		HttpHeaders headers1 = new HttpHeaders();
@@ -75,6 +75,15 @@ public class MediaTypeTests {
 		assertThat(mediaType.getQualityValue()).as("Invalid quality factor").isCloseTo(0.2D, within(0D));
 	}
 
+	@Test
+	public void parseMediaTypeReturnsCachedInstance() {
+		MediaType mediaType = MediaType.parseMediaType("text/html;charset=UTF-8");
+		assertThat(MediaType.parseMediaType("text/html;charset=UTF-8")).isSameAs(mediaType);
+
+		String multipart = "multipart/form-data;boundary=abc";
+		assertThat(MediaType.parseMediaType(multipart)).isNotSameAs(MediaType.parseMediaType(multipart));
+	}
+
 	@Test
 	public void parseMediaTypeNoSubtype() {
 		assertThatExceptionOfType(InvalidMediaTypeException.class).isThrownBy(() ->
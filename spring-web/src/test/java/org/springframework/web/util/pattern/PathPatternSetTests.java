@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PathPatternSet}.
+ */
+public class PathPatternSetTests {
+
+	private static final List<String> PATTERNS = Arrays.asList(
+			"", "/", "/foo", "/foo/", "/foo/bar", "/foo/bar/", "/foo/*", "/foo/**", "/foo/{id}",
+			"/foo/{id}/bar", "/foo/{id}/{*rest}", "/foo/b?r", "/foo/*.html", "/foo/{name}.{ext}",
+			"/{*all}", "/**", "/bar/{year:\\d+}", "/bar/baz", "/bar//baz", "foo/bar", "/FOO/bar");
+
+	private static final List<String> PATHS = Arrays.asList(
+			"", "/", "/foo", "/foo/", "/foo/bar", "/foo/bar/", "/foo/bar/baz", "/foo/123/bar",
+			"/foo/index.html", "/foo/bar;a=b", "/foo/b%61r", "/bar/2022", "/bar/abc", "/bar/baz",
+			"/bar//baz", "foo/bar", "/FOO/BAR", "/Foo/bar", "//foo", "/other");
+
+
+	@Test
+	public void matchesSameAsIndividualPatterns() {
+		assertSameAsIndividualPatterns(new PathPatternParser());
+
+		PathPatternParser parser = new PathPatternParser();
+		parser.setMatchOptionalTrailingSeparator(false);
+		assertSameAsIndividualPatterns(parser);
+
+		parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		assertSameAsIndividualPatterns(parser);
+	}
+
+	@Test
+	public void matchAndExtractVariables() {
+		PathPatternParser parser = new PathPatternParser();
+		PathPatternSet patternSet = new PathPatternSet(Arrays.asList(
+				parser.parse("/foo/{id}"), parser.parse("/foo/{id}/bar"), parser.parse("/foo/{id}/{*rest}")));
+
+		List<PathPatternSet.PatternMatch> matches = patternSet.matchAndExtract(PathContainer.parsePath("/foo/42/bar"));
+		assertThat(matches).hasSize(2);
+		assertThat(matches.get(0).getPattern().getPatternString()).isEqualTo("/foo/{id}/bar");
+		assertThat(matches.get(0).getMatchInfo().getUriVariables()).containsEntry("id", "42");
+		assertThat(matches.get(1).getPattern().getPatternString()).isEqualTo("/foo/{id}/{*rest}");
+		assertThat(matches.get(1).getMatchInfo().getUriVariables())
+				.containsEntry("id", "42").containsEntry("rest", "/bar");
+	}
+
+	@Test
+	public void matchMatrixVariables() {
+		PathPatternParser parser = new PathPatternParser();
+		PathPatternSet patternSet = new PathPatternSet(Arrays.asList(parser.parse("/cars/{car}")));
+
+		List<PathPatternSet.PatternMatch> matches = patternSet.matchAndExtract(PathContainer.parsePath("/cars/vw;color=red"));
+		assertThat(matches).hasSize(1);
+		assertThat(matches.get(0).getMatchInfo().getMatrixVariables().get("car").getFirst("color")).isEqualTo("red");
+	}
+
+	@Test
+	public void noMatch() {
+		PathPatternParser parser = new PathPatternParser();
+		PathPatternSet patternSet = new PathPatternSet(Arrays.asList(parser.parse("/foo/{id}"), parser.parse("/bar")));
+
+		assertThat(patternSet.getMatchingPatterns(PathContainer.parsePath("/baz"))).isEmpty();
+		assertThat(patternSet.matchAndExtract(PathContainer.parsePath("/foo"))).isEmpty();
+	}
+
+
+	private void assertSameAsIndividualPatterns(PathPatternParser parser) {
+		List<PathPattern> patterns = new ArrayList<>();
+		for (String pattern : PATTERNS) {
+			patterns.add(parser.parse(pattern));
+		}
+		PathPatternSet patternSet = new PathPatternSet(patterns);
+		for (String pathValue : PATHS) {
+			PathContainer path = PathContainer.parsePath(pathValue);
+			List<PathPattern> expected = new ArrayList<>();
+			List<PathPattern.PathMatchInfo> expectedInfos = new ArrayList<>();
+			for (PathPattern pattern : patterns) {
+				PathPattern.PathMatchInfo info = pattern.matchAndExtract(path);
+				if (info != null) {
+					assertThat(pattern.matches(path)).isTrue();
+					expected.add(pattern);
+					expectedInfos.add(info);
+				}
+			}
+			assertThat(patternSet.getMatchingPatterns(path)).as(pathValue).containsExactlyElementsOf(expected);
+
+			List<PathPatternSet.PatternMatch> matches = patternSet.matchAndExtract(path);
+			assertThat(matches).as(pathValue).hasSameSizeAs(expected);
+			for (int i = 0; i < matches.size(); i++) {
+				assertThat(matches.get(i).getPattern()).isSameAs(expected.get(i));
+				assertThat(matches.get(i).getMatchInfo().getUriVariables())
+						.isEqualTo(expectedInfos.get(i).getUriVariables());
+				assertThat(matches.get(i).getMatchInfo().getMatrixVariables())
+						.isEqualTo(expectedInfos.get(i).getMatrixVariables());
+			}
+		}
+	}
+
+}
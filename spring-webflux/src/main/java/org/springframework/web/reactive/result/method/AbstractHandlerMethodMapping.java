@@ -19,6 +19,7 @@ package org.springframework.web.reactive.result.method;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.*;
@@ -79,6 +80,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	}
 
 
+	/**
+	 * 是否使用映射路径索引查找候选映射
+	 */
+	private boolean useMappingPathIndex = false;
+
 	/**
 	 * 用于管理处理程序方法的映射关系
 	 */
@@ -87,6 +93,31 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	// TODO: handlerMethodMappingNamingStrategy
 
+	/**
+	 * 是否使用预编译的映射路径索引来查找候选映射，以代替对所有已注册映射的线性扫描。
+	 * <p>索引以映射路径模式的前导字面量段（参见 {@link #getMappingPathPrefixes}）构建前缀树，
+	 * 并以 HTTP 方法（参见 {@link #getMappingHttpMethods}）作为二级键，只对可能匹配的候选映射
+	 * 调用 {@link #getMatchingMapping}，匹配结果和排序与线性扫描相同。
+	 * <p>默认值为"false"。必须在通过 {@link InitializingBean#afterPropertiesSet} 初始化请求映射之前设置。
+	 *
+	 * @since 5.3.21
+	 */
+	public void setUseMappingPathIndex(boolean useMappingPathIndex) {
+		Assert.state(this.mappingRegistry.getRegistrations().isEmpty(),
+				"Mapping path index must be enabled before the initialization of " +
+						"request mappings through InitializingBean#afterPropertiesSet.");
+		this.useMappingPathIndex = useMappingPathIndex;
+	}
+
+	/**
+	 * 是否使用映射路径索引查找候选映射。
+	 *
+	 * @since 5.3.21
+	 */
+	public boolean useMappingPathIndex() {
+		return this.useMappingPathIndex;
+	}
+
 	/**
 	 * 返回所有映射和 HandlerMethod 的（只读）映射。
 	 */
@@ -368,7 +399,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		// 如果匹配列表为空，则尝试匹配所有注册的映射
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, exchange);
+			addMatchingMappings(getCandidateMappings(exchange), matches, exchange);
 		}
 
 		// 如果有匹配的映射
@@ -412,6 +443,27 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	/**
+	 * 返回需要逐一检查的候选映射：启用映射路径索引时为索引中的候选映射，否则为所有已注册的映射。
+	 *
+	 * @param exchange 当前交换信息
+	 * @return 候选映射集合
+	 */
+	private Collection<T> getCandidateMappings(ServerWebExchange exchange) {
+		if (!this.useMappingPathIndex) {
+			return this.mappingRegistry.getRegistrations().keySet();
+		}
+		Set<String> httpMethods = null;
+		// 预检请求按 Access-Control-Request-Method 匹配，因此不按请求方法过滤
+		if (!CorsUtils.isPreFlightRequest(exchange.getRequest())) {
+			String method = exchange.getRequest().getMethodValue();
+			// HEAD 请求同样可以由声明了 GET 的映射处理
+			httpMethods = ("HEAD".equals(method) ?
+					new HashSet<>(Arrays.asList(method, "GET")) : Collections.singleton(method));
+		}
+		return this.mappingRegistry.getMappingsByPathIndex(getLookupPathSegments(exchange), httpMethods);
+	}
+
 	/**
 	 * 将匹配的映射添加到列表中。
 	 *
@@ -535,6 +587,55 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return Collections.emptySet();
 	}
 
+	/**
+	 * 返回映射中每个路径模式的前导字面量段组成的前缀，例如模式 "/api/users/{id}" 的前缀为 "/api/users"，
+	 * 用于构建映射路径索引（参见 {@link #setUseMappingPathIndex}）。
+	 * <p>返回的前缀必须与 {@link #getLookupPathSegments} 采用相同的规范化方式，
+	 * 并且对于任何与映射匹配的请求路径，其前导路径段必须与前缀的路径段完全相同。
+	 * <p>默认实现返回空集合，表示映射对任何请求路径都是候选映射。
+	 *
+	 * @param mapping 映射
+	 * @return 路径前缀集合，空集合表示无法建立索引
+	 * @since 5.3.21
+	 */
+	protected Set<String> getMappingPathPrefixes(T mapping) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * 返回映射声明的 HTTP 方法名称，用作映射路径索引的二级键。
+	 * <p>对于 HEAD 请求，声明了 GET 的映射同样是候选映射；预检请求不按方法过滤。
+	 * <p>默认实现返回空集合，表示映射对任何 HTTP 方法都是候选映射。
+	 *
+	 * @param mapping 映射
+	 * @return HTTP 方法名称集合
+	 * @since 5.3.21
+	 */
+	protected Set<String> getMappingHttpMethods(T mapping) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * 返回请求路径中已解码且去除了路径参数的非空路径段，用于在映射路径索引中查找候选映射。
+	 *
+	 * @param exchange 当前交换
+	 * @return 非空路径段列表
+	 * @since 5.3.21
+	 * @see #getMappingPathPrefixes
+	 */
+	protected List<String> getLookupPathSegments(ServerWebExchange exchange) {
+		List<String> segments = new ArrayList<>();
+		for (PathContainer.Element element : exchange.getRequest().getPath().pathWithinApplication().elements()) {
+			if (element instanceof PathContainer.PathSegment) {
+				String value = ((PathContainer.PathSegment) element).valueToMatch();
+				if (!value.isEmpty()) {
+					segments.add(value);
+				}
+			}
+		}
+		return segments;
+	}
+
 	/**
 	 * 检查映射是否与当前请求匹配，并返回具有与当前请求相关的条件的（可能是新的）映射。
 	 *
@@ -565,7 +666,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		/**
 		 * 存储映射对象与注册信息之间的关联映射
 		 */
-		private final Map<T, MappingRegistration<T>> registry = new HashMap<>();
+		private final Map<T, MappingRegistration<T>> registry = new LinkedHashMap<>();
 
 		/**
 		 * 存储路径与映射对象之间的多对多关系，一个路径可能对应多个映射对象
@@ -577,6 +678,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		 */
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
+		/**
+		 * 映射路径索引
+		 */
+		private final MappingPathIndex<T> pathIndex = new MappingPathIndex<>();
+
 		/**
 		 * 用于支持并发读写的可重入读写锁
 		 */
@@ -604,6 +710,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(path);
 		}
 
+		/**
+		 * 根据给定的查找路径段和 HTTP 方法返回映射路径索引中的候选映射，按注册顺序排列。非线程安全。
+		 *
+		 * @param pathSegments 请求路径的非空路径段
+		 * @param httpMethods  请求对应的 HTTP 方法，{@code null} 表示不按方法过滤
+		 * @see #acquireReadLock()
+		 * @since 5.3.21
+		 */
+		public List<T> getMappingsByPathIndex(List<String> pathSegments, @Nullable Set<String> httpMethods) {
+			return this.pathIndex.getCandidates(pathSegments, httpMethods);
+		}
+
 		/**
 		 * 返回 CORS 配置。线程安全，可并发使用。
 		 */
@@ -652,6 +770,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				// 如果启用了映射路径索引，则将映射添加到索引中
+				if (useMappingPathIndex) {
+					this.pathIndex.add(mapping, getMappingPathPrefixes(mapping), getMappingHttpMethods(mapping));
+				}
+
 				// 初始化并验证 CORS 配置，并将其与处理器方法关联起来
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
@@ -718,6 +841,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				// 移除 CORS 查找表中的对应处理方法的信息
+				this.pathIndex.remove(registration.getMapping());
 				this.corsLookup.remove(registration.getHandlerMethod());
 			} finally {
 				// 解锁
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * 以映射路径模式的前导字面量段为键的前缀树索引，并以 HTTP 方法作为二级键。
+ * <p>索引只负责缩小候选范围：对于给定的查找路径段，返回的候选映射总是包含所有可能匹配的映射，
+ * 最终是否匹配仍由 {@link AbstractHandlerMethodMapping#getMatchingMapping} 决定。
+ * 候选映射按注册顺序返回，与线性扫描注册表时的顺序一致。
+ * <p>非线程安全，由 {@link AbstractHandlerMethodMapping.MappingRegistry} 的读写锁保护。
+ *
+ * @param <T> 映射类型
+ * @since 5.3.21
+ */
+final class MappingPathIndex<T> {
+
+	/**
+	 * 根节点，保存没有字面量前缀（或无法建立索引）的映射
+	 */
+	private final Node<T> root = new Node<>();
+
+	/**
+	 * 映射和索引条目映射
+	 */
+	private final Map<T, Entry<T>> entries = new HashMap<>();
+
+	/**
+	 * 注册顺序计数器
+	 */
+	private long sequence;
+
+
+	/**
+	 * 将映射添加到索引中。
+	 *
+	 * @param mapping      映射
+	 * @param pathPrefixes 映射中每个路径模式的字面量前缀，例如 "/api/users"；为空时映射对任何路径都是候选
+	 * @param httpMethods  映射声明的 HTTP 方法；为空时映射对任何方法都是候选
+	 */
+	public void add(T mapping, Set<String> pathPrefixes, Set<String> httpMethods) {
+		if (this.entries.containsKey(mapping)) {
+			// 重复注册的映射保留原有的位置
+			return;
+		}
+		Entry<T> entry = new Entry<>(mapping, this.sequence++, pathPrefixes, httpMethods);
+		this.entries.put(mapping, entry);
+		for (String[] segments : entry.prefixes) {
+			Node<T> node = this.root;
+			for (String segment : segments) {
+				node = node.children.computeIfAbsent(segment, key -> new Node<>());
+			}
+			node.add(entry);
+		}
+	}
+
+	/**
+	 * 从索引中移除映射，并清理不再使用的节点。
+	 */
+	public void remove(T mapping) {
+		Entry<T> entry = this.entries.remove(mapping);
+		if (entry == null) {
+			return;
+		}
+		for (String[] segments : entry.prefixes) {
+			remove(this.root, segments, 0, entry);
+		}
+	}
+
+	private boolean remove(Node<T> node, String[] segments, int index, Entry<T> entry) {
+		if (index == segments.length) {
+			node.remove(entry);
+		} else {
+			Node<T> child = node.children.get(segments[index]);
+			if (child != null && remove(child, segments, index + 1, entry)) {
+				node.children.remove(segments[index]);
+			}
+		}
+		return node.isEmpty();
+	}
+
+	/**
+	 * 返回给定查找路径段和 HTTP 方法的候选映射，按注册顺序排列。
+	 *
+	 * @param pathSegments 查找路径中的非空路径段，需与索引中的前缀采用相同的规范化方式
+	 * @param httpMethods  请求对应的 HTTP 方法，{@code null} 表示不按方法过滤
+	 * @return 候选映射列表
+	 */
+	public List<T> getCandidates(List<String> pathSegments, @Nullable Set<String> httpMethods) {
+		List<Entry<T>> result = new ArrayList<>();
+		Node<T> node = this.root;
+		node.collect(result, httpMethods);
+		for (String segment : pathSegments) {
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			node.collect(result, httpMethods);
+		}
+		if (result.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// 同一映射可能因多个前缀或多个方法而被收集多次，排序后去重
+		result.sort(Comparator.comparingLong(entry -> entry.order));
+		List<T> candidates = new ArrayList<>(result.size());
+		Entry<T> previous = null;
+		for (Entry<T> entry : result) {
+			if (entry != previous) {
+				candidates.add(entry.mapping);
+				previous = entry;
+			}
+		}
+		return candidates;
+	}
+
+
+	private static final class Entry<T> {
+
+		/**
+		 * 映射
+		 */
+		private final T mapping;
+
+		/**
+		 * 注册顺序
+		 */
+		private final long order;
+
+		/**
+		 * 去重后的前缀路径段
+		 */
+		private final Collection<String[]> prefixes;
+
+		/**
+		 * 声明的 HTTP 方法
+		 */
+		private final Set<String> httpMethods;
+
+		Entry(T mapping, long order, Set<String> pathPrefixes, Set<String> httpMethods) {
+			this.mapping = mapping;
+			this.order = order;
+			this.httpMethods = httpMethods;
+			Map<String, String[]> prefixes = new LinkedHashMap<>();
+			for (String prefix : pathPrefixes) {
+				String[] segments = StringUtils.tokenizeToStringArray(prefix, "/", false, true);
+				prefixes.putIfAbsent(String.join("/", segments), segments);
+			}
+			if (prefixes.isEmpty()) {
+				// 没有可用的前缀：映射对任何路径都是候选
+				prefixes.put("", new String[0]);
+			}
+			this.prefixes = prefixes.values();
+		}
+	}
+
+
+	private static final class Node<T> {
+
+		/**
+		 * 字面量路径段和子节点映射
+		 */
+		private final Map<String, Node<T>> children = new HashMap<>(4);
+
+		/**
+		 * 未声明 HTTP 方法的条目
+		 */
+		private final List<Entry<T>> anyMethod = new ArrayList<>(1);
+
+		/**
+		 * HTTP 方法和条目映射
+		 */
+		private final Map<String, List<Entry<T>>> byMethod = new HashMap<>(4);
+
+		void add(Entry<T> entry) {
+			if (entry.httpMethods.isEmpty()) {
+				this.anyMethod.add(entry);
+			} else {
+				for (String method : entry.httpMethods) {
+					this.byMethod.computeIfAbsent(method, key -> new ArrayList<>(1)).add(entry);
+				}
+			}
+		}
+
+		void remove(Entry<T> entry) {
+			this.anyMethod.remove(entry);
+			this.byMethod.values().removeIf(entries -> entries.remove(entry) && entries.isEmpty());
+		}
+
+		boolean isEmpty() {
+			return (this.children.isEmpty() && this.anyMethod.isEmpty() && this.byMethod.isEmpty());
+		}
+
+		void collect(List<Entry<T>> result, @Nullable Set<String> httpMethods) {
+			result.addAll(this.anyMethod);
+			if (this.byMethod.isEmpty()) {
+				return;
+			}
+			if (httpMethods == null) {
+				for (List<Entry<T>> entries : this.byMethod.values()) {
+					result.addAll(entries);
+				}
+			} else {
+				for (String method : httpMethods) {
+					List<Entry<T>> entries = this.byMethod.get(method);
+					if (entries != null) {
+						result.addAll(entries);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -24,6 +24,7 @@ import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
@@ -31,6 +32,7 @@ import org.springframework.web.reactive.result.condition.NameValueExpression;
 import org.springframework.web.reactive.result.condition.ProducesRequestCondition;
 import org.springframework.web.server.*;
 import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
@@ -68,6 +70,53 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getDirectPaths();
 	}
 
+	/**
+	 * 返回 {@link RequestMappingInfo} 中每个路径模式的前导字面量段组成的前缀。
+	 * <p>仅在 {@link #getPathPatternParser() 模式解析器} 区分大小写时建立索引。
+	 *
+	 * @param info 请求映射信息
+	 * @return 路径前缀集合
+	 */
+	@Override
+	protected Set<String> getMappingPathPrefixes(RequestMappingInfo info) {
+		PathPatternParser parser = getPathPatternParser();
+		if (!parser.isCaseSensitive() || parser.getPathOptions().separator() != '/') {
+			// 无法确定字面量的比较方式，不建立索引
+			return Collections.emptySet();
+		}
+		Set<String> prefixes = new LinkedHashSet<>();
+		for (PathPattern pattern : info.getPatternsCondition().getPatterns()) {
+			StringBuilder prefix = new StringBuilder();
+			for (String token : StringUtils.tokenizeToStringArray(pattern.getPatternString(), "/", false, true)) {
+				if (token.indexOf('*') != -1 || token.indexOf('?') != -1 || token.indexOf('{') != -1) {
+					break;
+				}
+				prefix.append('/').append(token);
+			}
+			prefixes.add(prefix.toString());
+		}
+		return prefixes;
+	}
+
+	/**
+	 * 返回 {@link RequestMappingInfo} 声明的 HTTP 请求方法名称。
+	 *
+	 * @param info 请求映射信息
+	 * @return HTTP 方法名称集合
+	 */
+	@Override
+	protected Set<String> getMappingHttpMethods(RequestMappingInfo info) {
+		Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+		if (methods.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new LinkedHashSet<>(methods.size());
+		for (RequestMethod method : methods) {
+			result.add(method.name());
+		}
+		return result;
+	}
+
 	/**
 	 * 检查给定的 {@link RequestMappingInfo} 是否与当前请求匹配，
 	 * 并返回一个（可能是新的）实例，其条件与当前请求匹配，例如具有 URL 模式的子集。
@@ -135,6 +135,52 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(hm.getMethod()).isEqualTo(expected);
 	}
 
+	@Test
+	public void getHandlerWithMappingPathIndex() {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setUseMappingPathIndex(true);
+		mapping.registerHandler(new TestController());
+
+		Method expected = on(TestController.class).annot(getMapping("/foo").params("p")).resolveMethod();
+		ServerWebExchange exchange = MockServerWebExchange.from(get("/foo?p=anything"));
+		HandlerMethod hm = (HandlerMethod) mapping.getHandler(exchange).block();
+		assertThat(hm.getMethod()).isEqualTo(expected);
+
+		expected = on(TestController.class).annot(requestMapping("/ba*").method(GET, HEAD)).resolveMethod();
+		exchange = MockServerWebExchange.from(method(HttpMethod.HEAD, "/bar"));
+		hm = (HandlerMethod) mapping.getHandler(exchange).block();
+		assertThat(hm.getMethod()).isEqualTo(expected);
+
+		expected = on(TestController.class).annot(requestMapping("")).resolveMethod();
+		exchange = MockServerWebExchange.from(get("/"));
+		hm = (HandlerMethod) mapping.getHandler(exchange).block();
+		assertThat(hm.getMethod()).isEqualTo(expected);
+
+		exchange = MockServerWebExchange.from(put("/person/1").contentType(MediaType.APPLICATION_XML));
+		hm = (HandlerMethod) mapping.getHandler(exchange).block();
+		assertThat(hm.getMethod().getName()).isEqualTo("consumes");
+
+		exchange = MockServerWebExchange.from(post("/bar"));
+		assertError(mapping.getHandler(exchange), MethodNotAllowedException.class,
+				ex -> assertThat(ex.getSupportedMethods()).isEqualTo(EnumSet.of(HttpMethod.GET, HttpMethod.HEAD)));
+	}
+
+	@Test
+	public void getHandlerWithMappingPathIndexAfterUnregister() {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setUseMappingPathIndex(true);
+		mapping.registerHandler(new TestController());
+
+		RequestMappingInfo info = mapping.getHandlerMethods().keySet().stream()
+				.filter(key -> key.getPatternsCondition().getPatterns().stream()
+						.anyMatch(pattern -> pattern.getPatternString().equals("/person/{id}")))
+				.findFirst().get();
+		mapping.unregisterMapping(info);
+
+		ServerWebExchange exchange = MockServerWebExchange.from(put("/person/1").contentType(MediaType.APPLICATION_XML));
+		StepVerifier.create(mapping.getHandler(exchange)).expectComplete().verify();
+	}
+
 	@Test
 	public void getHandlerRequestMethodNotAllowed() {
 		ServerWebExchange exchange = MockServerWebExchange.from(post("/bar"));
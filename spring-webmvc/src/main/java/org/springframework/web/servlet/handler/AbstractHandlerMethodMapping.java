@@ -89,6 +89,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	private HandlerMethodMappingNamingStrategy<T> namingStrategy;
 
+	/**
+	 * 是否使用映射路径索引查找候选映射
+	 */
+	private boolean useMappingPathIndex = false;
+
 	/**
 	 * 映射器注册程序
 	 */
@@ -114,6 +119,31 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		this.detectHandlerMethodsInAncestorContexts = detectHandlerMethodsInAncestorContexts;
 	}
 
+	/**
+	 * 是否使用预编译的映射路径索引来查找候选映射，以代替对所有已注册映射的线性扫描。
+	 * <p>索引以映射路径模式的前导字面量段（参见 {@link #getMappingPathPrefixes}）构建前缀树，
+	 * 并以 HTTP 方法（参见 {@link #getMappingHttpMethods}）作为二级键，只对可能匹配的候选映射
+	 * 调用 {@link #getMatchingMapping}，匹配结果和排序与线性扫描相同。
+	 * <p>默认值为"false"。必须在通过 {@link InitializingBean#afterPropertiesSet} 初始化请求映射之前设置。
+	 *
+	 * @since 5.3.21
+	 */
+	public void setUseMappingPathIndex(boolean useMappingPathIndex) {
+		Assert.state(this.mappingRegistry.getRegistrations().isEmpty(),
+				"Mapping path index must be enabled before the initialization of " +
+						"request mappings through InitializingBean#afterPropertiesSet.");
+		this.useMappingPathIndex = useMappingPathIndex;
+	}
+
+	/**
+	 * 是否使用映射路径索引查找候选映射。
+	 *
+	 * @since 5.3.21
+	 */
+	public boolean useMappingPathIndex() {
+		return this.useMappingPathIndex;
+	}
+
 	/**
 	 * 配置用于为每个映射的处理程序方法分配默认名称的命名策略。
 	 * <p>默认命名策略基于类名的大写字母，后跟"#"，然后是方法名，例如，对于名为TestController且方法名为getFoo的类，命名策略为"TC#getFoo"。
@@ -440,9 +470,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 
-		// 如果匹配列表为空，则尝试匹配所有注册的映射
+		// 如果匹配列表为空，则尝试匹配所有注册的映射（或索引中的候选映射）
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			addMatchingMappings(getCandidateMappings(lookupPath, request), matches, request);
 		}
 
 		// 如果匹配列表不为空，则选择最佳匹配项
@@ -492,6 +522,25 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	/**
+	 * 返回需要逐一检查的候选映射：启用映射路径索引时为索引中的候选映射，否则为所有已注册的映射。
+	 */
+	private Collection<T> getCandidateMappings(String lookupPath, HttpServletRequest request) {
+		if (!this.useMappingPathIndex) {
+			return this.mappingRegistry.getRegistrations().keySet();
+		}
+		Set<String> httpMethods = null;
+		// 预检请求按 Access-Control-Request-Method 匹配，因此不按请求方法过滤
+		if (!CorsUtils.isPreFlightRequest(request)) {
+			String method = request.getMethod();
+			// HEAD 请求同样可以由声明了 GET 的映射处理
+			httpMethods = ("HEAD".equals(method) ?
+					new HashSet<>(Arrays.asList(method, "GET")) : Collections.singleton(method));
+		}
+		List<String> pathSegments = getLookupPathSegments(lookupPath, request);
+		return this.mappingRegistry.getMappingsByPathIndex(pathSegments, httpMethods);
+	}
+
 	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
 		for (T mapping : mappings) {
 			// 获取匹配映射
@@ -609,6 +658,48 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return urls;
 	}
 
+	/**
+	 * 返回映射中每个路径模式的前导字面量段组成的前缀，例如模式 "/api/users/{id}" 的前缀为 "/api/users"，
+	 * 用于构建映射路径索引（参见 {@link #setUseMappingPathIndex}）。
+	 * <p>返回的前缀必须与 {@link #getLookupPathSegments} 采用相同的规范化方式，
+	 * 并且对于任何与映射匹配的查找路径，其前导路径段必须与前缀的路径段完全相同。
+	 * <p>默认实现返回空集合，表示映射对任何查找路径都是候选映射。
+	 *
+	 * @param mapping 映射
+	 * @return 路径前缀集合，空集合表示无法建立索引
+	 * @since 5.3.21
+	 */
+	protected Set<String> getMappingPathPrefixes(T mapping) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * 返回映射声明的 HTTP 方法名称，用作映射路径索引的二级键。
+	 * <p>对于 HEAD 请求，声明了 GET 的映射同样是候选映射；预检请求不按方法过滤。
+	 * <p>默认实现返回空集合，表示映射对任何 HTTP 方法都是候选映射。
+	 *
+	 * @param mapping 映射
+	 * @return HTTP 方法名称集合
+	 * @since 5.3.21
+	 */
+	protected Set<String> getMappingHttpMethods(T mapping) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * 将查找路径拆分为非空路径段，用于在映射路径索引中查找候选映射。
+	 * <p>默认实现按 "/" 拆分查找路径。
+	 *
+	 * @param lookupPath 当前servlet映射中的映射查找路径
+	 * @param request    当前请求
+	 * @return 非空路径段列表
+	 * @since 5.3.21
+	 * @see #getMappingPathPrefixes
+	 */
+	protected List<String> getLookupPathSegments(String lookupPath, HttpServletRequest request) {
+		return Arrays.asList(StringUtils.tokenizeToStringArray(lookupPath, "/", false, true));
+	}
+
 	/**
 	 * 检查映射是否与当前请求匹配，并返回一个（可能是新的）映射，其中包含与当前请求相关的条件。
 	 *
@@ -638,7 +729,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		/**
 		 * 映射和注册器映射
 		 */
-		private final Map<T, MappingRegistration<T>> registry = new HashMap<>();
+		private final Map<T, MappingRegistration<T>> registry = new LinkedHashMap<>();
 
 		/**
 		 * 查找到的路径和映射器映射
@@ -655,6 +746,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		 */
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
+		/**
+		 * 映射路径索引
+		 */
+		private final MappingPathIndex<T> pathIndex = new MappingPathIndex<>();
+
 		/**
 		 * 读写锁
 		 */
@@ -679,6 +775,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(urlPath);
 		}
 
+		/**
+		 * 根据给定的查找路径段和HTTP方法返回映射路径索引中的候选映射，按注册顺序排列。不是线程安全的。
+		 *
+		 * @param pathSegments 查找路径的非空路径段
+		 * @param httpMethods  请求对应的HTTP方法，{@code null}表示不按方法过滤
+		 * @see #acquireReadLock()
+		 * @since 5.3.21
+		 */
+		public List<T> getMappingsByPathIndex(List<String> pathSegments, @Nullable Set<String> httpMethods) {
+			return this.pathIndex.getCandidates(pathSegments, httpMethods);
+		}
+
 		/**
 		 * 根据映射名称返回处理程序方法。线程安全，可并发使用。
 		 */
@@ -728,6 +836,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				// 如果启用了映射路径索引，则将映射添加到索引中
+				if (useMappingPathIndex) {
+					this.pathIndex.add(mapping, getMappingPathPrefixes(mapping), getMappingHttpMethods(mapping));
+				}
+
 				// 如果有命名策略，则获取名称并添加映射名称
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -816,6 +929,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				// 从映射路径索引中移除映射
+				this.pathIndex.remove(registration.getMapping());
+
 				// 移除与注册信息相关联的映射名称
 				removeMappingName(registration);
 
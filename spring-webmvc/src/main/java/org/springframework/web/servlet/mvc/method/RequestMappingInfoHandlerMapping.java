@@ -22,6 +22,7 @@ import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
@@ -37,6 +38,7 @@ import org.springframework.web.servlet.mvc.condition.*;
 import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
 import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -87,6 +89,112 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getDirectPaths();
 	}
 
+	/**
+	 * 返回 {@link RequestMappingInfo} 中每个路径模式的前导字面量段组成的前缀。
+	 * <p>使用 {@link PathPattern} 时，仅在解析器区分大小写时建立索引；使用 {@link AntPathMatcher} 时，
+	 * 路径段会去除首尾空白并统一大小写，且不包含模式的最后一段，以兼容后缀模式匹配。
+	 */
+	@Override
+	protected Set<String> getMappingPathPrefixes(RequestMappingInfo info) {
+		PathPatternsRequestCondition pathPatternsCondition = info.getPathPatternsCondition();
+		if (pathPatternsCondition != null) {
+			PathPatternParser parser = getPatternParser();
+			if (parser == null || !parser.isCaseSensitive() || parser.getPathOptions().separator() != '/') {
+				// 无法确定字面量的比较方式，不建立索引
+				return Collections.emptySet();
+			}
+			Set<String> prefixes = new LinkedHashSet<>();
+			for (PathPattern pattern : pathPatternsCondition.getPatterns()) {
+				prefixes.add(getLiteralPrefix(pattern.getPatternString(), false));
+			}
+			return prefixes;
+		}
+		PatternsRequestCondition patternsCondition = info.getPatternsCondition();
+		if (patternsCondition == null || usesPathPatterns() || getPathMatcher().getClass() != AntPathMatcher.class) {
+			return Collections.emptySet();
+		}
+		Set<String> prefixes = new LinkedHashSet<>();
+		for (String pattern : patternsCondition.getPatterns()) {
+			prefixes.add(getLiteralPrefix(pattern, true));
+		}
+		return prefixes;
+	}
+
+	/**
+	 * 返回 {@link RequestMappingInfo} 声明的 HTTP 请求方法名称。
+	 */
+	@Override
+	protected Set<String> getMappingHttpMethods(RequestMappingInfo info) {
+		Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+		if (methods.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new LinkedHashSet<>(methods.size());
+		for (RequestMethod method : methods) {
+			result.add(method.name());
+		}
+		return result;
+	}
+
+	/**
+	 * 使用 {@link PathPattern} 时，返回解析后的请求路径中已解码且去除了路径参数的路径段；
+	 * 否则按 "/" 拆分查找路径，并采用与 {@link #getMappingPathPrefixes} 相同的规范化方式。
+	 */
+	@Override
+	protected List<String> getLookupPathSegments(String lookupPath, HttpServletRequest request) {
+		List<String> segments = new ArrayList<>();
+		if (usesPathPatterns()) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			for (PathContainer.Element element : path.elements()) {
+				if (element instanceof PathContainer.PathSegment) {
+					String value = ((PathContainer.PathSegment) element).valueToMatch();
+					if (!value.isEmpty()) {
+						segments.add(value);
+					}
+				}
+			}
+		} else {
+			for (String token : StringUtils.tokenizeToStringArray(lookupPath, "/", true, true)) {
+				segments.add(foldCase(token));
+			}
+		}
+		return segments;
+	}
+
+	/**
+	 * 提取路径模式中第一个包含通配符或URI变量的路径段之前的字面量路径段。
+	 *
+	 * @param pattern         路径模式
+	 * @param antPathMatching 是否使用 {@link AntPathMatcher} 匹配
+	 * @return 以 "/" 连接的字面量前缀
+	 */
+	private static String getLiteralPrefix(String pattern, boolean antPathMatching) {
+		String[] tokens = StringUtils.tokenizeToStringArray(pattern, "/", antPathMatching, true);
+		StringBuilder prefix = new StringBuilder();
+		// AntPathMatcher 的后缀模式匹配可能改变最后一段，例如 "/users" 匹配 "/users.json"
+		int length = (antPathMatching ? tokens.length - 1 : tokens.length);
+		for (int i = 0; i < length; i++) {
+			String token = tokens[i];
+			if (token.indexOf('*') != -1 || token.indexOf('?') != -1 || token.indexOf('{') != -1) {
+				break;
+			}
+			prefix.append('/').append(antPathMatching ? foldCase(token) : token);
+		}
+		return prefix.toString();
+	}
+
+	/**
+	 * 以与 {@link String#CASE_INSENSITIVE_ORDER} 相同的方式统一大小写，
+	 * 使得区分大小写和不区分大小写的 {@link AntPathMatcher} 都不会遗漏候选映射。
+	 */
+	private static String foldCase(String value) {
+		char[] chars = value.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
 	/**
 	 * 检查给定的 RequestMappingInfo 是否与当前请求匹配，并返回一个与当前请求匹配的（可能是新的）实例，
 	 * 其条件与当前请求匹配 -- 例如一组 URL 模式的子集。
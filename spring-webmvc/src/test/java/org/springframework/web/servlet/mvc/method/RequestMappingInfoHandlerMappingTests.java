@@ -81,7 +81,15 @@ class RequestMappingInfoHandlerMappingTests {
 		TestRequestMappingInfoHandlerMapping mapping2 = new TestRequestMappingInfoHandlerMapping();
 		mapping2.setRemoveSemicolonContent(false);
 
-		return Stream.of(mapping1, mapping2).peek(mapping -> {
+		TestRequestMappingInfoHandlerMapping mapping3 = new TestRequestMappingInfoHandlerMapping();
+		mapping3.setPatternParser(new PathPatternParser());
+		mapping3.setUseMappingPathIndex(true);
+
+		TestRequestMappingInfoHandlerMapping mapping4 = new TestRequestMappingInfoHandlerMapping();
+		mapping4.setRemoveSemicolonContent(false);
+		mapping4.setUseMappingPathIndex(true);
+
+		return Stream.of(mapping1, mapping2, mapping3, mapping4).peek(mapping -> {
 			mapping.setApplicationContext(new StaticWebApplicationContext());
 			mapping.registerHandler(controller);
 			mapping.afterPropertiesSet();